@@ -0,0 +1,86 @@
+package portfolio.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import portfolio.util.MeanVarianceOptimizer;
+
+/**
+ * 평균-분산 최적화 벤치마크 (최소 분산, 샤프비율 최대, 20점 효율적 투자선)
+ *
+ * <p>
+ * tickers: 종목 수, maxWeight: 종목별 최대 비중 (1.0이면 공매도 없음 제약만 적용), 월봉 10년 수익률로 추정한 평균/공분산
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MeanVarianceOptimizerBenchmark {
+
+    private static final int PERIODS = 120;
+
+    @Param({ "20", "100" })
+    private int tickers;
+
+    @Param({ "1.0", "0.05" })
+    private double maxWeight;
+
+    private MeanVarianceOptimizer optimizer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] returns = new double[tickers][PERIODS];
+        double[] market = new double[PERIODS];
+        for (int i = 0; i < PERIODS; i++) {
+            market[i] = random.nextDouble(-0.05, 0.06);
+        }
+        for (int j = 0; j < tickers; j++) {
+            double beta = random.nextDouble(0.5, 1.5);
+            for (int i = 0; i < PERIODS; i++) {
+                returns[j][i] = beta * market[i] + random.nextDouble(-0.04, 0.045);
+            }
+        }
+        double[] mean = new double[tickers];
+        for (int j = 0; j < tickers; j++) {
+            for (double value : returns[j]) {
+                mean[j] += value / PERIODS * 12;
+            }
+        }
+        double[] covariance = new double[tickers * tickers];
+        for (int a = 0; a < tickers; a++) {
+            for (int b = 0; b < tickers; b++) {
+                double sum = 0.0;
+                for (int i = 0; i < PERIODS; i++) {
+                    sum += (returns[a][i] - mean[a] / 12) * (returns[b][i] - mean[b] / 12);
+                }
+                covariance[a * tickers + b] = sum / (PERIODS - 1) * 12;
+            }
+        }
+        optimizer = new MeanVarianceOptimizer(mean, covariance, 0.0, Math.max(maxWeight, 1.0 / tickers));
+    }
+
+    @Benchmark
+    public double[] minimumVariance() {
+        return optimizer.minimumVariance();
+    }
+
+    @Benchmark
+    public double[] maximumSharpe() {
+        return optimizer.maximumSharpe(0.04);
+    }
+
+    @Benchmark
+    public List<double[]> frontier() {
+        return optimizer.frontier(20);
+    }
+}
@@ -0,0 +1,64 @@
+package portfolio.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import portfolio.model.SimulationMethod;
+import portfolio.service.MonteCarloSimulator;
+
+/**
+ * 몬테카를로 시뮬레이션 벤치마크 (경로 100,000개 × 월봉 30년)
+ *
+ * <p>
+ * parallelism: 계산 풀 스레드 수, method: 경로 생성 방식
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MonteCarloSimulatorBenchmark {
+
+    private static final int PATHS = 100_000;
+    private static final int YEARS = 30;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    @Param({ "BOOTSTRAP", "PARAMETRIC" })
+    private SimulationMethod method;
+
+    private ForkJoinPool computePool;
+    private MonteCarloSimulator simulator;
+    private double[] returns;
+
+    @Setup
+    public void setUp() {
+        computePool = new ForkJoinPool(parallelism);
+        simulator = new MonteCarloSimulator(computePool);
+        SplittableRandom random = new SplittableRandom(42);
+        returns = new double[240];
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] = random.nextDouble(-0.08, 0.1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        computePool.shutdown();
+    }
+
+    @Benchmark
+    public MonteCarloSimulator.Simulation simulate() {
+        return simulator.simulate(returns, method, PATHS, YEARS, 12, 7L);
+    }
+}
@@ -0,0 +1,81 @@
+package portfolio.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import portfolio.util.NavMatrix;
+import portfolio.util.ScalarKernels;
+
+/**
+ * 포트폴리오 NAV 합산 벤치마크 (가중치 벡터별 반복 합산 vs 기간 블록 일괄 합산)
+ *
+ * <p>
+ * tickers: 구성 종목 수, weightSets: 같은 행렬에 적용할 가중치 벡터 수 (일봉 10년 ≈ 2,520 기간)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NavMatrixBenchmark {
+
+    private static final int PERIODS = 2520;
+
+    @Param({ "20", "200" })
+    private int tickers;
+
+    @Param({ "1", "64" })
+    private int weightSets;
+
+    private NavMatrix matrix;
+    private double[][] weights;
+    private double[][] navs;
+    private double[][] cashes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] prices = new double[tickers][PERIODS];
+        double[][] dividends = new double[tickers][PERIODS];
+        for (int j = 0; j < tickers; j++) {
+            prices[j][0] = 100.0;
+            for (int i = 1; i < PERIODS; i++) {
+                prices[j][i] = prices[j][i - 1] * (1.0 + random.nextDouble(-0.03, 0.03));
+            }
+            // 분기 배당
+            for (int i = 40; i < PERIODS; i += 63) {
+                dividends[j][i] = 0.5;
+            }
+        }
+        matrix = NavMatrix.of(new ScalarKernels(), prices, dividends);
+        weights = new double[weightSets][tickers];
+        for (double[] weight : weights) {
+            for (int j = 0; j < tickers; j++) {
+                weight[j] = random.nextDouble();
+            }
+        }
+        navs = new double[weightSets][PERIODS];
+        cashes = new double[weightSets][PERIODS];
+    }
+
+    @Benchmark
+    public double[][] aggregateEach() {
+        for (int k = 0; k < weightSets; k++) {
+            matrix.aggregate(weights[k], navs[k], cashes[k]);
+        }
+        return navs;
+    }
+
+    @Benchmark
+    public double[][] aggregateAll() {
+        matrix.aggregateAll(weights, navs, cashes);
+        return navs;
+    }
+}
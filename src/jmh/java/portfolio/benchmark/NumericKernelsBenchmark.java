@@ -0,0 +1,97 @@
+package portfolio.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import portfolio.util.NumericKernels;
+import portfolio.util.ScalarKernels;
+import portfolio.util.VectorKernels;
+
+/**
+ * 스칼라/Vector API 수치 커널 비교 벤치마크
+ *
+ * <p>
+ * length: 시계열 길이 (월봉 20년 = 240, 일봉 20년 ≈ 5,040, 일봉 40년 ≈ 10,080)
+ * tickers: 포트폴리오 종목 수 (가중 합산)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NumericKernelsBenchmark {
+
+    @Param({ "240", "5040", "10080" })
+    private int length;
+
+    @Param({ "10", "100" })
+    private int tickers;
+
+    @Param({ "scalar", "vector" })
+    private String kernel;
+
+    private NumericKernels kernels;
+    private double[] prices;
+    private double[] benchmark;
+    private double[][] columns;
+    private double[] coefficients;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        kernels = "vector".equals(kernel) ? new VectorKernels() : new ScalarKernels();
+        SplittableRandom random = new SplittableRandom(42);
+        prices = randomWalk(random, length);
+        benchmark = randomWalk(random, length);
+        columns = new double[tickers][];
+        coefficients = new double[tickers];
+        for (int j = 0; j < tickers; j++) {
+            columns[j] = randomWalk(random, length);
+            coefficients[j] = 1.0 / tickers / columns[j][0];
+        }
+        out = new double[length];
+    }
+
+    private static double[] randomWalk(SplittableRandom random, int length) {
+        double[] values = new double[length];
+        values[0] = 100.0;
+        for (int i = 1; i < length; i++) {
+            values[i] = values[i - 1] * (1.0 + random.nextDouble(-0.03, 0.03));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public double[] cumulativeGrowth() {
+        kernels.cumulativeGrowth(prices, out);
+        return out;
+    }
+
+    @Benchmark
+    public double drawdowns() {
+        return kernels.drawdowns(prices, out);
+    }
+
+    @Benchmark
+    public double variance() {
+        return kernels.variance(prices);
+    }
+
+    @Benchmark
+    public double covariance() {
+        return kernels.covariance(prices, benchmark);
+    }
+
+    @Benchmark
+    public double[] weightedSum() {
+        kernels.weightedSum(columns, coefficients, out);
+        return out;
+    }
+}
@@ -0,0 +1,85 @@
+package portfolio.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import portfolio.api.ChartResponse.Dividend;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.StockReturnData;
+import portfolio.service.ReturnCalculator;
+import portfolio.service.RollingRiskCalculator;
+import portfolio.service.StockReturnCalculator;
+import portfolio.util.EpochCalendar;
+
+/**
+ * 종목 하나의 수익률/리스크 지표 계산 벤치마크 (일봉)
+ *
+ * <p>
+ * points: 가격 수 (일봉 32년 ≈ 8,064). 종목당 메모리는 {@code -prof gc}의 gc.alloc.rate.norm(B/op)으로 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StockReturnBenchmark {
+
+    @Param({ "2016", "8064" })
+    private int points;
+
+    private StockReturnCalculator calculator;
+    private List<Double> prices;
+    private List<Long> timestamps;
+    private List<Dividend> dividends;
+    private BenchmarkContext benchmark;
+
+    @Setup
+    public void setUp() {
+        calculator = new StockReturnCalculator(new ReturnCalculator(), new RollingRiskCalculator(),
+                ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        SplittableRandom random = new SplittableRandom(42);
+        prices = new ArrayList<>(points);
+        timestamps = new ArrayList<>(points);
+        dividends = new ArrayList<>();
+        List<Double> indexPrices = new ArrayList<>(points);
+        double price = 50.0;
+        double index = 1000.0;
+        long day = EpochCalendar.epochDayOf(1993, 1, 4);
+        for (int i = 0; i < points; i++) {
+            // 주말을 건너뛴 거래일
+            while (Math.floorMod(day + 3, 7) >= 5) {
+                day++;
+            }
+            timestamps.add(day * EpochCalendar.SECONDS_PER_DAY);
+            prices.add(price);
+            indexPrices.add(index);
+            if (i % 63 == 30) {
+                Dividend dividend = new Dividend();
+                dividend.setAmount(price * 0.008);
+                dividend.setDate(day * EpochCalendar.SECONDS_PER_DAY);
+                dividends.add(dividend);
+            }
+            price *= 1.0 + random.nextDouble(-0.02, 0.021);
+            index *= 1.0 + random.nextDouble(-0.015, 0.016);
+            day++;
+        }
+        benchmark = BenchmarkContext.of(indexPrices);
+    }
+
+    @Benchmark
+    public StockReturnData calculateStockReturn() {
+        return calculator.calculateStockReturn(true, "SPY", prices, timestamps, dividends, benchmark, 10000, 1.0,
+                null, BarFrequency.DAILY);
+    }
+}
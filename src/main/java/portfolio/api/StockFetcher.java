@@ -38,6 +38,22 @@ public class StockFetcher {
     @Cacheable(value = CacheConfig.StockFetcher_fetchDividends)
     public ChartResponse fetchDividends(String ticker, long period1, long period2) {
         String interval = IntervalCalculator.calculateOptimalInterval(period1, period2);
+        return fetchChart(ticker, period1, period2, interval);
+    }
+
+    /**
+     * 지정한 interval(예: 1d, 1wk, 1mo)로 특정 ticker의 가격과 분배금 내역을 조회한다.
+     *
+     * @param ticker   ETF 심볼 (예: SCHD)
+     * @param interval Yahoo Finance chart interval
+     * @return Yahoo Finance API의 JSON 응답
+     */
+    @Cacheable(value = CacheConfig.StockFetcher_fetchDividends)
+    public ChartResponse fetchDividends(String ticker, long period1, long period2, String interval) {
+        return fetchChart(ticker, period1, period2, interval);
+    }
+
+    private ChartResponse fetchChart(String ticker, long period1, long period2, String interval) {
         log.info("Fetching dividends for {} from {} to {} with interval {}", ticker, period1, period2, interval);
         return restClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -0,0 +1,67 @@
+package portfolio.config;
+
+import java.util.List;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.util.PackedDoubles;
+
+/**
+ * Accept 헤더로 선택하는 바이너리 응답 형식(CBOR, Smile, MessagePack) 설정
+ *
+ * <p>
+ * JSON 변환기가 바이너리 변환기보다 앞에 있으므로 Accept가 없거나 모든 형식을 허용하면 JSON으로 응답합니다(웹 UI).
+ * 바이너리 변환기는 스프링 부트의 Jackson 설정(날짜 형식 등)을 그대로 쓰고, double 시계열은
+ * {@link PackedDoubles} 바이트 열로 기록합니다. Smile은 바이트 열을 7비트로 늘리지 않고 원본 그대로 기록합니다.
+ */
+@Slf4j
+@Configuration
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public BinaryEncodingConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 클래스패스에 있으면 스프링이 기본 CBOR/Smile 변환기를 추가하므로 같은 자리에서 교체
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(binaryMapper(SmileFactory.builder()
+                        .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+                        .build())));
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory())));
+        replaceOrAdd(converters, MessagePackHttpMessageConverter.class,
+                new MessagePackHttpMessageConverter(binaryMapper(new MessagePackFactory())));
+    }
+
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        return objectMapperBuilder.factory(factory).build().registerModule(PackedDoubles.module());
+    }
+
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters,
+            Class<? extends HttpMessageConverter<?>> type, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+        log.debug("binary converter added: {}", type.getSimpleName());
+    }
+}
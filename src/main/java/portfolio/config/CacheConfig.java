@@ -15,11 +15,15 @@ public class CacheConfig {
 
     public static final String StockFetcher_fetchHistory = "StockFetcher_fetchHistory";
     public static final String StockFetcher_fetchDividends = "StockFetcher_fetchDividends";
+    public static final String PortfolioOptimizationService_optimize = "PortfolioOptimizationService_optimize";
+    public static final String FxRateService_fetchRates = "FxRateService_fetchRates";
+    public static final String PortfolioReturnService_analyzePortfolio = "PortfolioReturnService_analyzePortfolio";
 
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(StockFetcher_fetchHistory,
-                StockFetcher_fetchDividends);
+                StockFetcher_fetchDividends, PortfolioOptimizationService_optimize, FxRateService_fetchRates,
+                PortfolioReturnService_analyzePortfolio);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(1, TimeUnit.HOURS)
                 .maximumSize(100)); // 캐시 최대 크기 100개로 제한
@@ -0,0 +1,69 @@
+package portfolio.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.util.NumericKernels;
+import portfolio.util.ScalarKernels;
+import portfolio.util.VectorKernels;
+
+/**
+ * 수익률/리스크 계산용 수치 커널 설정
+ *
+ * <p>
+ * {@code portfolio.compute.simd=true}이고 JVM이 {@code --add-modules jdk.incubator.vector}로 실행된 경우에만
+ * Vector API 커널을 사용하고, 그 외에는 스칼라 커널을 사용합니다.
+ * 종목별 지표 계산 등 CPU 작업은 요청 스레드와 분리된 크기 제한 풀({@code computePool})에서 실행합니다.
+ */
+@Slf4j
+@Configuration
+public class ComputeConfig {
+
+    @Bean
+    public NumericKernels numericKernels(@Value("${portfolio.compute.simd:false}") boolean simdEnabled) {
+        if (simdEnabled && NumericKernels.isVectorApiAvailable()) {
+            log.info("Using Vector API numeric kernels");
+            return new VectorKernels();
+        }
+        if (simdEnabled) {
+            log.warn("portfolio.compute.simd is enabled but jdk.incubator.vector is not available; using scalar kernels");
+        }
+        return new ScalarKernels();
+    }
+
+    /**
+     * CPU 계산 전용 풀 (기본 병렬도: 가용 프로세서 수)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool computePool(@Value("${portfolio.compute.parallelism:0}") int parallelism) {
+        int size = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("Compute pool parallelism: {}", size);
+        return new ForkJoinPool(size);
+    }
+
+    /**
+     * 통합 분석 응답의 차트/리포트를 동시에 만드는 크기 제한 풀
+     * 대기열이 차면 요청 스레드에서 직접 실행하여 동시 요청이 많아도 스레드/대기 작업 수가 늘지 않음
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor assemblyExecutor(@Value("${portfolio.assembly.threads:4}") int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16), runnable -> {
+                    Thread thread = new Thread(runnable, "assembly-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        log.info("Assembly executor threads: {}", threads);
+        return executor;
+    }
+}
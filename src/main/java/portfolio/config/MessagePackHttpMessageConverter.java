@@ -0,0 +1,25 @@
+package portfolio.config;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * MessagePack({@code application/msgpack}) 요청/응답 변환기
+ *
+ * <p>
+ * 스프링의 CBOR/Smile 변환기와 같은 방식으로, {@link MessagePackFactory}를 쓰는 ObjectMapper로 읽고 씁니다.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    public static final MediaType APPLICATION_MSGPACK = MediaType.parseMediaType("application/msgpack");
+    public static final MediaType APPLICATION_X_MSGPACK = MediaType.parseMediaType("application/x-msgpack");
+    public static final MediaType APPLICATION_VND_MSGPACK = MediaType.parseMediaType("application/vnd.msgpack");
+
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_MSGPACK, APPLICATION_X_MSGPACK, APPLICATION_VND_MSGPACK);
+        Assert.isInstanceOf(MessagePackFactory.class, objectMapper.getFactory(), "MessagePackFactory required");
+    }
+}
@@ -1,19 +1,58 @@
 package portfolio.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import lombok.extern.slf4j.Slf4j;
 import portfolio.model.AnalysisReport;
+import portfolio.model.AnalysisSection;
 import portfolio.model.ChartData;
+import portfolio.model.FetchedStockDatas;
+import portfolio.model.IncrementalMetricRequest;
+import portfolio.model.Metric;
+import portfolio.model.MonteCarloRequest;
+import portfolio.model.MonteCarloResponse;
+import portfolio.model.OptimizationRequest;
+import portfolio.model.OptimizationResponse;
 import portfolio.model.PortfolioFullAnalysisResponse;
+import portfolio.model.PortfolioFullAnalysisResponseV2;
 import portfolio.model.PortfolioRequest;
 import portfolio.model.PortfolioReturnData;
+import portfolio.model.RebalancingResponse;
+import portfolio.model.StockReturnData;
+import portfolio.model.SweepRequest;
+import portfolio.model.SweepResponse;
 import portfolio.service.ChartGenerator;
+import portfolio.service.FullAnalysisAssembler;
+import portfolio.service.IncrementalMetricService;
+import portfolio.service.MonteCarloService;
+import portfolio.service.PortfolioOptimizationService;
 import portfolio.service.PortfolioReturnService;
+import portfolio.service.RebalancingService;
+import portfolio.service.WeightSweepService;
 import portfolio.service.ReportGenerator;
+import portfolio.util.EntityTags;
+import portfolio.util.StageTimings;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * 포트폴리오 분석 REST API 엔드포인트를 제공하는 컨트롤러
@@ -21,103 +60,364 @@ import java.time.LocalDate;
 @Slf4j
 @RestController
 @RequestMapping("/api/portfolio")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = { HttpHeaders.ETAG, "Server-Timing" })
 public class PortfolioController {
 
     /**
      * 여러 분석/차트/리포트 데이터를 한 번에 반환하는 통합 엔드포인트
      */
     @PostMapping("/analyze/all")
-    public ResponseEntity<PortfolioFullAnalysisResponse> analyzeAll(@RequestBody PortfolioRequest request) {
-        return ResponseEntity.ok(generateFullAnalysisResponse(request));
+    public ResponseEntity<PortfolioFullAnalysisResponse> analyzeAll(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        return conditional("/analyze/all", request, ifNoneMatch, null,
+                (fetched, timings) -> generateFullAnalysisResponse(request, fetched, timings));
+    }
+
+    /**
+     * 통합 분석 v2 엔드포인트
+     * 시계열/날짜 축을 한 번씩만 싣고 차트/종목 결과는 id로 참조 ({@link PortfolioFullAnalysisResponseV2})
+     */
+    @PostMapping("/v2/analyze/all")
+    public ResponseEntity<PortfolioFullAnalysisResponseV2> analyzeAllV2(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        return conditional("/v2/analyze/all", request, ifNoneMatch, null,
+                (fetched, timings) -> new PortfolioFullAnalysisResponseV2(request,
+                        generateFullAnalysisResponse(request, fetched, timings), referenceWriter));
     }
 
     /**
      * 여러 분석/차트/리포트 데이터를 한 번에 생성하는 내부 메서드 (구조적 변경)
+     * 분석 후 차트 4개와 리포트는 동시에 생성 ({@link FullAnalysisAssembler})
+     */
+    private PortfolioFullAnalysisResponse generateFullAnalysisResponse(PortfolioRequest request,
+            FetchedStockDatas fetched, StageTimings timings) {
+        PortfolioReturnData portfolioData = timings.time(ANALYZE_STAGE,
+                () -> portfolioReturnService.analyzePortfolio(request, fetched, Metric.all()));
+        return fullAnalysisAssembler.assemble(request, portfolioData, timings);
+    }
+
+    /**
+     * 통합 분석을 NDJSON으로 스트리밍하는 엔드포인트
+     * 포트폴리오 지표 → 시계열/비교/금액/배당 차트 → 리포트 순으로 섹션이 완성될 때마다 한 줄씩 보냄
+     * 실패하면 마지막 줄로 error 섹션을 보냄 ({@link AnalysisSection})
      */
-    private PortfolioFullAnalysisResponse generateFullAnalysisResponse(PortfolioRequest request) {
+    @PostMapping(value = "/analyze/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeAllStream(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         adjustToPreviousMonthLastDay(request);
         validateRequest(request);
-        PortfolioReturnData portfolioData = portfolioReturnService.analyzePortfolio(request);
-        ChartData timeSeriesChart = chartGenerator.generateTimeSeriesChart(portfolioData);
-        ChartData comparisonChart = chartGenerator.generateComparisonChart(portfolioData);
-        ChartData amountChart = chartGenerator.generateAmountChangeChart(portfolioData);
-        ChartData dividendsAmountComparisonChart = chartGenerator.generateDividendsAmountComparisonChart(portfolioData);
-        AnalysisReport report = reportGenerator.generateReport(request, portfolioData);
-        return new PortfolioFullAnalysisResponse(
-            portfolioData, timeSeriesChart, comparisonChart, amountChart, dividendsAmountComparisonChart, report
-        );
+        return conditional("/analyze/all/stream", request, ifNoneMatch, MediaType.APPLICATION_NDJSON,
+                (fetched, timings) -> output -> streamFullAnalysis(request, fetched, timings, output));
+    }
+
+    /**
+     * 분석 결과를 먼저 보내고, 동시에 생성 중인 차트/리포트를 섹션 순서대로 완료되는 즉시 보냄
+     * (헤더는 이미 전송되었으므로 단계별 소요 시간은 로그로만 남김)
+     */
+    private void streamFullAnalysis(PortfolioRequest request, FetchedStockDatas fetched, StageTimings timings,
+            OutputStream output) throws IOException {
+        try {
+            PortfolioReturnData portfolioData = timings.time(ANALYZE_STAGE,
+                    () -> portfolioReturnService.analyzePortfolio(request, fetched, Metric.all()));
+            FullAnalysisAssembler.Sections sections = fullAnalysisAssembler.start(request, portfolioData, timings);
+            writeSection(output, AnalysisSection.PORTFOLIO_DATA, portfolioData);
+            for (Map.Entry<String, CompletableFuture<?>> section : sections.inOrder().entrySet()) {
+                writeSection(output, section.getKey(), FullAnalysisAssembler.join(section.getValue()));
+            }
+            log.debug("streamFullAnalysis timings:{}", timings);
+        } catch (IllegalArgumentException e) {
+            log.error("IllegalArgumentException:", e);
+            // 메시지 없는 예외도 error 줄을 보내야 클라이언트가 잘린 스트림을 기다리지 않음
+            String message = Objects.requireNonNullElse(e.getMessage(), "Bad Request");
+            writeSection(output, AnalysisSection.ERROR, Map.of("message", message, "error", "Bad Request"));
+        } catch (RuntimeException e) {
+            log.error("streamFullAnalysis failed", e);
+            writeSection(output, AnalysisSection.ERROR,
+                    Map.of("message", "An unexpected error occurred", "error", "Internal Server Error"));
+        }
+    }
+
+    /**
+     * 섹션 한 줄을 쓰고 바로 내보냄
+     */
+    private void writeSection(OutputStream output, String section, Object data) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(new AnalysisSection(section, data)));
+        output.write('\n');
+        output.flush();
     }
 
+    private static final List<Integer> DEFAULT_ROLLING_WINDOWS = List.of(12, 36, 60);
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String FETCH_STAGE = "fetch";
+    private static final String ANALYZE_STAGE = "analyze";
+    private static final String COMPUTE_STAGE = "compute";
+    /** 리포트(ID/생성 시각이 매번 다름)를 포함해 바이트 단위로 같지 않으므로 약한 ETag를 쓰는 엔드포인트 */
+    private static final Set<String> WEAK_ETAG_ENDPOINTS = Set.of("/report", "/analyze/all", "/analyze/all/stream",
+            "/v2/analyze/all");
+
     private final PortfolioReturnService portfolioReturnService;
     private final ChartGenerator chartGenerator;
     private final ReportGenerator reportGenerator;
+    private final RebalancingService rebalancingService;
+    private final WeightSweepService weightSweepService;
+    private final PortfolioOptimizationService portfolioOptimizationService;
+    private final MonteCarloService monteCarloService;
+    private final FullAnalysisAssembler fullAnalysisAssembler;
+    private final IncrementalMetricService incrementalMetricService;
+    private final ObjectMapper objectMapper;
+    /** v2 응답의 분석 결과를 시계열 id로 기록하는 writer (objectMapper 설정 복사) */
+    private final ObjectWriter referenceWriter;
 
     public PortfolioController(PortfolioReturnService portfolioReturnService,
                               ChartGenerator chartGenerator,
-                              ReportGenerator reportGenerator) {
+                              ReportGenerator reportGenerator,
+                              RebalancingService rebalancingService,
+                              WeightSweepService weightSweepService,
+                              PortfolioOptimizationService portfolioOptimizationService,
+                              MonteCarloService monteCarloService,
+                              FullAnalysisAssembler fullAnalysisAssembler,
+                              IncrementalMetricService incrementalMetricService,
+                              ObjectMapper objectMapper) {
         this.portfolioReturnService = portfolioReturnService;
         this.chartGenerator = chartGenerator;
         this.reportGenerator = reportGenerator;
+        this.rebalancingService = rebalancingService;
+        this.weightSweepService = weightSweepService;
+        this.portfolioOptimizationService = portfolioOptimizationService;
+        this.monteCarloService = monteCarloService;
+        this.fullAnalysisAssembler = fullAnalysisAssembler;
+        this.incrementalMetricService = incrementalMetricService;
+        this.objectMapper = objectMapper;
+        this.referenceWriter = PortfolioFullAnalysisResponseV2.referenceWriter(objectMapper);
     }
 
     /**
      * 포트폴리오 분석 실행
+     * 요청의 metrics에 있는 지표만 계산 (없으면 모든 지표)
      */
     @PostMapping("/analyze")
-    public ResponseEntity<PortfolioReturnData> analyzePortfolio(@RequestBody PortfolioRequest request) {
+    public ResponseEntity<PortfolioReturnData> analyzePortfolio(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         adjustToPreviousMonthLastDay(request);
         validateRequest(request);
-        PortfolioReturnData result = portfolioReturnService.analyzePortfolio(request);
-        return ResponseEntity.ok(result);
+        return conditional("/analyze", request, ifNoneMatch,
+                fetched -> portfolioReturnService.analyzePortfolio(request, fetched, request.metricsOrAll()));
     }
 
     /**
      * 시계열 차트 데이터 생성
      */
     @PostMapping("/chart/timeseries")
-    public ResponseEntity<ChartData> generateTimeSeriesChart(@RequestBody PortfolioRequest request) {
+    public ResponseEntity<ChartData> generateTimeSeriesChart(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         adjustToPreviousMonthLastDay(request);
         validateRequest(request);
-        PortfolioReturnData portfolioData = portfolioReturnService.analyzePortfolio(request);
-        ChartData chartData = chartGenerator.generateTimeSeriesChart(portfolioData);
-        return ResponseEntity.ok(chartData);
+        return conditional("/chart/timeseries", request, ifNoneMatch, fetched -> chartGenerator.generateTimeSeriesChart(
+                portfolioReturnService.analyzePortfolio(request, fetched, ChartGenerator.TIME_SERIES_METRICS)));
     }
 
     /**
      * 비교 차트 데이터 생성
+     * 종목별 가격/총수익률만 계산 (낙폭/금액/샤프/베타/날짜 목록은 계산하지 않음)
      */
     @PostMapping("/chart/comparison")
-    public ResponseEntity<ChartData> generateComparisonChart(@RequestBody PortfolioRequest request) {
+    public ResponseEntity<ChartData> generateComparisonChart(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         adjustToPreviousMonthLastDay(request);
         validateRequest(request);
-        PortfolioReturnData portfolioData = portfolioReturnService.analyzePortfolio(request);
-        ChartData chartData = chartGenerator.generateComparisonChart(portfolioData);
-        return ResponseEntity.ok(chartData);
+        return conditional("/chart/comparison", request, ifNoneMatch, fetched -> chartGenerator.generateComparisonChart(
+                portfolioReturnService.analyzePortfolio(request, fetched, ChartGenerator.COMPARISON_METRICS)));
     }
 
     /**
      * 금액 변화 차트 데이터 생성
      */
     @PostMapping("/chart/amount")
-    public ResponseEntity<ChartData> generateAmountChart(@RequestBody PortfolioRequest request) {
+    public ResponseEntity<ChartData> generateAmountChart(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         adjustToPreviousMonthLastDay(request);
         validateRequest(request);
-        PortfolioReturnData portfolioData = portfolioReturnService.analyzePortfolio(request);
-        ChartData chartData = chartGenerator.generateAmountChangeChart(portfolioData);
-        return ResponseEntity.ok(chartData);
+        return conditional("/chart/amount", request, ifNoneMatch, fetched -> chartGenerator.generateAmountChangeChart(
+                portfolioReturnService.analyzePortfolio(request, fetched, ChartGenerator.AMOUNT_METRICS)));
+    }
+
+    /**
+     * 포트폴리오 이동 윈도우 리스크(변동성/베타/샤프비율/낙폭) 차트 데이터 생성
+     * rollingWindows가 없으면 12/36/60 기간을 사용
+     */
+    @PostMapping("/chart/rolling")
+    public ResponseEntity<ChartData> generateRollingRiskChart(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        if (request.getRollingWindows() == null || request.getRollingWindows().isEmpty()) {
+            request.setRollingWindows(DEFAULT_ROLLING_WINDOWS);
+        }
+        return conditional("/chart/rolling", request, ifNoneMatch, fetched -> chartGenerator.generateRollingRiskChart(
+                portfolioReturnService.analyzePortfolio(request, fetched, ChartGenerator.ROLLING_RISK_METRICS)));
     }
 
     /**
      * 분석 리포트 생성
+     * 리포트는 낙폭 구간만 사용하므로 시점별 낙폭 목록은 계산하지 않음
      */
     @PostMapping("/report")
-    public ResponseEntity<AnalysisReport> generateReport(@RequestBody PortfolioRequest request) {
+    public ResponseEntity<AnalysisReport> generateReport(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        return conditional("/report", request, ifNoneMatch, fetched -> reportGenerator.generateReport(request,
+                portfolioReturnService.analyzePortfolio(request, fetched, ReportGenerator.REPORT_METRICS)));
+    }
+
+    /**
+     * 리밸런싱 정책별(NONE/MONTHLY/QUARTERLY/ANNUAL/THRESHOLD) 성과 비교
+     * rebalancingPolicies가 없으면 모든 정책을 비교
+     */
+    @PostMapping("/rebalance")
+    public ResponseEntity<RebalancingResponse> simulateRebalancing(@RequestBody PortfolioRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         adjustToPreviousMonthLastDay(request);
         validateRequest(request);
-        PortfolioReturnData portfolioData = portfolioReturnService.analyzePortfolio(request);
-        AnalysisReport report = reportGenerator.generateReport(request, portfolioData);
-        return ResponseEntity.ok(report);
+        return conditional("/rebalance", request, ifNoneMatch,
+                fetched -> rebalancingService.simulate(request, fetched));
+    }
+
+    /**
+     * 가중치 조합별 포트폴리오 지표 표 (데이터는 한 번만 조회)
+     * 행 순서는 weightSets 순서, 열 순서는 columns
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<SweepResponse> sweepWeights(@RequestBody SweepRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        return conditional("/sweep", request, ifNoneMatch, fetched -> weightSweepService.sweep(request, fetched));
+    }
+
+    /**
+     * 평균-분산 최적화: 최소 분산/샤프비율 최대 포트폴리오와 효율적 투자선
+     * minWeight/maxWeight로 종목별 비중 범위 지정 (기본 0~1, 공매도 없음)
+     */
+    @PostMapping("/optimize")
+    public ResponseEntity<OptimizationResponse> optimizePortfolio(@RequestBody OptimizationRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        // 최적화 결과는 요청 키와 데이터 버전 스탬프로 캐시되므로 ETag와 같은 데이터 기준
+        return conditional("/optimize", request, ifNoneMatch,
+                fetched -> portfolioOptimizationService.optimize(request, fetched));
+    }
+
+    /**
+     * 몬테카를로 미래 가치 시뮬레이션: 연도별 5/25/50/75/95% 밴드와 만기 가치 분포
+     * 요청 기간의 포트폴리오 기간 수익률로 경로 생성 (BOOTSTRAP/PARAMETRIC)
+     * seed가 없으면 결과가 매번 달라지므로 ETag를 붙이지 않음
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<MonteCarloResponse> simulateFuture(@RequestBody MonteCarloRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        adjustToPreviousMonthLastDay(request);
+        validateRequest(request);
+        if (request.getSeed() == null) {
+            return ResponseEntity.ok(monteCarloService.simulate(request));
+        }
+        return conditional("/simulate", request, ifNoneMatch,
+                fetched -> monteCarloService.simulate(request, fetched));
+    }
+
+    /**
+     * 누적 지표 상태를 전체 이력으로 만들고 지표를 반환 (같은 키의 기존 상태는 대체)
+     * 이후에는 /metrics/{key}/bars로 새 데이터만 보내 추가된 데이터 수에 비례하는 비용으로 갱신
+     */
+    @PutMapping("/metrics/{key}")
+    public ResponseEntity<StockReturnData> initializeMetrics(@PathVariable String key,
+            @RequestBody IncrementalMetricRequest request) {
+        if (request == null || request.ticker() == null) {
+            throw new IllegalArgumentException("Ticker is required");
+        }
+        return ResponseEntity.ok(incrementalMetricService.initialize(key, request.ticker(), request.histories(),
+                request.indexPrices(), request.includeDividends(), request.initialAmount(),
+                request.weightOrDefault(), request.frequencyOrDefault()));
+    }
+
+    /**
+     * 누적 지표 상태에 마지막 시점 이후의 가격/배당을 추가하고 갱신된 지표를 반환
+     */
+    @PostMapping("/metrics/{key}/bars")
+    public ResponseEntity<StockReturnData> appendMetrics(@PathVariable String key,
+            @RequestBody IncrementalMetricRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        return ResponseEntity.ok(incrementalMetricService.append(key, request.histories(), request.indexPrices()));
+    }
+
+    /**
+     * 누적 지표 상태의 현재 지표
+     */
+    @GetMapping("/metrics/{key}")
+    public ResponseEntity<StockReturnData> getMetrics(@PathVariable String key) {
+        return ResponseEntity.ok(incrementalMetricService.get(key));
+    }
+
+    @DeleteMapping("/metrics/{key}")
+    public ResponseEntity<Void> removeMetrics(@PathVariable String key) {
+        incrementalMetricService.remove(key);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 데이터를 조회해 ETag(요청 + 시계열 버전 스탬프)를 만들고, If-None-Match와 일치하면 계산/직렬화 없이 304를 반환합니다.
+     * 리포트를 포함한 응답은 약한 ETag를 씁니다. 일치하지 않으면 조회한 데이터로 응답을 만들어 ETag와 함께 반환합니다. 응답 생성 소요 시간은 compute 단계로 기록합니다.
+     */
+    private <T> ResponseEntity<T> conditional(String endpoint, PortfolioRequest request, String ifNoneMatch,
+            Function<FetchedStockDatas, T> response) {
+        return conditional(endpoint, request, ifNoneMatch, null,
+                (fetched, timings) -> timings.time(COMPUTE_STAGE, () -> response.apply(fetched)));
+    }
+
+    /**
+     * 단계별 소요 시간(fetch 및 응답 생성 중 기록한 단계)은 Server-Timing 헤더로 반환합니다.
+     *
+     * @param contentType 응답 Content-Type (null이면 메시지 변환기가 결정)
+     */
+    private <T> ResponseEntity<T> conditional(String endpoint, PortfolioRequest request, String ifNoneMatch,
+            MediaType contentType, BiFunction<FetchedStockDatas, StageTimings, T> response) {
+        StageTimings timings = new StageTimings();
+        FetchedStockDatas fetched = timings.time(FETCH_STAGE, () -> portfolioReturnService.fetchStockData(request));
+        // 형식이 정해지지 않은 응답은 Accept로 JSON/CBOR/Smile/MessagePack 중 하나가 선택되므로 ETag도 Accept별로 다름
+        String accept = contentType == null ? currentAccept() : null;
+        String etag = WEAK_ETAG_ENDPOINTS.contains(endpoint)
+                ? EntityTags.weak(endpoint, accept, request, fetched.versionStamp())
+                : EntityTags.strong(endpoint, accept, request, fetched.versionStamp());
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            log.debug("conditional {} not modified etag:{}", endpoint, etag);
+            ResponseEntity.HeadersBuilder<?> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(SERVER_TIMING, timings.serverTiming());
+            if (contentType == null) {
+                notModified.varyBy(HttpHeaders.ACCEPT);
+            }
+            return notModified.build();
+        }
+        T body = response.apply(fetched, timings);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).header(SERVER_TIMING, timings.serverTiming());
+        if (contentType != null) {
+            ok.contentType(contentType);
+        } else {
+            ok.varyBy(HttpHeaders.ACCEPT);
+        }
+        return ok.body(body);
+    }
+
+    private static String currentAccept() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(HttpHeaders.ACCEPT)
+                : null;
     }
 
     /**
@@ -154,6 +454,14 @@ public class PortfolioController {
         if (request.getStartDate().isAfter(request.getEndDate())) {
             throw new IllegalArgumentException("Start date must be before end date");
         }
+        if (request.getRollingWindows() != null
+                && request.getRollingWindows().stream().anyMatch(window -> window == null || window < 2)) {
+            throw new IllegalArgumentException("Rolling windows must be at least 2 periods");
+        }
+        if (request.getVarConfidenceLevels() != null && request.getVarConfidenceLevels().stream()
+                .anyMatch(level -> level == null || !(level >= 0.5 && level < 1))) {
+            throw new IllegalArgumentException("VaR confidence levels must be in [0.5, 1)");
+        }
     }
 
     /**
@@ -0,0 +1,15 @@
+package portfolio.model;
+
+/**
+ * 종목/지수의 날짜가 서로 다를 때 공통 달력을 만드는 방식입니다.
+ *
+ * <p>
+ * STRICT는 정렬하지 않고 종목 시작일이 다르면 오류를 반환합니다(기존 동작). INTERSECTION은 모든 종목과 지수에
+ * 있는 날짜만 사용하고, UNION_FORWARD_FILL은 가장 늦은 시작일부터 어느 한 곳에라도 있는 날짜를 사용하며
+ * 막대가 없는 종목/지수는 직전 가격으로 채웁니다.
+ */
+public enum AlignmentMode {
+    STRICT,
+    INTERSECTION,
+    UNION_FORWARD_FILL
+}
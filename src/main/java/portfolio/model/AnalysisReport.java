@@ -3,7 +3,6 @@ package portfolio.model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 포트폴리오 분석 결과 리포트 모델
@@ -155,16 +154,28 @@ public class AnalysisReport {
         private final double portfolioVolatility;
         private final double sharpeRatio;
         private final double maxDrawdown;
-        private final Map<String, Double> correlationMatrix;
+        private final CorrelationMatrix correlationMatrix;
         private final double beta;
+        /** 신뢰수준별 VaR/CVaR (포트폴리오 기간 수익률이 부족하면 빈 목록) */
+        private final List<ValueAtRiskMetrics> valueAtRisk;
+        /** 포트폴리오의 가장 깊은 낙폭 구간 (깊이 내림차순, 계산하지 않았으면 빈 목록) */
+        private final List<DrawdownEpisode> drawdownEpisodes;
 
         public RiskMetrics(double portfolioVolatility, double sharpeRatio, 
-                          double maxDrawdown, Map<String, Double> correlationMatrix, double beta) {
+                          double maxDrawdown, CorrelationMatrix correlationMatrix, double beta) {
+            this(portfolioVolatility, sharpeRatio, maxDrawdown, correlationMatrix, beta, List.of(), List.of());
+        }
+
+        public RiskMetrics(double portfolioVolatility, double sharpeRatio,
+                          double maxDrawdown, CorrelationMatrix correlationMatrix, double beta,
+                          List<ValueAtRiskMetrics> valueAtRisk, List<DrawdownEpisode> drawdownEpisodes) {
             this.portfolioVolatility = portfolioVolatility;
             this.sharpeRatio = sharpeRatio;
             this.maxDrawdown = maxDrawdown;
             this.correlationMatrix = correlationMatrix;
             this.beta = beta; 
+            this.valueAtRisk = valueAtRisk;
+            this.drawdownEpisodes = drawdownEpisodes;
         }
 
         public double getPortfolioVolatility() {
@@ -179,12 +190,20 @@ public class AnalysisReport {
             return maxDrawdown;
         }
 
-        public Map<String, Double> getCorrelationMatrix() {
+        public CorrelationMatrix getCorrelationMatrix() {
             return correlationMatrix;
         }
 
         public double getBeta() {
             return beta;
         }
+
+        public List<ValueAtRiskMetrics> getValueAtRisk() {
+            return valueAtRisk;
+        }
+
+        public List<DrawdownEpisode> getDrawdownEpisodes() {
+            return drawdownEpisodes;
+        }
     }
 }
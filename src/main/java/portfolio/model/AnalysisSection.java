@@ -0,0 +1,19 @@
+package portfolio.model;
+
+/**
+ * 스트리밍 통합 분석(/analyze/all/stream)의 NDJSON 한 줄
+ *
+ * <p>
+ * section은 {@link PortfolioFullAnalysisResponse}의 필드 이름(portfolioData, timeSeriesChart, comparisonChart,
+ * amountChart, dividendsAmountComparisonChart, report)이고, 중간에 실패하면 마지막 줄로 {@link #ERROR} 섹션
+ * (data: message/error)을 보냅니다.
+ */
+public record AnalysisSection(String section, Object data) {
+    public static final String PORTFOLIO_DATA = "portfolioData";
+    public static final String TIME_SERIES_CHART = "timeSeriesChart";
+    public static final String COMPARISON_CHART = "comparisonChart";
+    public static final String AMOUNT_CHART = "amountChart";
+    public static final String DIVIDENDS_AMOUNT_COMPARISON_CHART = "dividendsAmountComparisonChart";
+    public static final String REPORT = "report";
+    public static final String ERROR = "error";
+}
@@ -0,0 +1,104 @@
+package portfolio.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import portfolio.api.ChartResponse.Dividend;
+import portfolio.util.EpochCalendar;
+
+/**
+ * 가격 데이터(봉)의 주기입니다.
+ *
+ * <p>
+ * 조회 interval, 연율화 기간 수, 배당 반영 기준일이 주기에 따라 달라집니다.
+ * 월봉은 월초 시점 가격에 그 달 월말까지의 배당을, 일봉은 당일까지의 배당을, 주봉은 그 주 마지막 날까지의 배당을 반영합니다.
+ */
+public enum BarFrequency {
+    DAILY("1d", 252),
+    WEEKLY("1wk", 52),
+    MONTHLY("1mo", 12);
+
+    private final String interval;
+    private final int periodsPerYear;
+
+    BarFrequency(String interval, int periodsPerYear) {
+        this.interval = interval;
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    /**
+     * Yahoo Finance chart API의 interval 값
+     */
+    public String interval() {
+        return interval;
+    }
+
+    /**
+     * 1년의 기간 수 (거래일 252, 52주, 12개월)
+     */
+    public int periodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /**
+     * 기간 수익률 표준편차를 연율화하는 배수 √(periodsPerYear)
+     */
+    public double annualizationFactor() {
+        return Math.sqrt(periodsPerYear);
+    }
+
+    /**
+     * 연 이자율을 기간 이자율로 환산합니다.
+     */
+    public double periodicRate(double annualRate) {
+        return annualRate / periodsPerYear;
+    }
+
+    /**
+     * 해당 시점의 가격에 반영할 배당의 마지막 지급일(epoch day)을 반환합니다.
+     *
+     * @param epochSecond 가격 시점 unix timestamp(초)
+     */
+    public long settlementEpochDay(long epochSecond) {
+        return switch (this) {
+            case DAILY -> EpochCalendar.epochDay(epochSecond);
+            case WEEKLY -> EpochCalendar.epochDay(epochSecond) + 6;
+            case MONTHLY -> EpochCalendar.monthEndEpochDay(epochSecond);
+        };
+    }
+
+    /**
+     * 배당을 반영되는 가격 시점별로 모아 시점별 주당 배당금 배열을 만듭니다.
+     *
+     * <p>
+     * 각 배당은 반영 기준일({@link #settlementEpochDay(long)})이 지급일 이후인 첫 시점에 더해집니다.
+     * 첫 시점 이전의 배당은 첫 시점에 반영되고, 마지막 시점 이후의 배당은 버립니다. (원본 리스트는 변경하지 않음)
+     *
+     * @param timestamps 가격 시점 unix timestamp(초) 리스트 (시간순 정렬)
+     * @param dividends  배당 리스트 (null이면 배당 없음)
+     * @return 가격 시점과 같은 길이의 시점별 주당 배당금 배열
+     * @throws IllegalArgumentException timestamps가 null이거나 비어 있는 경우
+     */
+    public double[] dividendsPerBar(List<Long> timestamps, List<Dividend> dividends) {
+        if (timestamps == null || timestamps.isEmpty()) {
+            throw new IllegalArgumentException("Prices and timestamps lists cannot be null or empty");
+        }
+        double[] perBar = new double[timestamps.size()];
+        if (dividends == null || dividends.isEmpty()) {
+            return perBar;
+        }
+        // 지급일 순으로 정렬한 뒤 시점 커서로 한 번만 순회
+        List<Dividend> sortedDividends = new ArrayList<>(dividends);
+        sortedDividends.sort((d1, d2) -> Long.compare(d1.getDate(), d2.getDate()));
+        int next = 0;
+        for (int i = 0; i < perBar.length && next < sortedDividends.size(); i++) {
+            long settlementDay = settlementEpochDay(timestamps.get(i));
+            while (next < sortedDividends.size()
+                    && EpochCalendar.epochDay(sortedDividends.get(next).getDate()) <= settlementDay) {
+                perBar[i] += sortedDividends.get(next).getAmount();
+                next++;
+            }
+        }
+        return perBar;
+    }
+}
@@ -0,0 +1,105 @@
+package portfolio.model;
+
+import java.util.List;
+
+import portfolio.util.RunningMoments;
+
+/**
+ * 요청 단위로 한 번만 계산하는 벤치마크(지수) 데이터입니다.
+ *
+ * <p>
+ * 지수의 누적/기간 수익률 배열과 평균 대비 편차 배열, 분산을 보관하여
+ * 종목별 베타 계산 시 지수 수익률을 다시 계산하지 않도록 합니다. 생성 후 변경되지 않으므로 여러 스레드에서 공유할 수 있으며,
+ * getter가 반환하는 배열은 복사 없이 공유되므로 호출자가 수정하지 않아야 합니다.
+ */
+public final class BenchmarkContext {
+    private final double[] prices;
+    /** 배당 미포함 누적 수익률 (p[i] / p[0] - 1) */
+    private final double[] cumulativeReturns;
+    /** 기간 수익률 (p[i] / p[i-1] - 1), 가격보다 1 짧음 */
+    private final double[] periodicReturns;
+    /** 누적 수익률의 평균 대비 편차 */
+    private final double[] centeredCumulativeReturns;
+    /** 누적 수익률 편차 제곱합 */
+    private final double cumulativeSumOfSquares;
+    private final RunningMoments periodicMoments;
+
+    private BenchmarkContext(double[] prices) {
+        int n = prices.length;
+        this.prices = prices;
+        this.cumulativeReturns = new double[n];
+        this.periodicReturns = new double[Math.max(0, n - 1)];
+        this.centeredCumulativeReturns = new double[n];
+        this.periodicMoments = new RunningMoments();
+
+        RunningMoments cumulativeMoments = new RunningMoments();
+        double startPrice = n > 0 ? prices[0] : 0.0;
+        for (int i = 0; i < n; i++) {
+            cumulativeReturns[i] = (prices[i] - startPrice) / startPrice;
+            cumulativeMoments.add(cumulativeReturns[i]);
+            if (i > 0) {
+                periodicReturns[i - 1] = (prices[i] - prices[i - 1]) / prices[i - 1];
+                periodicMoments.add(periodicReturns[i - 1]);
+            }
+        }
+        double mean = cumulativeMoments.mean();
+        for (int i = 0; i < n; i++) {
+            centeredCumulativeReturns[i] = cumulativeReturns[i] - mean;
+        }
+        this.cumulativeSumOfSquares = cumulativeMoments.variance() * n;
+    }
+
+    /**
+     * 지수 가격 리스트로 벤치마크 컨텍스트를 생성합니다.
+     *
+     * @param indexPrices 지수 가격 리스트 (시간순 정렬)
+     */
+    public static BenchmarkContext of(List<Double> indexPrices) {
+        double[] prices = new double[indexPrices == null ? 0 : indexPrices.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = indexPrices.get(i);
+        }
+        return new BenchmarkContext(prices);
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    public double[] getPrices() {
+        return prices;
+    }
+
+    public double[] getCumulativeReturns() {
+        return cumulativeReturns;
+    }
+
+    public double[] getPeriodicReturns() {
+        return periodicReturns;
+    }
+
+    public double[] getCenteredCumulativeReturns() {
+        return centeredCumulativeReturns;
+    }
+
+    /**
+     * 누적 수익률의 편차 제곱합 Σ(y - ȳ)²
+     */
+    public double getCumulativeSumOfSquares() {
+        return cumulativeSumOfSquares;
+    }
+
+    /**
+     * 누적 수익률의 표본분산
+     */
+    public double getCumulativeVariance() {
+        return prices.length < 2 ? 0.0 : cumulativeSumOfSquares / (prices.length - 1);
+    }
+
+    /**
+     * 기간 수익률의 표본분산
+     */
+    public double getPeriodicVariance() {
+        return periodicMoments.sampleVariance();
+    }
+}
@@ -0,0 +1,86 @@
+package portfolio.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 종목 간 공분산/상관계수 행렬입니다.
+ *
+ * <p>
+ * n개 종목의 행렬을 행 우선(row-major) 1차원 배열({@code values[i * n + j]})로 보관하며,
+ * JSON으로는 종목 목록과 상관계수 배열만 직렬화합니다. 생성 후 변경되지 않으므로 여러 스레드에서 공유할 수 있으며,
+ * getter가 반환하는 배열은 복사 없이 공유되므로 호출자가 수정하지 않아야 합니다.
+ */
+public final class CorrelationMatrix {
+    private final List<String> tickers;
+    /** 계산에 사용한 기간 수익률 개수 */
+    private final int periods;
+    /** 표본공분산 (n × n, row-major) */
+    private final double[] covariance;
+    /** 피어슨 상관계수 (n × n, row-major) */
+    private final double[] correlation;
+
+    public CorrelationMatrix(List<String> tickers, int periods, double[] covariance, double[] correlation) {
+        int n = tickers.size();
+        if (covariance.length != n * n || correlation.length != n * n) {
+            throw new IllegalArgumentException("Matrix size must be tickers × tickers");
+        }
+        this.tickers = List.copyOf(tickers);
+        this.periods = periods;
+        this.covariance = covariance;
+        this.correlation = correlation;
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public int getPeriods() {
+        return periods;
+    }
+
+    /**
+     * 상관계수 행렬 (row-major)
+     */
+    public double[] getCorrelation() {
+        return correlation;
+    }
+
+    /**
+     * 공분산 행렬 (row-major)
+     */
+    @JsonIgnore
+    public double[] getCovariance() {
+        return covariance;
+    }
+
+    public int size() {
+        return tickers.size();
+    }
+
+    public double correlation(int i, int j) {
+        return correlation[i * tickers.size() + j];
+    }
+
+    public double covariance(int i, int j) {
+        return covariance[i * tickers.size() + j];
+    }
+
+    /**
+     * 두 종목의 상관계수를 반환합니다.
+     *
+     * @throws IllegalArgumentException 행렬에 없는 종목인 경우
+     */
+    public double correlation(String ticker1, String ticker2) {
+        return correlation(indexOf(ticker1), indexOf(ticker2));
+    }
+
+    private int indexOf(String ticker) {
+        int index = tickers.indexOf(ticker);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown ticker: " + ticker);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,17 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+
+/**
+ * 고점에서 저점을 거쳐 고점을 회복하기까지의 낙폭 구간입니다.
+ *
+ * @param peakDate     직전 고점 날짜
+ * @param troughDate   구간 최저점 날짜
+ * @param recoveryDate 고점 이상으로 회복한 날짜 (기간 끝까지 회복하지 못했으면 null)
+ * @param depth        최대 낙폭 (고점 - 저점) / 고점
+ * @param periods      고점부터 회복(또는 마지막 가격)까지의 기간 수
+ * @param days         고점부터 회복(또는 마지막 가격)까지의 일수
+ */
+public record DrawdownEpisode(LocalDate peakDate, LocalDate troughDate, LocalDate recoveryDate, double depth,
+        int periods, long days) {
+}
@@ -2,15 +2,22 @@ package portfolio.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.TreeMap;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import portfolio.api.ChartResponse;
-import portfolio.util.DateUtils;
+import portfolio.util.CalendarAligner;
+import portfolio.util.EntityTags;
+import portfolio.util.EpochCalendar;
+import portfolio.util.NumericKernels;
+import portfolio.util.PackedDoubleList;
 
 @Slf4j
 @Getter
@@ -18,21 +25,324 @@ public class FetchedStockDatas {
     private final Map<String, StockHistories> stockHistories;
     private final List<Long> indexTimestamps;
     private final List<Double> indexPrices;
+    /** 요청 단위로 한 번만 계산하는 지수 수익률/분산 */
+    private final BenchmarkContext benchmarkContext;
+    /** 종목별 거래 통화 (응답 Meta.currency, 없으면 null) */
+    private final Map<String, String> currencies;
+    /** 지수 거래 통화 (없으면 null) */
+    private final String indexCurrency;
+    /** 가격을 환산한 기준 통화 (환산하지 않았으면 null) */
+    private final String baseCurrency;
+    /** 처음 요청할 때 계산해 두는 버전 스탬프 (시계열은 생성 후 바뀌지 않음) */
+    @Getter(AccessLevel.NONE)
+    private volatile Long versionStamp;
 
     public FetchedStockDatas(Map<String, ChartResponse> stockData, ChartResponse index) {
-        this.stockHistories = new LinkedHashMap<>();
+        this(stockData, index, AlignmentMode.STRICT);
+    }
+
+    public FetchedStockDatas(Map<String, ChartResponse> stockData, ChartResponse index, AlignmentMode alignment) {
+        this(stockData, index, alignment, BarFrequency.MONTHLY);
+    }
+
+    /**
+     * @param alignment STRICT면 종목 시작일이 다를 때 예외, 그 외에는 모든 종목과 지수를 공통 달력으로 정렬
+     * @param frequency 가격 막대 주기 (정렬 시 마지막 막대가 반영하는 배당의 범위를 정함)
+     * @throws IllegalArgumentException STRICT에서 시작일이 다르거나, 정렬 시 데이터가 없거나 공통 날짜가 없는 경우
+     */
+    public FetchedStockDatas(Map<String, ChartResponse> stockData, ChartResponse index, AlignmentMode alignment,
+            BarFrequency frequency) {
+        Map<String, StockHistories> histories = new LinkedHashMap<>();
+        Map<String, String> tickerCurrencies = new LinkedHashMap<>();
         stockData.forEach((ticker, chartResponse) -> {
+            tickerCurrencies.put(ticker, extractCurrency(chartResponse));
             var prices = extractPrices(chartResponse);
             var timestamps = extractTimestamps(chartResponse);
             var dividends = extractDividends(chartResponse);
-            this.stockHistories.put(ticker, new StockHistories(prices, timestamps, dividends));
+            var adjustedPrices = extractAdjustedPrices(chartResponse, prices.size());
+            histories.put(ticker, new StockHistories(prices, timestamps, dividends, adjustedPrices));
         });
-        this.indexTimestamps = extractTimestamps(index);
-        this.indexPrices = extractPrices(index);
+        StockHistories indexHistories = new StockHistories(extractPrices(index), extractTimestamps(index), List.of());
+
+        if (alignment != null && alignment != AlignmentMode.STRICT) {
+            indexHistories = align(histories, indexHistories, alignment == AlignmentMode.UNION_FORWARD_FILL,
+                    frequency);
+        }
+        this.stockHistories = histories;
+        this.indexTimestamps = indexHistories.timestamps();
+        this.indexPrices = indexHistories.prices();
+        this.benchmarkContext = BenchmarkContext.of(indexPrices);
+        this.currencies = tickerCurrencies;
+        this.indexCurrency = extractCurrency(index);
+        this.baseCurrency = null;
 
         validateStockDataConsistency();
     }
 
+    private FetchedStockDatas(Map<String, StockHistories> stockHistories, StockHistories indexHistories,
+            Map<String, String> currencies, String indexCurrency, String baseCurrency) {
+        this.stockHistories = stockHistories;
+        this.indexTimestamps = indexHistories.timestamps();
+        this.indexPrices = indexHistories.prices();
+        this.benchmarkContext = BenchmarkContext.of(indexPrices);
+        this.currencies = currencies;
+        this.indexCurrency = indexCurrency;
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * 종목/지수 시계열(가격, 조정 종가, 타임스탬프, 배당)과 통화의 버전 스탬프를 반환합니다.
+     * 같은 데이터면 항상 같은 값이고, 다시 조회한 시계열의 값이 하나라도 바뀌면 달라집니다. 응답 ETag와 분석 결과
+     * 캐시 키에 사용합니다. (종목 순서와 무관하도록 종목명 순으로 섞음)
+     *
+     * <p>
+     * 한 요청에서 컨트롤러의 ETag와 서비스의 캐시 키가 모두 사용하므로 인스턴스마다 처음 한 번만 계산합니다.
+     * 동시에 처음 호출되면 여러 번 계산될 수 있지만 결과는 같습니다.
+     */
+    public long versionStamp() {
+        Long stamp = versionStamp;
+        if (stamp == null) {
+            stamp = computeVersionStamp();
+            versionStamp = stamp;
+        }
+        return stamp;
+    }
+
+    private long computeVersionStamp() {
+        long stamp = EntityTags.mix(0L, baseCurrency);
+        for (Map.Entry<String, StockHistories> entry : new TreeMap<>(stockHistories).entrySet()) {
+            stamp = EntityTags.mix(stamp, entry.getKey());
+            stamp = EntityTags.mix(stamp, currencies.get(entry.getKey()));
+            stamp = stamp(stamp, entry.getValue());
+        }
+        stamp = EntityTags.mix(stamp, indexCurrency);
+        return stamp(stamp, new StockHistories(indexPrices, indexTimestamps, List.of()));
+    }
+
+    private static long stamp(long stamp, StockHistories histories) {
+        stamp = EntityTags.mix(stamp, histories.timestamps().size());
+        for (Long timestamp : histories.timestamps()) {
+            stamp = EntityTags.mix(stamp, timestamp == null ? Long.MIN_VALUE : timestamp);
+        }
+        for (Double price : histories.prices()) {
+            stamp = EntityTags.mix(stamp, price);
+        }
+        stamp = EntityTags.mix(stamp, histories.adjustedPrices().size());
+        for (Double price : histories.adjustedPrices()) {
+            stamp = EntityTags.mix(stamp, price);
+        }
+        stamp = EntityTags.mix(stamp, histories.dividends().size());
+        for (ChartResponse.Dividend dividend : histories.dividends()) {
+            stamp = EntityTags.mix(EntityTags.mix(stamp, dividend.getDate()),
+                    Double.doubleToLongBits(dividend.getAmount()));
+        }
+        return stamp;
+    }
+
+    /**
+     * 거래 통화가 기준 통화와 다른 종목/지수의 가격, 조정 종가, 배당을 기준 통화로 환산한 데이터를 반환합니다.
+     *
+     * <p>
+     * 환율은 각 시계열의 시점마다 같은 날짜 또는 직전 날짜의 값을 사용하고({@link CalendarAligner#asOf}),
+     * 가격 열 × 환율 열은 수치 커널의 원소별 곱으로 계산합니다. 배당은 지급일의 환율로 환산합니다.
+     * 통화를 모르는 종목은 이미 기준 통화라고 봅니다.
+     *
+     * @param baseCurrency    기준 통화 (예: USD)
+     * @param ratesByCurrency 거래 통화 → 기준 통화 환율
+     * @throws IllegalArgumentException 필요한 환율이 없는 경우
+     */
+    public FetchedStockDatas convertCurrency(String baseCurrency, Map<String, FxRates> ratesByCurrency,
+            NumericKernels kernels) {
+        Map<String, StockHistories> converted = new LinkedHashMap<>();
+        stockHistories.forEach((ticker, histories) -> {
+            FxRates rates = ratesFor(currencies.get(ticker), baseCurrency, ratesByCurrency);
+            converted.put(ticker, rates == null ? histories : convert(histories, rates, kernels));
+        });
+        StockHistories indexHistories = new StockHistories(indexPrices, indexTimestamps, List.of());
+        FxRates indexRates = ratesFor(indexCurrency, baseCurrency, ratesByCurrency);
+        if (indexRates != null) {
+            indexHistories = convert(indexHistories, indexRates, kernels);
+        }
+        return new FetchedStockDatas(converted, indexHistories, currencies, indexCurrency, baseCurrency);
+    }
+
+    private static FxRates ratesFor(String currency, String baseCurrency, Map<String, FxRates> ratesByCurrency) {
+        if (currency == null || currency.equals(baseCurrency)) {
+            return null;
+        }
+        FxRates rates = ratesByCurrency.get(currency);
+        if (rates == null || !rates.from().equals(currency) || !rates.to().equals(baseCurrency)) {
+            throw new IllegalArgumentException("FX rates not found for " + FxRates.symbol(currency, baseCurrency));
+        }
+        return rates;
+    }
+
+    private static StockHistories convert(StockHistories histories, FxRates rates, NumericKernels kernels) {
+        List<Long> timestamps = histories.timestamps();
+        if (histories.prices().size() != timestamps.size()) {
+            throw new IllegalArgumentException("Prices and timestamps must have the same size");
+        }
+        long[] stamps = new long[timestamps.size()];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i] = timestamps.get(i);
+        }
+        double[] rateColumn = gather(rates.rates(), CalendarAligner.asOf(stamps, rates.timestamps()));
+
+        double[] prices = new double[stamps.length];
+        kernels.multiply(PackedDoubleList.toArray(histories.prices()), rateColumn, prices);
+        List<Double> adjustedPrices = histories.adjustedPrices();
+        if (adjustedPrices.size() == prices.length && !adjustedPrices.contains(null)) {
+            double[] adjusted = new double[prices.length];
+            kernels.multiply(PackedDoubleList.toArray(adjustedPrices), rateColumn, adjusted);
+            adjustedPrices = PackedDoubleList.wrap(adjusted);
+        } else {
+            adjustedPrices = List.of();
+        }
+        return new StockHistories(PackedDoubleList.wrap(prices), timestamps,
+                convertDividends(histories.dividends(), rates), adjustedPrices);
+    }
+
+    /**
+     * 배당을 지급일 순으로 정렬해 지급일의 환율로 환산합니다. (캐시된 응답의 배당 객체는 변경하지 않음)
+     */
+    private static List<ChartResponse.Dividend> convertDividends(List<ChartResponse.Dividend> dividends,
+            FxRates rates) {
+        if (dividends == null || dividends.isEmpty()) {
+            return List.of();
+        }
+        List<ChartResponse.Dividend> sorted = new ArrayList<>(dividends);
+        sorted.sort((d1, d2) -> Long.compare(d1.getDate(), d2.getDate()));
+        long[] dates = new long[sorted.size()];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = sorted.get(i).getDate();
+        }
+        int[] index = CalendarAligner.asOf(dates, rates.timestamps());
+        List<ChartResponse.Dividend> converted = new ArrayList<>(sorted.size());
+        for (int i = 0; i < dates.length; i++) {
+            ChartResponse.Dividend dividend = new ChartResponse.Dividend();
+            dividend.setDate(dates[i]);
+            dividend.setAmount(sorted.get(i).getAmount() * rates.rates()[index[i]]);
+            converted.add(dividend);
+        }
+        return converted;
+    }
+
+    private static double[] gather(double[] values, int[] index) {
+        double[] column = new double[index.length];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = values[index[i]];
+        }
+        return column;
+    }
+
+    /**
+     * 종목과 지수의 가격/타임스탬프를 공통 달력의 열로 바꿉니다. (가격이 null인 막대는 없는 막대로 취급)
+     * 종목 히스토리는 제자리에서 교체하고 정렬된 지수 히스토리를 반환합니다. 배당은 공통 달력의 첫 막대 이전과
+     * 마지막 막대의 반영 기준일 이후 것을 버리고 (먼저 상장한 종목의 이전 배당이 첫 막대에 몰리지 않도록),
+     * 조정 종가는 가격과 같은 막대로 맞추되 남는 막대에 조정 종가가 없으면 버립니다.
+     */
+    private static StockHistories align(Map<String, StockHistories> histories, StockHistories indexHistories,
+            boolean forwardFill, BarFrequency frequency) {
+        List<String> tickers = new ArrayList<>(histories.keySet());
+        int k = tickers.size() + 1;
+        long[][] timestamps = new long[k][];
+        double[][] prices = new double[k][];
+        double[][] adjustedPrices = new double[k][];
+        for (int s = 0; s < k; s++) {
+            boolean isIndex = s == k - 1;
+            StockHistories series = isIndex ? indexHistories : histories.get(tickers.get(s));
+            int size = compact(series, s, timestamps, prices, adjustedPrices);
+            if (size == 0) {
+                throw new IllegalArgumentException((isIndex ? "Index" : "Stock " + tickers.get(s))
+                        + " data has no prices.");
+            }
+        }
+
+        CalendarAligner.Alignment alignment = CalendarAligner.align(timestamps, forwardFill);
+        if (alignment.size() == 0) {
+            long latestStartDay = Long.MIN_VALUE;
+            for (long[] series : timestamps) {
+                latestStartDay = Math.max(latestStartDay, EpochCalendar.epochDay(series[0]));
+            }
+            throw new IllegalArgumentException("Stock data has no common dates. The latest start date is "
+                    + LocalDate.ofEpochDay(latestStartDay) + ".");
+        }
+        log.debug("aligned {} series forwardFill:{} points:{}", k, forwardFill, alignment.size());
+
+        // 모든 종목과 지수가 같은 달력 리스트를 공유
+        List<Long> calendar = new ArrayList<>(alignment.size());
+        for (long timestamp : alignment.timestamps()) {
+            calendar.add(timestamp);
+        }
+        calendar = Collections.unmodifiableList(calendar);
+        long firstDay = EpochCalendar.epochDay(calendar.get(0));
+        long lastDay = frequency.settlementEpochDay(calendar.get(calendar.size() - 1));
+        double[][] columns = alignment.columns(prices);
+        for (int s = 0; s < k - 1; s++) {
+            String ticker = tickers.get(s);
+            List<Double> adjusted = adjustedPrices[s] == null ? List.of()
+                    : PackedDoubleList.wrap(alignment.column(s, adjustedPrices[s]));
+            histories.put(ticker, new StockHistories(PackedDoubleList.wrap(columns[s]), calendar,
+                    dividendsWithin(histories.get(ticker).dividends(), firstDay, lastDay), adjusted));
+        }
+        return new StockHistories(PackedDoubleList.wrap(columns[k - 1]), calendar, List.of());
+    }
+
+    /**
+     * 지급일이 [firstDay, lastDay] 범위 안인 배당만 남깁니다. (원본 리스트는 변경하지 않음)
+     */
+    private static List<ChartResponse.Dividend> dividendsWithin(List<ChartResponse.Dividend> dividends,
+            long firstDay, long lastDay) {
+        if (dividends == null || dividends.isEmpty()) {
+            return dividends;
+        }
+        List<ChartResponse.Dividend> within = new ArrayList<>(dividends.size());
+        for (ChartResponse.Dividend dividend : dividends) {
+            long day = EpochCalendar.epochDay(dividend.getDate());
+            if (day >= firstDay && day <= lastDay) {
+                within.add(dividend);
+            }
+        }
+        return within;
+    }
+
+    /**
+     * 가격이 있는 막대만 배열로 옮기고 개수를 반환합니다. (조정 종가가 하나라도 빠지면 adjustedPrices[s]는 null)
+     */
+    private static int compact(StockHistories series, int s, long[][] timestamps, double[][] prices,
+            double[][] adjustedPrices) {
+        List<Long> stamps = series.timestamps();
+        List<Double> values = series.prices();
+        List<Double> adjusted = series.adjustedPrices();
+        int n = Math.min(stamps.size(), values.size());
+        long[] compactStamps = new long[n];
+        double[] compactPrices = new double[n];
+        double[] compactAdjusted = adjusted.size() == values.size() ? new double[n] : null;
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            Double price = values.get(i);
+            Long timestamp = stamps.get(i);
+            if (price != null && timestamp != null) {
+                if (compactAdjusted != null) {
+                    Double adjustedPrice = adjusted.get(i);
+                    if (adjustedPrice == null) {
+                        compactAdjusted = null;
+                    } else {
+                        compactAdjusted[size] = adjustedPrice;
+                    }
+                }
+                compactStamps[size] = timestamp;
+                compactPrices[size] = price;
+                size++;
+            }
+        }
+        timestamps[s] = size == n ? compactStamps : Arrays.copyOf(compactStamps, size);
+        prices[s] = size == n ? compactPrices : Arrays.copyOf(compactPrices, size);
+        adjustedPrices[s] = compactAdjusted == null || size == n ? compactAdjusted
+                : Arrays.copyOf(compactAdjusted, size);
+        return size;
+    }
+
     private void validateStockDataConsistency() {
         if (stockHistories.keySet().size() <= 1) {
             return;
@@ -44,32 +354,23 @@ public class FetchedStockDatas {
             }
         });
 
-        Optional<LocalDate> latestStartDateOpt = stockHistories.values().stream()
-                .map(value -> value.timestamps())
-                .filter(timestamps -> !timestamps.isEmpty())
-                .map(timestamps -> DateUtils.toLocalDate(timestamps.get(0)))
-                .max(LocalDate::compareTo);
-
-        log.debug("Latest start date: {}", latestStartDateOpt);
-
-        if (latestStartDateOpt.isEmpty()) {
-            return; // No data with timestamps found
+        // 시작일 비교는 epoch day(정수)로 수행하고, LocalDate는 오류 메시지에만 사용
+        long latestStartDay = Long.MIN_VALUE;
+        boolean allMatch = true;
+        for (StockHistories histories : stockHistories.values()) {
+            long startDay = EpochCalendar.epochDay(histories.timestamps().get(0));
+            if (latestStartDay != Long.MIN_VALUE && startDay != latestStartDay) {
+                allMatch = false;
+            }
+            latestStartDay = Math.max(latestStartDay, startDay);
         }
 
-        LocalDate latestStartDate = latestStartDateOpt.get();
-
-        boolean allMatch = stockHistories.values().stream()
-                .map(value -> value.timestamps())
-                .filter(timestamps -> !timestamps.isEmpty())
-                .map(timestamps -> DateUtils.toLocalDate(timestamps.get(0)))
-                .allMatch(latestStartDate::equals);
-
-        log.debug("All match: {}", allMatch);
+        log.debug("Latest start day: {}, all match: {}", latestStartDay, allMatch);
 
         if (!allMatch) {
             throw new IllegalArgumentException(
                     "Stock data has different start dates. Please align them. The latest start date is "
-                            + latestStartDate + ".");
+                            + LocalDate.ofEpochDay(latestStartDay) + ".");
         }
     }
 
@@ -84,6 +385,14 @@ public class FetchedStockDatas {
         return chartResponse.getChart().getResult().get(0);
     }
 
+    String extractCurrency(ChartResponse chartResponse) {
+        ChartResponse.Result result = getFirstResult(chartResponse);
+        if (result == null || result.getMeta() == null) {
+            return null;
+        }
+        return result.getMeta().getCurrency();
+    }
+
     List<Double> extractPrices(ChartResponse chartResponse) {
         ChartResponse.Result result = getFirstResult(chartResponse);
         if (result == null) {
@@ -100,6 +409,22 @@ public class FetchedStockDatas {
         return result.getIndicators().getQuote().get(0).getClose();
     }
 
+    /**
+     * 조정 종가를 반환합니다. 응답에 없거나 종가와 길이가 다르면 빈 리스트입니다.
+     */
+    List<Double> extractAdjustedPrices(ChartResponse chartResponse, int size) {
+        ChartResponse.Result result = getFirstResult(chartResponse);
+        if (result == null ||
+                result.getIndicators() == null ||
+                result.getIndicators().getAdjclose() == null ||
+                result.getIndicators().getAdjclose().isEmpty() ||
+                result.getIndicators().getAdjclose().get(0).getAdjclose() == null) {
+            return List.of();
+        }
+        List<Double> adjustedPrices = result.getIndicators().getAdjclose().get(0).getAdjclose();
+        return adjustedPrices.size() == size ? adjustedPrices : List.of();
+    }
+
     List<Long> extractTimestamps(ChartResponse chartResponse) {
         ChartResponse.Result result = getFirstResult(chartResponse);
         if (result == null || result.getTimestamp() == null) {
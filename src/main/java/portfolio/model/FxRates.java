@@ -0,0 +1,22 @@
+package portfolio.model;
+
+/**
+ * 통화쌍의 환율 시계열입니다. rates[i]는 timestamps[i] 시점의 from 1단위당 to 금액입니다.
+ *
+ * <p>
+ * 캐시에 보관되어 여러 요청이 공유하므로 배열을 변경하지 않아야 합니다.
+ *
+ * @param from       환산 전 통화 (예: KRW)
+ * @param to         환산 후 통화 (예: USD)
+ * @param timestamps 오름차순 타임스탬프 (epoch second)
+ * @param rates      환율
+ */
+public record FxRates(String from, String to, long[] timestamps, double[] rates) {
+
+    /**
+     * Yahoo Finance 환율 심볼 (예: KRWUSD=X)
+     */
+    public static String symbol(String from, String to) {
+        return from + to + "=X";
+    }
+}
@@ -0,0 +1,38 @@
+package portfolio.model;
+
+import java.util.List;
+
+import portfolio.api.ChartResponse.Dividend;
+
+/**
+ * 누적 지표 상태 초기화/추가 요청 (/metrics/{key}, /metrics/{key}/bars)
+ *
+ * <p>
+ * 초기화는 전체 이력, 추가는 마지막 시점 이후의 가격과 그 기간의 배당만 담습니다.
+ *
+ * @param ticker           종목 티커 (초기화에만 사용)
+ * @param includeDividends 배당 재투자 포함 여부 (초기화에만 사용)
+ * @param initialAmount    초기 투자 금액 (초기화에만 사용, 0이면 금액 시계열 없음)
+ * @param weight           투자 비중 (초기화에만 사용, 없으면 1)
+ * @param frequency        가격 데이터 주기 (초기화에만 사용, 없으면 월봉)
+ * @param prices           가격
+ * @param timestamps       가격 시점 unix timestamp(초)
+ * @param dividends        배당 (없으면 null)
+ * @param indexPrices      같은 시점의 지수 가격
+ */
+public record IncrementalMetricRequest(String ticker, boolean includeDividends, double initialAmount, Double weight,
+        BarFrequency frequency, List<Double> prices, List<Long> timestamps, List<Dividend> dividends,
+        List<Double> indexPrices) {
+
+    public StockHistories histories() {
+        return new StockHistories(prices, timestamps, dividends == null ? List.of() : dividends);
+    }
+
+    public double weightOrDefault() {
+        return weight == null ? 1.0 : weight;
+    }
+
+    public BarFrequency frequencyOrDefault() {
+        return frequency == null ? BarFrequency.MONTHLY : frequency;
+    }
+}
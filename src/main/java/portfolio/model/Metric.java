@@ -0,0 +1,117 @@
+package portfolio.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 종목별로 계산할 수 있는 지표와 그 입력 지표의 의존 관계입니다.
+ *
+ * <p>
+ * 엔드포인트(차트/리포트)는 필요한 지표만 선언하고, {@link #closure(Set)}로 입력 지표까지 포함한 집합을 구해
+ * 그 집합에 속한 지표만 계산합니다. 가격/타임스탬프/배당과 투자 원금은 항상 포함됩니다.
+ * 배당 포함 여부를 아는 곳에서는 {@link #closure(Set, boolean)}로 쓰지 않을 시계열을 제외합니다.
+ * {@link #PRICE_GROWTH}, {@link #TOTAL_RETURN_SERIES}는 응답 필드가 없는 중간 지표입니다.
+ */
+public enum Metric {
+    /** 배당 미포함 누적 수익률 시계열 (중간 지표) */
+    PRICE_GROWTH,
+    /** 배당 포함 누적 수익률 시계열 (중간 지표) */
+    TOTAL_RETURN_SERIES,
+    /** periodicReturnRates */
+    PERIODIC_RETURNS,
+    /** priceReturn */
+    PRICE_RETURN,
+    /** totalReturn */
+    TOTAL_RETURN(TOTAL_RETURN_SERIES),
+    /** cagr */
+    CAGR(PRICE_RETURN),
+    /** cumulativeReturns (includeDividends에 따라 두 시계열 중 하나, {@link #inputs(boolean)}) */
+    CUMULATIVE_RETURNS(PRICE_GROWTH, TOTAL_RETURN_SERIES),
+    /** volatility */
+    VOLATILITY(PERIODIC_RETURNS),
+    /** sharpeRatio */
+    SHARPE_RATIO(PERIODIC_RETURNS),
+    /** beta */
+    BETA(PRICE_GROWTH),
+    /** maxDrawdowns, maxDrawdown */
+    DRAWDOWNS,
+    /** drawdownEpisodes, maxDrawdown (가장 깊은 낙폭 구간, 시점별 낙폭 목록 없이 계산) */
+    DRAWDOWN_EPISODES,
+    /** amountChanges, amountDividens */
+    AMOUNTS,
+    /** dates */
+    DATES,
+    /** rollingRisks (요청에 rollingWindows가 있을 때만 계산) */
+    ROLLING_RISKS(DATES);
+
+    private final List<Metric> inputs;
+
+    Metric(Metric... inputs) {
+        this.inputs = List.of(inputs);
+    }
+
+    /**
+     * 이 지표를 계산하는 데 필요한 입력 지표 (직접 의존만)
+     */
+    public List<Metric> inputs() {
+        return inputs;
+    }
+
+    /**
+     * 배당 포함 여부에 따른 입력 지표 (직접 의존만)
+     * 누적 수익률은 배당 포함이면 배당 포함 시계열, 아니면 가격 시계열만 입력으로 합니다.
+     */
+    public List<Metric> inputs(boolean includeDividends) {
+        if (this == CUMULATIVE_RETURNS) {
+            return List.of(includeDividends ? TOTAL_RETURN_SERIES : PRICE_GROWTH);
+        }
+        return inputs;
+    }
+
+    /**
+     * 모든 지표 (/analyze, /analyze/all 용)
+     */
+    public static Set<Metric> all() {
+        return Collections.unmodifiableSet(EnumSet.allOf(Metric.class));
+    }
+
+    /**
+     * 요청한 지표와 그 입력 지표를 재귀적으로 모두 포함한 집합을 반환합니다.
+     * 배당 포함 여부를 모르는 곳(엔드포인트 상수 등)용으로, 누적 수익률은 두 시계열을 모두 포함합니다.
+     *
+     * @throws IllegalArgumentException metrics가 null인 경우
+     */
+    public static Set<Metric> closure(Set<Metric> metrics) {
+        return closure(metrics, null);
+    }
+
+    /**
+     * 요청한 지표와 배당 포함 여부에 따른 입력 지표를 재귀적으로 모두 포함한 집합을 반환합니다.
+     *
+     * @throws IllegalArgumentException metrics가 null인 경우
+     */
+    public static Set<Metric> closure(Set<Metric> metrics, boolean includeDividends) {
+        return closure(metrics, Boolean.valueOf(includeDividends));
+    }
+
+    private static Set<Metric> closure(Set<Metric> metrics, Boolean includeDividends) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        EnumSet<Metric> resolved = EnumSet.noneOf(Metric.class);
+        for (Metric metric : metrics) {
+            metric.collect(resolved, includeDividends);
+        }
+        return Collections.unmodifiableSet(resolved);
+    }
+
+    private void collect(EnumSet<Metric> resolved, Boolean includeDividends) {
+        if (resolved.add(this)) {
+            for (Metric input : includeDividends == null ? inputs : inputs(includeDividends)) {
+                input.collect(resolved, includeDividends);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.Getter;
+import portfolio.api.ChartResponse.Dividend;
+import portfolio.util.AppendOnlyList;
+import portfolio.util.EpochCalendar;
+import portfolio.util.RunningCovariance;
+import portfolio.util.RunningMoments;
+
+/**
+ * 종목(또는 포트폴리오) 시계열 하나의 누적 계산 상태입니다.
+ *
+ * <p>
+ * 보유 주식 수, 미재투자 현금, 고점/최대낙폭, 기간 수익률의 Welford 누적기(변동성/샤프비율),
+ * 지수 대비 누적 수익률 공분산 누적기(베타), 배당 재투자 누적 성장률을 보관하여,
+ * 새 가격 데이터가 추가될 때 처음부터 다시 계산하지 않고 추가된 데이터만큼만 갱신합니다.
+ * 계산 정의는 {@code StockReturnCalculator.calculateStockReturn}과 같습니다.
+ * (배당은 가격 시점의 반영 기준일({@link BarFrequency#settlementEpochDay(long)})까지 지급분을 반영)
+ * 스레드 안전하지 않으므로 한 번에 한 스레드에서만 갱신합니다. 시계열은 {@link AppendOnlyList}로 보관하므로
+ * 갱신할 때마다 복사 없이 스냅샷을 반환할 수 있습니다.
+ */
+@Getter
+public class MetricState {
+    private final String ticker;
+    private final boolean includeDividends;
+    private final double initialAmount;
+    private final double weight;
+    /** 가격 데이터 주기 (배당 반영 기준일, 연환산) */
+    private final BarFrequency frequency;
+
+    private double startPrice;
+    private double startIndexPrice;
+    private double lastPrice;
+    private double lastIndexPrice;
+
+    /** 배당 재투자를 가정한 1주 기준 보유 주식 수 (총수익률용) */
+    private double reinvestedShares = 1.0;
+    /** 총수익률 경로의 미재투자 배당 현금 */
+    private double reinvestedCash;
+    /** 배당 미재투자 경로(1주 유지)의 미지급 배당 현금 */
+    private double heldCash;
+    /** 아직 반영되지 않은 배당 (epoch day → 주당 배당금 합계) */
+    private final TreeMap<Long, Double> pendingDividends = new TreeMap<>();
+    /** 마지막 가격 시점의 반영 기준일 epoch day (이 날짜 이전 배당은 이미 반영됨) */
+    private long lastSettlementEpochDay = Long.MIN_VALUE;
+
+    private double peak;
+    private double maxDrawdown;
+    /** 기간 수익률 누적기 (변동성, 샤프비율) */
+    private final RunningMoments periodicMoments = new RunningMoments();
+    /** 종목/지수 누적 수익률(배당 미포함) 누적기 (베타) */
+    private final RunningCovariance growthCovariance = new RunningCovariance();
+
+    private final AppendOnlyList<Double> prices = new AppendOnlyList<>();
+    private final AppendOnlyList<Long> timestamps = new AppendOnlyList<>();
+    /** 응답 직렬화용 날짜 (timestamps와 같은 길이) */
+    private final AppendOnlyList<LocalDate> dates = new AppendOnlyList<>();
+    private final AppendOnlyList<Double> indexPrices = new AppendOnlyList<>();
+    private final AppendOnlyList<Dividend> dividends = new AppendOnlyList<>();
+    /** 배당 포함 누적 수익률 */
+    private final AppendOnlyList<Double> totalReturns = new AppendOnlyList<>();
+    /** 배당 미포함 누적 수익률 */
+    private final AppendOnlyList<Double> priceReturns = new AppendOnlyList<>();
+    private final AppendOnlyList<Double> periodicReturnRates = new AppendOnlyList<>();
+    private final AppendOnlyList<Double> drawdowns = new AppendOnlyList<>();
+    private final AppendOnlyList<Double> amountChanges = new AppendOnlyList<>();
+    private final AppendOnlyList<Double> amountDividends = new AppendOnlyList<>();
+
+    /** 마지막 전체 재계산 검증 이후 추가 횟수 */
+    private int appendsSinceVerification;
+
+    public MetricState(String ticker, boolean includeDividends, double initialAmount, double weight,
+            BarFrequency frequency) {
+        this.ticker = ticker;
+        this.includeDividends = includeDividends;
+        this.initialAmount = initialAmount;
+        this.weight = weight;
+        this.frequency = frequency;
+    }
+
+    public int size() {
+        return prices.size();
+    }
+
+    public long getLastTimestamp() {
+        return timestamps.isEmpty() ? Long.MIN_VALUE : timestamps.get(timestamps.size() - 1);
+    }
+
+    /**
+     * 배당 재투자 누적 성장률(1주 기준 가치 / 시작 가격)
+     */
+    public double getTotalGrowth() {
+        return reinvestedShares * lastPrice / startPrice;
+    }
+
+    /**
+     * 이미 반영된 구간(마지막 가격 시점의 반영 기준일 이전)에 속하는지 확인합니다.
+     * 이런 배당이 새로 들어오면 누적 상태로는 반영할 수 없으므로 전체 재계산이 필요합니다.
+     */
+    public boolean isSettled(Dividend dividend) {
+        return EpochCalendar.epochDay(dividend.getDate()) <= lastSettlementEpochDay;
+    }
+
+    /**
+     * 배당을 등록합니다. 다음 가격 시점부터 반영 기준일에 맞춰 반영됩니다.
+     *
+     * @throws IllegalArgumentException 이미 반영된 구간의 배당인 경우
+     */
+    public void addDividend(Dividend dividend) {
+        if (isSettled(dividend)) {
+            throw new IllegalArgumentException("Dividend is before the last settled month end: " + dividend.getDate());
+        }
+        dividends.add(dividend);
+        pendingDividends.merge(EpochCalendar.epochDay(dividend.getDate()), dividend.getAmount(), Double::sum);
+    }
+
+    /**
+     * 가격 데이터 하나를 추가하고 모든 누적 지표를 갱신합니다.
+     *
+     * @param timestamp  unix timestamp(초), 마지막 시점보다 커야 함
+     * @param price      종목 가격
+     * @param indexPrice 같은 시점의 지수 가격
+     * @throws IllegalArgumentException 시간 순서가 맞지 않거나 시작 가격이 0 이하인 경우
+     */
+    public void append(long timestamp, double price, double indexPrice) {
+        boolean first = prices.isEmpty();
+        if (first && price <= 0) {
+            throw new IllegalArgumentException("Start price must be positive for cumulative return calculation.");
+        }
+        if (!first && timestamp <= getLastTimestamp()) {
+            throw new IllegalArgumentException("Timestamps must be strictly increasing");
+        }
+        if (first) {
+            startPrice = price;
+            startIndexPrice = indexPrice;
+            peak = price;
+        } else {
+            double periodicReturn = price / lastPrice - 1.0;
+            periodicReturnRates.add(periodicReturn);
+            periodicMoments.add(periodicReturn);
+        }
+
+        // 반영 기준일까지 지급된 배당을 현금으로 누적한 뒤 현재 가격에 재투자
+        long settlementDay = frequency.settlementEpochDay(timestamp);
+        while (!pendingDividends.isEmpty() && pendingDividends.firstKey() <= settlementDay) {
+            Map.Entry<Long, Double> dividend = pendingDividends.pollFirstEntry();
+            reinvestedCash += reinvestedShares * dividend.getValue();
+            heldCash += dividend.getValue();
+        }
+        double paidReinvestedCash = 0.0;
+        double paidHeldCash = 0.0;
+        if (price > 0) {
+            if (reinvestedCash > 0) {
+                paidReinvestedCash = reinvestedCash;
+                reinvestedShares += reinvestedCash / price;
+                reinvestedCash = 0.0;
+            }
+            if (heldCash > 0) {
+                paidHeldCash = heldCash;
+                heldCash = 0.0;
+            }
+        }
+
+        lastPrice = price;
+        lastIndexPrice = indexPrice;
+        lastSettlementEpochDay = settlementDay;
+        prices.add(price);
+        timestamps.add(timestamp);
+        dates.add(LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamp)));
+        indexPrices.add(indexPrice);
+
+        double priceGrowth = price / startPrice - 1.0;
+        priceReturns.add(priceGrowth);
+        totalReturns.add((reinvestedShares * price - startPrice) / startPrice);
+        growthCovariance.add(priceGrowth, (indexPrice - startIndexPrice) / startIndexPrice);
+
+        peak = Math.max(peak, price);
+        double drawdown = peak == 0.0 ? 0.0 : (peak - price) / peak;
+        drawdowns.add(drawdown);
+        maxDrawdown = Math.max(maxDrawdown, drawdown);
+
+        if (initialAmount > 0) {
+            double scale = initialAmount * weight / startPrice;
+            double shares = includeDividends ? reinvestedShares : 1.0;
+            double cash = includeDividends ? paidReinvestedCash : paidHeldCash;
+            amountChanges.add(scale * shares * price);
+            amountDividends.add(scale * cash);
+        }
+    }
+
+    public void markAppended() {
+        appendsSinceVerification++;
+    }
+
+    public void markVerified() {
+        appendsSinceVerification = 0;
+    }
+}
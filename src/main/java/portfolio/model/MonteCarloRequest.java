@@ -0,0 +1,51 @@
+package portfolio.model;
+
+/**
+ * 몬테카를로 미래 가치 시뮬레이션 요청 (/simulate)
+ *
+ * <p>
+ * 종목/비중/기간/주기/배당 포함 여부는 {@link PortfolioRequest}와 같으며, 그 기간의 포트폴리오 기간 수익률로
+ * 미래 경로를 생성합니다. initialAmount가 0 이하이면 시작 가치는 1입니다.
+ */
+public class MonteCarloRequest extends PortfolioRequest {
+    /** 시뮬레이션 연수. 기본 30 */
+    private int years = 30;
+    /** 경로 수. 기본 10,000 */
+    private int paths = 10_000;
+    /** 경로 생성 방식. 기본 BOOTSTRAP */
+    private SimulationMethod method = SimulationMethod.BOOTSTRAP;
+    /** 난수 시드 (같은 시드/경로 수면 같은 결과). 없으면 임의 시드 */
+    private Long seed;
+
+    public int getYears() {
+        return years;
+    }
+
+    public void setYears(int years) {
+        this.years = years;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public void setPaths(int paths) {
+        this.paths = paths;
+    }
+
+    public SimulationMethod getMethod() {
+        return method;
+    }
+
+    public void setMethod(SimulationMethod method) {
+        this.method = method;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
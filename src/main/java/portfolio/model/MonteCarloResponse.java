@@ -0,0 +1,34 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 몬테카를로 미래 가치 시뮬레이션 결과입니다. 가치는 시작 가치(initialValue) 기준 금액입니다.
+ *
+ * @param startDate            과거 수익률 구간 시작일
+ * @param endDate              과거 수익률 구간 종료일
+ * @param historicalPeriods    경로 생성에 사용한 과거 기간 수익률 개수
+ * @param seed                 사용한 난수 시드
+ * @param percentiles          밴드 분위수 ({@link #BAND_PERCENTILES})
+ * @param bands                연도별 분위수 밴드 (0년 = 시작 가치 ~ years년)
+ * @param terminalMean         만기 가치 평균
+ * @param probabilityOfLoss    만기 가치가 시작 가치보다 작은 경로 비율
+ * @param terminalDistribution 만기 가치의 1% ~ 99% 분위수 (99개)
+ */
+public record MonteCarloResponse(List<String> tickers, LocalDate startDate, LocalDate endDate,
+        SimulationMethod method, int paths, int years, int historicalPeriods, long seed, double initialValue,
+        List<Double> percentiles, List<PercentileBand> bands, double terminalMean, double probabilityOfLoss,
+        double[] terminalDistribution) {
+
+    public static final List<Double> BAND_PERCENTILES = List.of(0.05, 0.25, 0.5, 0.75, 0.95);
+
+    /**
+     * 한 연말 시점의 분위수 밴드
+     *
+     * @param year   경과 연수
+     * @param values {@link #BAND_PERCENTILES} 순서의 가치
+     */
+    public record PercentileBand(int year, double[] values) {
+    }
+}
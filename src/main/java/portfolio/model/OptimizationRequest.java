@@ -0,0 +1,59 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 평균-분산 최적화 요청 (/optimize)
+ *
+ * <p>
+ * 종목/기간/주기/배당 포함 여부는 {@link PortfolioRequest}와 같고, weights는 사용하지 않습니다.
+ * 모든 종목의 비중은 [minWeight, maxWeight] 범위 안에 있고 합은 1입니다.
+ */
+public class OptimizationRequest extends PortfolioRequest {
+    /** 종목별 최소 비중. 기본 0 (공매도 없음) */
+    private double minWeight = 0.0;
+    /** 종목별 최대 비중. 기본 1 */
+    private double maxWeight = 1.0;
+    /** 효율적 투자선 점 개수. 기본 20 */
+    private int frontierPoints = 20;
+
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    public void setMinWeight(double minWeight) {
+        this.minWeight = minWeight;
+    }
+
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(double maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public int getFrontierPoints() {
+        return frontierPoints;
+    }
+
+    public void setFrontierPoints(int frontierPoints) {
+        this.frontierPoints = frontierPoints;
+    }
+
+    /**
+     * 최적화 결과 캐시 키 (종목 순서/기간/주기/배당 포함 여부/달력 정렬 방식/기준 통화/비중 범위/투자선 점 개수와
+     * 조회한 시계열의 버전 스탬프)
+     */
+    public CacheKey cacheKey(long versionStamp) {
+        return new CacheKey(List.copyOf(getTickers()), getStartDate(), getEndDate(), getFrequency(),
+                isIncludeDividends(), getAlignment(), getBaseCurrency(), minWeight, maxWeight, frontierPoints,
+                versionStamp);
+    }
+
+    public record CacheKey(List<String> tickers, LocalDate startDate, LocalDate endDate, BarFrequency frequency,
+            boolean includeDividends, AlignmentMode alignment, String baseCurrency, double minWeight,
+            double maxWeight, int frontierPoints, long versionStamp) {
+    }
+}
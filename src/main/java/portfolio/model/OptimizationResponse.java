@@ -0,0 +1,22 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 평균-분산 최적화 결과입니다. 캐시되어 공유되므로 목록은 읽기 전용으로 복사합니다.
+ *
+ * @param periods          평균/공분산 추정에 사용한 기간 수익률 개수
+ * @param riskFreeRate     샤프비율에 사용한 연 무위험 수익률
+ * @param minimumVariance  최소 분산 포트폴리오
+ * @param maximumSharpe    샤프비율 최대 포트폴리오
+ * @param frontier         효율적 투자선 (최소 분산 → 최대 수익률, 기대 수익률 등간격)
+ */
+public record OptimizationResponse(List<String> tickers, LocalDate startDate, LocalDate endDate, int periods,
+        double riskFreeRate, OptimizedPortfolio minimumVariance, OptimizedPortfolio maximumSharpe,
+        List<OptimizedPortfolio> frontier) {
+    public OptimizationResponse {
+        tickers = List.copyOf(tickers);
+        frontier = List.copyOf(frontier);
+    }
+}
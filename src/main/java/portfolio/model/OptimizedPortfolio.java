@@ -0,0 +1,21 @@
+package portfolio.model;
+
+/**
+ * 최적화로 구한 포트폴리오 하나입니다. 수익률/변동성은 연율화 값입니다.
+ * 결과가 캐시되어 여러 요청에 공유되므로 비중 배열은 생성 시와 조회 시 복사합니다.
+ *
+ * @param weights        종목별 비중 (요청 tickers 순서)
+ * @param expectedReturn 연율화 기대 수익률 (기간 평균 수익률 × 연간 기간 수)
+ * @param volatility     연율화 변동성
+ * @param sharpeRatio    (기대 수익률 - 무위험 수익률) / 변동성
+ */
+public record OptimizedPortfolio(double[] weights, double expectedReturn, double volatility, double sharpeRatio) {
+    public OptimizedPortfolio {
+        weights = weights.clone();
+    }
+
+    @Override
+    public double[] weights() {
+        return weights.clone();
+    }
+}
@@ -0,0 +1,89 @@
+package portfolio.model;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import portfolio.util.SeriesTable;
+
+/**
+ * 중복을 제거한 통합 분석 응답 (스키마 v2)
+ *
+ * <p>
+ * v1({@link PortfolioFullAnalysisResponse})은 같은 누적 수익률/금액 시계열과 날짜 배열을 종목 결과, 차트 4개에
+ * 반복해서 싣고, 리포트에 요청과 포트폴리오 결과 전체를 한 번 더 싣습니다. v2는 구조는 v1과 같되 다음과 같이
+ * 기록합니다.
+ * <ul>
+ * <li>분석 결과(portfolioData, 차트, 리포트)의 {@code List<Double>}/{@code List<LocalDate>}/{@code List<Long>} 값은
+ * id 문자열이고, 배열은 맨 끝의 {@code series}(시계열)와 {@code axes}(날짜/타임스탬프 축)에 한 번씩만 있습니다.
+ * ({@link SeriesTable})</li>
+ * <li>요청은 최상위 {@code request}에 한 번만 있고, 리포트의 request/portfolioData는 생략합니다.
+ * (최상위 request/portfolioData와 같음) 요청의 비중/신뢰수준 목록은 시계열이 아니므로 v1과 같이 배열입니다.</li>
+ * </ul>
+ * 직렬화 방식을 스스로 정하므로({@link JsonSerializable}) 어떤 출력 형식으로 보내도 같은 구조이고, 요청은 응답을
+ * 직렬화하는 ObjectMapper로, 분석 결과는 그 설정을 복사한 {@link #referenceWriter(ObjectMapper)}로 기록합니다.
+ *
+ * @param referenceWriter 분석 결과를 id로 기록하는 writer ({@link #referenceWriter(ObjectMapper)})
+ */
+public record PortfolioFullAnalysisResponseV2(PortfolioRequest request, PortfolioFullAnalysisResponse analysis,
+        ObjectWriter referenceWriter) implements JsonSerializable {
+    public static final int SCHEMA_VERSION = 2;
+
+    /**
+     * 애플리케이션 ObjectMapper의 설정(모듈, 날짜 형식 등)을 복사하고 {@link SeriesTable} 모듈을 더한 writer를
+     * 만듭니다. 원본 ObjectMapper는 변경하지 않으며, 만든 writer는 스레드 안전하므로 한 번 만들어 재사용합니다.
+     */
+    public static ObjectWriter referenceWriter(ObjectMapper objectMapper) {
+        return objectMapper.copy()
+                .registerModule(SeriesTable.module())
+                .addMixIn(AnalysisReport.class, EmbeddedReport.class)
+                .writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @JsonIgnoreProperties({ "request", "portfolioData" })
+    private abstract static class EmbeddedReport {
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        SeriesTable table = new SeriesTable();
+        ObjectWriter writer = referenceWriter.withAttribute(SeriesTable.class, table);
+        gen.writeStartObject(this);
+        gen.writeNumberField("schemaVersion", SCHEMA_VERSION);
+        gen.writeFieldName("request");
+        serializers.defaultSerializeValue(request, gen);
+        writeField(gen, writer, AnalysisSection.PORTFOLIO_DATA, analysis.getPortfolioData());
+        writeField(gen, writer, AnalysisSection.TIME_SERIES_CHART, analysis.getTimeSeriesChart());
+        writeField(gen, writer, AnalysisSection.COMPARISON_CHART, analysis.getComparisonChart());
+        writeField(gen, writer, AnalysisSection.AMOUNT_CHART, analysis.getAmountChart());
+        writeField(gen, writer, AnalysisSection.DIVIDENDS_AMOUNT_COMPARISON_CHART,
+                analysis.getDividendsAmountComparisonChart());
+        writeField(gen, writer, AnalysisSection.REPORT, analysis.getReport());
+        gen.writeFieldName("series");
+        table.writeSeries(gen);
+        gen.writeFieldName("axes");
+        table.writeAxes(gen);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        // 다형 타입 정보 없이 항상 같은 구조로 기록
+        serialize(gen, serializers);
+    }
+
+    private static void writeField(JsonGenerator gen, ObjectWriter writer, String name, Object value)
+            throws IOException {
+        gen.writeFieldName(name);
+        writer.writeValue(gen, value);
+    }
+}
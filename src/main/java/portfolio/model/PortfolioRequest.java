@@ -2,6 +2,7 @@ package portfolio.model;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 public class PortfolioRequest {
     private List<String> tickers;
@@ -10,6 +11,28 @@ public class PortfolioRequest {
     private LocalDate endDate;
     private boolean includeDividends;
     private double initialAmount = 0.0;
+    /** 이동 윈도우 리스크 지표의 윈도우 크기 목록(기간 수, 예: 12/36/60). 없으면 계산하지 않음 */
+    private List<Integer> rollingWindows;
+    /** 가격 데이터 주기(DAILY/WEEKLY/MONTHLY). 기본 월봉 */
+    private BarFrequency frequency = BarFrequency.MONTHLY;
+    /** 리밸런싱 시뮬레이션 정책 목록(/rebalance). 없으면 모든 정책 */
+    private List<RebalancingPolicy> rebalancingPolicies;
+    /** THRESHOLD 정책의 목표 비중 차이 임계값. 기본 0.05 */
+    private double rebalancingThreshold = 0.05;
+    /** 리밸런싱 매매 금액 대비 거래 비용 비율(예: 0.001 = 10bp). 기본 0 */
+    private double transactionCostRate = 0.0;
+    /** 리포트 VaR/CVaR 신뢰수준 목록(예: 0.95, 0.99). 없으면 95%/99% */
+    private List<Double> varConfidenceLevels;
+    /** 종목/지수 날짜가 다를 때의 달력 정렬 방식. 기본 STRICT(시작일이 다르면 오류) */
+    private AlignmentMode alignment = AlignmentMode.STRICT;
+    /** 배당 포함 누적 수익률 계산 방식. 기본 REINVESTMENT(배당 재투자 시뮬레이션) */
+    private TotalReturnSource totalReturnSource = TotalReturnSource.REINVESTMENT;
+    /** ADJUSTED_CLOSE일 때 배당 재투자 계산과 비교한 차이(adjustedCloseDivergence)를 함께 반환할지 여부. 기본 false */
+    private boolean reconcileAdjustedClose;
+    /** 가격을 환산할 기준 통화(예: USD, KRW). 없으면 종목 통화가 섞였을 때만 지수 통화로 환산 */
+    private String baseCurrency;
+    /** /analyze에서 계산할 지표(예: 낙폭 구간만 필요하면 DRAWDOWN_EPISODES). 없으면 모든 지표 */
+    private Set<Metric> metrics;
     
     public PortfolioRequest() {}
     
@@ -83,4 +106,116 @@ public class PortfolioRequest {
     public void setInitialAmount(double initialAmount) {
         this.initialAmount = initialAmount;
     }
+    
+    public List<Integer> getRollingWindows() {
+        return rollingWindows;
+    }
+    
+    public void setRollingWindows(List<Integer> rollingWindows) {
+        this.rollingWindows = rollingWindows;
+    }
+    
+    public BarFrequency getFrequency() {
+        return frequency;
+    }
+    
+    public void setFrequency(BarFrequency frequency) {
+        this.frequency = frequency == null ? BarFrequency.MONTHLY : frequency;
+    }
+
+    public List<RebalancingPolicy> getRebalancingPolicies() {
+        return rebalancingPolicies;
+    }
+    
+    public void setRebalancingPolicies(List<RebalancingPolicy> rebalancingPolicies) {
+        this.rebalancingPolicies = rebalancingPolicies;
+    }
+    
+    public double getRebalancingThreshold() {
+        return rebalancingThreshold;
+    }
+    
+    public void setRebalancingThreshold(double rebalancingThreshold) {
+        this.rebalancingThreshold = rebalancingThreshold;
+    }
+    
+    public double getTransactionCostRate() {
+        return transactionCostRate;
+    }
+    
+    public void setTransactionCostRate(double transactionCostRate) {
+        this.transactionCostRate = transactionCostRate;
+    }
+    
+    public List<Double> getVarConfidenceLevels() {
+        return varConfidenceLevels;
+    }
+    
+    public void setVarConfidenceLevels(List<Double> varConfidenceLevels) {
+        this.varConfidenceLevels = varConfidenceLevels;
+    }
+
+    public AlignmentMode getAlignment() {
+        return alignment;
+    }
+
+    public void setAlignment(AlignmentMode alignment) {
+        this.alignment = alignment == null ? AlignmentMode.STRICT : alignment;
+    }
+
+    public TotalReturnSource getTotalReturnSource() {
+        return totalReturnSource;
+    }
+
+    public void setTotalReturnSource(TotalReturnSource totalReturnSource) {
+        this.totalReturnSource = totalReturnSource == null ? TotalReturnSource.REINVESTMENT : totalReturnSource;
+    }
+
+    public boolean isReconcileAdjustedClose() {
+        return reconcileAdjustedClose;
+    }
+
+    public void setReconcileAdjustedClose(boolean reconcileAdjustedClose) {
+        this.reconcileAdjustedClose = reconcileAdjustedClose;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency == null || baseCurrency.isBlank() ? null
+                : baseCurrency.trim().toUpperCase();
+    }
+
+    public Set<Metric> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Set<Metric> metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 요청한 지표, 없으면 모든 지표
+     */
+    public Set<Metric> metricsOrAll() {
+        return metrics == null || metrics.isEmpty() ? Metric.all() : metrics;
+    }
+
+    /**
+     * 분석 결과(PortfolioReturnData)에 영향을 주는 필드만 담은 키 (엔드포인트 간 분석 결과 재사용용)
+     */
+    public AnalysisKey analysisKey() {
+        return new AnalysisKey(List.copyOf(tickers), weights == null ? null : List.copyOf(weights), startDate,
+                endDate, includeDividends, initialAmount,
+                rollingWindows == null ? null : List.copyOf(rollingWindows), frequency, alignment,
+                totalReturnSource, reconcileAdjustedClose, baseCurrency);
+    }
+
+    public record AnalysisKey(List<String> tickers, List<Double> weights, LocalDate startDate, LocalDate endDate,
+            boolean includeDividends, double initialAmount, List<Integer> rollingWindows, BarFrequency frequency,
+            AlignmentMode alignment, TotalReturnSource totalReturnSource, boolean reconcileAdjustedClose,
+            String baseCurrency) {
+    }
 }
@@ -4,18 +4,30 @@ import java.time.LocalDate;
 import java.util.List;
 
 import lombok.Getter;
-import lombok.Setter;
 
-
-@Setter
+/**
+ * 포트폴리오 분석 결과
+ *
+ * <p>
+ * 분석 결과 캐시와 차트/리포트 동시 생성에서 여러 스레드가 같은 인스턴스를 읽으므로 생성 후 변경할 수 없습니다.
+ * (종목 목록은 생성 시 복사)
+ */
 @Getter
 public class PortfolioReturnData {
-    private LocalDate startDate;
-    private LocalDate endDate;
-    private List<StockReturnData> stockReturns;
-    private StockReturnData portfolioStockReturn;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<StockReturnData> stockReturns;
+    private final StockReturnData portfolioStockReturn;
+
+    public PortfolioReturnData(List<StockReturnData> stockReturns, StockReturnData portfolioStockReturn) {
+        this(null, null, stockReturns, portfolioStockReturn);
+    }
 
-    public PortfolioReturnData(List<StockReturnData> stockReturns) {
-        this.stockReturns = stockReturns;
+    public PortfolioReturnData(LocalDate startDate, LocalDate endDate, List<StockReturnData> stockReturns,
+            StockReturnData portfolioStockReturn) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.stockReturns = stockReturns == null ? List.of() : List.copyOf(stockReturns);
+        this.portfolioStockReturn = portfolioStockReturn;
     }
 }
@@ -0,0 +1,40 @@
+package portfolio.model;
+
+/**
+ * 포트폴리오 리밸런싱 정책입니다.
+ *
+ * <p>
+ * 달력 정책(MONTHLY/QUARTERLY/ANNUAL)은 새 월/분기/연도의 첫 가격 시점에 목표 비중으로 되돌리고,
+ * THRESHOLD는 어느 종목이든 목표 비중과의 차이가 임계값을 넘는 시점에 되돌립니다.
+ * NONE은 시작 시점에만 비중을 맞추는 매수 후 보유입니다.
+ */
+public enum RebalancingPolicy {
+    NONE,
+    MONTHLY,
+    QUARTERLY,
+    ANNUAL,
+    THRESHOLD;
+
+    /**
+     * 달력 기준 정책인지 여부
+     */
+    public boolean isCalendar() {
+        return this == MONTHLY || this == QUARTERLY || this == ANNUAL;
+    }
+
+    /**
+     * 달력 정책의 기간 키를 반환합니다. 직전 시점과 키가 다르면 새 기간의 첫 시점입니다.
+     * (달력 정책이 아니면 항상 0)
+     *
+     * @param year  연도
+     * @param month 월(1~12)
+     */
+    public int periodKey(int year, int month) {
+        return switch (this) {
+            case MONTHLY -> year * 12 + (month - 1);
+            case QUARTERLY -> year * 4 + (month - 1) / 3;
+            case ANNUAL -> year;
+            case NONE, THRESHOLD -> 0;
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 리밸런싱 정책 비교 응답입니다. 날짜 목록은 모든 정책이 공유합니다.
+ *
+ * @param dates   시점별 날짜
+ * @param results 요청한 정책 순서의 결과
+ */
+public record RebalancingResponse(LocalDate startDate, LocalDate endDate, List<LocalDate> dates,
+        List<RebalancingResult> results) {
+}
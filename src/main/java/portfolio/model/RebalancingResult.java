@@ -0,0 +1,14 @@
+package portfolio.model;
+
+/**
+ * 리밸런싱 정책 하나의 시뮬레이션 결과입니다.
+ *
+ * @param policy          리밸런싱 정책
+ * @param rebalanceCount  리밸런싱 횟수 (시작 매수 제외)
+ * @param turnover        리밸런싱 시점별 (매수+매도 금액 / NAV)의 합
+ * @param transactionCost 초기 투자금 대비 누적 거래 비용 비율
+ * @param performance     정책 NAV의 수익률/리스크 지표 (amountChanges는 초기 투자금 기준 평가 금액)
+ */
+public record RebalancingResult(RebalancingPolicy policy, int rebalanceCount, double turnover,
+        double transactionCost, StockReturnData performance) {
+}
@@ -0,0 +1,19 @@
+package portfolio.model;
+
+import java.util.List;
+
+/**
+ * 이동 윈도우 리스크 지표 시계열입니다.
+ *
+ * <p>
+ * 모든 시계열은 가격 시계열과 같은 길이이며, 윈도우가 채워지기 전 구간은 null입니다.
+ *
+ * @param window      윈도우 크기(기간 수, 예: 12/36/60)
+ * @param volatility  연율화 이동 변동성
+ * @param beta        벤치마크 대비 이동 베타(기간 수익률 기준)
+ * @param sharpeRatio 연율화 이동 샤프비율
+ * @param drawdown    윈도우 내 고점 대비 낙폭
+ */
+public record RollingRiskSeries(int window, List<Double> volatility, List<Double> beta, List<Double> sharpeRatio,
+        List<Double> drawdown) {
+}
@@ -0,0 +1,13 @@
+package portfolio.model;
+
+/**
+ * 몬테카를로 경로 생성 방식입니다.
+ *
+ * <p>
+ * BOOTSTRAP은 과거 기간 수익률을 기간마다 복원 추출하여 실제 분포의 비대칭/꼬리를 유지하고,
+ * PARAMETRIC은 과거 로그 수익률의 평균/표준편차를 갖는 정규분포(가치는 로그정규)를 사용합니다.
+ */
+public enum SimulationMethod {
+    BOOTSTRAP,
+    PARAMETRIC
+}
@@ -4,5 +4,13 @@ import java.util.List;
 
 import portfolio.api.ChartResponse.Dividend;
 
-public record StockHistories(List<Double> prices, List<Long> timestamps, List<Dividend> dividends) {
-}
\ No newline at end of file
+/**
+ * @param adjustedPrices 배당/분할 조정 종가 (응답에 없으면 빈 리스트, 있으면 prices와 같은 길이)
+ */
+public record StockHistories(List<Double> prices, List<Long> timestamps, List<Dividend> dividends,
+        List<Double> adjustedPrices) {
+
+    public StockHistories(List<Double> prices, List<Long> timestamps, List<Dividend> dividends) {
+        this(prices, timestamps, dividends, List.of());
+    }
+}
@@ -2,12 +2,21 @@ package portfolio.model;
 
 import java.time.LocalDate;
 import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import portfolio.api.ChartResponse.Dividend;
 import lombok.AllArgsConstructor;
 
+/**
+ * 종목(또는 포트폴리오) 지표
+ *
+ * <p>
+ * 요청한 지표와 그 입력 지표만 계산하며, 계산하지 않은 지표 필드는 null로 남아 응답에서 빠집니다.
+ */
 @Builder
 @Getter
 @NoArgsConstructor
@@ -23,48 +32,79 @@ public class StockReturnData {
     private List<Dividend> dividends;
     private double initialAmount;
     /** 단순 가격 수익률 */
-    private double priceReturn;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double priceReturn;
     /** 배당 등 모든 요소를 포함한 총수익률 */
-    private double totalReturn;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double totalReturn;
     /**
      * 연평균 복리수익률(CAGR)
      * 분배율(가중치)이 적용될 수 있음
      */
-    private double cagr;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double cagr;
     /**
      * 누적 수익률 시계열
      * 분배율(가중치)이 적용될 수 있음
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Double> cumulativeReturns;
     
     /** 가격 데이터에 대응하는 날짜 리스트 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<LocalDate> dates;
     /**
      * 구간별 금액 변화(리밸런싱 등으로 인한 변화)
      * 분배율(가중치)이 적용될 수 있음
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Double> amountChanges;
 
     /**
      * 분배율의 금액 배당 재투자인경우 합산됨
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Double> amountDividens;
     /**
      * 기간별 수익률 목록 (예: 0.1, 0.2, 0.1, -0.1)
      * 각 기간별 수익률을 나타냄
      * 분배율(가중치)이 적용될 수 있음
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Double> periodicReturnRates;
     /**
      * 변동성(표준편차 등으로 계산)
      * 분배율(가중치)이 적용될 수 있음
      */
-    private double volatility;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double volatility;
     /** 최대 낙폭(MDD, Max Drawdown) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Double> maxDrawdowns;
-    private double maxDrawdown;
-    private double sharpeRatio;
-    private double beta;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double maxDrawdown;
+    /**
+     * 가장 깊은 낙폭 구간 (깊이 내림차순)
+     * DRAWDOWN_EPISODES 지표를 요청했을 때만 계산됨
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<DrawdownEpisode> drawdownEpisodes;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double sharpeRatio;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double beta;
+    /**
+     * 이동 윈도우 리스크 지표(변동성/베타/샤프비율/낙폭)
+     * 요청에 rollingWindows가 있을 때만 계산됨
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<RollingRiskSeries> rollingRisks;
+    /**
+     * 조정 종가 총수익률과 배당 재투자 총수익률의 최대 상대 차이
+     * totalReturnSource가 ADJUSTED_CLOSE이고 요청의 reconcileAdjustedClose가 true일 때만 포함됨
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double adjustedCloseDivergence;
 
     // Lombok이 getter, builder, 생성자 자동 생성
 }
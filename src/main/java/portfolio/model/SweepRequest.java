@@ -0,0 +1,22 @@
+package portfolio.model;
+
+import java.util.List;
+
+/**
+ * 가중치 조합 스윕 요청 (/sweep)
+ *
+ * <p>
+ * 종목/기간/주기/배당 포함 여부는 {@link PortfolioRequest}와 같고, weights 대신 weightSets의 각 조합을 평가합니다.
+ */
+public class SweepRequest extends PortfolioRequest {
+    /** 평가할 가중치 조합 목록 (각 조합은 tickers와 같은 길이) */
+    private List<List<Double>> weightSets;
+
+    public List<List<Double>> getWeightSets() {
+        return weightSets;
+    }
+
+    public void setWeightSets(List<List<Double>> weightSets) {
+        this.weightSets = weightSets;
+    }
+}
@@ -0,0 +1,21 @@
+package portfolio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 가중치 조합 스윕 결과 표입니다.
+ *
+ * <p>
+ * rows[k]는 요청의 k번째 가중치 조합 결과이며 값의 순서는 {@link #COLUMNS}와 같습니다.
+ * 각 값은 같은 가중치로 /analyze 했을 때 포트폴리오(Portfolio)의 지표와 같습니다.
+ *
+ * @param columns 열 이름 ({@link #COLUMNS})
+ * @param rows    가중치 조합별 지표 행
+ */
+public record SweepResponse(List<String> tickers, LocalDate startDate, LocalDate endDate, List<String> columns,
+        double[][] rows) {
+
+    public static final List<String> COLUMNS = List.of("cagr", "volatility", "sharpeRatio", "maxDrawdown",
+            "totalReturn");
+}
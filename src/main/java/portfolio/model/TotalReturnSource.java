@@ -0,0 +1,14 @@
+package portfolio.model;
+
+/**
+ * 배당 포함 총수익률(누적 수익률) 계산 방식입니다.
+ *
+ * <p>
+ * REINVESTMENT는 배당을 반영 기준일의 종가로 재투자하는 보유 주식 수를 시점마다 누적하고,
+ * ADJUSTED_CLOSE는 응답의 조정 종가 비율(adjclose[i] / adjclose[0])을 그대로 사용하여 배당 분류/재투자 계산을
+ * 생략합니다. 조정 종가가 없는 종목은 REINVESTMENT로 계산합니다.
+ */
+public enum TotalReturnSource {
+    REINVESTMENT,
+    ADJUSTED_CLOSE
+}
@@ -0,0 +1,37 @@
+package portfolio.model;
+
+import java.util.List;
+
+/**
+ * 한 신뢰수준의 VaR/기대 손실(CVaR)입니다.
+ *
+ * <p>
+ * 포트폴리오 기간 수익률 기준 한 기간 보유 손실률이며 양수가 손실입니다.
+ * contributions는 요청 비중을 고정한 정규분포(delta-normal) VaR를 종목별로 나눈 값으로,
+ * 종목별 componentVaR의 합은 deltaNormalVaR와 같습니다. (리밸런싱이나 기간 차이로 포트폴리오 기간 수익률이
+ * 고정 비중 수익률과 다르면 parametricVaR와는 다를 수 있음)
+ *
+ * @param confidence             신뢰수준 (예: 0.95)
+ * @param historicalVaR          과거 수익률 하위 분위수 VaR
+ * @param historicalCVaR         과거 수익률 하위 꼬리 평균 손실
+ * @param parametricVaR          정규분포 VaR
+ * @param parametricCVaR         정규분포 기대 손실
+ * @param cornishFisherVaR       왜도/첨도 보정 VaR
+ * @param cornishFisherCVaR      왜도/첨도 보정 기대 손실
+ * @param deltaNormalVaR         종목 평균/공분산과 고정 비중으로 구한 정규분포 VaR (기여 VaR의 합)
+ * @param contributions          종목별 한계/기여 VaR (종목 순서)
+ */
+public record ValueAtRiskMetrics(double confidence, double historicalVaR, double historicalCVaR,
+        double parametricVaR, double parametricCVaR, double cornishFisherVaR, double cornishFisherCVaR,
+        double deltaNormalVaR, List<Contribution> contributions) {
+
+    /**
+     * 종목별 VaR 기여
+     *
+     * @param weight       고정 비중
+     * @param marginalVaR  비중 변화에 대한 VaR 민감도 ∂VaR/∂w
+     * @param componentVaR 비중 × 한계 VaR (합이 deltaNormalVaR)
+     */
+    public record Contribution(String ticker, double weight, double marginalVaR, double componentVaR) {
+    }
+}
@@ -3,6 +3,7 @@ package portfolio.model;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
+import portfolio.util.RunningMoments;
 
 @Slf4j
 public class Volatility {
@@ -12,16 +13,27 @@ public class Volatility {
         this.periodicReturnRates = periodicReturnRates;
     }
 
+    /**
+     * 월별 수익률의 연환산 변동성
+     */
     public double volatility() {
-        return standardDeviation() * Math.sqrt(periodicReturnRates.size() - 1); 
+        return volatility(BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 표준편차를 봉 주기의 연간 기간 수로 연환산(× √periodsPerYear)한 변동성
+     */
+    public double volatility(BarFrequency frequency) {
+        return standardDeviation() * frequency.annualizationFactor();
     }
 
     public double standardDeviation() {
         // log.debug("Volatility.standardDeviation.periodicReturnRates {}", JsonLoggingUtils.toJsonPretty(periodicReturnRates));
-        double mean = periodicReturnRates.stream().mapToDouble(ReturnRate::rate).average().orElse(0.0);
-        double variance = periodicReturnRates.stream().mapToDouble(r -> Math.pow(r.rate() - mean, 2)).average()
-                .orElse(0.0);
-        return Math.sqrt(variance);
+        RunningMoments moments = new RunningMoments();
+        for (ReturnRate returnRate : periodicReturnRates) {
+            moments.add(returnRate.rate());
+        }
+        return moments.standardDeviation();
     }
 
 }
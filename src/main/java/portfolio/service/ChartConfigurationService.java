@@ -117,4 +117,16 @@ public class ChartConfigurationService {
             true
         );
     }
+
+    /**
+     * 이동 윈도우 리스크 차트용 설정 생성
+     */
+    public ChartData.ChartConfiguration createRollingRiskConfiguration() {
+        return new ChartData.ChartConfiguration(
+            "Date",
+            "Rolling Risk",
+            getColorPalette(),
+            true
+        );
+    }
 }
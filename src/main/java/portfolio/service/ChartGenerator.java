@@ -5,12 +5,15 @@ import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 import portfolio.api.ChartResponse.Dividend;
 import portfolio.model.ChartData;
+import portfolio.model.Metric;
 import portfolio.model.PortfolioReturnData;
+import portfolio.model.RollingRiskSeries;
 import portfolio.model.StockReturnData;
-import portfolio.util.DateUtils;
+import portfolio.util.EpochCalendar;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -26,6 +29,19 @@ import java.util.TreeSet;
 public class ChartGenerator {
 
     private static final String PORTFOLIO = "Portfolio";
+
+    /** {@link #generateTimeSeriesChart}가 사용하는 지표 */
+    public static final Set<Metric> TIME_SERIES_METRICS = Metric.closure(
+            EnumSet.of(Metric.CUMULATIVE_RETURNS, Metric.DATES));
+    /** {@link #generateComparisonChart}가 사용하는 지표 */
+    public static final Set<Metric> COMPARISON_METRICS = Metric.closure(
+            EnumSet.of(Metric.PRICE_RETURN, Metric.TOTAL_RETURN));
+    /** {@link #generateAmountChangeChart}가 사용하는 지표 */
+    public static final Set<Metric> AMOUNT_METRICS = Metric.closure(EnumSet.of(Metric.AMOUNTS, Metric.DATES));
+    /** {@link #generateDividendsAmountComparisonChart}가 사용하는 지표 */
+    public static final Set<Metric> DIVIDENDS_AMOUNT_METRICS = Metric.closure(EnumSet.of(Metric.AMOUNTS));
+    /** {@link #generateRollingRiskChart}가 사용하는 지표 */
+    public static final Set<Metric> ROLLING_RISK_METRICS = Metric.closure(EnumSet.of(Metric.ROLLING_RISKS));
     private final ChartConfigurationService configurationService;
 
     public ChartGenerator(ChartConfigurationService configurationService) {
@@ -64,7 +80,7 @@ public class ChartGenerator {
         List<Long> timestamps = stock.getTimestamps();
         for (int i = 0; i < timestamps.size(); i++) {
             long timestamp = timestamps.get(i);
-            int year = DateUtils.toLocalDate(timestamp).getYear();
+            int year = EpochCalendar.year(timestamp);
             Double dividend = stock.getAmountDividens().isEmpty() ? 0.0 : stock.getAmountDividens().get(i);
             //log.debug("calculateYearlyDividends year: {}, dividend: {}", year, dividend);
             yearly.put(year, yearly.getOrDefault(year, 0.0) + dividend);
@@ -231,4 +247,32 @@ public class ChartGenerator {
                 series,
                 config);
     }
+
+    /**
+     * 포트폴리오 이동 윈도우 리스크 차트 데이터 생성
+     * (series: "Volatility 12", "Beta 12", "Sharpe 12", "Drawdown 12" ... 윈도우별)
+     */
+    public ChartData generateRollingRiskChart(PortfolioReturnData portfolioData) {
+        Map<String, List<Double>> series = new LinkedHashMap<>();
+        final StockReturnData portfolioStockReturn = portfolioData.getPortfolioStockReturn();
+
+        if (portfolioStockReturn.getRollingRisks() != null) {
+            for (RollingRiskSeries rollingRisk : portfolioStockReturn.getRollingRisks()) {
+                int window = rollingRisk.window();
+                series.put("Volatility " + window, rollingRisk.volatility());
+                series.put("Beta " + window, rollingRisk.beta());
+                series.put("Sharpe " + window, rollingRisk.sharpeRatio());
+                series.put("Drawdown " + window, rollingRisk.drawdown());
+            }
+        }
+
+        ChartData.ChartConfiguration config = configurationService.createRollingRiskConfiguration();
+
+        return new ChartData(
+                "Portfolio Rolling Risk",
+                "line",
+                portfolioStockReturn.getDates(),
+                series,
+                config);
+    }
 }
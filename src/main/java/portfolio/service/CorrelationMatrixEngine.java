@@ -0,0 +1,186 @@
+package portfolio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.CorrelationMatrix;
+
+/**
+ * 종목 × 기간 수익률 행렬로 공분산/상관계수 행렬 전체를 계산합니다.
+ *
+ * <p>
+ * 각 종목의 수익률을 평균 대비 편차로 바꿔 하나의 연속 배열에 모은 뒤, 공분산 = Z·Zᵀ / (T - 1)을
+ * {@value #BLOCK_SIZE}×{@value #BLOCK_SIZE} 종목 타일과 {@value #PERIOD_CHUNK}기간 구간 단위로 나누어 계산합니다.
+ * 대칭 행렬이므로 상삼각 타일만 계산하여 하삼각에 복사하고, 타일이 둘 이상이면 타일별로 계산 풀에서 병렬 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CorrelationMatrixEngine {
+    /** 한 타일의 종목 수 */
+    static final int BLOCK_SIZE = 64;
+    /** 한 번에 누적하는 기간 수 (두 타일의 구간이 L1/L2 캐시에 들어가는 크기) */
+    static final int PERIOD_CHUNK = 256;
+
+    private final ForkJoinPool computePool;
+
+    /**
+     * 공분산/상관계수 행렬을 계산합니다.
+     *
+     * <p>
+     * 분산이 0인 종목(가격 변동 없음)과 다른 종목의 상관계수는 0, 자기 자신과의 상관계수는 1로 둡니다.
+     *
+     * @param tickers 종목 목록 (행 순서)
+     * @param returns 종목별 기간 수익률 (returns[i]는 tickers[i]의 시계열, 모두 같은 길이)
+     * @throws IllegalArgumentException 종목 수와 행 수가 다르거나 시계열 길이가 다른 경우
+     */
+    public CorrelationMatrix calculate(List<String> tickers, double[][] returns) {
+        int n = tickers.size();
+        if (returns.length != n) {
+            throw new IllegalArgumentException("Tickers and return rows must have the same size");
+        }
+        int periods = n == 0 ? 0 : returns[0].length;
+        for (double[] row : returns) {
+            if (row.length != periods) {
+                throw new IllegalArgumentException("All return series must have the same length");
+            }
+        }
+
+        double[] centered = center(returns, periods);
+        double[] covariance = new double[n * n];
+        if (periods >= 2) {
+            List<Tile> tiles = new ArrayList<>();
+            for (int rowBlock = 0; rowBlock < n; rowBlock += BLOCK_SIZE) {
+                for (int columnBlock = rowBlock; columnBlock < n; columnBlock += BLOCK_SIZE) {
+                    tiles.add(new Tile(centered, covariance, n, periods, rowBlock, columnBlock));
+                }
+            }
+            if (tiles.size() == 1) {
+                tiles.get(0).compute();
+            } else {
+                log.debug("CorrelationMatrixEngine tickers:{} periods:{} tiles:{}", n, periods, tiles.size());
+                computePool.invoke(new TileBatch(tiles));
+            }
+        }
+        return new CorrelationMatrix(tickers, periods, covariance, correlationOf(covariance, n));
+    }
+
+    /**
+     * 종목별 평균을 뺀 편차를 행 우선 연속 배열(n × T)로 만듭니다.
+     */
+    private static double[] center(double[][] returns, int periods) {
+        double[] centered = new double[returns.length * periods];
+        for (int i = 0; i < returns.length; i++) {
+            double[] row = returns[i];
+            double sum = 0.0;
+            for (int t = 0; t < periods; t++) {
+                sum += row[t];
+            }
+            double mean = periods == 0 ? 0.0 : sum / periods;
+            int offset = i * periods;
+            for (int t = 0; t < periods; t++) {
+                centered[offset + t] = row[t] - mean;
+            }
+        }
+        return centered;
+    }
+
+    private static double[] correlationOf(double[] covariance, int n) {
+        double[] correlation = new double[n * n];
+        double[] standardDeviations = new double[n];
+        for (int i = 0; i < n; i++) {
+            standardDeviations[i] = Math.sqrt(covariance[i * n + i]);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double denominator = standardDeviations[i] * standardDeviations[j];
+                double value;
+                if (i == j) {
+                    value = 1.0;
+                } else if (denominator == 0.0) {
+                    value = 0.0;
+                } else {
+                    // 반올림 오차로 [-1, 1]을 벗어나지 않도록 제한
+                    value = Math.max(-1.0, Math.min(1.0, covariance[i * n + j] / denominator));
+                }
+                correlation[i * n + j] = value;
+            }
+        }
+        return correlation;
+    }
+
+    /**
+     * 상삼각 타일 하나(rowBlock ≤ columnBlock)의 공분산을 계산하여 대칭 위치에도 기록합니다.
+     * 타일마다 기록하는 칸이 겹치지 않으므로 동기화 없이 병렬 실행할 수 있습니다.
+     */
+    private static final class Tile extends RecursiveAction {
+        private final double[] centered;
+        private final double[] covariance;
+        private final int n;
+        private final int periods;
+        private final int rowBlock;
+        private final int columnBlock;
+
+        Tile(double[] centered, double[] covariance, int n, int periods, int rowBlock, int columnBlock) {
+            this.centered = centered;
+            this.covariance = covariance;
+            this.n = n;
+            this.periods = periods;
+            this.rowBlock = rowBlock;
+            this.columnBlock = columnBlock;
+        }
+
+        @Override
+        protected void compute() {
+            int rowEnd = Math.min(rowBlock + BLOCK_SIZE, n);
+            int columnEnd = Math.min(columnBlock + BLOCK_SIZE, n);
+            int columns = columnEnd - columnBlock;
+            double[] sums = new double[(rowEnd - rowBlock) * columns];
+
+            for (int from = 0; from < periods; from += PERIOD_CHUNK) {
+                int to = Math.min(from + PERIOD_CHUNK, periods);
+                for (int i = rowBlock; i < rowEnd; i++) {
+                    int rowOffset = i * periods;
+                    int firstColumn = rowBlock == columnBlock ? i : columnBlock;
+                    for (int j = firstColumn; j < columnEnd; j++) {
+                        int columnOffset = j * periods;
+                        double sum = 0.0;
+                        for (int t = from; t < to; t++) {
+                            sum += centered[rowOffset + t] * centered[columnOffset + t];
+                        }
+                        sums[(i - rowBlock) * columns + (j - columnBlock)] += sum;
+                    }
+                }
+            }
+
+            double divisor = periods - 1;
+            for (int i = rowBlock; i < rowEnd; i++) {
+                int firstColumn = rowBlock == columnBlock ? i : columnBlock;
+                for (int j = firstColumn; j < columnEnd; j++) {
+                    double value = sums[(i - rowBlock) * columns + (j - columnBlock)] / divisor;
+                    covariance[i * n + j] = value;
+                    covariance[j * n + i] = value;
+                }
+            }
+        }
+    }
+
+    private static final class TileBatch extends RecursiveAction {
+        private final List<Tile> tiles;
+
+        TileBatch(List<Tile> tiles) {
+            this.tiles = tiles;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tiles);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package portfolio.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.AnalysisReport;
+import portfolio.model.AnalysisSection;
+import portfolio.model.ChartData;
+import portfolio.model.PortfolioFullAnalysisResponse;
+import portfolio.model.PortfolioRequest;
+import portfolio.model.PortfolioReturnData;
+import portfolio.util.StageTimings;
+
+/**
+ * 분석 결과로 통합 응답의 차트 4개와 리포트를 동시에 만듭니다.
+ *
+ * <p>
+ * 각 생성기는 같은 (변경 불가능한) {@link PortfolioReturnData}를 읽기만 하므로 서로 독립적이며, 크기 제한 풀
+ * ({@code assemblyExecutor})에서 실행합니다. 전체 소요 시간은 가장 느린 생성기에 가까워지고, 단계별 소요 시간은
+ * 섹션 이름으로 {@link StageTimings}에 기록합니다.
+ */
+@Slf4j
+@Service
+public class FullAnalysisAssembler {
+    private final ChartGenerator chartGenerator;
+    private final ReportGenerator reportGenerator;
+    private final Executor assemblyExecutor;
+
+    public FullAnalysisAssembler(ChartGenerator chartGenerator, ReportGenerator reportGenerator,
+            @Qualifier("assemblyExecutor") Executor assemblyExecutor) {
+        this.chartGenerator = chartGenerator;
+        this.reportGenerator = reportGenerator;
+        this.assemblyExecutor = assemblyExecutor;
+    }
+
+    /**
+     * 생성 중인 섹션들
+     */
+    public record Sections(CompletableFuture<ChartData> timeSeriesChart,
+            CompletableFuture<ChartData> comparisonChart,
+            CompletableFuture<ChartData> amountChart,
+            CompletableFuture<ChartData> dividendsAmountComparisonChart,
+            CompletableFuture<AnalysisReport> report) {
+
+        /**
+         * 스트리밍 순서(시계열 → 비교 → 금액 → 배당 차트 → 리포트)의 섹션 이름 → 결과
+         */
+        public Map<String, CompletableFuture<?>> inOrder() {
+            Map<String, CompletableFuture<?>> sections = new LinkedHashMap<>();
+            sections.put(AnalysisSection.TIME_SERIES_CHART, timeSeriesChart);
+            sections.put(AnalysisSection.COMPARISON_CHART, comparisonChart);
+            sections.put(AnalysisSection.AMOUNT_CHART, amountChart);
+            sections.put(AnalysisSection.DIVIDENDS_AMOUNT_COMPARISON_CHART, dividendsAmountComparisonChart);
+            sections.put(AnalysisSection.REPORT, report);
+            return sections;
+        }
+    }
+
+    /**
+     * 차트 4개와 리포트 생성을 모두 시작합니다.
+     */
+    public Sections start(PortfolioRequest request, PortfolioReturnData portfolioData, StageTimings timings) {
+        return new Sections(
+                submit(AnalysisSection.TIME_SERIES_CHART, timings,
+                        () -> chartGenerator.generateTimeSeriesChart(portfolioData)),
+                submit(AnalysisSection.COMPARISON_CHART, timings,
+                        () -> chartGenerator.generateComparisonChart(portfolioData)),
+                submit(AnalysisSection.AMOUNT_CHART, timings,
+                        () -> chartGenerator.generateAmountChangeChart(portfolioData)),
+                submit(AnalysisSection.DIVIDENDS_AMOUNT_COMPARISON_CHART, timings,
+                        () -> chartGenerator.generateDividendsAmountComparisonChart(portfolioData)),
+                submit(AnalysisSection.REPORT, timings,
+                        () -> reportGenerator.generateReport(request, portfolioData)));
+    }
+
+    /**
+     * 차트 4개와 리포트를 동시에 만들어 통합 응답을 반환합니다.
+     * 생성기 예외는 감싸지 않고 그대로 던집니다.
+     */
+    public PortfolioFullAnalysisResponse assemble(PortfolioRequest request, PortfolioReturnData portfolioData,
+            StageTimings timings) {
+        Sections sections = start(request, portfolioData, timings);
+        PortfolioFullAnalysisResponse response = new PortfolioFullAnalysisResponse(portfolioData,
+                join(sections.timeSeriesChart()), join(sections.comparisonChart()), join(sections.amountChart()),
+                join(sections.dividendsAmountComparisonChart()), join(sections.report()));
+        log.debug("assemble timings:{}", timings);
+        return response;
+    }
+
+    /**
+     * 섹션 결과를 기다립니다. 생성기 예외(RuntimeException/Error)는 CompletionException을 벗겨 그대로 던집니다.
+     */
+    public static <T> T join(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(String section, StageTimings timings, Supplier<T> generator) {
+        return CompletableFuture.supplyAsync(() -> timings.time(section, generator), assemblyExecutor);
+    }
+}
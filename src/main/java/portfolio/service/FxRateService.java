@@ -0,0 +1,78 @@
+package portfolio.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.api.ChartResponse;
+import portfolio.api.StockFetcher;
+import portfolio.config.CacheConfig;
+import portfolio.model.BarFrequency;
+import portfolio.model.FxRates;
+
+/**
+ * 통화쌍 환율 시계열을 조회하는 서비스
+ *
+ * <p>
+ * Yahoo Finance의 {from}{to}=X 심볼을 가격 데이터와 같은 interval로 조회하고, 종가가 없는 막대를 뺀 기본형 배열로
+ * (통화쌍, 기간, 주기)마다 캐시합니다. 같은 통화쌍을 쓰는 반복 요청은 조회와 변환 없이 캐시된 배열을 사용합니다.
+ */
+@Slf4j
+@Service
+public class FxRateService {
+
+    private final StockFetcher stockFetcher;
+
+    public FxRateService(StockFetcher stockFetcher) {
+        this.stockFetcher = stockFetcher;
+    }
+
+    /**
+     * from 1단위당 to 금액의 환율 시계열을 조회합니다.
+     *
+     * @throws IllegalArgumentException 환율 데이터가 없는 경우
+     */
+    @Cacheable(value = CacheConfig.FxRateService_fetchRates)
+    public FxRates fetchRates(String from, String to, long period1, long period2, BarFrequency frequency) {
+        String symbol = FxRates.symbol(from, to);
+        ChartResponse chart = stockFetcher.fetchDividends(symbol, period1, period2, frequency.interval());
+        FxRates rates = toRates(from, to, chart);
+        log.debug("fetchRates {} points:{}", symbol, rates.rates().length);
+        return rates;
+    }
+
+    static FxRates toRates(String from, String to, ChartResponse chart) {
+        String symbol = FxRates.symbol(from, to);
+        if (chart == null || chart.getChart() == null || chart.getChart().getResult() == null
+                || chart.getChart().getResult().isEmpty()) {
+            throw new IllegalArgumentException("FX rates not found for " + symbol);
+        }
+        ChartResponse.Result result = chart.getChart().getResult().get(0);
+        List<Long> timestamps = result.getTimestamp();
+        List<Double> closes = result.getIndicators() == null || result.getIndicators().getQuote() == null
+                || result.getIndicators().getQuote().isEmpty() ? null
+                        : result.getIndicators().getQuote().get(0).getClose();
+        if (timestamps == null || closes == null) {
+            throw new IllegalArgumentException("FX rates not found for " + symbol);
+        }
+        int n = Math.min(timestamps.size(), closes.size());
+        long[] stamps = new long[n];
+        double[] rates = new double[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            Double rate = closes.get(i);
+            if (rate != null && rate > 0 && timestamps.get(i) != null) {
+                stamps[size] = timestamps.get(i);
+                rates[size] = rate;
+                size++;
+            }
+        }
+        if (size == 0) {
+            throw new IllegalArgumentException("FX rates not found for " + symbol);
+        }
+        return new FxRates(from, to, Arrays.copyOf(stamps, size), Arrays.copyOf(rates, size));
+    }
+}
@@ -0,0 +1,280 @@
+package portfolio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.api.ChartResponse.Dividend;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.MetricState;
+import portfolio.model.StockHistories;
+import portfolio.model.StockReturnData;
+
+/**
+ * 새 가격 데이터가 추가될 때 저장된 누적 상태({@link MetricState})만 갱신하여 지표를 계산하는 서비스
+ *
+ * <p>
+ * 추가된 데이터 수에 비례하는 비용으로 {@link StockReturnData}의 지표와 시계열을 갱신하고 (시계열은 복사하지 않은 스냅샷),
+ * {@code portfolio.incremental.verify-interval}번 추가할 때마다 전체 재계산 결과와 비교합니다.
+ * 결과가 다르거나 이미 반영된 구간의 배당이 새로 들어오면 전체 이력으로 상태를 다시 만듭니다.
+ * 변동성/샤프비율은 초기화할 때 지정한 주기로 연환산하며, 이동 윈도우 리스크 지표(rollingRisks)는 누적 상태로 관리하지 않습니다.
+ */
+@Slf4j
+@Service
+public class IncrementalMetricService {
+    /** 전체 재계산 검증 허용 오차 (상대 오차) */
+    static final double VERIFICATION_TOLERANCE = 1e-9;
+
+    private final MetricStateStore metricStateStore;
+    private final StockReturnCalculator stockReturnCalculator;
+    private final ReturnCalculator returnCalculator;
+    private final int verifyInterval;
+
+    public IncrementalMetricService(
+            MetricStateStore metricStateStore,
+            StockReturnCalculator stockReturnCalculator,
+            ReturnCalculator returnCalculator,
+            @Value("${portfolio.incremental.verify-interval:12}") int verifyInterval) {
+        this.metricStateStore = metricStateStore;
+        this.stockReturnCalculator = stockReturnCalculator;
+        this.returnCalculator = returnCalculator;
+        this.verifyInterval = verifyInterval;
+    }
+
+    /**
+     * 전체 이력으로 누적 상태를 만들어 저장하고 지표를 반환합니다. (기존 상태는 대체)
+     *
+     * @param key         시계열 키 (예: 저장된 포트폴리오 ID + 티커)
+     * @param histories   가격/타임스탬프/배당 이력 (가격 2개 이상)
+     * @param indexPrices 같은 시점의 지수 가격
+     * @param frequency   가격 데이터 주기
+     */
+    public StockReturnData initialize(String key, String ticker, StockHistories histories, List<Double> indexPrices,
+            boolean includeDividends, double initialAmount, double weight, BarFrequency frequency) {
+        validateBars(histories, indexPrices);
+        if (histories.prices().size() < 2) {
+            throw new IllegalArgumentException("At least two prices are required");
+        }
+        AtomicReference<StockReturnData> result = new AtomicReference<>();
+        metricStateStore.compute(key, (k, previous) -> {
+            MetricState state = replay(new MetricState(ticker, includeDividends, initialAmount, weight, frequency),
+                    histories, indexPrices);
+            result.set(toStockReturnData(state));
+            return state;
+        });
+        return result.get();
+    }
+
+    /**
+     * 저장된 상태에 새 가격 데이터를 추가하고 갱신된 지표를 반환합니다.
+     *
+     * @param key            {@link #initialize}에 사용한 키
+     * @param newBars        마지막 시점 이후의 가격/타임스탬프와 그 기간의 배당
+     * @param newIndexPrices 같은 시점의 지수 가격
+     * @throws IllegalArgumentException 상태가 없거나, 시점이 마지막 시점 이후가 아닌 경우
+     */
+    public StockReturnData append(String key, StockHistories newBars, List<Double> newIndexPrices) {
+        validateBars(newBars, newIndexPrices);
+        AtomicReference<StockReturnData> result = new AtomicReference<>();
+        metricStateStore.compute(key, (k, state) -> {
+            if (state == null) {
+                throw new IllegalArgumentException("No metric state for key: " + key);
+            }
+            MetricState updated = appendBars(state, newBars, newIndexPrices);
+            StockReturnData data = toStockReturnData(updated);
+            if (updated.getAppendsSinceVerification() >= verifyInterval) {
+                MetricState verified = verify(updated, data);
+                if (verified != updated) {
+                    data = toStockReturnData(verified);
+                }
+                updated = verified;
+            }
+            result.set(data);
+            return updated;
+        });
+        return result.get();
+    }
+
+    /**
+     * 저장된 상태의 현재 지표를 반환합니다.
+     *
+     * @throws IllegalArgumentException 상태가 없는 경우
+     */
+    public StockReturnData get(String key) {
+        AtomicReference<StockReturnData> result = new AtomicReference<>();
+        metricStateStore.compute(key, (k, state) -> {
+            if (state == null) {
+                throw new IllegalArgumentException("No metric state for key: " + key);
+            }
+            result.set(toStockReturnData(state));
+            return state;
+        });
+        return result.get();
+    }
+
+    public void remove(String key) {
+        metricStateStore.remove(key);
+    }
+
+    private MetricState appendBars(MetricState state, StockHistories newBars, List<Double> newIndexPrices) {
+        List<Long> timestamps = newBars.timestamps();
+        // 상태를 변경하기 전에 시간 순서를 먼저 검증
+        long previous = state.getLastTimestamp();
+        for (long timestamp : timestamps) {
+            if (timestamp <= previous) {
+                throw new IllegalArgumentException("New bars must start after the last timestamp");
+            }
+            previous = timestamp;
+        }
+        List<Dividend> newDividends = newBars.dividends() == null ? List.of() : newBars.dividends();
+        for (Dividend dividend : newDividends) {
+            if (state.isSettled(dividend)) {
+                // 이미 반영된 구간의 배당은 누적 상태로 소급할 수 없으므로 전체 이력으로 재계산
+                log.info("append {} received a dividend for a settled bar, rebuilding state", state.getTicker());
+                return rebuild(state, newBars, newIndexPrices);
+            }
+        }
+        for (Dividend dividend : newDividends) {
+            state.addDividend(dividend);
+        }
+        for (int i = 0; i < timestamps.size(); i++) {
+            state.append(timestamps.get(i), newBars.prices().get(i), newIndexPrices.get(i));
+        }
+        state.markAppended();
+        return state;
+    }
+
+    /**
+     * 기존 이력에 새 데이터를 이어 붙여 처음부터 다시 누적합니다.
+     */
+    private MetricState rebuild(MetricState state, StockHistories newBars, List<Double> newIndexPrices) {
+        List<Double> prices = new ArrayList<>(state.getPrices());
+        prices.addAll(newBars.prices());
+        List<Long> timestamps = new ArrayList<>(state.getTimestamps());
+        timestamps.addAll(newBars.timestamps());
+        List<Dividend> dividends = new ArrayList<>(state.getDividends());
+        if (newBars.dividends() != null) {
+            dividends.addAll(newBars.dividends());
+        }
+        List<Double> indexPrices = new ArrayList<>(state.getIndexPrices());
+        indexPrices.addAll(newIndexPrices);
+        return replay(newState(state), new StockHistories(prices, timestamps, dividends), indexPrices);
+    }
+
+    private static MetricState newState(MetricState state) {
+        return new MetricState(state.getTicker(), state.isIncludeDividends(), state.getInitialAmount(),
+                state.getWeight(), state.getFrequency());
+    }
+
+    private static MetricState replay(MetricState state, StockHistories histories, List<Double> indexPrices) {
+        if (histories.dividends() != null) {
+            for (Dividend dividend : histories.dividends()) {
+                state.addDividend(dividend);
+            }
+        }
+        for (int i = 0; i < histories.prices().size(); i++) {
+            state.append(histories.timestamps().get(i), histories.prices().get(i), indexPrices.get(i));
+        }
+        state.markVerified();
+        return state;
+    }
+
+    /**
+     * 전체 재계산 결과와 누적 결과를 비교합니다. 다르면 전체 이력으로 다시 만든 상태를 반환합니다.
+     */
+    MetricState verify(MetricState state, StockReturnData incremental) {
+        StockReturnData full = stockReturnCalculator.calculateStockReturn(
+                state.isIncludeDividends(), state.getTicker(), state.getPrices(), state.getTimestamps(),
+                state.getDividends(), BenchmarkContext.of(state.getIndexPrices()), state.getInitialAmount(),
+                state.getWeight(), null, state.getFrequency());
+        if (matches(full, incremental)) {
+            state.markVerified();
+            return state;
+        }
+        log.warn("verify {} incremental metrics diverged from full recompute, rebuilding state", state.getTicker());
+        return replay(newState(state),
+                new StockHistories(state.getPrices(), state.getTimestamps(), state.getDividends()),
+                state.getIndexPrices());
+    }
+
+    static boolean matches(StockReturnData expected, StockReturnData actual) {
+        return close(expected.getPriceReturn(), actual.getPriceReturn())
+                && close(expected.getTotalReturn(), actual.getTotalReturn())
+                && close(expected.getCagr(), actual.getCagr())
+                && close(expected.getVolatility(), actual.getVolatility())
+                && close(expected.getSharpeRatio(), actual.getSharpeRatio())
+                && close(expected.getBeta(), actual.getBeta())
+                && close(expected.getMaxDrawdown(), actual.getMaxDrawdown())
+                && closeLast(expected.getCumulativeReturns(), actual.getCumulativeReturns())
+                && closeLast(expected.getAmountChanges(), actual.getAmountChanges());
+    }
+
+    private static boolean closeLast(List<Double> expected, List<Double> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        return expected.isEmpty() || close(expected.get(expected.size() - 1), actual.get(actual.size() - 1));
+    }
+
+    private static boolean close(double expected, double actual) {
+        if (Double.isNaN(expected) || Double.isNaN(actual)) {
+            return Double.isNaN(expected) && Double.isNaN(actual);
+        }
+        if (Double.isInfinite(expected) || Double.isInfinite(actual)) {
+            return expected == actual;
+        }
+        double scale = Math.max(1.0, Math.max(Math.abs(expected), Math.abs(actual)));
+        return Math.abs(expected - actual) <= VERIFICATION_TOLERANCE * scale;
+    }
+
+    private StockReturnData toStockReturnData(MetricState state) {
+        double startPrice = state.getStartPrice();
+        double priceReturn = (state.getLastPrice() - startPrice) / startPrice;
+        var totalReturns = state.getTotalReturns();
+        double endPrice = startPrice * priceReturn + startPrice;
+        double years = stockReturnCalculator.calculateYearsBetweenPrices(state.getTimestamps());
+        double cagr = years > 0 ? returnCalculator.calculateCAGR(startPrice, endPrice, years).rate() : 0.0;
+
+        var periodicMoments = state.getPeriodicMoments();
+        double standardDeviation = periodicMoments.standardDeviation();
+        double volatility = standardDeviation * state.getFrequency().annualizationFactor();
+        double sharpeRatio = ReturnCalculator.sharpeRatio(periodicMoments.mean(), standardDeviation,
+                state.getFrequency());
+
+        return StockReturnData.builder()
+                .ticker(state.getTicker())
+                .priceReturn(priceReturn)
+                .totalReturn(totalReturns.get(totalReturns.size() - 1))
+                .cagr(cagr)
+                .volatility(volatility)
+                .cumulativeReturns((state.isIncludeDividends() ? state.getTotalReturns() : state.getPriceReturns())
+                        .snapshot())
+                .prices(state.getPrices().snapshot())
+                .timestamps(state.getTimestamps().snapshot())
+                .dividends(state.getDividends().snapshot())
+                .initialAmount(state.getInitialAmount() * state.getWeight())
+                .dates(state.getDates().snapshot())
+                .periodicReturnRates(state.getPeriodicReturnRates().snapshot())
+                .maxDrawdowns(state.getDrawdowns().snapshot())
+                .maxDrawdown(state.getMaxDrawdown())
+                .amountChanges(state.getAmountChanges().snapshot())
+                .amountDividens(state.getAmountDividends().snapshot())
+                .sharpeRatio(sharpeRatio)
+                .beta(state.getGrowthCovariance().beta())
+                .build();
+    }
+
+    private static void validateBars(StockHistories bars, List<Double> indexPrices) {
+        if (bars == null || bars.prices() == null || bars.timestamps() == null || indexPrices == null) {
+            throw new IllegalArgumentException("Prices, timestamps and index prices cannot be null");
+        }
+        if (bars.prices().size() != bars.timestamps().size() || bars.prices().size() != indexPrices.size()) {
+            throw new IllegalArgumentException("Prices, timestamps and index prices must have the same size");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package portfolio.service;
+
+import java.util.List;
+
+import portfolio.api.ChartResponse.Dividend;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.Metric;
+
+/**
+ * 한 종목(또는 포트폴리오 가상 종목)의 지표를 요청 시점에 계산하고 요청 안에서 결과를 재사용하는 평가기입니다.
+ *
+ * <p>
+ * 각 메서드는 처음 호출될 때 필요한 입력 지표만 계산하고 결과를 보관합니다.
+ * 예를 들어 {@link Metric#VOLATILITY}와 {@link Metric#SHARPE_RATIO}는 같은 기간 수익률 배열을 공유합니다.
+ * 요청 스레드(또는 종목별 계산 작업) 하나에서만 사용하므로 동기화하지 않습니다.
+ */
+final class MetricEvaluation {
+    private final ReturnCalculator returnCalculator;
+    private final double[] prices;
+    private final List<Long> timestamps;
+    private final List<Dividend> dividends;
+    private final BenchmarkContext benchmark;
+    private final BarFrequency frequency;
+
+    /** 조정 종가 (null이면 배당 재투자 계산으로 총수익률을 구함) */
+    private double[] adjustedPrices;
+    /** 조정 종가 총수익률을 배당 재투자 계산과 비교할지 여부 */
+    private boolean reconcile;
+    private double[] dividendsPerBar;
+    private double[] priceGrowth;
+    private double[] totalReturnSeries;
+    private double[] periodicReturns;
+    private double[] drawdowns;
+    private double maxDrawdown;
+    private double[] amounts;
+    private double[] amountDividends;
+
+    MetricEvaluation(ReturnCalculator returnCalculator, double[] prices, List<Long> timestamps,
+            List<Dividend> dividends, BenchmarkContext benchmark, BarFrequency frequency) {
+        this.returnCalculator = returnCalculator;
+        this.prices = prices;
+        this.timestamps = timestamps;
+        this.dividends = dividends;
+        this.benchmark = benchmark;
+        this.frequency = frequency;
+    }
+
+    /**
+     * 배당을 이미 시점별로 합산한 경우(포트폴리오 NAV)의 평가기를 만듭니다.
+     */
+    MetricEvaluation(ReturnCalculator returnCalculator, double[] prices, List<Long> timestamps,
+            double[] dividendsPerBar, BenchmarkContext benchmark, BarFrequency frequency) {
+        this(returnCalculator, prices, timestamps, List.of(), benchmark, frequency);
+        this.dividendsPerBar = dividendsPerBar;
+    }
+
+    double[] prices() {
+        return prices;
+    }
+
+    /**
+     * 총수익률/배당 포함 누적 수익률을 조정 종가 비율로 계산하도록 합니다. (배당 분류/재투자 계산 생략)
+     *
+     * @param adjustedPrices 조정 종가 (가격과 같은 길이, 시작 값은 0보다 커야 함)
+     * @param reconcile      배당 재투자 계산과의 차이({@link #adjustedCloseDivergence()})를 결과에 포함할지 여부
+     */
+    void useAdjustedClose(double[] adjustedPrices, boolean reconcile) {
+        this.adjustedPrices = adjustedPrices;
+        this.reconcile = reconcile;
+        this.totalReturnSeries = null;
+    }
+
+    boolean usesAdjustedClose() {
+        return adjustedPrices != null;
+    }
+
+    boolean reconcilesAdjustedClose() {
+        return adjustedPrices != null && reconcile;
+    }
+
+    /**
+     * 조정 종가 누적 성장과 배당 재투자 누적 성장의 최대 상대 차이
+     */
+    double adjustedCloseDivergence() {
+        return returnCalculator.calculateAdjustedCloseDivergence(prices, adjustedPrices, dividendsPerBar());
+    }
+
+    /**
+     * 시점별 주당 배당금 (배당 반영 기준일로 한 번만 분류)
+     */
+    double[] dividendsPerBar() {
+        if (dividendsPerBar == null) {
+            dividendsPerBar = frequency.dividendsPerBar(timestamps, dividends);
+        }
+        return dividendsPerBar;
+    }
+
+    double[] priceGrowth() {
+        if (priceGrowth == null) {
+            priceGrowth = returnCalculator.calculateCumulativeGrowth(prices);
+        }
+        return priceGrowth;
+    }
+
+    double[] totalReturnSeries() {
+        if (totalReturnSeries == null) {
+            totalReturnSeries = adjustedPrices != null
+                    ? returnCalculator.calculateCumulativeGrowth(adjustedPrices)
+                    : returnCalculator.calculateTotalReturnSeries(prices, dividendsPerBar());
+        }
+        return totalReturnSeries;
+    }
+
+    double[] periodicReturns() {
+        if (periodicReturns == null) {
+            periodicReturns = returnCalculator.calculatePeriodicReturnRates(prices);
+        }
+        return periodicReturns;
+    }
+
+    double totalReturn() {
+        double[] series = totalReturnSeries();
+        return series[series.length - 1];
+    }
+
+    double volatility() {
+        return returnCalculator.calculateVolatility(periodicReturns(), frequency);
+    }
+
+    double sharpeRatio() {
+        return returnCalculator.calculateSharpeRatio(periodicReturns(), frequency);
+    }
+
+    double beta() {
+        return returnCalculator.calculateBeta(priceGrowth(), benchmark);
+    }
+
+    double[] drawdowns() {
+        if (drawdowns == null) {
+            drawdowns = new double[prices.length];
+            maxDrawdown = returnCalculator.calculateMaxDrawdowns(prices, drawdowns);
+        }
+        return drawdowns;
+    }
+
+    double maxDrawdown() {
+        drawdowns();
+        return maxDrawdown;
+    }
+
+    /**
+     * 종목별 평가 금액/배당 현금 시계열을 한 번에 계산합니다.
+     */
+    void computeAmounts(boolean includeDividends, double initialAmount, double weight) {
+        if (amounts == null) {
+            amounts = new double[prices.length];
+            amountDividends = new double[prices.length];
+            returnCalculator.calculateCumulativeAmounts(includeDividends, prices, dividendsPerBar(), initialAmount,
+                    weight, amounts, amountDividends);
+        }
+    }
+
+    double[] amounts() {
+        return amounts;
+    }
+
+    double[] amountDividends() {
+        return amountDividends;
+    }
+}
@@ -0,0 +1,52 @@
+package portfolio.service;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import portfolio.model.MetricState;
+
+/**
+ * 시계열별 누적 계산 상태 저장소 (메모리)
+ *
+ * <p>
+ * 키 단위로 {@link #compute(String, BiFunction)}가 원자적으로 실행되므로, 같은 시계열의 갱신은 순서대로 처리됩니다.
+ * 상태 수는 {@code portfolio.incremental.max-states}개로 제한하고, {@code portfolio.incremental.expire-after-access-hours}
+ * 시간 동안 조회/갱신되지 않은 상태는 버립니다. (버려진 키는 다시 초기화해야 함)
+ */
+@Component
+public class MetricStateStore {
+    private final ConcurrentMap<String, MetricState> states;
+
+    public MetricStateStore(
+            @Value("${portfolio.incremental.max-states:1000}") long maxStates,
+            @Value("${portfolio.incremental.expire-after-access-hours:24}") long expireAfterAccessHours) {
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxStates)
+                .expireAfterAccess(expireAfterAccessHours, TimeUnit.HOURS)
+                .<String, MetricState>build()
+                .asMap();
+    }
+
+    public Optional<MetricState> find(String key) {
+        return Optional.ofNullable(states.get(key));
+    }
+
+    public MetricState compute(String key, BiFunction<String, MetricState, MetricState> remapping) {
+        return states.compute(key, remapping);
+    }
+
+    public void remove(String key) {
+        states.remove(key);
+    }
+
+    public int size() {
+        return states.size();
+    }
+}
@@ -0,0 +1,157 @@
+package portfolio.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.FetchedStockDatas;
+import portfolio.model.MonteCarloRequest;
+import portfolio.model.MonteCarloResponse;
+import portfolio.util.NavMatrix;
+import portfolio.util.QuantileSketch;
+
+/**
+ * 포트폴리오의 과거 기간 수익률로 미래 가치 분포를 추정하는 서비스
+ *
+ * <p>
+ * 조회와 가격 행렬 생성은 요청당 한 번만 수행하고, 요청 비중으로 합산한 포트폴리오 NAV의 기간 수익률
+ * (배당 포함 시 배당 현금 포함)을 {@link MonteCarloSimulator}에 넘깁니다.
+ */
+@Slf4j
+@Service
+public class MonteCarloService {
+    /** 최대 시뮬레이션 연수 */
+    static final int MAX_YEARS = 100;
+
+    private static final double[] TERMINAL_PERCENTILES = new double[99];
+    private static final double[] BAND_PERCENTILES = new double[MonteCarloResponse.BAND_PERCENTILES.size()];
+
+    static {
+        for (int k = 0; k < TERMINAL_PERCENTILES.length; k++) {
+            TERMINAL_PERCENTILES[k] = (k + 1) / 100.0;
+        }
+        for (int k = 0; k < BAND_PERCENTILES.length; k++) {
+            BAND_PERCENTILES[k] = MonteCarloResponse.BAND_PERCENTILES.get(k);
+        }
+    }
+
+    private final PortfolioReturnService portfolioReturnService;
+    private final ReturnCalculator returnCalculator;
+    private final MonteCarloSimulator monteCarloSimulator;
+    private final long maxPathSteps;
+
+    public MonteCarloService(PortfolioReturnService portfolioReturnService,
+            ReturnCalculator returnCalculator,
+            MonteCarloSimulator monteCarloSimulator,
+            @Value("${portfolio.montecarlo.max-path-steps:50000000}") long maxPathSteps) {
+        this.portfolioReturnService = portfolioReturnService;
+        this.returnCalculator = returnCalculator;
+        this.monteCarloSimulator = monteCarloSimulator;
+        this.maxPathSteps = maxPathSteps;
+    }
+
+    /**
+     * 요청 포트폴리오의 미래 가치 경로를 시뮬레이션합니다.
+     *
+     * @throws IllegalArgumentException 경로 수/연수가 범위를 벗어나거나, 경로 수 × 기간 수가 최대값을 넘거나,
+     *                                  비중이 올바르지 않은 경우
+     */
+    public MonteCarloResponse simulate(MonteCarloRequest request) {
+        validate(request);
+        return simulate(request, portfolioReturnService.fetchStockData(request));
+    }
+
+    /**
+     * 이미 조회한 데이터로 미래 가치 경로를 시뮬레이션합니다.
+     *
+     * @throws IllegalArgumentException 요청 값이 범위를 벗어난 경우
+     */
+    public MonteCarloResponse simulate(MonteCarloRequest request, FetchedStockDatas fetchedStockDatas) {
+        validate(request);
+        PortfolioReturnService.ConstituentNavs constituents = portfolioReturnService.constituentNavs(request,
+                fetchedStockDatas);
+        return simulate(request, constituents.navMatrix(), constituents.startDate(), constituents.endDate());
+    }
+
+    MonteCarloResponse simulate(MonteCarloRequest request, NavMatrix navMatrix, LocalDate startDate,
+            LocalDate endDate) {
+        double[] periodicReturns = portfolioReturns(navMatrix, PortfolioReturnService.weightsOrEqual(request),
+                request.isIncludeDividends());
+        long seed = request.getSeed() != null ? request.getSeed() : new SplittableRandom().nextLong();
+        int periodsPerYear = request.getFrequency().periodsPerYear();
+
+        long start = System.nanoTime();
+        MonteCarloSimulator.Simulation simulation = monteCarloSimulator.simulate(periodicReturns,
+                request.getMethod(), request.getPaths(), request.getYears(), periodsPerYear, seed);
+        log.debug("simulate paths:{} years:{} elapsed:{}ms", request.getPaths(), request.getYears(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        double initialValue = request.getInitialAmount() > 0 ? request.getInitialAmount() : 1.0;
+        List<MonteCarloResponse.PercentileBand> bands = new ArrayList<>(request.getYears() + 1);
+        double[] initialBand = new double[BAND_PERCENTILES.length];
+        Arrays.fill(initialBand, initialValue);
+        bands.add(new MonteCarloResponse.PercentileBand(0, initialBand));
+        for (int y = 0; y < request.getYears(); y++) {
+            bands.add(new MonteCarloResponse.PercentileBand(y + 1,
+                    scale(simulation.yearly()[y].quantiles(BAND_PERCENTILES), initialValue)));
+        }
+        QuantileSketch terminal = simulation.terminal();
+        return new MonteCarloResponse(request.getTickers(), startDate, endDate, request.getMethod(),
+                request.getPaths(), request.getYears(), periodicReturns.length, seed, initialValue,
+                MonteCarloResponse.BAND_PERCENTILES, bands, simulation.terminalMean() * initialValue,
+                simulation.probabilityOfLoss(), scale(terminal.quantiles(TERMINAL_PERCENTILES), initialValue));
+    }
+
+    /**
+     * 비중으로 합산한 NAV의 기간 수익률 (배당 포함 시 (NAV[i] + 배당[i]) / NAV[i - 1] - 1)
+     */
+    private double[] portfolioReturns(NavMatrix navMatrix, double[] weights, boolean includeDividends) {
+        int periods = navMatrix.periods();
+        if (periods < 3) {
+            throw new IllegalArgumentException("At least three prices are required for simulation");
+        }
+        double[] nav = new double[periods];
+        double[] dividendCash = new double[periods];
+        navMatrix.aggregate(weights, nav, dividendCash);
+        double[] periodicReturns = new double[periods - 1];
+        returnCalculator.calculatePeriodicReturnRates(nav, periodicReturns);
+        if (includeDividends) {
+            for (int i = 1; i < periods; i++) {
+                periodicReturns[i - 1] += dividendCash[i] / nav[i - 1];
+            }
+        }
+        return periodicReturns;
+    }
+
+    private static double[] scale(double[] values, double factor) {
+        for (int k = 0; k < values.length; k++) {
+            values[k] *= factor;
+        }
+        return values;
+    }
+
+    private void validate(MonteCarloRequest request) {
+        if (request.getTickers() == null || request.getTickers().isEmpty()) {
+            throw new IllegalArgumentException("Tickers cannot be null or empty");
+        }
+        if (request.getMethod() == null) {
+            throw new IllegalArgumentException("Simulation method is required");
+        }
+        if (request.getYears() < 1 || request.getYears() > MAX_YEARS) {
+            throw new IllegalArgumentException("Years must be between 1 and " + MAX_YEARS);
+        }
+        if (request.getPaths() < 1) {
+            throw new IllegalArgumentException("Paths must be positive");
+        }
+        long pathSteps = (long) request.getPaths() * request.getYears() * request.getFrequency().periodsPerYear();
+        if (pathSteps > maxPathSteps) {
+            throw new IllegalArgumentException("Paths × simulated periods must not exceed " + maxPathSteps);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.SimulationMethod;
+import portfolio.util.QuantileSketch;
+import portfolio.util.RunningMoments;
+
+/**
+ * 과거 기간 수익률로 포트폴리오 가치 경로를 생성하는 몬테카를로 시뮬레이터
+ *
+ * <p>
+ * 경로는 {@value #PATHS_PER_TASK}개 단위 작업으로 나누어 계산 풀에서 병렬로 생성합니다. 작업마다 시드에서
+ * {@link SplittableRandom#split()}한 난수 생성기를 쓰므로 결과는 시드와 경로 수로만 정해지고 병렬도와 무관합니다.
+ * 작업은 경로별 가치를 기본형 배열 하나에 담아 기간 단위로 함께 진행시키고, 연말 가치와 만기 가치는 작업별
+ * {@link QuantileSketch}에 넣은 뒤 합칩니다. 경로 전체를 저장하지 않으므로 메모리는 경로 수 × 기간 수와 무관합니다.
+ * 가치는 시작 1 기준입니다.
+ */
+@Slf4j
+@Component
+public class MonteCarloSimulator {
+    /** 작업 하나가 함께 진행시키는 경로 수 */
+    static final int PATHS_PER_TASK = 2048;
+    /** 분위수 스케치 상대 오차 */
+    static final double RELATIVE_ACCURACY = 0.005;
+
+    private final ForkJoinPool computePool;
+
+    public MonteCarloSimulator(ForkJoinPool computePool) {
+        this.computePool = computePool;
+    }
+
+    /**
+     * 시뮬레이션 결과
+     *
+     * @param yearly            연말(1년 ~ years년) 가치 분포, yearly[y - 1]이 y년 말
+     * @param terminal          만기 가치 분포
+     * @param terminalMean      만기 가치 평균
+     * @param probabilityOfLoss 만기 가치가 시작 가치(1)보다 작은 경로 비율
+     */
+    public record Simulation(QuantileSketch[] yearly, QuantileSketch terminal, double terminalMean,
+            double probabilityOfLoss) {
+    }
+
+    /**
+     * 경로를 생성합니다.
+     *
+     * <p>
+     * BOOTSTRAP은 매 기간 과거 수익률 하나를 복원 추출하고, PARAMETRIC은 과거 로그 수익률의 평균/표준편차를 갖는
+     * 정규분포에서 로그 수익률을 뽑습니다(가치는 로그정규).
+     *
+     * @param periodicReturns 과거 기간 수익률 (-1보다 커야 함)
+     * @param method          경로 생성 방식
+     * @param paths           경로 수
+     * @param years           시뮬레이션 연수
+     * @param periodsPerYear  연간 기간 수
+     * @param seed            난수 시드
+     * @throws IllegalArgumentException 수익률이 2개 미만이거나 -1 이하이거나, 경로 수/연수가 1 미만인 경우
+     */
+    public Simulation simulate(double[] periodicReturns, SimulationMethod method, int paths, int years,
+            int periodsPerYear, long seed) {
+        if (periodicReturns.length < 2) {
+            throw new IllegalArgumentException("At least two periodic returns are required for simulation");
+        }
+        if (paths < 1 || years < 1 || periodsPerYear < 1) {
+            throw new IllegalArgumentException("Paths, years and periods per year must be positive");
+        }
+        final double[] logReturns = new double[periodicReturns.length];
+        for (int i = 0; i < logReturns.length; i++) {
+            if (!(periodicReturns[i] > -1)) {
+                throw new IllegalArgumentException("Periodic returns must be greater than -100%");
+            }
+            logReturns[i] = Math.log1p(periodicReturns[i]);
+        }
+        final double[] growth = new double[periodicReturns.length];
+        for (int i = 0; i < growth.length; i++) {
+            growth[i] = 1 + periodicReturns[i];
+        }
+        RunningMoments logMoments = RunningMoments.of(logReturns);
+        final double logMean = logMoments.mean();
+        final double logStdDev = logMoments.sampleStandardDeviation();
+
+        // 작업별 난수 생성기는 호출 스레드에서 순서대로 분기해 병렬도와 무관하게 재현되도록 함
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Callable<Task>> tasks = new ArrayList<>();
+        for (int from = 0; from < paths; from += PATHS_PER_TASK) {
+            Task task = new Task(root.split(), Math.min(PATHS_PER_TASK, paths - from), years);
+            tasks.add(() -> {
+                if (method == SimulationMethod.PARAMETRIC) {
+                    task.runParametric(logMean, logStdDev, periodsPerYear);
+                } else {
+                    task.runBootstrap(growth, periodsPerYear);
+                }
+                return task;
+            });
+        }
+        log.debug("simulate method:{} paths:{} years:{} tasks:{}", method, paths, years, tasks.size());
+
+        QuantileSketch[] yearly = new QuantileSketch[years];
+        for (int y = 0; y < years; y++) {
+            yearly[y] = new QuantileSketch(RELATIVE_ACCURACY);
+        }
+        double terminalSum = 0.0;
+        long losses = 0;
+        for (Task task : runParallel(tasks)) {
+            for (int y = 0; y < years; y++) {
+                yearly[y].merge(task.yearly[y]);
+            }
+            terminalSum += task.terminalSum;
+            losses += task.losses;
+        }
+        return new Simulation(yearly, yearly[years - 1], terminalSum / paths, (double) losses / paths);
+    }
+
+    private List<Task> runParallel(List<Callable<Task>> tasks) {
+        List<Task> results = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            try {
+                results.add(tasks.get(0).call());
+                return results;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        for (Future<Task> future : computePool.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Monte Carlo simulation interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 경로 묶음 하나 (가치 배열과 연말 스케치를 작업이 단독으로 사용)
+     */
+    private static final class Task {
+        private final SplittableRandom random;
+        private final double[] values;
+        private final QuantileSketch[] yearly;
+        private double terminalSum;
+        private long losses;
+
+        Task(SplittableRandom random, int paths, int years) {
+            this.random = random;
+            this.values = new double[paths];
+            this.yearly = new QuantileSketch[years];
+            for (int y = 0; y < years; y++) {
+                yearly[y] = new QuantileSketch(RELATIVE_ACCURACY);
+            }
+        }
+
+        void runBootstrap(double[] growth, int periodsPerYear) {
+            Arrays.fill(values, 1.0);
+            int size = growth.length;
+            for (int y = 0; y < yearly.length; y++) {
+                for (int step = 0; step < periodsPerYear; step++) {
+                    for (int p = 0; p < values.length; p++) {
+                        values[p] *= growth[random.nextInt(size)];
+                    }
+                }
+                record(y, false);
+            }
+        }
+
+        void runParametric(double logMean, double logStdDev, int periodsPerYear) {
+            // 로그 가치에 정규 난수를 누적하고 연말에만 지수 변환
+            Arrays.fill(values, 0.0);
+            for (int y = 0; y < yearly.length; y++) {
+                for (int step = 0; step < periodsPerYear; step++) {
+                    for (int p = 0; p < values.length; p++) {
+                        values[p] += logMean + logStdDev * random.nextGaussian();
+                    }
+                }
+                record(y, true);
+            }
+        }
+
+        private void record(int year, boolean logScale) {
+            QuantileSketch sketch = yearly[year];
+            boolean terminal = year == yearly.length - 1;
+            for (double stored : values) {
+                double value = logScale ? Math.exp(stored) : stored;
+                sketch.add(value);
+                if (terminal) {
+                    terminalSum += value;
+                    if (value < 1.0) {
+                        losses++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
+import portfolio.util.RunningCovariance;
 
 @Slf4j
 @Service
@@ -24,16 +25,6 @@ public class PortfolioAnalyzer {
         }
     }
 
-    /**
-     * 주어진 수치 리스트의 평균값을 계산한다.
-     * 
-     * @param values 수치 리스트
-     * @return 평균값
-     */
-    private double calculateMean(List<Double> values) {
-        return values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-    }
-
     public double calculateCorrelation(List<Double> returns1, List<Double> returns2) {
         validateReturnsNotNullOrEmpty(returns1, "Returns1");
         validateReturnsNotNullOrEmpty(returns2, "Returns2");
@@ -44,32 +35,17 @@ public class PortfolioAnalyzer {
 
         validateMinimumSize(returns1, 2, "calculate correlation");
 
-        // Calculate means
-        double mean1 = calculateMean(returns1);
-        double mean2 = calculateMean(returns2);
-
-        // Calculate covariance and standard deviations
-        double covariance = 0.0;
-        double sumSquares1 = 0.0;
-        double sumSquares2 = 0.0;
-
+        // 평균/분산/공분산을 한 번의 순회로 누적
+        RunningCovariance covariance = new RunningCovariance();
         for (int i = 0; i < returns1.size(); i++) {
-            double diff1 = returns1.get(i) - mean1;
-            double diff2 = returns2.get(i) - mean2;
-
-            covariance += diff1 * diff2;
-            sumSquares1 += diff1 * diff1;
-            sumSquares2 += diff2 * diff2;
+            covariance.add(returns1.get(i), returns2.get(i));
         }
 
-        double stdDev1 = Math.sqrt(sumSquares1 / returns1.size());
-        double stdDev2 = Math.sqrt(sumSquares2 / returns2.size());
-
-        if (stdDev1 == 0.0 || stdDev2 == 0.0) {
+        if (covariance.varianceX() == 0.0 || covariance.varianceY() == 0.0) {
             throw new IllegalArgumentException("Cannot calculate correlation when standard deviation is zero");
         }
 
         // Correlation = Covariance / (StdDev1 * StdDev2)
-        return (covariance / returns1.size()) / (stdDev1 * stdDev2);
+        return covariance.correlation();
     }
 }
@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import portfolio.api.ChartResponse;
 import portfolio.api.StockFetcher;
+import portfolio.model.BarFrequency;
 
 @Service
 public class PortfolioDataService {
@@ -20,6 +21,15 @@ public class PortfolioDataService {
     public CompletableFuture<Map<String, ChartResponse>> fetchMultipleDividends(List<String> tickers, long period1, long period2) {
         return fetchMultipleData(tickers, period1, period2, stockFetcher::fetchDividends);
     }
+
+    /**
+     * 봉 주기에 맞는 interval로 여러 종목의 가격/배당 데이터를 조회합니다.
+     */
+    public CompletableFuture<Map<String, ChartResponse>> fetchMultipleDividends(List<String> tickers, long period1,
+            long period2, BarFrequency frequency) {
+        return fetchMultipleData(tickers, period1, period2,
+                (ticker, from, to) -> stockFetcher.fetchDividends(ticker, from, to, frequency.interval()));
+    }
     
     private CompletableFuture<Map<String, ChartResponse>> fetchMultipleData(
             List<String> tickers, 
@@ -0,0 +1,145 @@
+package portfolio.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.config.CacheConfig;
+import portfolio.model.BarFrequency;
+import portfolio.model.CorrelationMatrix;
+import portfolio.model.FetchedStockDatas;
+import portfolio.model.OptimizationRequest;
+import portfolio.model.OptimizationResponse;
+import portfolio.model.OptimizedPortfolio;
+import portfolio.util.MeanVarianceOptimizer;
+import portfolio.util.NavMatrix;
+
+/**
+ * 평균-분산 최적화(최소 분산, 샤프비율 최대, 효율적 투자선) 서비스
+ *
+ * <p>
+ * 정렬된 기간 수익률로 평균 벡터와 공분산 행렬({@link CorrelationMatrixEngine})을 요청당 한 번만 계산해 연율화하고,
+ * 모든 최적화는 같은 {@link MeanVarianceOptimizer}에서 수행합니다. 결과는 종목/기간/제약 조건별로 캐시합니다.
+ */
+@Slf4j
+@Service
+public class PortfolioOptimizationService {
+    /** 효율적 투자선 최대 점 개수 */
+    static final int MAX_FRONTIER_POINTS = 200;
+
+    private final PortfolioReturnService portfolioReturnService;
+    private final CorrelationMatrixEngine correlationMatrixEngine;
+
+    public PortfolioOptimizationService(PortfolioReturnService portfolioReturnService,
+            CorrelationMatrixEngine correlationMatrixEngine) {
+        this.portfolioReturnService = portfolioReturnService;
+        this.correlationMatrixEngine = correlationMatrixEngine;
+    }
+
+    /**
+     * 요청 종목으로 최소 분산/샤프비율 최대 포트폴리오와 효율적 투자선을 계산합니다.
+     *
+     * @throws IllegalArgumentException 비중 범위가 올바르지 않거나, 투자선 점 개수가 범위를 벗어나거나,
+     *                                  기간 수익률이 2개 미만인 경우
+     */
+    public OptimizationResponse optimize(OptimizationRequest request) {
+        validate(request);
+        return optimize(request, portfolioReturnService.fetchStockData(request));
+    }
+
+    /**
+     * 이미 조회한 데이터로 최적화합니다. 결과는 요청 키와 데이터 버전 스탬프로 캐시하므로, 시계열이 다시 조회되어
+     * 값이 바뀌면 다시 계산합니다. (응답 ETag와 같은 데이터 기준)
+     *
+     * @throws IllegalArgumentException {@link #optimize(OptimizationRequest)}와 같음
+     */
+    @Cacheable(value = CacheConfig.PortfolioOptimizationService_optimize,
+            key = "#request.cacheKey(#fetchedStockDatas.versionStamp())")
+    public OptimizationResponse optimize(OptimizationRequest request, FetchedStockDatas fetchedStockDatas) {
+        validate(request);
+        PortfolioReturnService.ConstituentNavs constituents = portfolioReturnService.constituentNavs(request,
+                fetchedStockDatas);
+        return optimize(request, constituents.navMatrix(), constituents.startDate(), constituents.endDate());
+    }
+
+    OptimizationResponse optimize(OptimizationRequest request, NavMatrix navMatrix, LocalDate startDate,
+            LocalDate endDate) {
+        int periods = navMatrix.periods() - 1;
+        if (periods < 2) {
+            throw new IllegalArgumentException("At least three prices are required for optimization");
+        }
+        int n = navMatrix.constituents();
+        double[][] returns = new double[n][periods];
+        for (int j = 0; j < n; j++) {
+            navMatrix.periodicReturns(j, request.isIncludeDividends(), returns[j]);
+        }
+        MeanVarianceOptimizer optimizer = createOptimizer(request.getTickers(), returns, request.getFrequency(),
+                request.getMinWeight(), request.getMaxWeight());
+
+        double riskFreeRate = ReturnCalculator.RISK_FREE_RATE;
+        long start = System.nanoTime();
+        // 최소분산 해는 한 번만 풀고 샤프비율 최대/투자선의 시작점으로 재사용
+        double[] minimumVarianceWeights = optimizer.minimumVariance();
+        OptimizedPortfolio minimumVariance = describe(optimizer, minimumVarianceWeights, riskFreeRate);
+        OptimizedPortfolio maximumSharpe = describe(optimizer,
+                optimizer.maximumSharpe(riskFreeRate, minimumVarianceWeights), riskFreeRate);
+        List<OptimizedPortfolio> frontier = new ArrayList<>(request.getFrontierPoints());
+        for (double[] weights : optimizer.frontier(request.getFrontierPoints(), minimumVarianceWeights)) {
+            frontier.add(describe(optimizer, weights, riskFreeRate));
+        }
+        log.debug("optimize tickers:{} periods:{} elapsed:{}ms", n, periods, (System.nanoTime() - start) / 1_000_000);
+        return new OptimizationResponse(request.getTickers(), startDate, endDate, periods, riskFreeRate,
+                minimumVariance, maximumSharpe, frontier);
+    }
+
+    /**
+     * 기간 수익률의 평균과 표본공분산을 연간 기간 수로 연율화해 최적화기를 만듭니다.
+     */
+    private MeanVarianceOptimizer createOptimizer(List<String> tickers, double[][] returns, BarFrequency frequency,
+            double minWeight, double maxWeight) {
+        int n = returns.length;
+        int periodsPerYear = frequency.periodsPerYear();
+        double[] mean = new double[n];
+        for (int j = 0; j < n; j++) {
+            double sum = 0.0;
+            for (double value : returns[j]) {
+                sum += value;
+            }
+            mean[j] = sum / returns[j].length * periodsPerYear;
+        }
+        CorrelationMatrix correlationMatrix = correlationMatrixEngine.calculate(tickers, returns);
+        double[] covariance = correlationMatrix.getCovariance().clone();
+        for (int k = 0; k < covariance.length; k++) {
+            covariance[k] *= periodsPerYear;
+        }
+        return new MeanVarianceOptimizer(mean, covariance, minWeight, maxWeight);
+    }
+
+    private static OptimizedPortfolio describe(MeanVarianceOptimizer optimizer, double[] weights,
+            double riskFreeRate) {
+        return new OptimizedPortfolio(weights, optimizer.expectedReturn(weights), optimizer.volatility(weights),
+                optimizer.sharpe(weights, riskFreeRate));
+    }
+
+    private static void validate(OptimizationRequest request) {
+        if (request.getTickers() == null || request.getTickers().isEmpty()) {
+            throw new IllegalArgumentException("Tickers cannot be null or empty");
+        }
+        if (request.getFrontierPoints() < 2 || request.getFrontierPoints() > MAX_FRONTIER_POINTS) {
+            throw new IllegalArgumentException("Frontier points must be between 2 and " + MAX_FRONTIER_POINTS);
+        }
+        int n = request.getTickers().size();
+        double minWeight = request.getMinWeight();
+        double maxWeight = request.getMaxWeight();
+        if (!(minWeight >= 0 && minWeight <= maxWeight && maxWeight <= 1)) {
+            throw new IllegalArgumentException("Weight bounds must satisfy 0 <= minWeight <= maxWeight <= 1");
+        }
+        if (minWeight * n > 1 || maxWeight * n < 1) {
+            throw new IllegalArgumentException("Weight bounds cannot sum to 1 for " + n + " tickers");
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package portfolio.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
-import portfolio.api.ChartResponse;
-import portfolio.api.ChartResponse.Dividend;
+import portfolio.config.CacheConfig;
+import portfolio.model.AlignmentMode;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
 import portfolio.model.FetchedStockDatas;
+import portfolio.model.FxRates;
+import portfolio.model.Metric;
 import portfolio.model.PortfolioRequest;
 import portfolio.model.PortfolioReturnData;
+import portfolio.model.StockHistories;
 import portfolio.model.StockReturnData;
+import portfolio.model.TotalReturnSource;
 import portfolio.util.DateUtils;
+import portfolio.util.EpochCalendar;
 import portfolio.util.JsonLoggingUtils;
+import portfolio.util.NavMatrix;
+import portfolio.util.NumericKernels;
+import portfolio.util.PackedDoubleList;
 
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNullElse;
@@ -25,12 +39,32 @@ public class PortfolioReturnService {
 
     private final PortfolioDataService portfolioDataService;
     private final StockReturnCalculator stockReturnCalculator;
+    private final NumericKernels numericKernels;
+    private final FxRateService fxRateService;
 
+    /** 요청 분석 키 + 시계열 버전 스탬프 → 분석 결과 (엔드포인트 간 재사용) */
+    private final Cache analysisCache;
+
+    public PortfolioReturnService(
+            PortfolioDataService portfolioDataService,
+            StockReturnCalculator stockReturnCalculator,
+            NumericKernels numericKernels,
+            FxRateService fxRateService) {
+        this(portfolioDataService, stockReturnCalculator, numericKernels, fxRateService, new NoOpCacheManager());
+    }
+
+    @Autowired
     public PortfolioReturnService(
             PortfolioDataService portfolioDataService,
-            StockReturnCalculator stockReturnCalculator) {
+            StockReturnCalculator stockReturnCalculator,
+            NumericKernels numericKernels,
+            FxRateService fxRateService,
+            CacheManager cacheManager) {
         this.portfolioDataService = portfolioDataService;
         this.stockReturnCalculator = stockReturnCalculator;
+        this.numericKernels = numericKernels;
+        this.fxRateService = fxRateService;
+        this.analysisCache = cacheManager.getCache(CacheConfig.PortfolioReturnService_analyzePortfolio);
     }
 
     private void validateRequest(PortfolioRequest request) {
@@ -44,42 +78,175 @@ public class PortfolioReturnService {
     }
 
     public PortfolioReturnData analyzePortfolio(PortfolioRequest request) {
-        validateRequest(request);
+        return analyzePortfolio(request, Metric.all());
+    }
 
-        // Convert dates to timestamps
-        long period1 = DateUtils.toUnixTimeSeconds(request.getStartDate());
-        long period2 = DateUtils.toUnixTimeSeconds(request.getEndDate());
-        boolean includeDividends = request.isIncludeDividends();
-        List<Double> weights = request.getWeights();
+    /**
+     * 필요한 지표만 계산하는 포트폴리오 분석입니다.
+     * 종목별 지표와 포트폴리오 가상 종목 모두 {@code metrics}와 그 입력 지표만 계산합니다.
+     *
+     * @param metrics 엔드포인트가 사용하는 지표 (예: {@link ChartGenerator#COMPARISON_METRICS})
+     */
+    public PortfolioReturnData analyzePortfolio(PortfolioRequest request, Set<Metric> metrics) {
+        return analyzePortfolio(request, fetchStockData(request), metrics);
+    }
+
+    /**
+     * 이미 조회한 데이터로 포트폴리오를 분석합니다.
+     *
+     * <p>
+     * 결과는 요청의 분석 키({@link PortfolioRequest#analysisKey()})와 데이터 버전 스탬프로 캐시하여, 같은 포트폴리오를
+     * 다른 엔드포인트(차트/리포트 등)에서 다시 요청하면 재계산하지 않습니다. 캐시된 결과가 요청 지표를 모두 포함하면
+     * 그대로 반환하고, 아니면 캐시된 지표와 요청 지표의 합집합을 계산해 교체합니다.
+     * 어느 경우든 반환하는 결과에는 요청 지표(입력 지표 포함)의 필드만 남기므로, 요청하지 않은 지표는 캐시 상태와
+     * 상관없이 null입니다.
+     */
+    public PortfolioReturnData analyzePortfolio(PortfolioRequest request, FetchedStockDatas fetchedStockDatas,
+            Set<Metric> metrics) {
+        validateRequest(request);
         log.debug("analyzePortfolio request:{}", JsonLoggingUtils.toJsonPretty(request));
 
-        // Fetch stock data
-        FetchedStockDatas fetchedStockDatas = fetchStockData(request.getTickers(), period1, period2, includeDividends);
+        Set<Metric> required = Metric.closure(metrics, request.isIncludeDividends());
+        AnalysisCacheKey key = analysisCache == null ? null
+                : new AnalysisCacheKey(request.analysisKey(), fetchedStockDatas.versionStamp());
+        CachedAnalysis cached = key == null ? null : analysisCache.get(key, CachedAnalysis.class);
+        if (cached != null && cached.metrics().containsAll(required)) {
+            log.debug("analyzePortfolio reuse metrics:{}", cached.metrics());
+            return retain(cached.data(), cached.metrics(), request.isIncludeDividends(), required);
+        }
+        Set<Metric> computed = EnumSet.noneOf(Metric.class);
+        computed.addAll(required);
+        if (cached != null) {
+            computed.addAll(cached.metrics());
+        }
 
         // Calculate returns for each stock
-        List<StockReturnData> stockReturns = stockReturnCalculator.calculateStockReturns(request, fetchedStockDatas);
+        List<StockReturnData> stockReturns = stockReturnCalculator.calculateStockReturns(request, fetchedStockDatas,
+                computed);
         // Calculate and set portfolio-level metrics
-        return calculatePortfolioReturnData(includeDividends, stockReturns, weights, fetchedStockDatas.getIndexPrices());
+        PortfolioReturnData portfolioData = calculatePortfolioReturnData(request.isIncludeDividends(), stockReturns,
+                request.getWeights(), fetchedStockDatas.getBenchmarkContext(), request.getRollingWindows(),
+                request.getFrequency(), computed, adjustedPrices(request, fetchedStockDatas, stockReturns),
+                request.isReconcileAdjustedClose());
+        if (key != null) {
+            analysisCache.put(key, new CachedAnalysis(Collections.unmodifiableSet(computed), portfolioData));
+        }
+        return retain(portfolioData, computed, request.isIncludeDividends(), required);
+    }
+
+    /**
+     * 계산된 지표(computed)가 요청 지표(required)보다 많으면 요청 지표의 필드만 남긴 사본을 반환합니다.
+     */
+    private static PortfolioReturnData retain(PortfolioReturnData data, Set<Metric> computed,
+            boolean includeDividends, Set<Metric> required) {
+        if (computed.equals(required)) {
+            return data;
+        }
+        List<StockReturnData> stockReturns = new ArrayList<>(data.getStockReturns().size());
+        for (StockReturnData stockReturn : data.getStockReturns()) {
+            stockReturns.add(StockReturnCalculator.retain(stockReturn, includeDividends, required));
+        }
+        StockReturnData portfolio = data.getPortfolioStockReturn() == null ? null
+                : StockReturnCalculator.retain(data.getPortfolioStockReturn(), includeDividends, required);
+        return new PortfolioReturnData(data.getStartDate(), data.getEndDate(), stockReturns, portfolio);
+    }
+
+    private record AnalysisCacheKey(PortfolioRequest.AnalysisKey request, long versionStamp) {
+    }
+
+    private record CachedAnalysis(Set<Metric> metrics, PortfolioReturnData data) {
+    }
+
+    /**
+     * 요청 기간/주기의 종목 및 지수 데이터를 조회합니다. (여러 가중치/정책을 평가할 때 한 번만 조회)
+     */
+    public FetchedStockDatas fetchStockData(PortfolioRequest request) {
+        validateRequest(request);
+        return fetchStockData(request.getTickers(), DateUtils.toUnixTimeSeconds(request.getStartDate()),
+                DateUtils.toUnixTimeSeconds(request.getEndDate()), request.getFrequency(), request.getAlignment(),
+                request.getBaseCurrency());
     }
 
     private FetchedStockDatas fetchStockData(List<String> tickers, long period1, long period2,
-            boolean includeDividends) {
+            BarFrequency frequency, AlignmentMode alignment, String baseCurrency) {
         // index ticker
         final String INDEX = "^GSPC";
 
         var requestTickers = new ArrayList<>(tickers);
         requestTickers.add(INDEX);
 
-        var result = portfolioDataService.fetchMultipleDividends(requestTickers, period1, period2).join();
+        var result = portfolioDataService.fetchMultipleDividends(requestTickers, period1, period2, frequency).join();
         if (!result.containsKey(INDEX)) {
             throw new IllegalArgumentException("Index data not found");
         }
         var indexChartResponse = result.remove(INDEX);
-        return new FetchedStockDatas(result, indexChartResponse);
+        var fetched = new FetchedStockDatas(result, indexChartResponse, alignment, frequency);
+        return convertCurrency(fetched, baseCurrency, period1, period2, frequency);
+    }
+
+    /**
+     * 종목/지수 가격을 기준 통화로 환산합니다.
+     *
+     * <p>
+     * 기준 통화를 지정하지 않았으면 종목 통화가 모두 같을 때는 환산하지 않고, 섞여 있을 때만 지수 통화(없으면 USD)로
+     * 환산합니다. 환율은 통화쌍/기간/주기별로 캐시된 시계열을 사용합니다.
+     */
+    private FetchedStockDatas convertCurrency(FetchedStockDatas fetched, String baseCurrency, long period1,
+            long period2, BarFrequency frequency) {
+        Set<String> tickerCurrencies = new LinkedHashSet<>(fetched.getCurrencies().values());
+        tickerCurrencies.remove(null);
+        String base = baseCurrency;
+        if (base == null) {
+            if (tickerCurrencies.size() <= 1) {
+                return fetched;
+            }
+            base = requireNonNullElse(fetched.getIndexCurrency(), "USD");
+        }
+        Set<String> needed = new LinkedHashSet<>(tickerCurrencies);
+        if (fetched.getIndexCurrency() != null) {
+            needed.add(fetched.getIndexCurrency());
+        }
+        needed.remove(base);
+        Map<String, FxRates> rates = new HashMap<>();
+        for (String currency : needed) {
+            rates.put(currency, fxRateService.fetchRates(currency, base, period1, period2, frequency));
+        }
+        log.debug("convertCurrency base:{} pairs:{}", base, needed);
+        return fetched.convertCurrency(base, rates, numericKernels);
     }
 
     public StockReturnData calculatePortfolioStockReturn(boolean includeDividends, List<StockReturnData> stockReturns, List<Double> weights,
             List<Double> indexPrices) {
+        return calculatePortfolioStockReturn(includeDividends, stockReturns, weights, BenchmarkContext.of(indexPrices),
+                null, BarFrequency.MONTHLY);
+    }
+
+    public StockReturnData calculatePortfolioStockReturn(boolean includeDividends, List<StockReturnData> stockReturns, List<Double> weights,
+            BenchmarkContext benchmark, List<Integer> rollingWindows, BarFrequency frequency) {
+        return calculatePortfolioStockReturn(includeDividends, stockReturns, weights, benchmark, rollingWindows,
+                frequency, Metric.all());
+    }
+
+    /**
+     * 종목별 가격/배당으로 포트폴리오 가상 종목을 만들고 필요한 지표만 계산합니다.
+     * 종목별 데이터는 가격/타임스탬프/배당/투자 원금만 사용하므로 종목별 지표 계산 여부와 무관합니다.
+     */
+    public StockReturnData calculatePortfolioStockReturn(boolean includeDividends, List<StockReturnData> stockReturns, List<Double> weights,
+            BenchmarkContext benchmark, List<Integer> rollingWindows, BarFrequency frequency, Set<Metric> metrics) {
+        return calculatePortfolioStockReturn(includeDividends, stockReturns, weights, benchmark, rollingWindows,
+                frequency, metrics, null, false);
+    }
+
+    /**
+     * 종목별 조정 종가가 있으면 포트폴리오의 총수익률/배당 포함 누적 수익률도 조정 종가 NAV
+     * (Σ weight[j] * adjclose[j][i] / adjclose[j][0])로 계산합니다. (종목 행과 같은 totalReturnSource)
+     *
+     * @param adjustedPrices 종목별 조정 종가 (stockReturns와 같은 순서, null이면 배당 재투자 계산)
+     * @param reconcile      조정 종가 NAV와 배당 재투자 계산의 차이(adjustedCloseDivergence)를 포함할지 여부
+     */
+    public StockReturnData calculatePortfolioStockReturn(boolean includeDividends, List<StockReturnData> stockReturns,
+            List<Double> weights, BenchmarkContext benchmark, List<Integer> rollingWindows, BarFrequency frequency,
+            Set<Metric> metrics, double[][] adjustedPrices, boolean reconcile) {
         if (stockReturns == null || stockReturns.isEmpty()) {
             throw new UnsupportedOperationException();
         }
@@ -90,75 +257,156 @@ public class PortfolioReturnService {
             throw new IllegalArgumentException("stockReturns and weights must have the same size");
         }
 
-        List<Double> prices = new ArrayList<>();
         List<Long> timestamps = stockReturns.get(0).getTimestamps();
+        // prices가 비어 있으면 명확한 예외 발생
+        if (timestamps == null || timestamps.isEmpty()) {
+            throw new IllegalArgumentException("Portfolio prices cannot be empty");
+        }
+
+        // 정규화 가격 행렬 × 가중치로 포트폴리오 NAV와 시점별 배당 현금을 한 번에 합산
+        // NAV[i] = Σ weight[j] * price[j][i] / firstPrice[j], 배당[i] = Σ weight[j] * dividend[j][i] / firstPrice[j]
+        NavMatrix navMatrix = createNavMatrix(stockReturns, frequency);
+        double[] weightArray = toWeightArray(weights);
+        double[] nav = new double[navMatrix.periods()];
+        double[] dividendsPerBar = new double[navMatrix.periods()];
+        navMatrix.aggregate(weightArray, nav, dividendsPerBar);
+        double[] adjustedNav = null;
+        if (adjustedPrices != null) {
+            adjustedNav = new double[navMatrix.periods()];
+            NavMatrix.of(numericKernels, adjustedPrices, null).aggregate(weightArray, adjustedNav,
+                    new double[navMatrix.periods()]);
+        }
+
+        // 각 ticker의 투자 원금을 모두 더하면 총 투자 원금
+        double initialAmount = 0.0;
+        for (StockReturnData stockReturn : stockReturns) {
+            initialAmount += stockReturn.getInitialAmount();
+        }
+        log.debug("calculatePortfolioStockReturn.initialAmount:{}", initialAmount);
+        return stockReturnCalculator.calculateStockReturn(includeDividends, "Portfolio", nav, timestamps,
+                dividendsPerBar, adjustedNav, reconcile, benchmark, initialAmount, 1.0, rollingWindows, frequency,
+                metrics);
+    }
+
+    /**
+     * totalReturnSource가 ADJUSTED_CLOSE이고 모든 종목에 쓸 수 있는 조정 종가가 있으면 종목별 조정 종가 배열을 반환합니다.
+     * 하나라도 없으면 null을 반환하여 포트폴리오는 배당 재투자로 계산합니다.
+     */
+    private static double[][] adjustedPrices(PortfolioRequest request, FetchedStockDatas fetchedStockDatas,
+            List<StockReturnData> stockReturns) {
+        if (request.getTotalReturnSource() != TotalReturnSource.ADJUSTED_CLOSE) {
+            return null;
+        }
+        double[][] adjustedPrices = new double[stockReturns.size()][];
+        for (int j = 0; j < stockReturns.size(); j++) {
+            StockReturnData stockReturn = stockReturns.get(j);
+            StockHistories histories = fetchedStockDatas.getStockHistories().get(stockReturn.getTicker());
+            adjustedPrices[j] = histories == null ? null
+                    : StockReturnCalculator.adjustedPrices(histories.adjustedPrices(), stockReturn.getPrices().size());
+            if (adjustedPrices[j] == null) {
+                log.debug("{} has no adjusted close, portfolio uses dividend reinvestment", stockReturn.getTicker());
+                return null;
+            }
+        }
+        return adjustedPrices;
+    }
 
-        // 각 시점별로 모든 주식의 가격×비율을 합산하여 포트폴리오 가격을 계산
-        if (timestamps != null && !timestamps.isEmpty()) {
-            int n = timestamps.size();
-            for (int i = 0; i < n; i++) {
-                double portfolioPrice = 0.0;
-                for (int j = 0; j < stockReturns.size(); j++) {
-                    final double firstPrice = stockReturns.get(j).getPrices().get(0);
-                    double price = stockReturns.get(j).getPrices().get(i);
-                    double weight = weights.get(j);
-                    portfolioPrice += (price / firstPrice) * weight;
-                }
-                prices.add(portfolioPrice);
+    /**
+     * 종목별 가격/배당으로 포트폴리오 NAV 합산 행렬을 만듭니다.
+     * 같은 행렬로 여러 가중치 벡터의 NAV를 계산할 수 있습니다. ({@link NavMatrix#aggregateAll})
+     *
+     * @param stockReturns 종목별 데이터 (가격/타임스탬프/배당만 사용, 모두 첫 종목과 같은 시점)
+     * @param frequency    가격 데이터 주기 (배당 반영 기준일)
+     */
+    public NavMatrix createNavMatrix(List<StockReturnData> stockReturns, BarFrequency frequency) {
+        List<Long> timestamps = stockReturns.get(0).getTimestamps();
+        double[][] prices = new double[stockReturns.size()][];
+        double[][] dividendsPerBar = new double[stockReturns.size()][];
+        for (int j = 0; j < stockReturns.size(); j++) {
+            StockReturnData stockReturn = stockReturns.get(j);
+            if (stockReturn.getPrices().size() != timestamps.size()) {
+                throw new IllegalArgumentException("All stocks must have the same number of prices");
             }
+            prices[j] = PackedDoubleList.toArray(stockReturn.getPrices());
+            dividendsPerBar[j] = frequency.dividendsPerBar(timestamps, stockReturn.getDividends());
         }
+        return NavMatrix.of(numericKernels, prices, dividendsPerBar);
+    }
 
-        List<Dividend> allDividends = new ArrayList<>();
-        for (int i = 0; i < stockReturns.size(); i++) {
-            final double firstPrice = stockReturns.get(i).getPrices().get(0);
-            List<Dividend> dividends = stockReturns.get(i).getDividends();
-            double weight = weights.get(i);
+    /**
+     * 요청 종목의 가격/배당으로 NAV 행렬을 만듭니다. (리밸런싱/가중치 스윕/최적화/몬테카를로 공용)
+     * 행렬에는 가격/타임스탬프/배당만 필요하므로 종목별 지표는 계산하지 않습니다.
+     *
+     * @throws IllegalArgumentException 일부 종목의 데이터가 없는 경우
+     */
+    public ConstituentNavs constituentNavs(PortfolioRequest request, FetchedStockDatas fetchedStockDatas) {
+        List<StockReturnData> constituents = stockReturnCalculator.calculateStockReturns(request, fetchedStockDatas,
+                EnumSet.noneOf(Metric.class));
+        if (constituents.size() != request.getTickers().size()) {
+            throw new IllegalArgumentException("Stock data not found for some tickers");
+        }
+        return new ConstituentNavs(createNavMatrix(constituents, request.getFrequency()),
+                constituents.get(0).getTimestamps());
+    }
 
-            allDividends.addAll(
-                    dividends.stream().map(dividend -> {
-                        Dividend div = new Dividend();
-                        div.setAmount((dividend.getAmount() / firstPrice) * weight);
-                        div.setDate(dividend.getDate());
-                        return div;
-                    }).toList());
+    /**
+     * 종목 NAV 행렬과 공통 타임스탬프
+     */
+    public record ConstituentNavs(NavMatrix navMatrix, List<Long> timestamps) {
+        public LocalDate startDate() {
+            return LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamps.get(0)));
+        }
 
+        public LocalDate endDate() {
+            return LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamps.get(timestamps.size() - 1)));
         }
+    }
 
-        // 각 ticker의 초기가격을 모두 더하면 총 초기가격
-        for (int i = 0; i < stockReturns.size(); i++) {
-            double initialAmount = stockReturns.get(i).getInitialAmount();
-            log.debug("calculatePortfolioStockReturn.initialAmount:{}", initialAmount);
+    /**
+     * 요청 비중 배열 (비중이 없으면 동일 비중)
+     *
+     * @throws IllegalArgumentException 비중 개수가 종목 수와 다른 경우
+     */
+    public static double[] weightsOrEqual(PortfolioRequest request) {
+        int size = request.getTickers().size();
+        List<Double> weights = request.getWeights();
+        if (weights == null || weights.isEmpty()) {
+            double[] equal = new double[size];
+            Arrays.fill(equal, 1.0 / size);
+            return equal;
         }
-        double initialAmount = stockReturns.stream().mapToDouble(v -> v.getInitialAmount()).sum();
-        log.debug("calculatePortfolioStockReturn.initialAmount:{}", initialAmount);
-        ;
-        // prices가 비어 있으면 명확한 예외 발생
-        if (prices == null || prices.isEmpty()) {
-            throw new IllegalArgumentException("Portfolio prices cannot be empty");
+        if (weights.size() != size) {
+            throw new IllegalArgumentException("Weights must have one entry per ticker");
         }
-        // 모든 ticker의 처의 가격
-        return stockReturnCalculator.calculateStockReturn(includeDividends, "Portfolio", prices, timestamps, allDividends, indexPrices,
-                initialAmount, 1.0);
+        return toWeightArray(weights);
+    }
+
+    private static double[] toWeightArray(List<Double> weights) {
+        double[] array = new double[weights.size()];
+        for (int j = 0; j < array.length; j++) {
+            array[j] = weights.get(j);
+        }
+        return array;
     }
 
     private PortfolioReturnData calculatePortfolioReturnData(boolean includeDividends, List<StockReturnData> stockReturns,
             List<Double> weights,
-            List<Double> indexPrices) {
+            BenchmarkContext benchmark, List<Integer> rollingWindows, BarFrequency frequency, Set<Metric> metrics,
+            double[][] adjustedPrices, boolean reconcile) {
         if (stockReturns == null || stockReturns.isEmpty()) {
             throw new UnsupportedOperationException();
         }
-        PortfolioReturnData portfolioData = new PortfolioReturnData(stockReturns);
-        List<LocalDate> dates = requireNonNullElse(stockReturns.get(0).getDates(), emptyList());
+        // 날짜 목록(DATES)을 요청하지 않아도 시작/종료일은 타임스탬프로 구함
+        List<Long> timestamps = requireNonNullElse(stockReturns.get(0).getTimestamps(), emptyList());
         LocalDate startDate = null;
         LocalDate endDate = null;
-        if (!dates.isEmpty()) {
-            startDate = dates.get(0);
-            endDate = dates.get(dates.size() - 1);
+        if (!timestamps.isEmpty()) {
+            startDate = LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamps.get(0)));
+            endDate = LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamps.get(timestamps.size() - 1)));
         }
 
-        portfolioData.setStartDate(startDate);
-        portfolioData.setEndDate(endDate);
-        portfolioData.setPortfolioStockReturn(calculatePortfolioStockReturn(includeDividends, stockReturns, weights, indexPrices));
-        return portfolioData;
+        return new PortfolioReturnData(startDate, endDate, stockReturns, calculatePortfolioStockReturn(
+                includeDividends, stockReturns, weights, benchmark, rollingWindows, frequency, metrics, adjustedPrices,
+                reconcile));
     }
 }
@@ -0,0 +1,86 @@
+package portfolio.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.FetchedStockDatas;
+import portfolio.model.Metric;
+import portfolio.model.PortfolioRequest;
+import portfolio.model.RebalancingPolicy;
+import portfolio.model.RebalancingResponse;
+import portfolio.model.RebalancingResult;
+import portfolio.model.StockReturnData;
+import portfolio.util.NavMatrix;
+
+/**
+ * 한 번 조회한 데이터로 여러 리밸런싱 정책을 비교하는 서비스
+ *
+ * <p>
+ * 조회, 정렬, 가격 행렬 생성은 요청당 한 번만 수행하고, 정책별 NAV는 {@link RebalancingSimulator}가 한 번의 순회로 계산합니다.
+ */
+@Slf4j
+@Service
+public class RebalancingService {
+    /** 정책별 NAV에 대해 계산하는 지표 */
+    static final Set<Metric> PERFORMANCE_METRICS = Metric.closure(EnumSet.of(Metric.TOTAL_RETURN, Metric.CAGR,
+            Metric.CUMULATIVE_RETURNS, Metric.VOLATILITY, Metric.SHARPE_RATIO, Metric.BETA, Metric.DRAWDOWNS,
+            Metric.AMOUNTS));
+
+    private final PortfolioReturnService portfolioReturnService;
+    private final StockReturnCalculator stockReturnCalculator;
+    private final RebalancingSimulator rebalancingSimulator;
+
+    public RebalancingService(PortfolioReturnService portfolioReturnService,
+            StockReturnCalculator stockReturnCalculator,
+            RebalancingSimulator rebalancingSimulator) {
+        this.portfolioReturnService = portfolioReturnService;
+        this.stockReturnCalculator = stockReturnCalculator;
+        this.rebalancingSimulator = rebalancingSimulator;
+    }
+
+    /**
+     * 요청의 종목/비중으로 리밸런싱 정책별 성과를 계산합니다.
+     * 정책이 없으면 모든 정책({@link RebalancingPolicy#values()})을 비교합니다.
+     */
+    public RebalancingResponse simulate(PortfolioRequest request) {
+        return simulate(request, portfolioReturnService.fetchStockData(request));
+    }
+
+    /**
+     * 이미 조회한 데이터로 리밸런싱 정책별 성과를 계산합니다.
+     */
+    public RebalancingResponse simulate(PortfolioRequest request, FetchedStockDatas fetchedStockDatas) {
+        PortfolioReturnService.ConstituentNavs constituents = portfolioReturnService.constituentNavs(request,
+                fetchedStockDatas);
+        List<RebalancingPolicy> policies = request.getRebalancingPolicies() == null
+                || request.getRebalancingPolicies().isEmpty()
+                        ? List.of(RebalancingPolicy.values())
+                        : request.getRebalancingPolicies();
+
+        NavMatrix navMatrix = constituents.navMatrix();
+        List<Long> timestamps = constituents.timestamps();
+        List<RebalancingSimulator.Simulation> simulations = rebalancingSimulator.simulate(navMatrix, timestamps,
+                PortfolioReturnService.weightsOrEqual(request), policies, request.getRebalancingThreshold(),
+                request.getTransactionCostRate(), request.isIncludeDividends());
+
+        // 배당은 시뮬레이션에서 이미 재투자되었으므로 NAV 지표 계산에는 배당을 다시 넣지 않음
+        double[] noDividends = new double[navMatrix.periods()];
+        List<RebalancingResult> results = new ArrayList<>(simulations.size());
+        for (RebalancingSimulator.Simulation simulation : simulations) {
+            StockReturnData performance = stockReturnCalculator.calculateStockReturn(request.isIncludeDividends(),
+                    simulation.policy().name(), simulation.nav(), timestamps, noDividends,
+                    fetchedStockDatas.getBenchmarkContext(), request.getInitialAmount(), 1.0, null,
+                    request.getFrequency(), PERFORMANCE_METRICS);
+            results.add(new RebalancingResult(simulation.policy(), simulation.rebalanceCount(),
+                    simulation.turnover(), simulation.transactionCost(), performance));
+        }
+        List<LocalDate> dates = stockReturnCalculator.extractDates(timestamps);
+        return new RebalancingResponse(dates.get(0), dates.get(dates.size() - 1), dates, results);
+    }
+}
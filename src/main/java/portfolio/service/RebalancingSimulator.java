@@ -0,0 +1,209 @@
+package portfolio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.RebalancingPolicy;
+import portfolio.util.EpochCalendar;
+import portfolio.util.NavMatrix;
+
+/**
+ * 정규화 가격 행렬 위에서 종목별 보유 수량을 추적하여 리밸런싱 정책별 NAV를 시뮬레이션합니다.
+ *
+ * <p>
+ * 시작 NAV는 1이며 시작 시점에 목표 비중으로 매수합니다(시작 매수 비용은 없음).
+ * 배당 재투자 시 배당은 반영 시점에 같은 종목을 추가 매수하고, 재투자하지 않으면 NAV에 포함하지 않습니다.
+ * 여러 정책은 시간축을 한 번만 순회하면서 함께 계산하며, 기간 키/배당 커서/평가 금액 배열은 정책 간에 공유합니다.
+ * 상태 배열은 시뮬레이션 시작 시 한 번만 할당합니다.
+ */
+@Slf4j
+@Component
+public class RebalancingSimulator {
+    /** 거래 비용을 반영한 리밸런싱 후 NAV를 구하는 고정점 반복 횟수 (오차는 비용률^횟수로 줄어듦) */
+    static final int COST_ITERATIONS = 4;
+
+    /**
+     * 정책별 시뮬레이션 결과
+     *
+     * @param policy          리밸런싱 정책
+     * @param nav             시점별 NAV (시작 1)
+     * @param rebalanceCount  리밸런싱 횟수 (시작 매수 제외)
+     * @param turnover        리밸런싱 시점별 (매수+매도 금액 / NAV)의 합
+     * @param transactionCost 시작 NAV 대비 누적 거래 비용
+     */
+    public record Simulation(RebalancingPolicy policy, double[] nav, int rebalanceCount, double turnover,
+            double transactionCost) {
+    }
+
+    /**
+     * 여러 리밸런싱 정책을 한 번에 시뮬레이션합니다.
+     *
+     * @param matrix              구성 종목 정규화 가격/배당 행렬
+     * @param timestamps          시점별 unix timestamp(초), 행렬의 기간 수와 같은 길이
+     * @param weights             목표 비중 (0 이상, 합으로 정규화)
+     * @param policies            시뮬레이션할 정책 목록 (결과도 같은 순서)
+     * @param threshold           THRESHOLD 정책의 비중 차이 임계값 (예: 0.05)
+     * @param transactionCostRate 매매 금액 대비 거래 비용 비율 (예: 0.001 = 10bp)
+     * @param reinvestDividends   배당 재투자 여부
+     * @throws IllegalArgumentException 입력 길이가 맞지 않거나 비중/임계값/비용이 올바르지 않은 경우
+     */
+    public List<Simulation> simulate(NavMatrix matrix, List<Long> timestamps, double[] weights,
+            List<RebalancingPolicy> policies, double threshold, double transactionCostRate,
+            boolean reinvestDividends) {
+        final int constituents = matrix.constituents();
+        final int periods = matrix.periods();
+        if (timestamps == null || timestamps.size() != periods) {
+            throw new IllegalArgumentException("Timestamps must have one entry per period");
+        }
+        if (policies == null || policies.isEmpty()) {
+            throw new IllegalArgumentException("At least one rebalancing policy is required");
+        }
+        if (transactionCostRate < 0 || transactionCostRate >= 1) {
+            throw new IllegalArgumentException("Transaction cost rate must be in [0, 1)");
+        }
+        if (policies.contains(RebalancingPolicy.THRESHOLD) && !(threshold > 0)) {
+            throw new IllegalArgumentException("Rebalancing threshold must be positive");
+        }
+        final double[] target = normalize(weights, constituents);
+
+        // 정책 간 공유하는 시점별 연/월
+        final int[] years = new int[periods];
+        final int[] months = new int[periods];
+        for (int i = 0; i < periods; i++) {
+            long epochDay = EpochCalendar.epochDay(timestamps.get(i));
+            years[i] = EpochCalendar.yearOfEpochDay(epochDay);
+            months[i] = EpochCalendar.monthOfEpochDay(epochDay);
+        }
+
+        // 정책별 상태 (한 번만 할당)
+        final int policyCount = policies.size();
+        final double[][] shares = new double[policyCount][];
+        final double[][] navs = new double[policyCount][periods];
+        final int[] rebalanceCounts = new int[policyCount];
+        final double[] turnovers = new double[policyCount];
+        final double[] costs = new double[policyCount];
+        for (int k = 0; k < policyCount; k++) {
+            // 시작 정규화 가격은 1이므로 보유 수량 = 목표 비중 × 시작 NAV(1)
+            shares[k] = target.clone();
+        }
+
+        // 시점 공유 작업 배열
+        final double[][] rows = new double[constituents][];
+        final int[] dividendCursors = new int[constituents];
+        final double[] prices = new double[constituents];
+        final double[] dividendYields = new double[constituents];
+        final double[] values = new double[constituents];
+        for (int j = 0; j < constituents; j++) {
+            rows[j] = matrix.normalizedPrices(j);
+        }
+
+        for (int i = 0; i < periods; i++) {
+            boolean tradable = true;
+            for (int j = 0; j < constituents; j++) {
+                double price = rows[j][i];
+                prices[j] = price;
+                tradable &= price > 0;
+                // 이 시점에 반영되는 주당 배당금 / 가격 = 추가 매수 수량 비율
+                double dividend = 0.0;
+                int[] dividendPeriods = matrix.dividendPeriods(j);
+                int cursor = dividendCursors[j];
+                if (cursor < dividendPeriods.length && dividendPeriods[cursor] == i) {
+                    dividend = matrix.dividendAmounts(j)[cursor];
+                    dividendCursors[j] = cursor + 1;
+                }
+                dividendYields[j] = reinvestDividends && price > 0 ? dividend / price : 0.0;
+            }
+
+            for (int k = 0; k < policyCount; k++) {
+                RebalancingPolicy policy = policies.get(k);
+                double[] held = shares[k];
+                double nav = 0.0;
+                for (int j = 0; j < constituents; j++) {
+                    held[j] += held[j] * dividendYields[j];
+                    values[j] = held[j] * prices[j];
+                    nav += values[j];
+                }
+                if (i > 0 && tradable && nav > 0
+                        && shouldRebalance(policy, years, months, i, values, nav, target, threshold)) {
+                    double rebalancedNav = rebalancedNav(values, nav, target, transactionCostRate);
+                    double traded = 0.0;
+                    for (int j = 0; j < constituents; j++) {
+                        double targetValue = target[j] * rebalancedNav;
+                        traded += Math.abs(targetValue - values[j]);
+                        held[j] = targetValue / prices[j];
+                    }
+                    rebalanceCounts[k]++;
+                    turnovers[k] += traded / nav;
+                    costs[k] += nav - rebalancedNav;
+                    nav = rebalancedNav;
+                }
+                navs[k][i] = nav;
+            }
+        }
+
+        List<Simulation> simulations = new ArrayList<>(policyCount);
+        for (int k = 0; k < policyCount; k++) {
+            log.debug("simulate policy:{} rebalances:{} turnover:{}", policies.get(k), rebalanceCounts[k],
+                    turnovers[k]);
+            simulations.add(new Simulation(policies.get(k), navs[k], rebalanceCounts[k], turnovers[k], costs[k]));
+        }
+        return simulations;
+    }
+
+    private static boolean shouldRebalance(RebalancingPolicy policy, int[] years, int[] months, int i,
+            double[] values, double nav, double[] target, double threshold) {
+        if (policy.isCalendar()) {
+            return policy.periodKey(years[i], months[i]) != policy.periodKey(years[i - 1], months[i - 1]);
+        }
+        if (policy == RebalancingPolicy.THRESHOLD) {
+            for (int j = 0; j < values.length; j++) {
+                if (Math.abs(values[j] / nav - target[j]) > threshold) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 리밸런싱 후 NAV V'를 구합니다. V' = V - 비용률 × Σ|목표 비중 × V' - 현재 평가 금액|
+     */
+    private static double rebalancedNav(double[] values, double nav, double[] target, double costRate) {
+        if (costRate == 0.0) {
+            return nav;
+        }
+        double rebalanced = nav;
+        for (int iteration = 0; iteration < COST_ITERATIONS; iteration++) {
+            double traded = 0.0;
+            for (int j = 0; j < values.length; j++) {
+                traded += Math.abs(target[j] * rebalanced - values[j]);
+            }
+            rebalanced = nav - costRate * traded;
+        }
+        return rebalanced;
+    }
+
+    private static double[] normalize(double[] weights, int constituents) {
+        if (weights == null || weights.length != constituents) {
+            throw new IllegalArgumentException("Weights must have one entry per constituent");
+        }
+        double sum = 0.0;
+        for (double weight : weights) {
+            if (weight < 0 || !Double.isFinite(weight)) {
+                throw new IllegalArgumentException("Weights must be non-negative");
+            }
+            sum += weight;
+        }
+        if (!(sum > 0)) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+        double[] normalized = new double[constituents];
+        for (int j = 0; j < constituents; j++) {
+            normalized[j] = weights[j] / sum;
+        }
+        return normalized;
+    }
+}
@@ -1,24 +1,44 @@
 package portfolio.service;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import portfolio.model.AnalysisReport;
+import portfolio.model.CorrelationMatrix;
+import portfolio.model.Metric;
 import portfolio.model.PortfolioRequest;
 import portfolio.model.PortfolioReturnData;
 import portfolio.model.StockReturnData;
+import portfolio.model.ValueAtRiskMetrics;
+import portfolio.util.PackedDoubleList;
+import portfolio.util.RunningMoments;
+import portfolio.util.ValueAtRisk;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.requireNonNullElse;
+
 /**
  * 포트폴리오 분석 결과 리포트 생성을 담당하는 서비스
  */
 @Service
+@RequiredArgsConstructor
 public class ReportGenerator {
+    /** VaR/CVaR 기본 신뢰수준 */
+    static final List<Double> DEFAULT_VAR_CONFIDENCE_LEVELS = List.of(0.95, 0.99);
+    /** {@link #generateReport}가 사용하는 지표 (최대 낙폭은 낙폭 구간으로 계산하므로 시점별 낙폭 목록 제외) */
+    public static final Set<Metric> REPORT_METRICS = Collections.unmodifiableSet(
+            EnumSet.complementOf(EnumSet.of(Metric.DRAWDOWNS)));
+
+    private final CorrelationMatrixEngine correlationMatrixEngine;
 
     /**
      * 포트폴리오 분석 리포트 생성
@@ -29,7 +49,7 @@ public class ReportGenerator {
         
         AnalysisReport.Summary summary = generateSummary(request, portfolioData);
         List<AnalysisReport.StockAnalysis> stockAnalyses = generateStockAnalyses(portfolioData);
-        AnalysisReport.RiskMetrics riskMetrics = generateRiskMetrics(portfolioData);
+        AnalysisReport.RiskMetrics riskMetrics = generateRiskMetrics(request, portfolioData);
 
         return new AnalysisReport(
             reportId,
@@ -51,20 +71,20 @@ public class ReportGenerator {
         
         // 최고/최저 성과 주식 찾기
         StockReturnData bestStock = portfolioData.getStockReturns().stream()
-            .max((s1, s2) -> Double.compare(s1.getTotalReturn(), s2.getTotalReturn()))
+            .max((s1, s2) -> Double.compare(valueOrZero(s1.getTotalReturn()), valueOrZero(s2.getTotalReturn())))
             .orElseThrow();
             
         StockReturnData worstStock = portfolioData.getStockReturns().stream()
-            .min((s1, s2) -> Double.compare(s1.getTotalReturn(), s2.getTotalReturn()))
+            .min((s1, s2) -> Double.compare(valueOrZero(s1.getTotalReturn()), valueOrZero(s2.getTotalReturn())))
             .orElseThrow();
 
         return new AnalysisReport.Summary(
             request.getStartDate(),
             request.getEndDate(),
             totalDays,
-            bestStock.getTotalReturn(),
+            valueOrZero(bestStock.getTotalReturn()),
             bestStock.getTicker(),
-            worstStock.getTotalReturn(),
+            valueOrZero(worstStock.getTotalReturn()),
             worstStock.getTicker()
         );
     }
@@ -77,13 +97,13 @@ public class ReportGenerator {
 
     private AnalysisReport.StockAnalysis createStockAnalysis(StockReturnData stockData) {
         double volatility = calculateVolatility(stockData.getCumulativeReturns());
-        String recommendation = generateRecommendation(stockData.getTotalReturn(), volatility);
+        String recommendation = generateRecommendation(valueOrZero(stockData.getTotalReturn()), volatility);
 
         return new AnalysisReport.StockAnalysis(
             stockData.getTicker(),
-            stockData.getPriceReturn(),
-            stockData.getTotalReturn(),
-            stockData.getCagr(),
+            valueOrZero(stockData.getPriceReturn()),
+            valueOrZero(stockData.getTotalReturn()),
+            valueOrZero(stockData.getCagr()),
             volatility,
             recommendation
         );
@@ -94,25 +114,14 @@ public class ReportGenerator {
             return 0.0;
         }
 
-        // 일일 수익률 계산
-        List<Double> dailyReturns = returns.stream()
-            .skip(1)
-            .collect(Collectors.toList());
-
-        // 평균 수익률 계산
-        double meanReturn = dailyReturns.stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0.0);
-
-        // 분산 계산
-        double variance = dailyReturns.stream()
-            .mapToDouble(r -> Math.pow(r - meanReturn, 2))
-            .average()
-            .orElse(0.0);
+        // 첫 값을 제외한 수익률의 평균/분산을 한 번의 순회로 누적
+        RunningMoments moments = new RunningMoments();
+        for (int i = 1; i < returns.size(); i++) {
+            moments.add(returns.get(i));
+        }
 
         // 표준편차 (변동성) 반환
-        return Math.sqrt(variance);
+        return moments.standardDeviation();
     }
 
     private String generateRecommendation(double totalReturn, double volatility) {
@@ -129,38 +138,150 @@ public class ReportGenerator {
         }
     }
 
-    private AnalysisReport.RiskMetrics generateRiskMetrics(PortfolioReturnData portfolioData) {
+    private AnalysisReport.RiskMetrics generateRiskMetrics(PortfolioRequest request,
+            PortfolioReturnData portfolioData) {
         double maxDrawdown = calculateMaxDrawdown(portfolioData);
-        Map<String, Double> correlationMatrix = calculateCorrelationMatrix(portfolioData);
+        List<StockReturnData> stocks = portfolioData.getStockReturns();
+        List<String> tickers = new ArrayList<>(stocks.size());
+        for (StockReturnData stock : stocks) {
+            tickers.add(stock.getTicker());
+        }
+        double[][] returns = alignedPeriodicReturns(stocks);
+        CorrelationMatrix correlationMatrix = correlationMatrixEngine.calculate(tickers, returns);
+        List<ValueAtRiskMetrics> valueAtRisk = calculateValueAtRisk(request, portfolioData, tickers, returns,
+                correlationMatrix);
 
         return new AnalysisReport.RiskMetrics(
-            portfolioData.getPortfolioStockReturn().getVolatility(),
-            portfolioData.getPortfolioStockReturn().getSharpeRatio(),
+            valueOrZero(portfolioData.getPortfolioStockReturn().getVolatility()),
+            valueOrZero(portfolioData.getPortfolioStockReturn().getSharpeRatio()),
             maxDrawdown,
             correlationMatrix,
-            portfolioData.getPortfolioStockReturn().getBeta()
+            valueOrZero(portfolioData.getPortfolioStockReturn().getBeta()),
+            valueAtRisk,
+            requireNonNullElse(portfolioData.getPortfolioStockReturn().getDrawdownEpisodes(), List.of())
         );
     }
 
     private double calculateMaxDrawdown(PortfolioReturnData portfolioData) {
         // 간단한 최대 낙폭 계산 (실제로는 더 복잡한 계산이 필요)
-        double maxDrawdown = portfolioData.getPortfolioStockReturn().getMaxDrawdown();
+        double maxDrawdown = valueOrZero(portfolioData.getPortfolioStockReturn().getMaxDrawdown());
         return -maxDrawdown;
     }
 
-    private Map<String, Double> calculateCorrelationMatrix(PortfolioReturnData portfolioData) {
-        Map<String, Double> correlationMatrix = new HashMap<>();
-        
-        // 간단한 상관관계 매트릭스 (실제로는 더 복잡한 계산이 필요)
-        List<StockReturnData> stocks = portfolioData.getStockReturns();
+    /**
+     * 계산하지 않은 지표(null)는 리포트에서 0으로 표시합니다.
+     */
+    private static double valueOrZero(Double value) {
+        return value == null ? 0.0 : value;
+    }
+
+    /**
+     * 종목별 기간 수익률(배당 미포함)을 종목 × 기간 배열로 옮깁니다. (수익률이 없으면 0개로 취급)
+     * 종목 시계열은 같은 달력으로 정렬되어 있어야 하므로, 잘라서 맞추지 않고 길이가 다르면 예외를 던집니다.
+     *
+     * @throws IllegalArgumentException 종목별 기간 수익률 개수가 다른 경우
+     */
+    private static double[][] alignedPeriodicReturns(List<StockReturnData> stocks) {
+        int periods = -1;
+        for (StockReturnData stock : stocks) {
+            List<Double> rates = stock.getPeriodicReturnRates();
+            int size = rates == null ? 0 : rates.size();
+            if (periods >= 0 && size != periods) {
+                throw new IllegalArgumentException("Periodic returns of " + stock.getTicker() + " have " + size
+                        + " periods, expected " + periods + ". Please align the stock data.");
+            }
+            periods = size;
+        }
+
+        double[][] returns = new double[stocks.size()][Math.max(periods, 0)];
         for (int i = 0; i < stocks.size(); i++) {
-            for (int j = i + 1; j < stocks.size(); j++) {
-                String key = stocks.get(i).getTicker() + "-" + stocks.get(j).getTicker();
-                // 임시로 0.5 고정값 사용 (실제로는 피어슨 상관계수 계산 필요)
-                correlationMatrix.put(key, 0.5);
+            List<Double> rates = stocks.get(i).getPeriodicReturnRates();
+            for (int t = 0; t < returns[i].length; t++) {
+                returns[i][t] = rates.get(t);
             }
         }
-        
-        return correlationMatrix;
+        return returns;
+    }
+
+    /**
+     * 신뢰수준별 포트폴리오 VaR/CVaR(과거/정규/Cornish-Fisher)와 종목별 한계/기여 VaR를 계산합니다.
+     *
+     * <p>
+     * 포트폴리오 VaR는 포트폴리오 기간 수익률로 계산합니다. 종목별 기여는 요청 비중을 고정한 정규분포 VaR
+     * -w·μ + z√(wᵀΣw)를 오일러 분해하며(한계 VaR = -μ_i + z(Σw)_i / σ_p), 공분산은 상관계수 행렬과 같은 것을 재사용합니다.
+     * 분해 대상 VaR는 기여의 합과 같도록 deltaNormalVaR로 함께 반환합니다.
+     * 포트폴리오 기간 수익률이 3개 미만이면 빈 목록을 반환합니다.
+     */
+    private List<ValueAtRiskMetrics> calculateValueAtRisk(PortfolioRequest request, PortfolioReturnData portfolioData,
+            List<String> tickers, double[][] returns, CorrelationMatrix correlationMatrix) {
+        List<Double> portfolioRates = portfolioData.getPortfolioStockReturn().getPeriodicReturnRates();
+        if (portfolioRates == null || portfolioRates.size() < 3) {
+            return List.of();
+        }
+        double[] portfolioReturns = PackedDoubleList.toArray(portfolioRates);
+        List<Double> levels = request.getVarConfidenceLevels() == null || request.getVarConfidenceLevels().isEmpty()
+                ? DEFAULT_VAR_CONFIDENCE_LEVELS
+                : request.getVarConfidenceLevels();
+
+        // 고정 비중 정규분포 VaR의 분해에 쓰는 종목 평균, Σw, σ_p
+        int n = tickers.size();
+        double[] weights = normalizedWeights(request.getWeights(), n);
+        double[] covariance = correlationMatrix.getCovariance();
+        double[] means = new double[n];
+        double[] covarianceTimesWeights = new double[n];
+        double portfolioMean = 0.0;
+        double portfolioVariance = 0.0;
+        for (int i = 0; i < n; i++) {
+            means[i] = returns[i].length == 0 ? 0.0 : RunningMoments.of(returns[i]).mean();
+            for (int j = 0; j < n; j++) {
+                covarianceTimesWeights[i] += covariance[i * n + j] * weights[j];
+            }
+            portfolioMean += weights[i] * means[i];
+            portfolioVariance += weights[i] * covarianceTimesWeights[i];
+        }
+        double portfolioDeviation = Math.sqrt(Math.max(0.0, portfolioVariance));
+
+        List<ValueAtRiskMetrics> metrics = new ArrayList<>(levels.size());
+        for (double confidence : levels) {
+            ValueAtRisk.Estimate historical = ValueAtRisk.historical(portfolioReturns, confidence);
+            ValueAtRisk.Estimate parametric = ValueAtRisk.parametric(portfolioReturns, confidence);
+            ValueAtRisk.Estimate cornishFisher = ValueAtRisk.cornishFisher(portfolioReturns, confidence);
+            double z = ValueAtRisk.standardNormalQuantile(confidence);
+            List<ValueAtRiskMetrics.Contribution> contributions = new ArrayList<>(n);
+            double deltaNormalVaR = 0.0;
+            for (int i = 0; i < n; i++) {
+                double marginal = -means[i]
+                        + (portfolioDeviation > 0 ? z * covarianceTimesWeights[i] / portfolioDeviation : 0.0);
+                contributions.add(new ValueAtRiskMetrics.Contribution(tickers.get(i), weights[i], marginal,
+                        weights[i] * marginal));
+                deltaNormalVaR += weights[i] * marginal;
+            }
+            metrics.add(new ValueAtRiskMetrics(confidence, historical.valueAtRisk(), historical.expectedShortfall(),
+                    parametric.valueAtRisk(), parametric.expectedShortfall(), cornishFisher.valueAtRisk(),
+                    cornishFisher.expectedShortfall(), deltaNormalVaR, contributions));
+        }
+        return metrics;
+    }
+
+    /**
+     * 요청 비중을 합 1로 정규화합니다. 비중이 없거나 종목 수와 다르면 동일 비중입니다.
+     */
+    private static double[] normalizedWeights(List<Double> weights, int size) {
+        double[] array = new double[size];
+        double sum = 0.0;
+        if (weights != null && weights.size() == size) {
+            for (int i = 0; i < size; i++) {
+                array[i] = weights.get(i);
+                sum += array[i];
+            }
+        }
+        if (!(sum > 0)) {
+            Arrays.fill(array, 1.0 / size);
+            return array;
+        }
+        for (int i = 0; i < size; i++) {
+            array[i] /= sum;
+        }
+        return array;
     }
 }
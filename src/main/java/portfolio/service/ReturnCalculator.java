@@ -1,20 +1,23 @@
 package portfolio.service;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import portfolio.api.ChartResponse.Dividend;
 import portfolio.model.Amount;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
 import portfolio.model.CAGR;
 import portfolio.model.ReturnRate;
 import portfolio.model.Volatility;
-import portfolio.util.DateUtils;
-
-import org.apache.commons.math3.stat.correlation.Covariance;
-import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import portfolio.util.NumericKernels;
+import portfolio.util.RunningCovariance;
+import portfolio.util.RunningMoments;
+import portfolio.util.ScalarKernels;
 
 /**
  * 다양한 유형의 투자 수익률을 계산하는 서비스 클래스입니다.
@@ -27,6 +30,21 @@ import org.apache.commons.math3.stat.descriptive.moment.Variance;
 @Service
 public class ReturnCalculator {
 
+    /** 샤프비율 계산에 사용하는 연 무위험 수익률 */
+    static final double RISK_FREE_RATE = 0.04;
+
+    /** 배열 기반 계산에 사용하는 수치 커널 (스칼라 또는 Vector API) */
+    private final NumericKernels numericKernels;
+
+    public ReturnCalculator() {
+        this(new ScalarKernels());
+    }
+
+    @Autowired
+    public ReturnCalculator(NumericKernels numericKernels) {
+        this.numericKernels = numericKernels;
+    }
+
     /**
      * ETF와 시장 월별 수익률로 베타를 계산합니다.
      * 
@@ -39,12 +57,43 @@ public class ReturnCalculator {
                 || etfReturns.size() < 2) {
             throw new IllegalArgumentException("Input lists must be non-null, same size, and have at least 2 elements");
         }
-        // finmath-lib 사용
-        double[] x = etfReturns.stream().mapToDouble(Double::doubleValue).toArray();
-        double[] y = marketReturns.stream().mapToDouble(Double::doubleValue).toArray();
-        double cov = new Covariance().covariance(x, y);
-        double var = new Variance().evaluate(y);
-        return cov / var;
+        RunningCovariance covariance = new RunningCovariance();
+        for (int i = 0; i < etfReturns.size(); i++) {
+            covariance.add(etfReturns.get(i), marketReturns.get(i));
+        }
+        return covariance.beta();
+    }
+
+    /**
+     * ETF와 시장 수익률 배열로 베타를 한 번의 순회로 계산합니다.
+     *
+     * @param etfReturns    ETF 수익률
+     * @param marketReturns 시장 수익률
+     * @return 베타 값
+     */
+    public double calculateBeta(double[] etfReturns, double[] marketReturns) {
+        if (etfReturns == null || marketReturns == null || etfReturns.length != marketReturns.length
+                || etfReturns.length < 2) {
+            throw new IllegalArgumentException("Input arrays must be non-null, same size, and have at least 2 elements");
+        }
+        return RunningCovariance.of(etfReturns, marketReturns).beta();
+    }
+
+    /**
+     * 요청 단위로 미리 계산한 벤치마크 누적 수익률을 재사용하여 베타를 계산합니다.
+     * Σ(x - x̄)(y - ȳ) = Σx(y - ȳ) 이므로 지수 편차 배열과의 내적 한 번으로 계산합니다.
+     *
+     * @param cumulativeReturns 종목 누적 수익률(배당 미포함)
+     * @param benchmark         벤치마크 컨텍스트
+     * @return 베타 값
+     */
+    public double calculateBeta(double[] cumulativeReturns, BenchmarkContext benchmark) {
+        if (cumulativeReturns == null || benchmark == null || cumulativeReturns.length != benchmark.size()
+                || cumulativeReturns.length < 2) {
+            throw new IllegalArgumentException("Input arrays must be non-null, same size, and have at least 2 elements");
+        }
+        return numericKernels.dot(cumulativeReturns, benchmark.getCenteredCumulativeReturns())
+                / benchmark.getCumulativeSumOfSquares();
     }
 
     /**
@@ -134,12 +183,24 @@ public class ReturnCalculator {
      */
     public List<ReturnRate> calculateCumulativeReturns(List<Double> prices, List<Long> timestamps,
             List<Dividend> dividends) {
+        return calculateCumulativeReturns(prices, timestamps, dividends, BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 봉 주기에 맞는 배당 반영 기준일로 배당 재투자 누적 수익률을 계산합니다.
+     *
+     * @param frequency 가격 데이터 주기 (월봉: 월말까지, 일봉: 당일까지 지급된 배당 반영)
+     * @see #calculateCumulativeReturns(List, List, List)
+     */
+    public List<ReturnRate> calculateCumulativeReturns(List<Double> prices, List<Long> timestamps,
+            List<Dividend> dividends, BarFrequency frequency) {
         double startPrice = prices.get(0);
         if (startPrice <= 0) {
             throw new IllegalArgumentException("Start price must be positive for cumulative return calculation.");
         }
 
-        List<Amount> cumulativeValues = calculateCumulativeAmounts(true, prices, timestamps, dividends, 1.0);
+        List<Amount> cumulativeValues = calculateCumulativeAmounts(true, prices, timestamps, dividends, 1.0,
+                frequency);
 
         List<ReturnRate> cumulativeReturnRates = new ArrayList<>();
         for (Amount amount : cumulativeValues) {
@@ -162,6 +223,19 @@ public class ReturnCalculator {
     public List<Amount> calculateCumulativeAmounts(boolean includeDividends, List<Double> prices, List<Long> timestamps,
             List<Dividend> dividends,
             double initialAmount, double weight) {
+        return calculateCumulativeAmounts(includeDividends, prices, timestamps, dividends, initialAmount, weight,
+                BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 봉 주기에 맞는 배당 반영 기준일로 가중 투자 가치를 계산합니다.
+     *
+     * @param frequency 가격 데이터 주기
+     * @see #calculateCumulativeAmounts(boolean, List, List, List, double, double)
+     */
+    public List<Amount> calculateCumulativeAmounts(boolean includeDividends, List<Double> prices, List<Long> timestamps,
+            List<Dividend> dividends,
+            double initialAmount, double weight, BarFrequency frequency) {
         double startPrice = prices.get(0);
         if (startPrice <= 0) {
             List<Amount> amountChanges = new ArrayList<>();
@@ -175,17 +249,73 @@ public class ReturnCalculator {
         double allocatedAmount = initialAmount * weight;
         double initialShares = allocatedAmount / startPrice;
 
-        return calculateCumulativeAmounts(includeDividends, prices, timestamps, dividends, initialShares);
+        return calculateCumulativeAmounts(includeDividends, prices, timestamps, dividends, initialShares, frequency);
     }
 
     /**
-     * 주어진 수익률 리스트의 변동성(표준편차)을 계산합니다.
+     * 주어진 월별 수익률 리스트의 연환산 변동성(표준편차 × √12)을 계산합니다.
      *
      * @param periodicReturnRate 수익률 리스트
-     * @return 변동성(표준편차)
+     * @return 연환산 변동성
      */
     public double calculateVolatility(List<ReturnRate> periodicReturnRates) {
-        return new Volatility(periodicReturnRates).volatility();
+        return new Volatility(periodicReturnRates).volatility(BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 월별 수익률 배열의 연환산 변동성을 계산합니다. ({@link #calculateVolatility(List)}와 같은 정의)
+     *
+     * @param periodicReturnRates 기간 수익률 배열
+     * @return 연환산 변동성
+     */
+    public double calculateVolatility(double[] periodicReturnRates) {
+        return calculateVolatility(periodicReturnRates, BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 기간 수익률 배열의 표준편차를 봉 주기의 연간 기간 수로 연환산(× √periodsPerYear)합니다.
+     *
+     * @param periodicReturnRates 기간 수익률 배열
+     * @param frequency           가격 데이터 주기
+     * @return 연환산 변동성
+     */
+    public double calculateVolatility(double[] periodicReturnRates, BarFrequency frequency) {
+        double standardDeviation = Math.sqrt(numericKernels.variance(periodicReturnRates));
+        return standardDeviation * frequency.annualizationFactor();
+    }
+
+    /**
+     * 배당 미포함 누적 수익률 배열(prices[i] / prices[0] - 1)을 계산합니다.
+     *
+     * @param prices 가격 배열 (시작 가격은 0보다 커야 함)
+     * @return 누적 수익률 배열
+     */
+    public double[] calculateCumulativeGrowth(double[] prices) {
+        if (prices.length == 0 || prices[0] <= 0) {
+            throw new IllegalArgumentException("Start price must be positive for cumulative return calculation.");
+        }
+        double[] growth = new double[prices.length];
+        numericKernels.cumulativeGrowth(prices, growth);
+        return growth;
+    }
+
+    /**
+     * 배당 미포함 기간 수익률 배열(prices[i + 1] / prices[i] - 1)을 계산합니다.
+     *
+     * @param prices 가격 배열
+     * @return 기간 수익률 배열 (가격보다 1 짧음)
+     */
+    public double[] calculatePeriodicReturnRates(double[] prices) {
+        double[] returns = new double[Math.max(0, prices.length - 1)];
+        numericKernels.periodicReturns(prices, returns);
+        return returns;
+    }
+
+    /**
+     * 기간 수익률을 호출자가 할당한 배열(길이 prices.length - 1)에 채웁니다.
+     */
+    public void calculatePeriodicReturnRates(double[] prices, double[] out) {
+        numericKernels.periodicReturns(prices, out);
     }
 
     /**
@@ -198,7 +328,7 @@ public class ReturnCalculator {
      * @return 각 시점별 포트폴리오의 수익률 리스트
      */
     public List<ReturnRate> calculatePeriodicReturnRates(List<Double> prices, List<Long> timestamps) {
-        List<Amount> pList = calculateCumulativeAmounts(false, prices, timestamps, List.of(), 1.0);
+        List<Amount> pList = calculateCumulativeAmounts(false, prices, timestamps, List.of(), 1.0, BarFrequency.MONTHLY);
         List<ReturnRate> returns = new ArrayList<>();
         for (int i = 1; i < pList.size(); i++) {
             Double current = pList.get(i).amount();
@@ -238,86 +368,232 @@ public class ReturnCalculator {
     }
 
     /**
-     * 초기 보유 주식 수를 기준으로 시간에 따라 포트폴리오 가치를 계산하는 핵심 내부 메서드입니다.
+     * 가격 배열의 시점별 고점 대비 낙폭을 채우고 최대낙폭을 반환합니다.
      *
-     * <p>
-     * 배당금 발생 시 현금으로 누적한 뒤, 다음 가격 데이터 포인트에서 재투자합니다.
+     * @param prices    가격 배열
+     * @param drawdowns 시점별 낙폭을 채울 배열 (가격과 같은 길이)
+     * @return 최대낙폭
+     */
+    public double calculateMaxDrawdowns(double[] prices, double[] drawdowns) {
+        return numericKernels.drawdowns(prices, drawdowns);
+    }
+
+    /**
+     * 초기 보유 주식 수를 기준으로 시간에 따라 포트폴리오 가치를 계산합니다.
+     * ({@link #accumulateShares}의 결과를 시점별 {@link Amount} 리스트로 변환)
      *
      * @param prices        가격 리스트 (시간순 정렬)
      * @param timestamps    각 가격에 대응하는 타임스탬프 리스트
      * @param dividends     배당금 리스트
      * @param initialShares 초기 보유 주식 수
+     * @param frequency     가격 데이터 주기 (배당 반영 기준일)
      * @return 각 시점별 포트폴리오 가치 리스트
      */
     private List<Amount> calculateCumulativeAmounts(boolean includeDividends, List<Double> prices,
             List<Long> timestamps,
             List<Dividend> dividends,
-            double initialShares) {
+            double initialShares, BarFrequency frequency) {
         if (prices == null || prices.isEmpty() || timestamps == null || timestamps.isEmpty()) {
             throw new IllegalArgumentException("Prices and timestamps lists cannot be null or empty");
         }
-        if (prices.size() != timestamps.size()) {
-            throw new IllegalArgumentException("Prices and timestamps lists must have the same size");
+        double[] priceArray = new double[prices.size()];
+        for (int i = 0; i < priceArray.length; i++) {
+            priceArray[i] = prices.get(i);
         }
+        double[] shares = new double[priceArray.length];
+        double[] cash = new double[priceArray.length];
+        accumulateShares(includeDividends, priceArray, timestamps, dividends, initialShares, frequency, shares, cash);
 
-        List<Amount> cumulativeAmounts = new ArrayList<>();
-
-        // Create a mutable, sorted copy of dividends to avoid modifying the original
-        // list
-        List<Dividend> sortedDividends = new ArrayList<>();
-        if (dividends != null) {
-            sortedDividends.addAll(dividends);
-            sortedDividends.sort((d1, d2) -> Long.compare(d1.getDate(), d2.getDate()));
-        }
-        log.debug("sortedDividends.size() {}", sortedDividends.size());
-
-        double shares = initialShares;
-        double cash = 0.0;
-
-        for (int i = 0; i < prices.size(); i++) {
-            long currentTimestamp = timestamps.get(i);
-            LocalDate currentDate = DateUtils.toLocalDate(currentTimestamp);
-            // 월말로 변경 배당금은 1일 이후에 발생하기 때문
-            currentDate = currentDate.withDayOfMonth(currentDate.lengthOfMonth());
-            double currentPrice = prices.get(i);
-
-            // Accumulate cash from dividends paid between the last price point and the
-            // current one
-            java.util.Iterator<Dividend> iterator = sortedDividends.iterator();
-            while (iterator.hasNext()) {
-                final Dividend div = iterator.next();
-                final LocalDate divDate = DateUtils.toLocalDate(div.getDate());
-                final double amount = div.getAmount();
-
-                if (divDate.isEqual(currentDate) || divDate.isBefore(currentDate)) {
-                    log.debug("currentDate {} divDate {} div.getAmount() {}", currentDate, divDate, amount);
-                    cash += shares * amount;
-                    iterator.remove(); // Simplify by removing processed dividends
-                } else {
-                    // Since the list is sorted, we can stop checking for this period
-                    break;
-                }
+        List<Amount> cumulativeAmounts = new ArrayList<>(priceArray.length);
+        for (int i = 0; i < priceArray.length; i++) {
+            cumulativeAmounts.add(new Amount(shares[i], priceArray[i], cash[i]));
+        }
+        return cumulativeAmounts;
+    }
+
+    /**
+     * 배당 재투자 누적 수익률 배열을 계산합니다. ({@link #calculateCumulativeReturns(List, List, List, BarFrequency)}와
+     * 같은 정의이며, 시점별 객체를 만들지 않음)
+     *
+     * @param prices     가격 배열 (시작 가격은 0보다 커야 함)
+     * @param timestamps 각 가격에 대응하는 타임스탬프 리스트
+     * @param dividends  기간 중 지급된 배당금 리스트
+     * @param frequency  가격 데이터 주기
+     * @return 시점별 누적 수익률 배열
+     */
+    public double[] calculateTotalReturnSeries(double[] prices, List<Long> timestamps, List<Dividend> dividends,
+            BarFrequency frequency) {
+        if (prices.length == 0 || prices[0] <= 0) {
+            throw new IllegalArgumentException("Start price must be positive for cumulative return calculation.");
+        }
+        double[] returns = new double[prices.length];
+        double[] cash = new double[prices.length];
+        accumulateShares(true, prices, timestamps, dividends, 1.0, frequency, returns, cash);
+        double startPrice = prices[0];
+        for (int i = 0; i < prices.length; i++) {
+            returns[i] = (returns[i] * prices[i] - startPrice) / startPrice;
+        }
+        return returns;
+    }
+
+    /**
+     * 가중 투자 가치와 시점별 배당 현금을 결과 배열에 채웁니다.
+     * ({@link #calculateCumulativeAmounts(boolean, List, List, List, double, double, BarFrequency)}와 같은 정의)
+     *
+     * @param amounts 시점별 투자 가치를 채울 배열 (가격과 같은 길이)
+     * @param cash    시점별 배당 현금을 채울 배열 (가격과 같은 길이)
+     */
+    public void calculateCumulativeAmounts(boolean includeDividends, double[] prices, List<Long> timestamps,
+            List<Dividend> dividends, double initialAmount, double weight, BarFrequency frequency,
+            double[] amounts, double[] cash) {
+        if (prices.length == 0 || prices[0] <= 0) {
+            Arrays.fill(amounts, 0.0);
+            Arrays.fill(cash, 0.0);
+            log.error("startPrice is less than or equal to 0");
+            return;
+        }
+        double initialShares = initialAmount * weight / prices[0];
+        accumulateShares(includeDividends, prices, timestamps, dividends, initialShares, frequency, amounts, cash);
+        for (int i = 0; i < prices.length; i++) {
+            amounts[i] *= prices[i];
+        }
+    }
+
+    /**
+     * 시점별 주당 배당금 배열로 배당 재투자 누적 수익률 배열을 계산합니다.
+     * (포트폴리오 NAV처럼 배당을 이미 시점별로 합산한 경우에 사용)
+     *
+     * @param prices          가격 배열 (시작 가격은 0보다 커야 함)
+     * @param dividendsPerBar 시점별 주당 배당금 ({@link BarFrequency#dividendsPerBar} 참고)
+     */
+    public double[] calculateTotalReturnSeries(double[] prices, double[] dividendsPerBar) {
+        if (prices.length == 0 || prices[0] <= 0) {
+            throw new IllegalArgumentException("Start price must be positive for cumulative return calculation.");
+        }
+        double[] returns = new double[prices.length];
+        double[] cash = new double[prices.length];
+        accumulateShares(true, prices, dividendsPerBar, 1.0, returns, cash);
+        double startPrice = prices[0];
+        for (int i = 0; i < prices.length; i++) {
+            returns[i] = (returns[i] * prices[i] - startPrice) / startPrice;
+        }
+        return returns;
+    }
+
+    /**
+     * 조정 종가로 구한 누적 성장(adjustedPrices[i] / adjustedPrices[0])과 배당 재투자 누적 성장의 최대 상대 차이를
+     * 계산합니다. 조정 종가 총수익률이 재투자 계산과 어긋나는지 검증할 때 사용합니다.
+     *
+     * @param prices          가격 배열 (시작 가격은 0보다 커야 함)
+     * @param adjustedPrices  조정 종가 배열 (가격과 같은 길이, 시작 값은 0보다 커야 함)
+     * @param dividendsPerBar 시점별 주당 배당금 ({@link BarFrequency#dividendsPerBar} 참고)
+     * @return max |조정 성장 / 재투자 성장 - 1|
+     */
+    public double calculateAdjustedCloseDivergence(double[] prices, double[] adjustedPrices,
+            double[] dividendsPerBar) {
+        if (adjustedPrices.length != prices.length || adjustedPrices.length == 0 || adjustedPrices[0] <= 0) {
+            throw new IllegalArgumentException("Adjusted prices must match prices and start positive");
+        }
+        double[] reinvested = calculateTotalReturnSeries(prices, dividendsPerBar);
+        double start = adjustedPrices[0];
+        double divergence = 0.0;
+        for (int i = 0; i < prices.length; i++) {
+            double growth = 1 + reinvested[i];
+            if (growth > 0) {
+                divergence = Math.max(divergence, Math.abs(adjustedPrices[i] / start / growth - 1));
             }
-            // log.debug("cash {}", cash);
+        }
+        return divergence;
+    }
+
+    /**
+     * 시점별 주당 배당금 배열로 배당 재투자 총수익률(누적 수익률 시계열의 마지막 값)만 계산합니다.
+     * 시계열 배열을 만들지 않으므로 여러 가중치 조합을 평가할 때 사용합니다.
+     *
+     * @param prices          가격 배열 (시작 가격은 0보다 커야 함)
+     * @param dividendsPerBar 시점별 주당 배당금 ({@link BarFrequency#dividendsPerBar} 참고)
+     */
+    public double calculateTotalReturn(double[] prices, double[] dividendsPerBar) {
+        if (prices.length == 0 || prices[0] <= 0) {
+            throw new IllegalArgumentException("Start price must be positive for cumulative return calculation.");
+        }
+        double shares = accumulateShares(true, prices, dividendsPerBar, 1.0, null, null);
+        return (shares * prices[prices.length - 1] - prices[0]) / prices[0];
+    }
+
+    /**
+     * 시점별 주당 배당금 배열로 가중 투자 가치와 시점별 배당 현금을 결과 배열에 채웁니다.
+     *
+     * @param dividendsPerBar 시점별 주당 배당금 ({@link BarFrequency#dividendsPerBar} 참고)
+     */
+    public void calculateCumulativeAmounts(boolean includeDividends, double[] prices, double[] dividendsPerBar,
+            double initialAmount, double weight, double[] amounts, double[] cash) {
+        if (prices.length == 0 || prices[0] <= 0) {
+            Arrays.fill(amounts, 0.0);
+            Arrays.fill(cash, 0.0);
+            log.error("startPrice is less than or equal to 0");
+            return;
+        }
+        double initialShares = initialAmount * weight / prices[0];
+        accumulateShares(includeDividends, prices, dividendsPerBar, initialShares, amounts, cash);
+        for (int i = 0; i < prices.length; i++) {
+            amounts[i] *= prices[i];
+        }
+    }
+
+    /**
+     * 초기 보유 주식 수를 기준으로 시점별 보유 주식 수와 배당 현금을 계산하는 핵심 내부 메서드입니다.
+     *
+     * <p>
+     * 배당금 발생 시 현금으로 누적한 뒤, 다음 가격 데이터 포인트에서 재투자합니다.
+     *
+     * @param shares 시점별 보유 주식 수를 채울 배열
+     * @param cash   시점별 지급(재투자) 배당 현금을 채울 배열
+     */
+    private void accumulateShares(boolean includeDividends, double[] prices, List<Long> timestamps,
+            List<Dividend> dividends, double initialShares, BarFrequency frequency, double[] shares, double[] cash) {
+        if (prices.length == 0 || timestamps == null || timestamps.isEmpty()) {
+            throw new IllegalArgumentException("Prices and timestamps lists cannot be null or empty");
+        }
+        // 월봉은 월말로 변경 배당금은 1일 이후에 발생하기 때문 (일봉은 당일, 주봉은 주말)
+        double[] dividendsPerBar = frequency.dividendsPerBar(timestamps, dividends);
+        log.debug("dividends.size() {}", dividends == null ? 0 : dividends.size());
+        accumulateShares(includeDividends, prices, dividendsPerBar, initialShares, shares, cash);
+    }
+
+    /**
+     * @param shares 시점별 보유 주식 수를 채울 배열 (null이면 채우지 않음)
+     * @param cash   시점별 배당 현금을 채울 배열 (null이면 채우지 않음)
+     * @return 마지막 시점의 보유 주식 수
+     */
+    private static double accumulateShares(boolean includeDividends, double[] prices, double[] dividendsPerBar,
+            double initialShares, double[] shares, double[] cash) {
+        if (prices.length != dividendsPerBar.length) {
+            throw new IllegalArgumentException("Prices and timestamps lists must have the same size");
+        }
+        double currentShares = initialShares;
+        double pendingCash = 0.0;
+        for (int i = 0; i < prices.length; i++) {
+            double currentPrice = prices[i];
+            // 직전 시점 이후 반영 기준일까지 지급된 배당을 현금으로 받음
+            pendingCash += currentShares * dividendsPerBar[i];
 
             double saveCash = 0.0;
             // Reinvest any available cash at the current price
-            if (cash > 0 && currentPrice > 0) {
+            if (pendingCash > 0 && currentPrice > 0) {
                 // 배당금 재투자
                 if (includeDividends) {
-                    shares += cash / currentPrice;
+                    currentShares += pendingCash / currentPrice;
                 }
-                saveCash = cash;
-                cash = 0;
-            } else {
-                saveCash = 0.0;
+                saveCash = pendingCash;
+                pendingCash = 0;
+            }
+            if (shares != null) {
+                shares[i] = currentShares;
+                cash[i] = saveCash;
             }
-            // log.debug("calculateCumulativeAmounts shares {} saveCash {}", shares,
-            // saveCash);
-            cumulativeAmounts.add(new Amount(shares, currentPrice, saveCash));
         }
-
-        return cumulativeAmounts;
+        return currentShares;
     }
 
     public Double calculateMaxValue(List<Double> values) {
@@ -338,14 +614,47 @@ public class ReturnCalculator {
     }
 
     /**
-     * 주어진 수익률 리스트의 샤르프비율을 계산합니다.
+     * 주어진 월별 수익률 리스트의 연환산 샤르프비율을 계산합니다.
      * 
      * @param periodicReturnRates
      * @return
      */
     public double calculateSharpeRatio(List<ReturnRate> periodicReturnRates) {
-        double meanReturnRate = periodicReturnRates.stream().mapToDouble(ReturnRate::rate).average().orElse(0.0);
-        double standardDeviation = new Volatility(periodicReturnRates).standardDeviation();
-        return (meanReturnRate - (0.04 / 12)) / standardDeviation * Math.sqrt(periodicReturnRates.size());
+        RunningMoments moments = new RunningMoments();
+        for (ReturnRate returnRate : periodicReturnRates) {
+            moments.add(returnRate.rate());
+        }
+        return sharpeRatio(moments.mean(), moments.standardDeviation(), BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 기간 수익률 배열의 샤프비율을 계산합니다. ({@link #calculateSharpeRatio(List)}와 같은 정의)
+     *
+     * @param periodicReturnRates 기간 수익률 배열
+     * @return 샤프비율
+     */
+    public double calculateSharpeRatio(double[] periodicReturnRates) {
+        return calculateSharpeRatio(periodicReturnRates, BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 봉 주기에 맞는 기간 무위험 수익률(연 4% / 연간 기간 수)로 샤프비율을 계산하고 √periodsPerYear로 연환산합니다.
+     *
+     * @param periodicReturnRates 기간 수익률 배열
+     * @param frequency           가격 데이터 주기
+     * @return 연환산 샤프비율
+     */
+    public double calculateSharpeRatio(double[] periodicReturnRates, BarFrequency frequency) {
+        double meanReturnRate = numericKernels.mean(periodicReturnRates);
+        double standardDeviation = Math.sqrt(numericKernels.variance(periodicReturnRates));
+        return sharpeRatio(meanReturnRate, standardDeviation, frequency);
+    }
+
+    /**
+     * 기간 수익률의 평균/표준편차로 연환산 샤프비율을 계산합니다. (누적 계산과 전체 계산이 같은 정의를 사용)
+     */
+    static double sharpeRatio(double meanReturnRate, double standardDeviation, BarFrequency frequency) {
+        return (meanReturnRate - frequency.periodicRate(RISK_FREE_RATE)) / standardDeviation
+                * frequency.annualizationFactor();
     }
 }
@@ -0,0 +1,233 @@
+package portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.RollingRiskSeries;
+import portfolio.util.RunningCovariance;
+import portfolio.util.RunningMoments;
+
+/**
+ * 이동 윈도우(rolling window) 리스크 지표를 계산하는 컴포넌트입니다.
+ *
+ * <p>
+ * 변동성/베타/샤프비율은 관측치를 더하고 빼는 슬라이딩 누적기로, 낙폭은 단조 덱(monotonic deque)으로
+ * 윈도우 최고가를 유지하여 시계열 하나당 O(n)으로 계산합니다.
+ * 결과 배열은 가격 시계열과 같은 길이이며 윈도우가 채워지기 전 구간은 NaN입니다.
+ */
+@Component
+public class RollingRiskCalculator {
+
+    static final double RISK_FREE_RATE = 0.04;
+    /**
+     * 윈도우 분산이 제곱 평균(분산 + 평균²)의 이 비율 이하이면 슬라이딩 제거의 반올림 잔차로 보고 0으로 취급합니다.
+     */
+    static final double RELATIVE_VARIANCE_EPSILON = 1e-12;
+
+    /**
+     * 여러 윈도우에 대한 이동 리스크 시계열을 계산합니다.
+     *
+     * @param prices    가격 배열
+     * @param benchmark 벤치마크 컨텍스트(가격 배열과 같은 길이, 기간 수익률 재사용)
+     * @param windows   윈도우 크기 목록
+     * @return 윈도우별 이동 리스크 시계열
+     */
+    public List<RollingRiskSeries> calculate(double[] prices, BenchmarkContext benchmark, List<Integer> windows) {
+        return calculate(prices, benchmark, windows, BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 봉 주기에 맞춰 연율화한 이동 리스크 시계열을 계산합니다.
+     *
+     * @param frequency 가격 데이터 주기 (연율화 기간 수, 기간 무위험 수익률)
+     */
+    public List<RollingRiskSeries> calculate(double[] prices, BenchmarkContext benchmark, List<Integer> windows,
+            BarFrequency frequency) {
+        if (windows == null || windows.isEmpty()) {
+            return List.of();
+        }
+        double[] returns = periodicReturns(prices);
+        double[] indexReturns = benchmark.getPeriodicReturns();
+
+        List<RollingRiskSeries> result = new ArrayList<>(windows.size());
+        for (int window : windows) {
+            result.add(new RollingRiskSeries(window,
+                    toList(rollingVolatility(returns, window, frequency)),
+                    toList(rollingBeta(returns, indexReturns, window)),
+                    toList(rollingSharpeRatio(returns, window, frequency)),
+                    toList(rollingDrawdown(prices, window))));
+        }
+        return result;
+    }
+
+    /**
+     * 연율화 이동 변동성. 결과의 i번째 값은 가격 i에서 끝나는 window개 기간 수익률의 표준편차입니다.
+     *
+     * @param returns 기간 수익률 배열(가격 배열보다 1 짧음)
+     * @param window  윈도우 크기
+     */
+    public double[] rollingVolatility(double[] returns, int window) {
+        return rollingVolatility(returns, window, BarFrequency.MONTHLY);
+    }
+
+    public double[] rollingVolatility(double[] returns, int window, BarFrequency frequency) {
+        validateWindow(window);
+        double[] result = emptySeries(returns.length + 1);
+        RunningMoments moments = new RunningMoments();
+        double annualization = frequency.annualizationFactor();
+        int flatRun = 0;
+        for (int i = 0; i < returns.length; i++) {
+            moments.add(returns[i]);
+            if (i >= window) {
+                moments.remove(returns[i - window]);
+            }
+            flatRun = i > 0 && returns[i] == returns[i - 1] ? flatRun + 1 : 0;
+            if (i >= window - 1) {
+                result[i + 1] = windowStandardDeviation(moments, flatRun >= window - 1) * annualization;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 벤치마크 대비 이동 베타. 분산이 0인 구간은 NaN입니다.
+     *
+     * @param returns      기간 수익률 배열
+     * @param indexReturns 벤치마크 기간 수익률 배열
+     * @param window       윈도우 크기
+     */
+    public double[] rollingBeta(double[] returns, double[] indexReturns, int window) {
+        validateWindow(window);
+        if (returns.length != indexReturns.length) {
+            throw new IllegalArgumentException("Returns and index returns must have the same size");
+        }
+        double[] result = emptySeries(returns.length + 1);
+        RunningCovariance covariance = new RunningCovariance();
+        for (int i = 0; i < returns.length; i++) {
+            covariance.add(returns[i], indexReturns[i]);
+            if (i >= window) {
+                covariance.remove(returns[i - window], indexReturns[i - window]);
+            }
+            if (i >= window - 1 && covariance.varianceY() > 0.0) {
+                result[i + 1] = covariance.beta();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 연율화 이동 샤프비율. 표준편차가 0인 구간은 NaN입니다.
+     *
+     * @param returns 기간 수익률 배열
+     * @param window  윈도우 크기
+     */
+    public double[] rollingSharpeRatio(double[] returns, int window) {
+        return rollingSharpeRatio(returns, window, BarFrequency.MONTHLY);
+    }
+
+    public double[] rollingSharpeRatio(double[] returns, int window, BarFrequency frequency) {
+        validateWindow(window);
+        double[] result = emptySeries(returns.length + 1);
+        RunningMoments moments = new RunningMoments();
+        double riskFreePerPeriod = frequency.periodicRate(RISK_FREE_RATE);
+        double annualization = frequency.annualizationFactor();
+        int flatRun = 0;
+        for (int i = 0; i < returns.length; i++) {
+            moments.add(returns[i]);
+            if (i >= window) {
+                moments.remove(returns[i - window]);
+            }
+            flatRun = i > 0 && returns[i] == returns[i - 1] ? flatRun + 1 : 0;
+            double standardDeviation = windowStandardDeviation(moments, flatRun >= window - 1);
+            if (i >= window - 1 && standardDeviation > 0.0) {
+                result[i + 1] = (moments.mean() - riskFreePerPeriod) / standardDeviation * annualization;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 이동 낙폭. 결과의 i번째 값은 가격 i-window ~ i 구간 최고가 대비 가격 i의 낙폭입니다.
+     * 단조 감소 덱으로 윈도우 최고가의 인덱스를 유지합니다.
+     *
+     * @param prices 가격 배열
+     * @param window 윈도우 크기(기간 수)
+     */
+    public double[] rollingDrawdown(double[] prices, int window) {
+        validateWindow(window);
+        double[] result = emptySeries(prices.length);
+        int[] deque = new int[window + 1];
+        int head = 0;
+        int size = 0;
+        for (int i = 0; i < prices.length; i++) {
+            // 윈도우(window+1개 가격)를 벗어난 최고가 제거
+            if (size > 0 && deque[head] <= i - window - 1) {
+                head = (head + 1) % deque.length;
+                size--;
+            }
+            // 현재 가격 이하인 뒤쪽 원소 제거 → 덱은 가격 내림차순 유지
+            while (size > 0 && prices[deque[(head + size - 1) % deque.length]] <= prices[i]) {
+                size--;
+            }
+            deque[(head + size) % deque.length] = i;
+            size++;
+
+            if (i >= window) {
+                double peak = prices[deque[head]];
+                result[i] = peak == 0.0 ? 0.0 : (peak - prices[i]) / peak;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 슬라이딩 누적기의 모표준편차. 변동이 큰 구간이 빠진 뒤 남는 m2 잔차(약 1e-20)로 값이 같은 윈도우의
+     * 변동성이 0이 아니게 되거나 샤프비율이 폭주하지 않도록, 윈도우 수익률이 모두 같거나(constant) 분산이
+     * 제곱 평균 대비 {@value #RELATIVE_VARIANCE_EPSILON} 이하이면 0을 반환합니다.
+     * 평균까지 잔차인 수익률 0 구간은 상대 비교가 불가능하므로 연속으로 같은 수익률 개수로 판정합니다.
+     */
+    private static double windowStandardDeviation(RunningMoments moments, boolean constant) {
+        double variance = moments.variance();
+        double mean = moments.mean();
+        if (constant || variance <= RELATIVE_VARIANCE_EPSILON * (variance + mean * mean)) {
+            return 0.0;
+        }
+        return Math.sqrt(variance);
+    }
+
+    double[] periodicReturns(double[] prices) {
+        double[] returns = new double[Math.max(0, prices.length - 1)];
+        for (int i = 1; i < prices.length; i++) {
+            returns[i - 1] = (prices[i] - prices[i - 1]) / prices[i - 1];
+        }
+        return returns;
+    }
+
+    private void validateWindow(int window) {
+        if (window < 2) {
+            throw new IllegalArgumentException("Rolling window must be at least 2 periods");
+        }
+    }
+
+    private double[] emptySeries(int length) {
+        double[] series = new double[length];
+        Arrays.fill(series, Double.NaN);
+        return series;
+    }
+
+    /**
+     * 직렬화용 리스트로 변환합니다. NaN은 JSON에서 표현할 수 없으므로 null로 변환합니다.
+     */
+    private List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(Double.isNaN(value) ? null : value);
+        }
+        return list;
+    }
+}
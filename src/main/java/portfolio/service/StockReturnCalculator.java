@@ -8,24 +8,53 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import portfolio.api.ChartResponse.Dividend;
-import portfolio.model.Amount;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.DrawdownEpisode;
 import portfolio.model.FetchedStockDatas;
+import portfolio.model.Metric;
 import portfolio.model.PortfolioRequest;
 import portfolio.model.StockReturnData;
 import portfolio.model.ReturnRate;
 import portfolio.model.StockHistories;
-import portfolio.util.DateUtils;
-import lombok.RequiredArgsConstructor;
+import portfolio.model.TotalReturnSource;
+import portfolio.util.DrawdownEpisodeDetector;
+import portfolio.util.EpochCalendar;
+import portfolio.util.PackedDoubleList;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class StockReturnCalculator {
+    /** 종목별로 반환하는 가장 깊은 낙폭 구간 수 */
+    static final int DRAWDOWN_EPISODES = 5;
+    /** 조정 종가 총수익률 검증 허용 오차 (배당 재투자 누적 성장 대비 상대 차이) */
+    static final double ADJUSTED_CLOSE_TOLERANCE = 0.02;
+
     private final ReturnCalculator returnCalculator;
+    private final RollingRiskCalculator rollingRiskCalculator;
+    private final ForkJoinPool computePool;
+    private final int parallelThreshold;
+
+    public StockReturnCalculator(
+            ReturnCalculator returnCalculator,
+            RollingRiskCalculator rollingRiskCalculator,
+            ForkJoinPool computePool,
+            @Value("${portfolio.compute.parallel-threshold:16}") int parallelThreshold) {
+        this.returnCalculator = returnCalculator;
+        this.rollingRiskCalculator = rollingRiskCalculator;
+        this.computePool = computePool;
+        this.parallelThreshold = parallelThreshold;
+    }
 
     double calculateYearsBetweenPrices(List<Long> timestamps) {
         if (timestamps == null || timestamps.size() < 2) {
@@ -47,19 +76,45 @@ public class StockReturnCalculator {
             return new ArrayList<>();
         }
 
-        return timestamps.stream().map(DateUtils::toLocalDate).toList();
+        // LocalDate는 응답 직렬화용으로만 생성
+        List<LocalDate> dates = new ArrayList<>(timestamps.size());
+        for (int i = 0; i < timestamps.size(); i++) {
+            dates.add(LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamps.get(i))));
+        }
+        return dates;
     }
 
+    /**
+     * 요청된 종목별 수익률/리스크 지표를 계산합니다.
+     *
+     * <p>
+     * 종목 수가 {@code portfolio.compute.parallel-threshold} 이상이면 계산 풀에서 종목별로 병렬 계산하고,
+     * 그보다 적으면 요청 스레드에서 순차 계산합니다. 어느 경우든 결과는 요청의 종목 순서를 유지합니다.
+     */
     public List<StockReturnData> calculateStockReturns(PortfolioRequest request,
             FetchedStockDatas fetchedStockDatas) {
+        return calculateStockReturns(request, fetchedStockDatas, Metric.all());
+    }
+
+    /**
+     * 요청된 종목별 지표 중 필요한 지표만 계산합니다. (순차/병렬 기준은 {@link #calculateStockReturns(PortfolioRequest, FetchedStockDatas)}와 같음)
+     *
+     * @param metrics 필요한 지표
+     */
+    public List<StockReturnData> calculateStockReturns(PortfolioRequest request,
+            FetchedStockDatas fetchedStockDatas, Set<Metric> metrics) {
         final boolean includeDividends = request.isIncludeDividends();
         final List<String> tickers = request.getTickers();
         final double initialAmount = request.getInitialAmount();
-        final List<StockReturnData> stockReturns = new ArrayList<>();
         final List<Double> weights = request.getWeights();
-        final List<Double> indexPrices = fetchedStockDatas.getIndexPrices();
+        final BenchmarkContext benchmark = fetchedStockDatas.getBenchmarkContext();
         final Map<String, StockHistories> stockHistoriesMap = fetchedStockDatas.getStockHistories();
+        final List<Integer> rollingWindows = request.getRollingWindows();
+        final BarFrequency frequency = request.getFrequency();
+        final boolean adjustedClose = request.getTotalReturnSource() == TotalReturnSource.ADJUSTED_CLOSE;
+        final boolean reconcile = request.isReconcileAdjustedClose();
 
+        final List<Callable<StockReturnData>> tasks = new ArrayList<>(tickers.size());
         for (int i = 0; i < tickers.size(); i++) {
             String ticker = tickers.get(i);
             var stockHistories = stockHistoriesMap.get(ticker);
@@ -67,18 +122,86 @@ public class StockReturnCalculator {
             if (stockHistories != null) {
                 double weight = (weights != null && i < weights.size()) ? weights.get(i)
                         : 1.0 / tickers.size();
-                StockReturnData stockReturn = calculateStockReturn(
-                        includeDividends, ticker, stockHistories, indexPrices,
-                        initialAmount, weight);
-                stockReturns.add(stockReturn);
+                tasks.add(() -> calculateStockReturn(
+                        includeDividends, ticker, stockHistories, benchmark,
+                        initialAmount, weight, rollingWindows, frequency, metrics, adjustedClose, reconcile));
+            }
+        }
+        return tasks.size() < parallelThreshold ? runSequential(tasks) : runParallel(tasks);
+    }
+
+    private static List<StockReturnData> runSequential(List<Callable<StockReturnData>> tasks) {
+        final List<StockReturnData> stockReturns = new ArrayList<>(tasks.size());
+        for (Callable<StockReturnData> task : tasks) {
+            try {
+                stockReturns.add(task.call());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
             }
         }
         return stockReturns;
     }
 
+    private List<StockReturnData> runParallel(List<Callable<StockReturnData>> tasks) {
+        log.debug("calculateStockReturns parallel tickers:{} parallelism:{}", tasks.size(),
+                computePool.getParallelism());
+        // invokeAll은 작업 순서대로 Future를 반환하므로 종목 순서가 유지됨
+        final List<Future<StockReturnData>> futures = computePool.invokeAll(tasks);
+        final List<StockReturnData> stockReturns = new ArrayList<>(futures.size());
+        for (Future<StockReturnData> future : futures) {
+            try {
+                stockReturns.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Stock return calculation interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return stockReturns;
+    }
+
+    /**
+     * 지수 가격 리스트로 벤치마크 컨텍스트를 매번 생성하는 편의 메서드입니다.
+     * 여러 종목을 계산할 때는 {@link BenchmarkContext}를 한 번 만들어 재사용하는 오버로드를 사용합니다.
+     */
     public StockReturnData calculateStockReturn(
             boolean includeDividends, String ticker, List<Double> prices, List<Long> timestamps,
             List<Dividend> dividends, List<Double> indexPrices, double initialAmount, double weight) {
+        return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividends,
+                BenchmarkContext.of(indexPrices), initialAmount, weight, null, BarFrequency.MONTHLY);
+    }
+
+    /**
+     * 단일 종목(또는 포트폴리오 가상 종목)의 모든 수익률/리스크 지표를 계산합니다.
+     *
+     * @param benchmark      요청 단위로 한 번 계산한 벤치마크(지수) 컨텍스트
+     * @param rollingWindows 이동 윈도우 리스크 지표의 윈도우 크기 목록(null 또는 빈 목록이면 계산하지 않음)
+     * @param frequency      가격 데이터 주기 (배당 반영 기준일, 샤프비율/이동 지표 연율화)
+     */
+    public StockReturnData calculateStockReturn(
+            boolean includeDividends, String ticker, List<Double> prices, List<Long> timestamps,
+            List<Dividend> dividends, BenchmarkContext benchmark, double initialAmount, double weight,
+            List<Integer> rollingWindows, BarFrequency frequency) {
+        return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividends, benchmark, initialAmount,
+                weight, rollingWindows, frequency, Metric.all());
+    }
+
+    /**
+     * 단일 종목(또는 포트폴리오 가상 종목)의 지표 중 요청한 지표와 그 입력 지표만 계산합니다.
+     * 요청하지 않은 지표 필드는 null로 남아 응답에서 빠집니다. (가격/타임스탬프/배당/투자 원금은 항상 포함)
+     *
+     * @param metrics 필요한 지표 ({@link Metric#closure(Set, boolean)}로 입력 지표까지 확장됨)
+     */
+    public StockReturnData calculateStockReturn(
+            boolean includeDividends, String ticker, List<Double> prices, List<Long> timestamps,
+            List<Dividend> dividends, BenchmarkContext benchmark, double initialAmount, double weight,
+            List<Integer> rollingWindows, BarFrequency frequency, Set<Metric> metrics) {
         if (prices.isEmpty()) {
             log.error("{} prices is Empty", ticker);
             return StockReturnData.builder()
@@ -89,90 +212,272 @@ public class StockReturnCalculator {
                     .volatility(0.0)
                     .build();
         }
+        MetricEvaluation evaluation = new MetricEvaluation(returnCalculator, toArray(prices), timestamps, dividends,
+                benchmark, frequency);
+        return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividends, evaluation, benchmark,
+                initialAmount, weight, rollingWindows, frequency, metrics);
+    }
+
+    /**
+     * 배당을 이미 시점별 주당 배당금으로 합산한 가격 배열(포트폴리오 NAV)의 지표 중 필요한 지표만 계산합니다.
+     * 결과의 dividends는 빈 리스트입니다.
+     *
+     * @param prices          가격 배열 (2개 이상, 결과에 복사 없이 포함되므로 호출 후 변경하지 않아야 함)
+     * @param dividendsPerBar 시점별 주당 배당금 (가격과 같은 길이)
+     */
+    public StockReturnData calculateStockReturn(
+            boolean includeDividends, String ticker, double[] prices, List<Long> timestamps,
+            double[] dividendsPerBar, BenchmarkContext benchmark, double initialAmount, double weight,
+            List<Integer> rollingWindows, BarFrequency frequency, Set<Metric> metrics) {
+        return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividendsPerBar, null, false,
+                benchmark, initialAmount, weight, rollingWindows, frequency, metrics);
+    }
+
+    /**
+     * 총수익률/배당 포함 누적 수익률을 조정 종가(NAV) 비율로 계산하는 포트폴리오 NAV 지표입니다.
+     * (totalReturnSource가 ADJUSTED_CLOSE일 때 종목과 같은 방식으로 계산)
+     *
+     * @param adjustedPrices 조정 종가 NAV (가격과 같은 길이, null이면 배당 재투자 계산)
+     * @param reconcile      배당 재투자 계산과의 차이(adjustedCloseDivergence)를 결과에 포함할지 여부
+     */
+    public StockReturnData calculateStockReturn(
+            boolean includeDividends, String ticker, double[] prices, List<Long> timestamps,
+            double[] dividendsPerBar, double[] adjustedPrices, boolean reconcile, BenchmarkContext benchmark,
+            double initialAmount, double weight, List<Integer> rollingWindows, BarFrequency frequency,
+            Set<Metric> metrics) {
+        MetricEvaluation evaluation = new MetricEvaluation(returnCalculator, prices, timestamps, dividendsPerBar,
+                benchmark, frequency);
+        if (adjustedPrices != null) {
+            evaluation.useAdjustedClose(adjustedPrices, reconcile);
+        }
+        return calculateStockReturn(includeDividends, ticker, toList(prices), timestamps, List.of(), evaluation,
+                benchmark, initialAmount, weight, rollingWindows, frequency, metrics);
+    }
 
-        // Calculate returns
+    private StockReturnData calculateStockReturn(
+            boolean includeDividends, String ticker, List<Double> prices, List<Long> timestamps,
+            List<Dividend> dividends, MetricEvaluation evaluation, BenchmarkContext benchmark, double initialAmount,
+            double weight, List<Integer> rollingWindows, BarFrequency frequency, Set<Metric> metrics) {
+        final Set<Metric> required = Metric.closure(metrics, includeDividends);
         ReturnRate priceReturn = returnCalculator.calculatePriceReturn(prices);
-        ReturnRate totalReturn = returnCalculator.calculateTotalReturn(prices, timestamps, dividends);
-
-        // Calculate CAGR using actual time period
-        double startPrice = prices.get(0);
-        double endPrice = startPrice * priceReturn.rate() + startPrice;
-        // prices.get(prices.size() - 1);
-        log.debug("calculateStockReturn.startPrice:{} endPrice:{}", startPrice, endPrice);
-
-        double years = calculateYearsBetweenPrices(timestamps);
-        double cagr = years > 0 ? returnCalculator.calculateCAGR(startPrice, endPrice, years).rate() : 0.0;
-        List<ReturnRate> periodicReturnRate = returnCalculator.calculatePeriodicReturnRates(prices, timestamps);
-        double volatility = returnCalculator.calculateVolatility(periodicReturnRate);
-        log.debug("calculateStockReturn.ticker:{} volatility:{}", ticker, volatility);
-
-        // 누적 수익율 배당금 포함.
-        List<ReturnRate> totalReturns = returnCalculator.calculateCumulativeReturns(prices, timestamps, dividends);
-        // 누적 수익율 배당금 미포함.
-        List<ReturnRate> priceReturns = returnCalculator.calculateCumulativeReturns(prices, timestamps, List.of());
-
-        // 배당금 재투자 가능.
-        List<ReturnRate> cumulativeReturns = includeDividends ? totalReturns : priceReturns;
-
-        // 최대낙폭
-        List<Double> maxDrawdowns = returnCalculator.calculateMaxDrawdowns(prices);
-        // log.debug("calculateStockReturn.ticker:{} maxDrawdowns:{}", ticker,
-        // maxDrawdowns);
-
-        List<Double> priceReturnsRates = priceReturns.stream().map(ReturnRate::rate).toList();
-        List<Double> indexReturnsRates = returnCalculator
-                .calculateCumulativeReturns(indexPrices, timestamps, List.of())
-                .stream()
-                .map(ReturnRate::rate)
-                .toList();
-
-        double beta = returnCalculator.calculateBeta(priceReturnsRates, indexReturnsRates);
-
-        List<Amount> calculateCumulativeAmounts = returnCalculator.calculateCumulativeAmounts(
-                includeDividends,
-                prices, timestamps,
-                dividends,
-                initialAmount, weight);
-
-        return StockReturnData.builder()
+
+        StockReturnData.StockReturnDataBuilder builder = StockReturnData.builder()
                 .ticker(ticker)
-                .priceReturn(priceReturn.rate())
-                .totalReturn(totalReturn.rate())
-                .cagr(cagr)
-                .volatility(volatility)
-                .cumulativeReturns(cumulativeReturns.stream().map(ReturnRate::rate).toList())
                 .prices(requireNonNullElse(prices, emptyList()))
                 .timestamps(requireNonNullElse(timestamps, emptyList()))
                 .dividends(dividends)
-                .initialAmount(initialAmount * weight)
-                .dates(extractDates(timestamps))
-                .periodicReturnRates(periodicReturnRate.stream().map(ReturnRate::rate).toList())
-                .maxDrawdowns(maxDrawdowns)
-                .maxDrawdown(returnCalculator.calculateMaxValue(maxDrawdowns))
-                // Calculate amount changes if initial amount is provided
-                .amountChanges(initialAmount > 0
-                        ? calculateCumulativeAmounts.stream().map(Amount::amount).toList()
-                        : List.of())
-                .amountDividens(initialAmount > 0
-                        ? calculateCumulativeAmounts.stream().map(Amount::cash).toList()
-                        : List.of())
-                .sharpeRatio(returnCalculator.calculateSharpeRatio(periodicReturnRate))
-                .beta(beta)
-                .build();
+                .initialAmount(initialAmount * weight);
+
+        if (required.contains(Metric.PRICE_RETURN)) {
+            builder.priceReturn(priceReturn.rate());
+        }
+        if (required.contains(Metric.TOTAL_RETURN)) {
+            // 누적 수익율 배당금 포함. (총수익률은 마지막 값, 배당이 없으면 가격 수익률과 같음)
+            builder.totalReturn(evaluation.totalReturn());
+        }
+        if (required.contains(Metric.CAGR)) {
+            // Calculate CAGR using actual time period
+            double startPrice = prices.get(0);
+            double endPrice = startPrice * priceReturn.rate() + startPrice;
+            log.debug("calculateStockReturn.startPrice:{} endPrice:{}", startPrice, endPrice);
+            double years = calculateYearsBetweenPrices(timestamps);
+            builder.cagr(years > 0 ? returnCalculator.calculateCAGR(startPrice, endPrice, years).rate() : 0.0);
+        }
+        if (required.contains(Metric.PERIODIC_RETURNS)) {
+            // 배당 미포함 지표는 가격 배열 하나로 계산 (수치 커널 사용)
+            builder.periodicReturnRates(toList(evaluation.periodicReturns()));
+        }
+        if (required.contains(Metric.VOLATILITY)) {
+            double volatility = evaluation.volatility();
+            log.debug("calculateStockReturn.ticker:{} volatility:{}", ticker, volatility);
+            builder.volatility(volatility);
+        }
+        if (required.contains(Metric.SHARPE_RATIO)) {
+            builder.sharpeRatio(evaluation.sharpeRatio());
+        }
+        if (required.contains(Metric.CUMULATIVE_RETURNS)) {
+            // 배당금 재투자 가능.
+            builder.cumulativeReturns(toList(includeDividends
+                    ? evaluation.totalReturnSeries()
+                    : evaluation.priceGrowth()));
+        }
+        if (evaluation.reconcilesAdjustedClose() && (required.contains(Metric.TOTAL_RETURN)
+                || (includeDividends && required.contains(Metric.CUMULATIVE_RETURNS)))) {
+            double divergence = evaluation.adjustedCloseDivergence();
+            if (divergence > ADJUSTED_CLOSE_TOLERANCE) {
+                log.warn("{} adjusted close total return diverged from dividend reinvestment by {}", ticker,
+                        divergence);
+            }
+            builder.adjustedCloseDivergence(divergence);
+        }
+        if (required.contains(Metric.BETA)) {
+            // 지수 수익률/분산은 벤치마크 컨텍스트의 값을 재사용
+            builder.beta(evaluation.beta());
+        }
+        if (required.contains(Metric.DRAWDOWNS)) {
+            builder.maxDrawdowns(toList(evaluation.drawdowns()))
+                    .maxDrawdown(evaluation.maxDrawdown());
+        }
+        if (required.contains(Metric.DRAWDOWN_EPISODES)) {
+            List<DrawdownEpisode> episodes = drawdownEpisodes(evaluation.prices(), timestamps);
+            builder.drawdownEpisodes(episodes);
+            if (!required.contains(Metric.DRAWDOWNS)) {
+                // 가장 깊은 구간의 깊이가 최대 낙폭 (시점별 낙폭 목록 없이)
+                builder.maxDrawdown(episodes.isEmpty() ? 0.0 : episodes.get(0).depth());
+            }
+        }
+        if (required.contains(Metric.AMOUNTS)) {
+            // Calculate amount changes if initial amount is provided
+            List<Double> amountChanges = List.of();
+            List<Double> amountDividends = List.of();
+            if (initialAmount > 0) {
+                evaluation.computeAmounts(includeDividends, initialAmount, weight);
+                amountChanges = toList(evaluation.amounts());
+                amountDividends = toList(evaluation.amountDividends());
+            }
+            builder.amountChanges(amountChanges)
+                    .amountDividens(amountDividends);
+        }
+        if (required.contains(Metric.DATES)) {
+            builder.dates(extractDates(timestamps));
+        }
+        if (required.contains(Metric.ROLLING_RISKS) && rollingWindows != null && !rollingWindows.isEmpty()) {
+            builder.rollingRisks(rollingRiskCalculator.calculate(evaluation.prices(), benchmark, rollingWindows,
+                    frequency));
+        }
+        return builder.build();
     }
 
     private StockReturnData calculateStockReturn(
-            boolean includeDividends, String ticker, StockHistories stockHistories, List<Double> indexPrices,
-            double initialAmount, double weight) {
+            boolean includeDividends, String ticker, StockHistories stockHistories, BenchmarkContext benchmark,
+            double initialAmount, double weight, List<Integer> rollingWindows, BarFrequency frequency,
+            Set<Metric> metrics, boolean adjustedClose, boolean reconcile) {
         // Extract prices and timestamps from chart response
         List<Double> prices = stockHistories.prices();
         List<Long> timestamps = stockHistories.timestamps();
         List<Dividend> dividends = stockHistories.dividends();
-        if (prices.size() != indexPrices.size()) {
+        if (prices.size() != benchmark.size()) {
             throw new IllegalArgumentException("Prices and index prices must have the same size");
         }
-        return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividends, indexPrices, initialAmount,
-                weight);
+        if (!adjustedClose || prices.isEmpty()) {
+            return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividends, benchmark,
+                    initialAmount, weight, rollingWindows, frequency, metrics);
+        }
+        MetricEvaluation evaluation = new MetricEvaluation(returnCalculator, toArray(prices), timestamps, dividends,
+                benchmark, frequency);
+        double[] adjustedPrices = adjustedPrices(stockHistories.adjustedPrices(), prices.size());
+        if (adjustedPrices != null) {
+            evaluation.useAdjustedClose(adjustedPrices, reconcile);
+        } else {
+            log.debug("{} has no adjusted close, using dividend reinvestment", ticker);
+        }
+        return calculateStockReturn(includeDividends, ticker, prices, timestamps, dividends, evaluation, benchmark,
+                initialAmount, weight, rollingWindows, frequency, metrics);
+    }
+
+    /**
+     * 더 많은 지표로 계산한 결과에서 요청 지표와 그 입력 지표의 필드만 남긴 사본을 만듭니다.
+     * (분석 결과 캐시를 더 작은 지표 집합의 요청에 재사용할 때, 요청하지 않은 지표는 null로 유지)
+     * 시계열은 복사하지 않고 공유합니다.
+     */
+    static StockReturnData retain(StockReturnData data, boolean includeDividends, Set<Metric> metrics) {
+        final Set<Metric> required = Metric.closure(metrics, includeDividends);
+        StockReturnData.StockReturnDataBuilder builder = StockReturnData.builder()
+                .ticker(data.getTicker())
+                .prices(data.getPrices())
+                .timestamps(data.getTimestamps())
+                .dividends(data.getDividends())
+                .initialAmount(data.getInitialAmount());
+        if (required.contains(Metric.PRICE_RETURN)) {
+            builder.priceReturn(data.getPriceReturn());
+        }
+        if (required.contains(Metric.TOTAL_RETURN)) {
+            builder.totalReturn(data.getTotalReturn());
+        }
+        if (required.contains(Metric.CAGR)) {
+            builder.cagr(data.getCagr());
+        }
+        if (required.contains(Metric.PERIODIC_RETURNS)) {
+            builder.periodicReturnRates(data.getPeriodicReturnRates());
+        }
+        if (required.contains(Metric.VOLATILITY)) {
+            builder.volatility(data.getVolatility());
+        }
+        if (required.contains(Metric.SHARPE_RATIO)) {
+            builder.sharpeRatio(data.getSharpeRatio());
+        }
+        if (required.contains(Metric.CUMULATIVE_RETURNS)) {
+            builder.cumulativeReturns(data.getCumulativeReturns());
+        }
+        if (required.contains(Metric.TOTAL_RETURN)
+                || (includeDividends && required.contains(Metric.CUMULATIVE_RETURNS))) {
+            builder.adjustedCloseDivergence(data.getAdjustedCloseDivergence());
+        }
+        if (required.contains(Metric.BETA)) {
+            builder.beta(data.getBeta());
+        }
+        if (required.contains(Metric.DRAWDOWNS)) {
+            builder.maxDrawdowns(data.getMaxDrawdowns());
+        }
+        if (required.contains(Metric.DRAWDOWNS) || required.contains(Metric.DRAWDOWN_EPISODES)) {
+            builder.maxDrawdown(data.getMaxDrawdown());
+        }
+        if (required.contains(Metric.DRAWDOWN_EPISODES)) {
+            builder.drawdownEpisodes(data.getDrawdownEpisodes());
+        }
+        if (required.contains(Metric.AMOUNTS)) {
+            builder.amountChanges(data.getAmountChanges())
+                    .amountDividens(data.getAmountDividens());
+        }
+        if (required.contains(Metric.DATES)) {
+            builder.dates(data.getDates());
+        }
+        if (required.contains(Metric.ROLLING_RISKS)) {
+            builder.rollingRisks(data.getRollingRisks());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 가격과 같은 길이이고 빠진 값이 없으며 시작 값이 양수인 조정 종가 배열 (아니면 null)
+     */
+    static double[] adjustedPrices(List<Double> adjustedPrices, int size) {
+        if (adjustedPrices == null || adjustedPrices.size() != size || adjustedPrices.contains(null)) {
+            return null;
+        }
+        double[] array = toArray(adjustedPrices);
+        return array[0] > 0 ? array : null;
+    }
+
+    /**
+     * 가장 깊은 {@value #DRAWDOWN_EPISODES}개 낙폭 구간에 날짜/기간을 붙입니다.
+     */
+    private static List<DrawdownEpisode> drawdownEpisodes(double[] prices, List<Long> timestamps) {
+        List<DrawdownEpisodeDetector.Episode> episodes = DrawdownEpisodeDetector.detect(prices, DRAWDOWN_EPISODES);
+        List<DrawdownEpisode> result = new ArrayList<>(episodes.size());
+        int last = prices.length - 1;
+        for (DrawdownEpisodeDetector.Episode episode : episodes) {
+            int end = episode.recovered() ? episode.recoveryIndex() : last;
+            long peakDay = EpochCalendar.epochDay(timestamps.get(episode.peakIndex()));
+            long endDay = EpochCalendar.epochDay(timestamps.get(end));
+            result.add(new DrawdownEpisode(
+                    LocalDate.ofEpochDay(peakDay),
+                    LocalDate.ofEpochDay(EpochCalendar.epochDay(timestamps.get(episode.troughIndex()))),
+                    episode.recovered() ? LocalDate.ofEpochDay(endDay) : null,
+                    episode.depth(),
+                    end - episode.peakIndex(),
+                    endDay - peakDay));
+        }
+        return result;
+    }
+
+    private static double[] toArray(List<Double> values) {
+        return PackedDoubleList.toArray(values);
+    }
+
+    private static List<Double> toList(double[] values) {
+        // 박싱하지 않고 배열을 그대로 감싸 종목당 메모리를 줄임
+        return PackedDoubleList.wrap(values);
     }
 
 }
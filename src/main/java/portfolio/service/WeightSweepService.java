@@ -0,0 +1,182 @@
+package portfolio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import portfolio.model.BarFrequency;
+import portfolio.model.FetchedStockDatas;
+import portfolio.model.SweepRequest;
+import portfolio.model.SweepResponse;
+import portfolio.util.NavMatrix;
+
+/**
+ * 한 번 조회한 데이터로 여러 가중치 조합의 포트폴리오 지표를 계산하는 서비스
+ *
+ * <p>
+ * 조회와 가격 행렬 생성은 요청당 한 번만 수행합니다. 가중치 조합은 {@value #CHUNK_SIZE}개 단위로 나누어
+ * {@link NavMatrix#aggregateAll}로 NAV를 한 번에 합산하고, 묶음이 여러 개이면 계산 풀에서 병렬로 평가합니다.
+ * 묶음마다 작업 배열을 한 번만 할당하고 조합별로 재사용합니다.
+ */
+@Slf4j
+@Service
+public class WeightSweepService {
+    /** 한 번에 NAV를 합산하는 가중치 조합 수 */
+    static final int CHUNK_SIZE = 64;
+
+    private final PortfolioReturnService portfolioReturnService;
+    private final StockReturnCalculator stockReturnCalculator;
+    private final ReturnCalculator returnCalculator;
+    private final ForkJoinPool computePool;
+    private final int maxWeightSets;
+
+    public WeightSweepService(
+            PortfolioReturnService portfolioReturnService,
+            StockReturnCalculator stockReturnCalculator,
+            ReturnCalculator returnCalculator,
+            ForkJoinPool computePool,
+            @Value("${portfolio.sweep.max-weight-sets:5000}") int maxWeightSets) {
+        this.portfolioReturnService = portfolioReturnService;
+        this.stockReturnCalculator = stockReturnCalculator;
+        this.returnCalculator = returnCalculator;
+        this.computePool = computePool;
+        this.maxWeightSets = maxWeightSets;
+    }
+
+    /**
+     * 요청의 모든 가중치 조합을 평가합니다.
+     *
+     * @throws IllegalArgumentException 가중치 조합이 없거나, 최대 개수를 넘거나, 길이/값이 올바르지 않은 경우
+     */
+    public SweepResponse sweep(SweepRequest request) {
+        // 데이터를 조회하기 전에 가중치 조합을 검증
+        toWeightSets(request);
+        return sweep(request, portfolioReturnService.fetchStockData(request));
+    }
+
+    /**
+     * 이미 조회한 데이터로 요청의 모든 가중치 조합을 평가합니다.
+     *
+     * @throws IllegalArgumentException 가중치 조합이 올바르지 않은 경우
+     */
+    public SweepResponse sweep(SweepRequest request, FetchedStockDatas fetchedStockDatas) {
+        double[][] weightSets = toWeightSets(request);
+        PortfolioReturnService.ConstituentNavs constituents = portfolioReturnService.constituentNavs(request,
+                fetchedStockDatas);
+        double[][] rows = evaluate(constituents.navMatrix(), constituents.timestamps(), request.getFrequency(),
+                weightSets);
+        return new SweepResponse(request.getTickers(), constituents.startDate(), constituents.endDate(),
+                SweepResponse.COLUMNS, rows);
+    }
+
+    /**
+     * 가중치 조합별 지표 행({@link SweepResponse#COLUMNS} 순서)을 계산합니다.
+     */
+    double[][] evaluate(NavMatrix navMatrix, List<Long> timestamps, BarFrequency frequency, double[][] weightSets) {
+        final double years = stockReturnCalculator.calculateYearsBetweenPrices(timestamps);
+        final double[][] rows = new double[weightSets.length][];
+        if (weightSets.length <= CHUNK_SIZE) {
+            evaluateChunk(navMatrix, frequency, years, weightSets, 0, weightSets.length, rows);
+            return rows;
+        }
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < weightSets.length; from += CHUNK_SIZE) {
+            final int start = from;
+            final int end = Math.min(weightSets.length, from + CHUNK_SIZE);
+            tasks.add(() -> {
+                evaluateChunk(navMatrix, frequency, years, weightSets, start, end, rows);
+                return null;
+            });
+        }
+        runParallel(tasks);
+        return rows;
+    }
+
+    private void evaluateChunk(NavMatrix navMatrix, BarFrequency frequency, double years, double[][] weightSets,
+            int start, int end, double[][] rows) {
+        final int periods = navMatrix.periods();
+        final int count = end - start;
+        final double[][] chunkWeights = new double[count][];
+        System.arraycopy(weightSets, start, chunkWeights, 0, count);
+        final double[][] navs = new double[count][periods];
+        final double[][] dividendCashes = new double[count][periods];
+        navMatrix.aggregateAll(chunkWeights, navs, dividendCashes);
+
+        // 조합별로 재사용하는 작업 배열
+        final double[] periodicReturns = new double[Math.max(0, periods - 1)];
+        final double[] drawdowns = new double[periods];
+        for (int k = 0; k < count; k++) {
+            double[] nav = navs[k];
+            double startValue = nav[0];
+            double endValue = nav[periods - 1];
+            // /analyze의 포트폴리오 지표와 같은 정의 (CAGR/변동성/샤프/낙폭은 배당 미포함 NAV 기준)
+            double cagr = years > 0 ? returnCalculator.calculateCAGR(startValue, endValue, years).rate() : 0.0;
+            returnCalculator.calculatePeriodicReturnRates(nav, periodicReturns);
+            double volatility = returnCalculator.calculateVolatility(periodicReturns, frequency);
+            double sharpeRatio = returnCalculator.calculateSharpeRatio(periodicReturns, frequency);
+            double maxDrawdown = returnCalculator.calculateMaxDrawdowns(nav, drawdowns);
+            double totalReturn = returnCalculator.calculateTotalReturn(nav, dividendCashes[k]);
+            rows[start + k] = new double[] { cagr, volatility, sharpeRatio, maxDrawdown, totalReturn };
+        }
+    }
+
+    private void runParallel(List<Callable<Void>> tasks) {
+        log.debug("evaluate parallel chunks:{} parallelism:{}", tasks.size(), computePool.getParallelism());
+        for (Future<Void> future : computePool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Weight sweep interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private double[][] toWeightSets(SweepRequest request) {
+        if (request.getTickers() == null || request.getTickers().isEmpty()) {
+            throw new IllegalArgumentException("Tickers cannot be null or empty");
+        }
+        List<List<Double>> weightSets = request.getWeightSets();
+        if (weightSets == null || weightSets.isEmpty()) {
+            throw new IllegalArgumentException("Weight sets cannot be empty");
+        }
+        if (weightSets.size() > maxWeightSets) {
+            throw new IllegalArgumentException("At most " + maxWeightSets + " weight sets are allowed");
+        }
+        int size = request.getTickers().size();
+        double[][] array = new double[weightSets.size()][];
+        for (int k = 0; k < array.length; k++) {
+            List<Double> weights = weightSets.get(k);
+            if (weights == null || weights.size() != size) {
+                throw new IllegalArgumentException("Each weight set must have one entry per ticker");
+            }
+            double[] row = new double[size];
+            double sum = 0.0;
+            for (int j = 0; j < size; j++) {
+                Double weight = weights.get(j);
+                if (weight == null || !Double.isFinite(weight) || weight < 0) {
+                    throw new IllegalArgumentException("Weights must be non-negative numbers");
+                }
+                row[j] = weight;
+                sum += weight;
+            }
+            if (!(sum > 0)) {
+                throw new IllegalArgumentException("Weights must not all be zero");
+            }
+            array[k] = row;
+        }
+        return array;
+    }
+}
@@ -0,0 +1,72 @@
+package portfolio.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * 뒤에 추가만 가능한 리스트로, 현재 길이까지의 읽기 전용 스냅샷을 복사 없이 만들 수 있습니다.
+ *
+ * <p>
+ * 이미 들어간 요소는 바뀌지 않고 배열이 꽉 차면 새 배열로 옮기므로, 스냅샷은 만든 시점의 배열과 길이만 들고 있어도
+ * 이후 추가와 상관없이 같은 내용을 유지합니다. 누적 지표 상태처럼 시계열이 계속 늘어나면서 매번 결과를 반환하는 곳에서
+ * 전체 복사({@code List.copyOf}) 대신 사용합니다. 추가는 한 스레드에서만 하고, 스냅샷은 여러 스레드에서 읽을 수 있습니다.
+ */
+public final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] elements = new Object[DEFAULT_CAPACITY];
+    private int size;
+
+    @Override
+    public boolean add(E element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 현재 길이까지의 읽기 전용 스냅샷을 반환합니다. (O(1), 이후 추가는 반영되지 않음)
+     */
+    public List<E> snapshot() {
+        return new Snapshot<>(elements, size);
+    }
+
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] elements;
+        private final int size;
+
+        Snapshot(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return (E) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package portfolio.util;
+
+import java.util.Arrays;
+
+/**
+ * 종목/지수별 타임스탬프 배열을 하나의 공통 달력으로 맞춥니다.
+ *
+ * <p>
+ * 각 배열은 오름차순이어야 하며 같은 날짜(UTC epoch day)의 막대는 같은 시점으로 봅니다. 배열들의 현재 위치를
+ * 날짜 기준 최소 힙에 넣어 k-way 병합하므로 비용은 전체 점 수 N과 배열 수 k에 대해 O(N log k)이고, 결과는
+ * 공통 달력과 달력 시점마다 각 배열에서 가져올 원본 인덱스입니다.
+ * <ul>
+ * <li>교집합: 모든 배열에 있는 날짜만 남깁니다.</li>
+ * <li>합집합 + 직전 값 채우기: 모든 배열이 시작된 날짜(가장 늦은 시작일)부터 어느 한 배열에라도 있는 날짜를
+ * 남기고, 막대가 없는 배열은 직전 막대를 사용합니다.</li>
+ * </ul>
+ * 한 배열에 같은 날짜가 여러 번 있으면 마지막 막대를 사용합니다.
+ */
+public final class CalendarAligner {
+
+    private CalendarAligner() {
+    }
+
+    /**
+     * 정렬 결과
+     *
+     * @param timestamps  공통 달력 (날짜별로 그 날짜에 막대가 있는 배열 중 가장 이른 타임스탬프)
+     * @param sourceIndex sourceIndex[s][i]는 달력 i번째 시점에 배열 s에서 사용할 원본 인덱스
+     */
+    public record Alignment(long[] timestamps, int[][] sourceIndex) {
+
+        public int size() {
+            return timestamps.length;
+        }
+
+        /**
+         * 배열 s의 원본 값을 공통 달력에 맞춘 열로 반환합니다.
+         */
+        public double[] column(int series, double[] values) {
+            int[] index = sourceIndex[series];
+            double[] column = new double[index.length];
+            for (int i = 0; i < column.length; i++) {
+                column[i] = values[index[i]];
+            }
+            return column;
+        }
+
+        /**
+         * 모든 배열의 원본 값을 공통 달력에 맞춘 열 행렬(columns[s][i])로 반환합니다.
+         */
+        public double[][] columns(double[][] values) {
+            double[][] columns = new double[values.length][];
+            for (int s = 0; s < values.length; s++) {
+                columns[s] = column(s, values[s]);
+            }
+            return columns;
+        }
+    }
+
+    /**
+     * 타임스탬프 배열들을 공통 달력으로 정렬합니다.
+     *
+     * @param timestamps  배열별 오름차순 타임스탬프 (epoch second)
+     * @param forwardFill true면 합집합 + 직전 값 채우기, false면 교집합
+     * @throws IllegalArgumentException 배열이 없거나, 빈 배열이 있거나, 오름차순이 아닌 경우
+     */
+    public static Alignment align(long[][] timestamps, boolean forwardFill) {
+        int k = timestamps.length;
+        if (k == 0) {
+            throw new IllegalArgumentException("At least one timestamp series is required");
+        }
+        int capacity = forwardFill ? 0 : Integer.MAX_VALUE;
+        long startDay = Long.MIN_VALUE;
+        for (long[] series : timestamps) {
+            if (series == null || series.length == 0) {
+                throw new IllegalArgumentException("Timestamp series must not be empty");
+            }
+            capacity = forwardFill ? Math.max(capacity, series.length) : Math.min(capacity, series.length);
+            startDay = Math.max(startDay, EpochCalendar.epochDay(series[0]));
+        }
+
+        int[] cursor = new int[k];
+        long[] currentDay = new long[k];
+        int[] last = new int[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int s = 0; s < k; s++) {
+            currentDay[s] = EpochCalendar.epochDay(timestamps[s][0]);
+            heap[heapSize] = s;
+            siftUp(heap, heapSize++, currentDay);
+        }
+
+        long[] calendar = new long[capacity];
+        int[][] sourceIndex = new int[k][capacity];
+        int size = 0;
+        while (heapSize > 0) {
+            long day = currentDay[heap[0]];
+            long stamp = Long.MAX_VALUE;
+            int present = 0;
+            while (heapSize > 0 && currentDay[heap[0]] == day) {
+                int s = heap[0];
+                long[] series = timestamps[s];
+                int index = cursor[s];
+                stamp = Math.min(stamp, series[index]);
+                while (index + 1 < series.length && EpochCalendar.epochDay(series[index + 1]) == day) {
+                    index++;
+                }
+                last[s] = index;
+                present++;
+                cursor[s] = index + 1;
+                if (cursor[s] < series.length) {
+                    long next = EpochCalendar.epochDay(series[cursor[s]]);
+                    if (next < day) {
+                        throw new IllegalArgumentException("Timestamps must be in ascending order");
+                    }
+                    currentDay[s] = next;
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, currentDay);
+            }
+            if (!forwardFill && present < k) {
+                // 교집합은 소진된 배열이 하나라도 있으면 더 이상 공통 날짜가 없음
+                if (heapSize < k) {
+                    break;
+                }
+                continue;
+            }
+            if (forwardFill && day < startDay) {
+                continue;
+            }
+            if (size == calendar.length) {
+                int grown = Math.max(16, size * 2);
+                calendar = Arrays.copyOf(calendar, grown);
+                for (int s = 0; s < k; s++) {
+                    sourceIndex[s] = Arrays.copyOf(sourceIndex[s], grown);
+                }
+            }
+            calendar[size] = stamp;
+            for (int s = 0; s < k; s++) {
+                sourceIndex[s][size] = last[s];
+            }
+            size++;
+        }
+
+        if (size != calendar.length) {
+            calendar = Arrays.copyOf(calendar, size);
+            for (int s = 0; s < k; s++) {
+                sourceIndex[s] = Arrays.copyOf(sourceIndex[s], size);
+            }
+        }
+        return new Alignment(calendar, sourceIndex);
+    }
+
+    /**
+     * target의 시점마다 같은 날짜 또는 그 이전의 마지막 source 인덱스를 반환합니다. (두 배열을 한 번씩 순회)
+     * target 시점이 source의 첫 날짜보다 앞서면 첫 인덱스(0)를 사용합니다. 환율처럼 다른 달력의 시계열을
+     * 가격 달력에 맞출 때 사용합니다.
+     *
+     * @param target 기준 달력 (오름차순)
+     * @param source 맞출 시계열의 타임스탬프 (오름차순, 비어 있지 않아야 함)
+     * @throws IllegalArgumentException source가 비어 있는 경우
+     */
+    public static int[] asOf(long[] target, long[] source) {
+        if (source.length == 0) {
+            throw new IllegalArgumentException("Timestamp series must not be empty");
+        }
+        int[] index = new int[target.length];
+        int j = 0;
+        for (int i = 0; i < target.length; i++) {
+            long day = EpochCalendar.epochDay(target[i]);
+            while (j + 1 < source.length && EpochCalendar.epochDay(source[j + 1]) <= day) {
+                j++;
+            }
+            index[i] = j;
+        }
+        return index;
+    }
+
+    private static void siftUp(int[] heap, int position, long[] keys) {
+        int item = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[heap[parent]] <= keys[item]) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] keys) {
+        if (size == 0) {
+            return;
+        }
+        int position = 0;
+        int item = heap[0];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[item] <= keys[heap[child]]) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = item;
+    }
+}
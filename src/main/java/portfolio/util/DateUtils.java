@@ -1,6 +1,5 @@
 package portfolio.util;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -54,12 +53,12 @@ public class DateUtils {
     }
 
     /**
-     * Convert unix timestamp (seconds since epoch) to LocalDate
+     * Convert unix timestamp (seconds since epoch) to LocalDate (UTC)
      * 
      * @param epochSecond unix timestamp as long
      * @return LocalDate
      */
     public static LocalDate toLocalDate(long epochSecond) {
-        return Instant.ofEpochSecond(epochSecond).atZone(ZoneOffset.UTC).toLocalDate();
+        return LocalDate.ofEpochDay(EpochCalendar.epochDay(epochSecond));
     }
 }
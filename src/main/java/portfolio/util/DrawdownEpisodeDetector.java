@@ -0,0 +1,89 @@
+package portfolio.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 가격 배열에서 낙폭 구간(고점 → 저점 → 회복)을 한 번의 순회로 찾고 가장 깊은 K개만 남깁니다.
+ *
+ * <p>
+ * 구간은 가격이 직전 고점 아래로 내려간 시점부터 고점 이상으로 회복한 시점까지이며, 끝까지 회복하지 못한 구간은
+ * 회복 인덱스가 -1입니다. 후보는 크기 K의 최소 힙(깊이 기준)에 넣어 더 얕은 구간을 밀어내므로
+ * 메모리는 가격 수와 무관하게 O(K)입니다. 낙폭 정의는 {@link NumericKernels#drawdowns}와 같은 (고점 - 가격) / 고점입니다.
+ */
+public final class DrawdownEpisodeDetector {
+
+    private DrawdownEpisodeDetector() {
+    }
+
+    /**
+     * 낙폭 구간
+     *
+     * @param peakIndex     직전 고점 인덱스
+     * @param troughIndex   구간 최저점 인덱스
+     * @param recoveryIndex 고점 이상으로 회복한 첫 인덱스 (회복하지 못했으면 -1)
+     * @param depth         최대 낙폭 (고점 - 저점) / 고점
+     */
+    public record Episode(int peakIndex, int troughIndex, int recoveryIndex, double depth) {
+
+        public boolean recovered() {
+            return recoveryIndex >= 0;
+        }
+    }
+
+    private static final Comparator<Episode> BY_DEPTH = Comparator.comparingDouble(Episode::depth)
+            .thenComparing(Comparator.comparingInt(Episode::peakIndex).reversed());
+
+    /**
+     * 가장 깊은 낙폭 구간을 깊이 내림차순(같으면 먼저 시작한 구간 우선)으로 최대 topK개 반환합니다.
+     *
+     * @param prices 가격 배열
+     * @param topK   반환할 최대 구간 수
+     * @throws IllegalArgumentException topK가 1 미만인 경우
+     */
+    public static List<Episode> detect(double[] prices, int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        PriorityQueue<Episode> heap = new PriorityQueue<>(topK + 1, BY_DEPTH);
+        int peakIndex = 0;
+        int troughIndex = -1;
+        double peak = prices.length == 0 ? 0.0 : prices[0];
+        double depth = 0.0;
+        for (int i = 1; i < prices.length; i++) {
+            double price = prices[i];
+            if (price >= peak) {
+                if (troughIndex >= 0) {
+                    offer(heap, new Episode(peakIndex, troughIndex, i, depth), topK);
+                    troughIndex = -1;
+                    depth = 0.0;
+                }
+                peak = price;
+                peakIndex = i;
+            } else {
+                double drawdown = peak == 0.0 ? 0.0 : (peak - price) / peak;
+                if (drawdown > depth) {
+                    depth = drawdown;
+                    troughIndex = i;
+                }
+            }
+        }
+        if (troughIndex >= 0) {
+            offer(heap, new Episode(peakIndex, troughIndex, -1, depth), topK);
+        }
+        List<Episode> episodes = new ArrayList<>(heap);
+        episodes.sort(BY_DEPTH.reversed());
+        return episodes;
+    }
+
+    private static void offer(PriorityQueue<Episode> heap, Episode episode, int topK) {
+        if (heap.size() < topK) {
+            heap.add(episode);
+        } else if (BY_DEPTH.compare(episode, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(episode);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package portfolio.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 응답 검증자(ETag) 생성과 If-None-Match 비교를 위한 유틸리티
+ *
+ * <p>
+ * ETag는 엔드포인트, 정규화한 요청 JSON(속성/맵 키 정렬), 원본 시계열의 버전 스탬프를 SHA-256으로 묶은 강한 검증자입니다.
+ * 같은 요청이라도 시계열이 다시 조회되어 값이 바뀌면 스탬프가 달라지므로 ETag도 달라집니다.
+ * 버전 스탬프는 {@link #mix}로 시계열 값을 순서대로 섞은 64비트 값입니다.
+ */
+public final class EntityTags {
+    /** 응답 형식이나 계산 방식이 바뀌면 올려서 이전 ETag를 모두 무효화 */
+    static final String FORMAT_VERSION = "1";
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private EntityTags() {
+    }
+
+    /**
+     * 스탬프에 값 하나를 순서대로 섞습니다. (splitmix64 마무리 함수)
+     */
+    public static long mix(long hash, long value) {
+        long h = Long.rotateLeft(hash, 31) ^ value;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * 스탬프에 double 값을 섞습니다. null은 NaN과 구분되는 별도 값으로 섞습니다.
+     */
+    public static long mix(long hash, Double value) {
+        return mix(hash, value == null ? 0x7FF8DEADBEEFL : Double.doubleToLongBits(value));
+    }
+
+    /**
+     * 스탬프에 문자열을 섞습니다. (null 허용)
+     */
+    public static long mix(long hash, String value) {
+        return mix(hash, value == null ? 0L : (long) value.hashCode() << 32 | value.length());
+    }
+
+    /**
+     * 엔드포인트, 요청, 시계열 버전 스탬프로 강한 ETag(따옴표 포함)를 만듭니다.
+     *
+     * @throws IllegalStateException 요청을 JSON으로 변환할 수 없는 경우
+     */
+    public static String strong(String endpoint, Object request, long versionStamp) {
+        return strong(endpoint, null, request, versionStamp);
+    }
+
+    /**
+     * 표현 형식(variant)별로 다른 강한 ETag를 만듭니다. 같은 요청이라도 JSON/CBOR 등 응답 바이트가 다르므로
+     * Accept 헤더 값을 variant로 넘깁니다. variant가 null이거나 비어 있으면 {@link #strong(String, Object, long)}과
+     * 같습니다.
+     *
+     * @throws IllegalStateException 요청을 JSON으로 변환할 수 없는 경우
+     */
+    public static String strong(String endpoint, String variant, Object request, long versionStamp) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update((FORMAT_VERSION + '\n' + endpoint + '\n').getBytes(StandardCharsets.UTF_8));
+        if (variant != null && !variant.isBlank()) {
+            digest.update((variant.trim() + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            digest.update(CANONICAL_MAPPER.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Request cannot be serialized for ETag", e);
+        }
+        digest.update(('\n' + Long.toHexString(versionStamp)).getBytes(StandardCharsets.UTF_8));
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+    }
+
+    /**
+     * {@link #strong(String, String, Object, long)}와 같은 값의 약한 ETag(W/ 접두사)를 만듭니다.
+     * 리포트 ID/생성 시각처럼 같은 데이터로도 응답 바이트가 매번 달라지는 응답에 사용합니다.
+     *
+     * @throws IllegalStateException 요청을 JSON으로 변환할 수 없는 경우
+     */
+    public static String weak(String endpoint, String variant, Object request, long versionStamp) {
+        return "W/" + strong(endpoint, variant, request, versionStamp);
+    }
+
+    /**
+     * If-None-Match 헤더 값이 ETag와 일치하는지 확인합니다.
+     * 쉼표로 구분된 목록과 "*"를 지원하고, RFC 9110에 따라 약한 비교(W/ 접두사 무시)를 합니다.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,146 @@
+package portfolio.util;
+
+/**
+ * Unix epoch second 기반의 UTC 달력 계산 유틸리티입니다.
+ *
+ * <p>
+ * {@code Instant}/{@code LocalDate}를 생성하지 않고 정수 연산만으로 epoch day, 연도, 월, 월말을 계산합니다.
+ * 가격/배당 시계열을 순회하는 반복문에서 사용하고, {@code LocalDate} 변환은 응답 직렬화 시점에만 수행합니다.
+ * (알고리즘: Howard Hinnant, "chrono-Compatible Low-Level Date Algorithms")
+ */
+public final class EpochCalendar {
+
+    public static final long SECONDS_PER_DAY = 86_400L;
+
+    /** 0000-03-01 부터 1970-01-01 까지의 일수 */
+    private static final long DAYS_0000_TO_1970 = 719_468L;
+    /** 400년(1 era)의 일수 */
+    private static final long DAYS_PER_ERA = 146_097L;
+
+    private EpochCalendar() {
+    }
+
+    /**
+     * epoch second를 UTC 기준 epoch day로 변환합니다.
+     *
+     * @param epochSecond unix timestamp(초)
+     * @return 1970-01-01 기준 일수
+     */
+    public static long epochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    }
+
+    /**
+     * epoch second의 UTC 연도를 반환합니다.
+     */
+    public static int year(long epochSecond) {
+        return yearOfEpochDay(epochDay(epochSecond));
+    }
+
+    /**
+     * epoch second의 UTC 월(1~12)을 반환합니다.
+     */
+    public static int month(long epochSecond) {
+        return monthOfEpochDay(epochDay(epochSecond));
+    }
+
+    /**
+     * epoch second의 UTC 일(1~31)을 반환합니다.
+     */
+    public static int dayOfMonth(long epochSecond) {
+        long doy = dayOfMarchYear(epochDay(epochSecond));
+        long mp = (5 * doy + 2) / 153;
+        return (int) (doy - (153 * mp + 2) / 5 + 1);
+    }
+
+    /**
+     * epoch second가 속한 달의 마지막 날을 epoch day로 반환합니다.
+     *
+     * @param epochSecond unix timestamp(초)
+     * @return 월말 epoch day
+     */
+    public static long monthEndEpochDay(long epochSecond) {
+        long day = epochDay(epochSecond);
+        int year = yearOfEpochDay(day);
+        int month = monthOfEpochDay(day);
+        return epochDayOf(year, month, lengthOfMonth(year, month));
+    }
+
+    /**
+     * epoch second가 속한 달의 마지막 날 0시(UTC)를 epoch second로 반환합니다.
+     */
+    public static long monthEndEpochSecond(long epochSecond) {
+        return monthEndEpochDay(epochSecond) * SECONDS_PER_DAY;
+    }
+
+    /**
+     * 기준 연도 대비 연도 버킷 인덱스를 반환합니다. (예: 기준 2020, 2023년 시점 → 3)
+     *
+     * @param epochSecond unix timestamp(초)
+     * @param baseYear    버킷 0에 해당하는 연도
+     * @return 연도 버킷 인덱스
+     */
+    public static int yearBucket(long epochSecond, int baseYear) {
+        return year(epochSecond) - baseYear;
+    }
+
+    /**
+     * epoch day의 UTC 연도를 반환합니다.
+     */
+    public static int yearOfEpochDay(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        long doe = z - era * DAYS_PER_ERA;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long year = yoe + era * 400;
+        return (int) (mp >= 10 ? year + 1 : year);
+    }
+
+    /**
+     * epoch day의 UTC 월(1~12)을 반환합니다.
+     */
+    public static int monthOfEpochDay(long epochDay) {
+        long mp = (5 * dayOfMarchYear(epochDay) + 2) / 153;
+        return (int) (mp < 10 ? mp + 3 : mp - 9);
+    }
+
+    /**
+     * 연/월/일을 epoch day로 변환합니다.
+     */
+    public static long epochDayOf(int year, int month, int dayOfMonth) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * DAYS_PER_ERA + doe - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 해당 연/월의 일수를 반환합니다.
+     */
+    public static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 3월 1일을 0으로 하는 연중 일수(0~365)를 반환합니다.
+     */
+    private static long dayOfMarchYear(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        long doe = z - era * DAYS_PER_ERA;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        return doe - (365 * yoe + yoe / 4 - yoe / 100);
+    }
+}
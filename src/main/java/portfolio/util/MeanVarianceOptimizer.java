@@ -0,0 +1,826 @@
+package portfolio.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.DecompositionSolver;
+
+/**
+ * 평균 수익률 벡터와 공분산 행렬로 평균-분산 최적 비중을 계산합니다.
+ *
+ * <p>
+ * 비중은 합이 1이고 종목별로 [minWeight, maxWeight] 범위(롱 온리는 [0, 1])에 있어야 합니다.
+ * 최소분산 문제는 이 집합 위에서 가속 사영 경사법(FISTA, 적응적 재시작)으로 근사 해를 구한 뒤,
+ * 상/하한에 걸린 종목(활성 제약)을 고정하고 나머지 종목의 KKT 방정식을 촐레스키 분해로 풀어 정확한 해로 다듬습니다.
+ * 활성 제약을 고정하면 해는 목표 수익률에 대해 선형이므로, 효율적 투자선은 최소분산 해에서 시작해
+ * 활성 제약이 바뀌는 지점마다 방정식만 다시 풀며 따라갑니다(critical line 방식).
+ * 최대 샤프 포트폴리오는 투자선 위에서 황금분할 탐색으로 찾습니다.
+ * 활성 제약 추적이 실패하는 경우(특이 공분산 등)에는 목표 수익률 제약을 증강 라그랑지안으로 넣은 사영 경사법으로 풉니다.
+ */
+public final class MeanVarianceOptimizer {
+    /** 내부 사영 경사법 최대 반복 횟수 */
+    static final int MAX_ITERATIONS = 20_000;
+    /** 증강 라그랑지안 외부 반복 최대 횟수 */
+    static final int MAX_OUTER_ITERATIONS = 100;
+    /** 최대 샤프 탐색의 황금분할 반복 횟수 (구간이 0.618^횟수로 줄어듦) */
+    static final int GOLDEN_SECTION_ITERATIONS = 40;
+    /** 반복 간 비중 변화(최대 절댓값)와 목표 수익률 오차의 수렴 기준 */
+    static final double TOLERANCE = 1e-10;
+    /** 활성 제약을 정하기 위한 근사 해의 수렴 기준 */
+    static final double COARSE_TOLERANCE = 1e-7;
+    /** 비중이 상/하한에 걸렸다고 보는 거리 */
+    static final double BOUND_TOLERANCE = 1e-9;
+    /** 고정 종목의 라그랑주 승수 부호 허용 오차 */
+    static final double KKT_TOLERANCE = 1e-9;
+
+    private static final double GOLDEN_RATIO = (Math.sqrt(5.0) - 1.0) / 2.0;
+    private static final byte FREE = 0;
+    private static final byte LOWER = 1;
+    private static final byte UPPER = 2;
+
+    private final int n;
+    private final double[] mean;
+    /** 공분산 (n × n, row-major) */
+    private final double[] covariance;
+    private final double minWeight;
+    private final double maxWeight;
+    /** 공분산 최대 고윳값 (경사 2Σw의 립시츠 상수 = 2 × 이 값) */
+    private final double maxEigenvalue;
+    /**
+     * 평균을 뺀 평균 벡터의 제곱 노름.
+     * 합이 1인 두 비중의 차이는 합이 0이므로 수익률 제약 항의 곡률은 이 값으로 정해짐
+     */
+    private final double centeredMeanNormSquared;
+
+    /**
+     * @param mean       종목별 기대 수익률
+     * @param covariance 공분산 행렬 (n × n, row-major, 대칭)
+     * @param minWeight  종목별 최소 비중 (0 이상)
+     * @param maxWeight  종목별 최대 비중 (1 이하)
+     * @throws IllegalArgumentException 크기가 맞지 않거나 비중 범위로 합 1을 만들 수 없는 경우
+     */
+    public MeanVarianceOptimizer(double[] mean, double[] covariance, double minWeight, double maxWeight) {
+        if (mean == null || mean.length == 0) {
+            throw new IllegalArgumentException("At least one asset is required");
+        }
+        int size = mean.length;
+        if (covariance == null || covariance.length != size * size) {
+            throw new IllegalArgumentException("Covariance must be assets × assets");
+        }
+        if (!(minWeight >= 0) || !(maxWeight <= 1) || minWeight > maxWeight) {
+            throw new IllegalArgumentException("Weight bounds must satisfy 0 <= minWeight <= maxWeight <= 1");
+        }
+        if (minWeight * size > 1 + 1e-12 || maxWeight * size < 1 - 1e-12) {
+            throw new IllegalArgumentException("Weight bounds are infeasible for " + size + " assets");
+        }
+        this.n = size;
+        this.mean = mean.clone();
+        this.covariance = covariance.clone();
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        this.maxEigenvalue = estimateMaxEigenvalue(this.covariance, size);
+        double average = 0.0;
+        for (double value : mean) {
+            average += value / size;
+        }
+        double normSquared = 0.0;
+        for (double value : mean) {
+            normSquared += (value - average) * (value - average);
+        }
+        this.centeredMeanNormSquared = normSquared;
+    }
+
+    public int assets() {
+        return n;
+    }
+
+    /**
+     * 포트폴리오 기대 수익률 w·μ
+     */
+    public double expectedReturn(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += weights[i] * mean[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 포트폴리오 표준편차 √(wᵀΣw)
+     */
+    public double volatility(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += weights[i] * rowProduct(i, weights);
+        }
+        return Math.sqrt(Math.max(0.0, sum));
+    }
+
+    /**
+     * (w·μ - rf) / σ, 분산이 0이면 0
+     */
+    public double sharpe(double[] weights, double riskFreeRate) {
+        double volatility = volatility(weights);
+        return volatility > 0 ? (expectedReturn(weights) - riskFreeRate) / volatility : 0.0;
+    }
+
+    /**
+     * 최소분산 포트폴리오
+     */
+    public double[] minimumVariance() {
+        double[] start = new double[n];
+        project(equalWeights(), start);
+        double[] coarse = solve(start, 0.0, 0.0, 0.0, COARSE_TOLERANCE);
+        double[] exact = polish(coarse, false, 0.0);
+        if (exact != null) {
+            return exact;
+        }
+        double[] fine = solve(coarse, 0.0, 0.0, 0.0, TOLERANCE);
+        exact = polish(fine, false, 0.0);
+        return exact != null ? exact : fine;
+    }
+
+    /**
+     * 비중 범위 안에서 기대 수익률이 가장 높은 포트폴리오 (수익률 높은 종목부터 최대 비중으로 채움)
+     */
+    public double[] maximumReturn() {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(mean[b], mean[a]));
+        double[] weights = new double[n];
+        Arrays.fill(weights, minWeight);
+        double remaining = 1.0 - minWeight * n;
+        for (int k = 0; k < n && remaining > 0; k++) {
+            double add = Math.min(maxWeight - minWeight, remaining);
+            weights[order[k]] += add;
+            remaining -= add;
+        }
+        return weights;
+    }
+
+    /**
+     * 기대 수익률이 목표값인 포트폴리오 중 분산이 가장 작은 포트폴리오
+     *
+     * @param targetReturn 목표 기대 수익률 (최소분산 ~ 최대 수익률 사이)
+     * @throws IllegalArgumentException 목표 수익률이 최소분산 포트폴리오 ~ 최대 수익률 범위를 벗어난 경우
+     */
+    public double[] minimumVarianceForReturn(double targetReturn) {
+        return minimumVarianceForReturn(targetReturn, minimumVariance());
+    }
+
+    /**
+     * 이미 구한 최소분산 포트폴리오에서 시작하는 {@link #minimumVarianceForReturn(double)}
+     *
+     * @param minimumVariance {@link #minimumVariance()}의 결과
+     */
+    public double[] minimumVarianceForReturn(double targetReturn, double[] minimumVariance) {
+        double low = expectedReturn(minimumVariance);
+        double high = expectedReturn(maximumReturn());
+        double slack = TOLERANCE * Math.max(1.0, Math.abs(high));
+        if (!(targetReturn >= low - slack && targetReturn <= high + slack)) {
+            throw new IllegalArgumentException("Target return must be between " + low + " and " + high);
+        }
+        return follow(minimumVariance, low, targetReturn);
+    }
+
+    /**
+     * 최소분산부터 최대 수익률까지 목표 수익률을 균등하게 나눈 효율적 투자선
+     *
+     * @param points 점 개수 (2 이상)
+     */
+    public List<double[]> frontier(int points) {
+        return frontier(points, minimumVariance());
+    }
+
+    /**
+     * 이미 구한 최소분산 포트폴리오에서 시작하는 {@link #frontier(int)} (첫 점은 minimumVariance 자체)
+     *
+     * @param minimumVariance {@link #minimumVariance()}의 결과
+     */
+    public List<double[]> frontier(int points, double[] minimumVariance) {
+        if (points < 2) {
+            throw new IllegalArgumentException("Frontier needs at least two points");
+        }
+        double low = expectedReturn(minimumVariance);
+        double high = expectedReturn(maximumReturn());
+        List<double[]> frontier = new ArrayList<>(points);
+        frontier.add(minimumVariance);
+        double[] previous = minimumVariance;
+        double previousTarget = low;
+        for (int k = 1; k < points; k++) {
+            double target = low + (high - low) * k / (points - 1);
+            previous = high > low ? follow(previous, previousTarget, target) : previous.clone();
+            previousTarget = target;
+            frontier.add(previous);
+        }
+        return frontier;
+    }
+
+    /**
+     * 효율적 투자선 위에서 샤프비율((w·μ - rf) / σ)이 가장 큰 포트폴리오
+     *
+     * @param riskFreeRate 무위험 수익률 (기대 수익률과 같은 단위)
+     */
+    public double[] maximumSharpe(double riskFreeRate) {
+        return maximumSharpe(riskFreeRate, minimumVariance());
+    }
+
+    /**
+     * 이미 구한 최소분산 포트폴리오에서 시작하는 {@link #maximumSharpe(double)}
+     * (투자선 양 끝이 최댓값이면 minimumVariance 자체를 반환할 수 있음)
+     *
+     * @param minimumVariance {@link #minimumVariance()}의 결과
+     */
+    public double[] maximumSharpe(double riskFreeRate, double[] minimumVariance) {
+        double low = expectedReturn(minimumVariance);
+        double high = expectedReturn(maximumReturn());
+        if (!(high > low)) {
+            return minimumVariance;
+        }
+        double a = low;
+        double b = high;
+        double c = b - GOLDEN_RATIO * (b - a);
+        double d = a + GOLDEN_RATIO * (b - a);
+        double[] weightsC = follow(minimumVariance, low, c);
+        double[] weightsD = follow(weightsC, c, d);
+        double sharpeC = sharpe(weightsC, riskFreeRate);
+        double sharpeD = sharpe(weightsD, riskFreeRate);
+        for (int iteration = 0; iteration < GOLDEN_SECTION_ITERATIONS; iteration++) {
+            if (sharpeC >= sharpeD) {
+                b = d;
+                d = c;
+                weightsD = weightsC;
+                sharpeD = sharpeC;
+                c = b - GOLDEN_RATIO * (b - a);
+                weightsC = follow(weightsD, d, c);
+                sharpeC = sharpe(weightsC, riskFreeRate);
+            } else {
+                a = c;
+                c = d;
+                weightsC = weightsD;
+                sharpeC = sharpeD;
+                d = a + GOLDEN_RATIO * (b - a);
+                weightsD = follow(weightsC, c, d);
+                sharpeD = sharpe(weightsD, riskFreeRate);
+            }
+        }
+        double[] best = sharpeC >= sharpeD ? weightsC : weightsD;
+        double bestSharpe = Math.max(sharpeC, sharpeD);
+        // 투자선 양 끝이 최댓값인 경우
+        double[] maximumReturn = follow(best, sharpeC >= sharpeD ? c : d, high);
+        if (sharpe(maximumReturn, riskFreeRate) > bestSharpe) {
+            return maximumReturn;
+        }
+        if (sharpe(minimumVariance, riskFreeRate) > bestSharpe) {
+            return minimumVariance;
+        }
+        return best;
+    }
+
+    /**
+     * 목표 수익률 from의 최적 해 start에서 목표 수익률 to의 최적 해로 이동합니다.
+     */
+    private double[] follow(double[] start, double from, double to) {
+        double[] weights = walk(start, from, to);
+        return weights != null ? weights : approximate(start, to);
+    }
+
+    /**
+     * 활성 제약 추적이 실패한 경우 증강 라그랑지안 사영 경사법으로 근사 해를 구하고, 가능하면 KKT 방정식으로 다듬습니다.
+     */
+    private double[] approximate(double[] start, double targetReturn) {
+        double[] weights = new double[n];
+        project(start, weights);
+        double[] exact = polish(weights, true, targetReturn);
+        if (exact != null) {
+            return exact;
+        }
+        double[] coarse = augmentedLagrangian(weights, targetReturn, COARSE_TOLERANCE);
+        exact = polish(coarse, true, targetReturn);
+        if (exact != null) {
+            return exact;
+        }
+        double[] fine = augmentedLagrangian(coarse, targetReturn, TOLERANCE);
+        exact = polish(fine, true, targetReturn);
+        return exact != null ? exact : fine;
+    }
+
+    /**
+     * 활성 제약을 바꿔 가며 최적 해를 목표 수익률 from에서 to까지 따라갑니다.
+     *
+     * <p>
+     * 활성 제약이 고정된 동안 해와 고정 종목의 경사는 목표 수익률에 대해 선형이므로, 자유 종목이 범위 경계에 닿거나
+     * 고정 종목의 승수 부호가 바뀌는 첫 지점까지 이동한 뒤 그 종목의 상태를 바꿉니다.
+     * 자유 종목만으로 수익률을 움직일 수 없는 꼭짓점에서는 비중을 늘릴 종목과 줄일 종목 한 쌍을 풀어 진행합니다.
+     * 방정식을 풀 수 없거나 상태 변경이 반복 한도를 넘으면 null을 반환합니다.
+     */
+    private double[] walk(double[] start, double from, double to) {
+        byte[] states = classify(start);
+        double[] position = start;
+        double current = from;
+        for (int step = 0; step <= 4 * n; step++) {
+            Segment segment = segment(states, current, to);
+            if (segment == null || segment.fraction() == 0 && segment.event() >= 0) {
+                Segment unlocked = unlock(states, position, current, to);
+                if (unlocked != null) {
+                    segment = unlocked;
+                } else if (segment == null) {
+                    return null;
+                }
+            }
+            if (segment.event() < 0) {
+                return clamp(segment.end().weights());
+            }
+            int event = segment.event();
+            double fraction = segment.fraction();
+            double[] begin = segment.begin().weights();
+            double[] end = segment.end().weights();
+            position = new double[n];
+            for (int i = 0; i < n; i++) {
+                position[i] = begin[i] + fraction * (end[i] - begin[i]);
+            }
+            current += fraction * (to - current);
+            if (states[event] == FREE) {
+                states[event] = end[event] < minWeight ? LOWER : UPPER;
+            } else {
+                states[event] = FREE;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 활성 제약을 고정한 채 목표 수익률 from → to로 움직이는 구간
+     *
+     * @param begin    from에서의 해
+     * @param end      to에서의 해
+     * @param fraction 첫 상태 변경 지점 (0~1, 구간 비율)
+     * @param event    상태가 바뀌는 종목 (없으면 -1)
+     */
+    private record Segment(Solution begin, Solution end, double fraction, int event) {
+    }
+
+    /**
+     * 활성 제약 states로 from → to 구간의 첫 상태 변경 지점을 찾습니다. 방정식을 풀 수 없으면 null
+     */
+    private Segment segment(byte[] states, double from, double to) {
+        KktSystem system = kktSystem(states);
+        if (system == null) {
+            return null;
+        }
+        Solution begin = system.solve(true, from);
+        Solution end = system.solve(true, to);
+        if (begin == null || end == null) {
+            return null;
+        }
+        double tolerance = KKT_TOLERANCE * Math.max(1.0, Math.abs(end.a()));
+        double first = 1.0;
+        int event = -1;
+        for (int i = 0; i < n; i++) {
+            double t;
+            if (states[i] == FREE) {
+                double w0 = begin.weights()[i];
+                double w1 = end.weights()[i];
+                if (w1 < minWeight - BOUND_TOLERANCE) {
+                    t = (w0 - minWeight) / (w0 - w1);
+                } else if (w1 > maxWeight + BOUND_TOLERANCE) {
+                    t = (maxWeight - w0) / (w1 - w0);
+                } else {
+                    continue;
+                }
+            } else {
+                double g0 = system.slope(begin, i);
+                double g1 = system.slope(end, i);
+                if (states[i] == LOWER && g1 < -tolerance || states[i] == UPPER && g1 > tolerance) {
+                    t = g0 / (g0 - g1);
+                } else {
+                    continue;
+                }
+            }
+            if (!(t > 0)) {
+                t = 0.0;
+            }
+            if (t < first) {
+                first = t;
+                event = i;
+            }
+        }
+        return new Segment(begin, end, first, event);
+    }
+
+    /**
+     * 꼭짓점에서 비중을 늘릴 종목 i(하한 또는 자유)와 줄일 종목 k(상한 또는 자유)를 함께 풀어 진행 가능한 구간을 찾습니다.
+     * 방향 e_i - e_k 중 수익률 변화당 분산 증가율 (g_i - g_k) / |μ_i - μ_k| (g = 2Σw)가 가장 작은 쌍을 고르며,
+     * 이 쌍으로도 움직일 수 없으면 null을 반환합니다. 찾으면 states에 반영합니다.
+     */
+    private Segment unlock(byte[] states, double[] position, double from, double to) {
+        double direction = Math.signum(to - from);
+        double[] slopes = new double[n];
+        for (int i = 0; i < n; i++) {
+            slopes[i] = 2.0 * rowProduct(i, position);
+        }
+        double bestRatio = Double.POSITIVE_INFINITY;
+        int increase = -1;
+        int decrease = -1;
+        for (int i = 0; i < n; i++) {
+            if (states[i] == UPPER) {
+                continue;
+            }
+            for (int k = 0; k < n; k++) {
+                if (k == i || states[k] == LOWER) {
+                    continue;
+                }
+                double gain = direction * (mean[i] - mean[k]);
+                if (gain <= 0) {
+                    continue;
+                }
+                double ratio = (slopes[i] - slopes[k]) / gain;
+                if (ratio < bestRatio) {
+                    bestRatio = ratio;
+                    increase = i;
+                    decrease = k;
+                }
+            }
+        }
+        if (increase < 0) {
+            return null;
+        }
+        byte increaseState = states[increase];
+        byte decreaseState = states[decrease];
+        states[increase] = FREE;
+        states[decrease] = FREE;
+        Segment segment = segment(states, from, to);
+        if (segment == null || segment.fraction() == 0 && segment.event() >= 0) {
+            states[increase] = increaseState;
+            states[decrease] = decreaseState;
+            return null;
+        }
+        return segment;
+    }
+
+    /**
+     * 근사 해에서 상/하한에 걸린 종목을 고정하고 KKT 방정식으로 정확한 해를 구합니다.
+     * 자유 종목이 범위를 벗어나거나 고정 종목의 승수 부호가 맞지 않으면(활성 제약 추정이 틀림) null을 반환합니다.
+     */
+    private double[] polish(double[] approximate, boolean returnConstraint, double target) {
+        byte[] states = classify(approximate);
+        KktSystem system = kktSystem(states);
+        if (system == null) {
+            return null;
+        }
+        Solution solution = system.solve(returnConstraint, target);
+        if (solution == null) {
+            return null;
+        }
+        double tolerance = KKT_TOLERANCE * Math.max(1.0, Math.abs(solution.a()));
+        for (int i = 0; i < n; i++) {
+            double weight = solution.weights()[i];
+            if (states[i] == FREE) {
+                if (weight < minWeight - BOUND_TOLERANCE || weight > maxWeight + BOUND_TOLERANCE) {
+                    return null;
+                }
+            } else {
+                // 고정 종목의 경사 g_i = 2(Σw)_i - a - b·μ_i: 하한이면 g_i ≥ 0, 상한이면 g_i ≤ 0 이어야 최적
+                double slope = system.slope(solution, i);
+                if (states[i] == LOWER && slope < -tolerance || states[i] == UPPER && slope > tolerance) {
+                    return null;
+                }
+            }
+        }
+        return clamp(solution.weights());
+    }
+
+    private byte[] classify(double[] weights) {
+        byte[] states = new byte[n];
+        for (int i = 0; i < n; i++) {
+            if (weights[i] <= minWeight + BOUND_TOLERANCE) {
+                states[i] = LOWER;
+            } else if (weights[i] >= maxWeight - BOUND_TOLERANCE) {
+                states[i] = UPPER;
+            } else {
+                states[i] = FREE;
+            }
+        }
+        return states;
+    }
+
+    private double[] clamp(double[] weights) {
+        double[] clamped = new double[n];
+        for (int i = 0; i < n; i++) {
+            clamped[i] = Math.min(maxWeight, Math.max(minWeight, weights[i]));
+        }
+        return clamped;
+    }
+
+    /**
+     * 활성 제약의 KKT 방정식을 분해합니다. 자유 종목이 없거나 자유 종목 공분산이 양의 정부호가 아니면 null
+     */
+    private KktSystem kktSystem(byte[] states) {
+        int m = 0;
+        int[] free = new int[n];
+        double[] fixedWeights = new double[n];
+        double fixedSum = 0.0;
+        double fixedReturn = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (states[i] == FREE) {
+                free[m++] = i;
+            } else {
+                fixedWeights[i] = states[i] == LOWER ? minWeight : maxWeight;
+                fixedSum += fixedWeights[i];
+                fixedReturn += fixedWeights[i] * mean[i];
+            }
+        }
+        if (m == 0) {
+            return null;
+        }
+        double[][] block = new double[m][m];
+        double[] ones = new double[m];
+        double[] means = new double[m];
+        double[] coupling = new double[m];
+        for (int p = 0; p < m; p++) {
+            int offset = free[p] * n;
+            for (int q = 0; q < m; q++) {
+                block[p][q] = covariance[offset + free[q]];
+            }
+            ones[p] = 1.0;
+            means[p] = mean[free[p]];
+            // 자유 종목의 fixedWeights는 0이므로 고정 종목만 더해짐
+            coupling[p] = rowProduct(free[p], fixedWeights);
+        }
+        DecompositionSolver solver;
+        try {
+            solver = new CholeskyDecomposition(new Array2DRowRealMatrix(block, false)).getSolver();
+        } catch (MathIllegalArgumentException e) {
+            // 분산이 0이거나 선형 종속인 종목이 있으면 반복 해를 그대로 사용
+            return null;
+        }
+        return new KktSystem(Arrays.copyOf(free, m), fixedWeights, fixedSum, fixedReturn, means,
+                solver.solve(new ArrayRealVector(ones, false)).toArray(),
+                solver.solve(new ArrayRealVector(means, false)).toArray(),
+                solver.solve(new ArrayRealVector(coupling, false)).toArray());
+    }
+
+    /**
+     * 목표 수익률에서의 KKT 해
+     *
+     * @param weights 전체 종목 비중 (범위 확인 전)
+     * @param a       비중 합 조건의 승수
+     * @param b       목표 수익률 조건의 승수
+     */
+    private record Solution(double[] weights, double a, double b) {
+    }
+
+    /**
+     * 활성 제약을 고정한 KKT 방정식. 자유 종목 F에 대해 2Σ_FF·w_F + 2Σ_FB·w_B = a·1 + b·μ_F 이므로
+     * w_F = (a·x1 + b·xMean)/2 - xCoupling (x1 = Σ_FF⁻¹1, xMean = Σ_FF⁻¹μ_F, xCoupling = Σ_FF⁻¹Σ_FB·w_B)이고,
+     * a, b는 비중 합과 목표 수익률 조건의 2×2 방정식으로 정합니다. (수익률 조건이 없으면 b = 0)
+     */
+    private final class KktSystem {
+        private final int[] free;
+        private final double[] fixedWeights;
+        private final double budget;
+        private final double fixedReturn;
+        private final double[] x1;
+        private final double[] xMean;
+        private final double[] xCoupling;
+        private final double sumX1;
+        private final double sumXMean;
+        private final double meanX1;
+        private final double meanXMean;
+        private final double meanXCoupling;
+
+        KktSystem(int[] free, double[] fixedWeights, double fixedSum, double fixedReturn, double[] means,
+                double[] x1, double[] xMean, double[] xCoupling) {
+            this.free = free;
+            this.fixedWeights = fixedWeights;
+            this.fixedReturn = fixedReturn;
+            this.x1 = x1;
+            this.xMean = xMean;
+            this.xCoupling = xCoupling;
+            double sumX1 = 0.0;
+            double sumXMean = 0.0;
+            double sumXCoupling = 0.0;
+            double meanX1 = 0.0;
+            double meanXMean = 0.0;
+            double meanXCoupling = 0.0;
+            for (int p = 0; p < free.length; p++) {
+                sumX1 += x1[p];
+                sumXMean += xMean[p];
+                sumXCoupling += xCoupling[p];
+                meanX1 += means[p] * x1[p];
+                meanXMean += means[p] * xMean[p];
+                meanXCoupling += means[p] * xCoupling[p];
+            }
+            this.sumX1 = sumX1;
+            this.sumXMean = sumXMean;
+            this.meanX1 = meanX1;
+            this.meanXMean = meanXMean;
+            this.meanXCoupling = meanXCoupling;
+            this.budget = 1.0 - fixedSum + sumXCoupling;
+        }
+
+        /**
+         * @return 해, 자유 종목의 평균 수익률이 모두 같아 목표 수익률 조건을 풀 수 없으면 null
+         */
+        Solution solve(boolean returnConstraint, double target) {
+            double a;
+            double b;
+            if (returnConstraint) {
+                double required = target - fixedReturn + meanXCoupling;
+                double determinant = (sumX1 * meanXMean - sumXMean * meanX1) / 4.0;
+                if (Math.abs(determinant) <= 1e-14 * (Math.abs(sumX1 * meanXMean) + Math.abs(sumXMean * meanX1))) {
+                    return null;
+                }
+                a = (budget * meanXMean / 2.0 - sumXMean / 2.0 * required) / determinant;
+                b = (sumX1 / 2.0 * required - meanX1 / 2.0 * budget) / determinant;
+            } else {
+                a = 2.0 * budget / sumX1;
+                b = 0.0;
+            }
+            double[] weights = fixedWeights.clone();
+            for (int p = 0; p < free.length; p++) {
+                weights[free[p]] = (a * x1[p] + b * xMean[p]) / 2.0 - xCoupling[p];
+            }
+            return new Solution(weights, a, b);
+        }
+
+        /**
+         * 종목 i의 라그랑지안 경사 2(Σw)_i - a - b·μ_i
+         */
+        double slope(Solution solution, int i) {
+            return 2.0 * rowProduct(i, solution.weights()) - solution.a() - solution.b() * mean[i];
+        }
+    }
+
+    private double[] augmentedLagrangian(double[] start, double targetReturn, double tolerance) {
+        // 벌점 계수는 목표 수익률 항의 곡률이 분산 항과 비슷하도록 정함
+        double penalty = centeredMeanNormSquared > 0
+                ? 2.0 * Math.max(maxEigenvalue, 1e-12) / centeredMeanNormSquared
+                : 0.0;
+        double multiplier = 0.0;
+        double[] weights = start;
+        for (int outer = 0; outer < MAX_OUTER_ITERATIONS; outer++) {
+            weights = solve(weights, multiplier, penalty, targetReturn, tolerance);
+            double violation = expectedReturn(weights) - targetReturn;
+            if (Math.abs(violation) <= tolerance * Math.max(1.0, Math.abs(targetReturn))) {
+                break;
+            }
+            multiplier += penalty * violation;
+        }
+        return weights;
+    }
+
+    /**
+     * min wᵀΣw + multiplier·(w·μ - target) + penalty/2·(w·μ - target)² 을 비중 집합 위에서 풉니다.
+     * (multiplier = penalty = 0이면 최소분산 문제)
+     */
+    private double[] solve(double[] start, double multiplier, double penalty, double target, double tolerance) {
+        double lipschitz = 2.0 * maxEigenvalue + penalty * centeredMeanNormSquared;
+        double step = lipschitz > 0 ? 1.0 / lipschitz : 1.0;
+        double[] x = start.clone();
+        double[] y = start.clone();
+        double[] next = new double[n];
+        double[] gradient = new double[n];
+        double t = 1.0;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            gradient(y, multiplier, penalty, target, gradient);
+            for (int i = 0; i < n; i++) {
+                gradient[i] = y[i] - step * gradient[i];
+            }
+            project(gradient, next);
+
+            double change = 0.0;
+            double restart = 0.0;
+            for (int i = 0; i < n; i++) {
+                double delta = next[i] - x[i];
+                change = Math.max(change, Math.abs(delta));
+                restart += (y[i] - next[i]) * delta;
+            }
+            if (change < tolerance) {
+                return next;
+            }
+            if (restart > 0) {
+                // 목적함수가 증가하는 방향이면 모멘텀을 초기화
+                t = 1.0;
+                System.arraycopy(next, 0, y, 0, n);
+            } else {
+                double nextT = (1.0 + Math.sqrt(1.0 + 4.0 * t * t)) / 2.0;
+                double momentum = (t - 1.0) / nextT;
+                for (int i = 0; i < n; i++) {
+                    y[i] = next[i] + momentum * (next[i] - x[i]);
+                }
+                t = nextT;
+            }
+            double[] swap = x;
+            x = next;
+            next = swap;
+        }
+        return x;
+    }
+
+    private void gradient(double[] weights, double multiplier, double penalty, double target, double[] out) {
+        double scale = multiplier;
+        if (penalty != 0.0) {
+            scale += penalty * (expectedReturn(weights) - target);
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = 2.0 * rowProduct(i, weights) + scale * mean[i];
+        }
+    }
+
+    /**
+     * (Σw)_i
+     */
+    private double rowProduct(int i, double[] weights) {
+        int offset = i * n;
+        double sum = 0.0;
+        for (int j = 0; j < n; j++) {
+            sum += covariance[offset + j] * weights[j];
+        }
+        return sum;
+    }
+
+    /**
+     * {minWeight ≤ w ≤ maxWeight, Σw = 1} 위로의 유클리드 사영 w = clip(z - τ)를 τ 이분 탐색으로 구합니다.
+     */
+    private void project(double[] z, double[] out) {
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            low = Math.min(low, z[i] - maxWeight);
+            high = Math.max(high, z[i] - minWeight);
+        }
+        // Σclip(z - τ)는 τ에 대해 감소: low에서 n·maxWeight ≥ 1, high에서 n·minWeight ≤ 1
+        for (int iteration = 0; iteration < 100 && high - low > 1e-15 * (1.0 + Math.abs(low)); iteration++) {
+            double tau = 0.5 * (low + high);
+            double sum = 0.0;
+            for (int i = 0; i < n; i++) {
+                sum += Math.min(maxWeight, Math.max(minWeight, z[i] - tau));
+            }
+            if (sum > 1.0) {
+                low = tau;
+            } else {
+                high = tau;
+            }
+        }
+        double tau = 0.5 * (low + high);
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.min(maxWeight, Math.max(minWeight, z[i] - tau));
+        }
+    }
+
+    private double[] equalWeights() {
+        double[] weights = new double[n];
+        Arrays.fill(weights, 1.0 / n);
+        return weights;
+    }
+
+    /**
+     * 거듭제곱법으로 최대 고윳값을 추정하고, 과소 추정을 피하도록 여유를 두되 게르시고린 상한을 넘지 않게 합니다.
+     */
+    private static double estimateMaxEigenvalue(double[] covariance, int n) {
+        double gershgorin = 0.0;
+        for (int i = 0; i < n; i++) {
+            double rowSum = 0.0;
+            for (int j = 0; j < n; j++) {
+                rowSum += Math.abs(covariance[i * n + j]);
+            }
+            gershgorin = Math.max(gershgorin, rowSum);
+        }
+        double[] vector = new double[n];
+        Arrays.fill(vector, 1.0 / Math.sqrt(n));
+        double[] product = new double[n];
+        double eigenvalue = 0.0;
+        for (int iteration = 0; iteration < 200; iteration++) {
+            double norm = 0.0;
+            for (int i = 0; i < n; i++) {
+                double sum = 0.0;
+                for (int j = 0; j < n; j++) {
+                    sum += covariance[i * n + j] * vector[j];
+                }
+                product[i] = sum;
+                norm += sum * sum;
+            }
+            norm = Math.sqrt(norm);
+            if (norm == 0.0) {
+                return 0.0;
+            }
+            for (int i = 0; i < n; i++) {
+                vector[i] = product[i] / norm;
+            }
+            boolean converged = Math.abs(norm - eigenvalue) <= 1e-9 * norm;
+            eigenvalue = norm;
+            if (converged) {
+                break;
+            }
+        }
+        return Math.min(gershgorin, eigenvalue * 1.05);
+    }
+}
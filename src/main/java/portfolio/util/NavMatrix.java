@@ -0,0 +1,215 @@
+package portfolio.util;
+
+import java.util.Arrays;
+
+/**
+ * 구성 종목의 정규화 가격 행렬과 배당 흐름으로 포트폴리오 NAV를 합산하는 커널입니다.
+ *
+ * <p>
+ * 종목 j의 가격은 시작 가격으로 나눈 값(p[j][i] / p[j][0])으로, 배당은 시작 가격 대비 주당 배당금으로 보관합니다.
+ * 가중치 벡터 w에 대해 NAV[i] = Σ_j w[j] · p[j][i] / p[j][0], 배당 현금[i] = Σ_j w[j] · d[j][i] / p[j][0]이며,
+ * 배당은 0이 아닌 시점만 희소하게 보관하여 배당 수에 비례하는 비용으로 합산합니다.
+ * 생성 후 변경되지 않으므로 여러 가중치 벡터(스윕/최적화)와 스레드에서 같은 행렬을 공유할 수 있습니다.
+ */
+public final class NavMatrix {
+    /** 여러 가중치 벡터를 합산할 때 캐시에 유지할 기간 블록 크기 */
+    static final int PERIOD_BLOCK = 512;
+
+    private final NumericKernels numericKernels;
+    private final int periods;
+    /** 정규화 가격 (종목 × 기간) */
+    private final double[][] normalizedPrices;
+    /** 종목별 배당이 반영되는 기간 인덱스 (오름차순) */
+    private final int[][] dividendPeriods;
+    /** 종목별 정규화 주당 배당금 (dividendPeriods와 같은 길이) */
+    private final double[][] dividendAmounts;
+
+    private NavMatrix(NumericKernels numericKernels, int periods, double[][] normalizedPrices,
+            int[][] dividendPeriods, double[][] dividendAmounts) {
+        this.numericKernels = numericKernels;
+        this.periods = periods;
+        this.normalizedPrices = normalizedPrices;
+        this.dividendPeriods = dividendPeriods;
+        this.dividendAmounts = dividendAmounts;
+    }
+
+    /**
+     * 종목별 가격 배열과 시점별 주당 배당금 배열로 행렬을 만듭니다. (입력 배열은 변경하지 않음)
+     *
+     * @param prices          종목별 가격 배열 (모두 같은 길이, 시작 가격은 0보다 커야 함)
+     * @param dividendsPerBar 종목별 시점별 주당 배당금 배열 (null이면 배당 없음)
+     * @throws IllegalArgumentException 종목이 없거나, 길이가 다르거나, 시작 가격이 0 이하인 경우
+     */
+    public static NavMatrix of(NumericKernels numericKernels, double[][] prices, double[][] dividendsPerBar) {
+        if (prices == null || prices.length == 0) {
+            throw new IllegalArgumentException("At least one constituent is required");
+        }
+        if (dividendsPerBar != null && dividendsPerBar.length != prices.length) {
+            throw new IllegalArgumentException("Prices and dividends must have the same number of constituents");
+        }
+        int periods = prices[0].length;
+        double[][] normalizedPrices = new double[prices.length][];
+        int[][] dividendPeriods = new int[prices.length][];
+        double[][] dividendAmounts = new double[prices.length][];
+        for (int j = 0; j < prices.length; j++) {
+            double[] row = prices[j];
+            if (row.length != periods || periods == 0) {
+                throw new IllegalArgumentException("All constituents must have the same non-empty length");
+            }
+            double startPrice = row[0];
+            if (!(startPrice > 0)) {
+                throw new IllegalArgumentException("Start price must be positive");
+            }
+            double[] normalized = new double[periods];
+            for (int i = 0; i < periods; i++) {
+                normalized[i] = row[i] / startPrice;
+            }
+            normalizedPrices[j] = normalized;
+
+            double[] dividends = dividendsPerBar == null ? null : dividendsPerBar[j];
+            if (dividends != null && dividends.length != periods) {
+                throw new IllegalArgumentException("Dividends must have the same length as prices");
+            }
+            int count = 0;
+            if (dividends != null) {
+                for (double dividend : dividends) {
+                    if (dividend != 0.0) {
+                        count++;
+                    }
+                }
+            }
+            int[] indices = new int[count];
+            double[] amounts = new double[count];
+            for (int i = 0, k = 0; k < count; i++) {
+                if (dividends[i] != 0.0) {
+                    indices[k] = i;
+                    amounts[k] = dividends[i] / startPrice;
+                    k++;
+                }
+            }
+            dividendPeriods[j] = indices;
+            dividendAmounts[j] = amounts;
+        }
+        return new NavMatrix(numericKernels, periods, normalizedPrices, dividendPeriods, dividendAmounts);
+    }
+
+    public int constituents() {
+        return normalizedPrices.length;
+    }
+
+    public int periods() {
+        return periods;
+    }
+
+    /**
+     * 정규화 가격 행 (복사 없이 반환하므로 호출자가 수정하지 않아야 함)
+     */
+    public double[] normalizedPrices(int constituent) {
+        return normalizedPrices[constituent];
+    }
+
+    /**
+     * 종목의 배당이 반영되는 기간 인덱스 (오름차순, 복사 없이 반환)
+     */
+    public int[] dividendPeriods(int constituent) {
+        return dividendPeriods[constituent];
+    }
+
+    /**
+     * 종목의 정규화 주당 배당금 ({@link #dividendPeriods(int)}와 같은 순서, 복사 없이 반환)
+     */
+    public double[] dividendAmounts(int constituent) {
+        return dividendAmounts[constituent];
+    }
+
+    /**
+     * 종목의 기간 수익률을 결과 배열에 채웁니다. 배당을 포함하면 (p[i] + d[i]) / p[i - 1] - 1 입니다.
+     *
+     * @param constituent      종목 인덱스
+     * @param includeDividends 배당 포함 여부
+     * @param out              기간 수익률을 채울 배열 (기간 수 - 1 길이)
+     */
+    public void periodicReturns(int constituent, boolean includeDividends, double[] out) {
+        if (out.length != periods - 1) {
+            throw new IllegalArgumentException("Return array must have periods - 1 entries");
+        }
+        double[] prices = normalizedPrices[constituent];
+        for (int i = 1; i < periods; i++) {
+            out[i - 1] = prices[i] / prices[i - 1] - 1;
+        }
+        if (includeDividends) {
+            int[] indices = dividendPeriods[constituent];
+            double[] amounts = dividendAmounts[constituent];
+            for (int k = 0; k < indices.length; k++) {
+                if (indices[k] > 0) {
+                    out[indices[k] - 1] += amounts[k] / prices[indices[k] - 1];
+                }
+            }
+        }
+    }
+
+    /**
+     * 가중치 벡터 하나로 NAV와 배당 현금 흐름을 결과 배열에 채웁니다.
+     *
+     * @param weights      종목별 가중치 (종목 수와 같은 길이)
+     * @param nav          NAV를 채울 배열 (기간 수와 같은 길이)
+     * @param dividendCash 정규화 배당 현금을 채울 배열 (기간 수와 같은 길이)
+     */
+    public void aggregate(double[] weights, double[] nav, double[] dividendCash) {
+        validate(weights, nav, dividendCash);
+        numericKernels.weightedSum(normalizedPrices, weights, nav);
+        Arrays.fill(dividendCash, 0.0);
+        addDividends(weights, dividendCash);
+    }
+
+    /**
+     * 여러 가중치 벡터의 NAV와 배당 현금 흐름을 한 번에 계산합니다.
+     *
+     * <p>
+     * 기간을 {@value #PERIOD_BLOCK} 단위 블록으로 나누어, 블록마다 모든 가중치 벡터를 {@link NumericKernels#weightedSum}으로
+     * 합산합니다. 같은 블록의 가격 행이 캐시에 남아 있는 동안 재사용되므로, 가중치 벡터 수만큼 행렬 전체를 메모리에서
+     * 다시 읽지 않습니다.
+     *
+     * @param weightSets     가중치 벡터 목록 (각각 종목 수와 같은 길이)
+     * @param navs           가중치 벡터별 NAV를 채울 배열
+     * @param dividendCashes 가중치 벡터별 정규화 배당 현금을 채울 배열
+     */
+    public void aggregateAll(double[][] weightSets, double[][] navs, double[][] dividendCashes) {
+        if (weightSets.length != navs.length || weightSets.length != dividendCashes.length) {
+            throw new IllegalArgumentException("Weight sets and outputs must have the same length");
+        }
+        for (int k = 0; k < weightSets.length; k++) {
+            validate(weightSets[k], navs[k], dividendCashes[k]);
+            Arrays.fill(dividendCashes[k], 0.0);
+        }
+        for (int from = 0; from < periods; from += PERIOD_BLOCK) {
+            int to = Math.min(periods, from + PERIOD_BLOCK);
+            for (int k = 0; k < weightSets.length; k++) {
+                numericKernels.weightedSum(normalizedPrices, weightSets[k], navs[k], from, to);
+            }
+        }
+        for (int k = 0; k < weightSets.length; k++) {
+            addDividends(weightSets[k], dividendCashes[k]);
+        }
+    }
+
+    private void addDividends(double[] weights, double[] dividendCash) {
+        for (int j = 0; j < dividendPeriods.length; j++) {
+            double weight = weights[j];
+            int[] indices = dividendPeriods[j];
+            double[] amounts = dividendAmounts[j];
+            for (int k = 0; k < indices.length; k++) {
+                dividendCash[indices[k]] += weight * amounts[k];
+            }
+        }
+    }
+
+    private void validate(double[] weights, double[] nav, double[] dividendCash) {
+        if (weights == null || weights.length != normalizedPrices.length) {
+            throw new IllegalArgumentException("Weights must have one entry per constituent");
+        }
+        if (nav.length != periods || dividendCash.length != periods) {
+            throw new IllegalArgumentException("Output arrays must have one entry per period");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package portfolio.util;
+
+/**
+ * 수익률/리스크 계산의 핵심 수치 반복문을 모은 커널 인터페이스입니다.
+ *
+ * <p>
+ * {@link ScalarKernels}(기본)와 JDK Vector API 기반 {@link VectorKernels}(선택) 구현이 있으며,
+ * 두 구현의 결과는 부동소수점 오차 범위 내에서 같아야 합니다.
+ * 입력 배열은 변경하지 않고, 결과 배열은 호출자가 할당하여 전달합니다.
+ */
+public interface NumericKernels {
+
+    /**
+     * 누적 성장률 out[i] = prices[i] / prices[0] - 1
+     */
+    void cumulativeGrowth(double[] prices, double[] out);
+
+    /**
+     * 기간 수익률 out[i] = prices[i + 1] / prices[i] - 1 (out 길이는 prices.length - 1)
+     */
+    void periodicReturns(double[] prices, double[] out);
+
+    /**
+     * 고점 대비 낙폭 out[i] = (peak[i] - prices[i]) / peak[i] 를 채우고 최대 낙폭을 반환합니다.
+     * (peak[i]는 prices[0..i]의 최고가, 최고가가 0이면 낙폭 0)
+     */
+    double drawdowns(double[] prices, double[] out);
+
+    double mean(double[] values);
+
+    /**
+     * 모분산 (두 번의 순회: 평균 → 편차 제곱합)
+     */
+    double variance(double[] values);
+
+    /**
+     * 모공분산 (두 번의 순회: 평균 → 편차 곱의 합)
+     */
+    double covariance(double[] x, double[] y);
+
+    /**
+     * 내적 Σ x[i] * y[i]
+     */
+    double dot(double[] x, double[] y);
+
+    /**
+     * 원소별 곱 out[i] = x[i] * y[i] (통화 환산: 가격 열 × 환율 열)
+     */
+    void multiply(double[] x, double[] y, double[] out);
+
+    /**
+     * 가중 합산 out[i] = Σ_j coefficients[j] * columns[j][i]
+     * (포트폴리오 가격 합산: coefficients[j] = weight[j] / firstPrice[j])
+     */
+    void weightedSum(double[][] columns, double[] coefficients, double[] out);
+
+    /**
+     * 구간 [from, to)의 가중 합산 out[i] = Σ_j coefficients[j] * columns[j][i] (구간 밖의 out은 변경하지 않음)
+     * (여러 가중치 벡터를 기간 블록 단위로 합산: {@link NavMatrix#aggregateAll})
+     */
+    void weightedSum(double[][] columns, double[] coefficients, double[] out, int from, int to);
+
+    /**
+     * 현재 JVM에서 Vector API 모듈(jdk.incubator.vector)을 사용할 수 있는지 확인합니다.
+     * (실행 시 {@code --add-modules jdk.incubator.vector} 필요)
+     */
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
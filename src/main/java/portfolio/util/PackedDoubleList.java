@@ -0,0 +1,63 @@
+package portfolio.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * {@code double[]}를 감싸는 읽기 전용 {@code List<Double>}입니다.
+ *
+ * <p>
+ * 요소당 8바이트만 사용하여 {@code ArrayList<Double>}(참조 + 박싱 객체)보다 메모리를 적게 쓰므로,
+ * 일봉 수천 개 × 수백 종목의 응답 시계열에 사용합니다. 요소는 {@link #get(int)} 시점에 박싱됩니다.
+ * 감싼 배열은 복사하지 않으므로 생성 후 변경하지 않아야 합니다.
+ */
+public final class PackedDoubleList extends AbstractList<Double> implements RandomAccess {
+    private final double[] values;
+
+    private PackedDoubleList(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * 배열을 복사 없이 감쌉니다.
+     */
+    public static PackedDoubleList wrap(double[] values) {
+        return new PackedDoubleList(values);
+    }
+
+    /**
+     * 리스트를 {@code double[]}로 변환합니다. {@link PackedDoubleList}이면 감싼 배열을 복사 없이 반환합니다.
+     */
+    public static double[] toArray(List<Double> values) {
+        if (values instanceof PackedDoubleList packed) {
+            return packed.values;
+        }
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    @Override
+    public Double get(int index) {
+        return values[index];
+    }
+
+    public double getDouble(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * 감싼 배열을 복사 없이 반환합니다. (호출자가 수정하지 않아야 함)
+     */
+    public double[] array() {
+        return values;
+    }
+}
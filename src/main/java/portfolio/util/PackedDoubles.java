@@ -0,0 +1,142 @@
+package portfolio.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import org.msgpack.jackson.dataformat.MessagePackGenerator;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+/**
+ * 바이너리 응답(CBOR/Smile/MessagePack)에서 double 시계열을 요소별 숫자 대신 하나의 바이트 열로 기록합니다.
+ *
+ * <p>
+ * 바이트 열은 IEEE 754 binary64 리틀 엔디언 값을 이어 붙인 것으로, 브라우저/NumPy에서 그대로
+ * {@code Float64Array}/{@code float64} 배열로 볼 수 있습니다. CBOR에서는 RFC 8746 typed array 태그(86,
+ * float64 little endian)를 붙입니다. JSON 등 바이너리를 직접 쓸 수 없는 형식은 기존과 같은 숫자 배열로 기록하고,
+ * null 요소가 있는 리스트(롤링 리스크의 앞부분 등)도 숫자 배열로 기록합니다.
+ */
+public final class PackedDoubles {
+    /** RFC 8746: IEEE 754 binary64, little endian typed array */
+    static final int CBOR_FLOAT64_LE_TAG = 86;
+
+    private PackedDoubles() {
+    }
+
+    /**
+     * 생성기가 바이트 열을 그대로 기록할 수 있는 형식인지 확인합니다.
+     */
+    public static boolean supports(JsonGenerator gen) {
+        return gen.canWriteBinaryNatively() || gen instanceof MessagePackGenerator;
+    }
+
+    /**
+     * double 배열을 기록합니다. 바이너리 형식이면 바이트 열, 아니면 숫자 배열로 기록합니다.
+     */
+    public static void write(JsonGenerator gen, double[] values) throws IOException {
+        if (!supports(gen)) {
+            gen.writeArray(values, 0, values.length);
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asDoubleBuffer().put(values);
+        if (gen instanceof CBORGenerator cbor) {
+            cbor.writeTag(CBOR_FLOAT64_LE_TAG);
+        }
+        gen.writeBinary(bytes.array());
+    }
+
+    /**
+     * 바이트 열을 double 배열로 되돌립니다. (클라이언트/테스트용)
+     */
+    public static double[] read(byte[] packed) {
+        double[] values = new double[packed.length / Double.BYTES];
+        ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * {@code List<Double>}와 {@code double[]}를 {@link #write}로 기록하는 Jackson 모듈
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("PackedDoubles");
+        PackedSerializers serializers = new PackedSerializers();
+        serializers.addSerializer(double[].class, new ArraySerializer());
+        module.setSerializers(serializers);
+        return module;
+    }
+
+    private static final class PackedSerializers extends SimpleSerializers {
+        @Override
+        public JsonSerializer<?> findCollectionSerializer(SerializationConfig config, CollectionType type,
+                BeanDescription beanDesc, TypeSerializer elementTypeSerializer,
+                JsonSerializer<Object> elementValueSerializer) {
+            if (List.class.isAssignableFrom(type.getRawClass())
+                    && type.getContentType().getRawClass() == Double.class) {
+                return new ListSerializer();
+            }
+            return super.findCollectionSerializer(config, type, beanDesc, elementTypeSerializer,
+                    elementValueSerializer);
+        }
+    }
+
+    private static final class ArraySerializer extends StdSerializer<double[]> {
+        ArraySerializer() {
+            super(double[].class);
+        }
+
+        @Override
+        public void serialize(double[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(gen, value);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class ListSerializer extends StdSerializer<List> {
+        ListSerializer() {
+            super(List.class);
+        }
+
+        @Override
+        public void serialize(List value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            List<Double> values = value;
+            if (hasNull(values)) {
+                gen.writeStartArray(values, values.size());
+                for (Double v : values) {
+                    if (v == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeNumber(v);
+                    }
+                }
+                gen.writeEndArray();
+                return;
+            }
+            write(gen, PackedDoubleList.toArray(values));
+        }
+
+        private static boolean hasNull(List<Double> values) {
+            if (values instanceof PackedDoubleList) {
+                return false;
+            }
+            for (Double v : values) {
+                if (v == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
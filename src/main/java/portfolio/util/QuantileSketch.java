@@ -0,0 +1,168 @@
+package portfolio.util;
+
+import java.util.Arrays;
+
+/**
+ * 양수 값의 분위수를 상대 오차 이내로 추정하는 병합 가능한 로그 버킷 스케치입니다.
+ *
+ * <p>
+ * 값 v는 γ = (1 + α) / (1 - α)에 대해 ⌈log_γ v⌉ 버킷에 세며, 분위수는 해당 버킷의 대표값
+ * 2γ^i / (γ + 1)로 반환하므로 실제 순위 값과의 상대 오차가 α 이하입니다.
+ * 버킷 배열은 관측한 인덱스 범위만큼만 늘어나므로 메모리는 값의 범위(로그 척도)에 비례하고 값 개수와 무관합니다.
+ * {@value #MIN_POSITIVE} 이하의 값(0 포함)은 0 버킷에 셉니다. 스레드 안전하지 않으므로 작업자별로 만들고
+ * {@link #merge(QuantileSketch)}로 합칩니다.
+ */
+public final class QuantileSketch {
+    /** 이 값 이하는 0으로 취급 */
+    static final double MIN_POSITIVE = 1e-12;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    /** counts[k]는 버킷 인덱스 offset + k의 개수 */
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    /**
+     * @param relativeAccuracy 분위수 상대 오차 α (0 < α < 1, 예: 0.005)
+     * @throws IllegalArgumentException α가 범위를 벗어난 경우
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * 값을 추가합니다.
+     *
+     * @throws IllegalArgumentException 값이 음수이거나 NaN인 경우
+     */
+    public void add(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Sketch values must be non-negative");
+        }
+        count++;
+        if (value <= MIN_POSITIVE) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureIndex(index);
+        counts[index - offset]++;
+    }
+
+    /**
+     * 다른 스케치의 개수를 더합니다. (상대 오차가 같아야 함)
+     *
+     * @throws IllegalArgumentException 상대 오차가 다른 경우
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Sketches must have the same relative accuracy");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        zeroCount += other.zeroCount;
+        for (int k = 0; k < other.counts.length; k++) {
+            if (other.counts[k] != 0) {
+                int index = other.offset + k;
+                ensureIndex(index);
+                counts[index - offset] += other.counts[k];
+            }
+        }
+    }
+
+    /**
+     * q 분위수(0 ≤ q ≤ 1)를 반환합니다. 순위는 ⌊q × (count - 1)⌋ 입니다.
+     *
+     * @throws IllegalArgumentException q가 범위를 벗어난 경우
+     * @throws IllegalStateException    값이 없는 경우
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]");
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        long rank = (long) (q * (count - 1));
+        long cumulative = zeroCount;
+        if (rank < cumulative) {
+            return 0.0;
+        }
+        for (int k = 0; k < counts.length; k++) {
+            cumulative += counts[k];
+            if (rank < cumulative) {
+                return bucketValue(offset + k);
+            }
+        }
+        return bucketValue(offset + counts.length - 1);
+    }
+
+    /**
+     * 여러 분위수를 한 번의 버킷 순회로 반환합니다.
+     *
+     * @param quantiles 오름차순 분위수 목록 (각각 0 이상 1 이하)
+     * @throws IllegalArgumentException 분위수가 범위를 벗어나거나 오름차순이 아닌 경우
+     * @throws IllegalStateException    값이 없는 경우
+     */
+    public double[] quantiles(double[] quantiles) {
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        double[] values = new double[quantiles.length];
+        long cumulative = zeroCount;
+        int k = -1;
+        for (int j = 0; j < quantiles.length; j++) {
+            double q = quantiles[j];
+            if (!(q >= 0 && q <= 1) || (j > 0 && q < quantiles[j - 1])) {
+                throw new IllegalArgumentException("Quantiles must be ascending values in [0, 1]");
+            }
+            long rank = (long) (q * (count - 1));
+            while (rank >= cumulative && k < counts.length - 1) {
+                cumulative += counts[++k];
+            }
+            values[j] = k < 0 ? 0.0 : bucketValue(offset + k);
+        }
+        return values;
+    }
+
+    private double bucketValue(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void ensureIndex(int index) {
+        if (counts.length == 0) {
+            counts = new long[INITIAL_CAPACITY];
+            offset = index - INITIAL_CAPACITY / 2;
+            return;
+        }
+        if (index < offset) {
+            int grow = Math.max(offset - index, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (index >= offset + counts.length) {
+            int grow = Math.max(index - offset - counts.length + 1, counts.length / 2);
+            counts = Arrays.copyOf(counts, counts.length + grow);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package portfolio.util;
+
+/**
+ * 두 시계열(x, y)의 평균/분산/공분산을 한 번의 순회로 계산하는 온라인 누적기입니다. (Welford)
+ *
+ * <p>
+ * 상관계수와 베타(y를 시장 수익률로 보는 cov(x, y) / var(y))를 함께 제공합니다.
+ * 분할 계산한 누적기는 {@link #merge(RunningCovariance)}로 합칠 수 있고, {@link #remove(double, double)}로
+ * 슬라이딩 윈도우에서 빠지는 관측치를 제거할 수 있습니다.
+ * 스레드 안전하지 않으므로 스레드별로 생성한 뒤 병합합니다.
+ */
+public final class RunningCovariance {
+    private long count;
+    private double meanX;
+    private double meanY;
+    private double m2X;
+    private double m2Y;
+    /** x, y 편차 곱의 합 */
+    private double c;
+
+    public RunningCovariance() {
+    }
+
+    /**
+     * 두 배열 전체를 누적한 결과를 반환합니다.
+     *
+     * @throws IllegalArgumentException 배열 길이가 다른 경우
+     */
+    public static RunningCovariance of(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Input arrays must have the same length");
+        }
+        RunningCovariance covariance = new RunningCovariance();
+        for (int i = 0; i < x.length; i++) {
+            covariance.add(x[i], y[i]);
+        }
+        return covariance;
+    }
+
+    /**
+     * 관측치 한 쌍을 누적합니다.
+     */
+    public RunningCovariance add(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        meanX += dx / count;
+        meanY += dy / count;
+        double dx2 = x - meanX;
+        m2X += dx * dx2;
+        m2Y += dy * (y - meanY);
+        c += dx2 * dy;
+        return this;
+    }
+
+    /**
+     * 이전에 누적한 관측치 한 쌍을 제거합니다. (슬라이딩 윈도우용)
+     */
+    public RunningCovariance remove(double x, double y) {
+        if (count <= 1) {
+            reset();
+            return this;
+        }
+        double meanXBefore = meanX;
+        double meanYBefore = meanY;
+        count--;
+        meanX -= (x - meanXBefore) / count;
+        meanY -= (y - meanYBefore) / count;
+        m2X -= (x - meanXBefore) * (x - meanX);
+        m2Y -= (y - meanYBefore) * (y - meanY);
+        c -= (x - meanXBefore) * (y - meanY);
+        return this;
+    }
+
+    /**
+     * 다른 누적기의 결과를 병합합니다.
+     */
+    public RunningCovariance merge(RunningCovariance other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            meanX = other.meanX;
+            meanY = other.meanY;
+            m2X = other.m2X;
+            m2Y = other.m2Y;
+            c = other.c;
+            return this;
+        }
+        long total = count + other.count;
+        double factor = (double) count * other.count / total;
+        double dx = other.meanX - meanX;
+        double dy = other.meanY - meanY;
+        meanX += dx * other.count / total;
+        meanY += dy * other.count / total;
+        m2X += other.m2X + dx * dx * factor;
+        m2Y += other.m2Y + dy * dy * factor;
+        c += other.c + dx * dy * factor;
+        count = total;
+        return this;
+    }
+
+    public void reset() {
+        count = 0;
+        meanX = 0.0;
+        meanY = 0.0;
+        m2X = 0.0;
+        m2Y = 0.0;
+        c = 0.0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double meanX() {
+        return count == 0 ? 0.0 : meanX;
+    }
+
+    public double meanY() {
+        return count == 0 ? 0.0 : meanY;
+    }
+
+    /**
+     * x의 모분산
+     */
+    public double varianceX() {
+        return count == 0 ? 0.0 : Math.max(0.0, m2X / count);
+    }
+
+    /**
+     * y의 모분산
+     */
+    public double varianceY() {
+        return count == 0 ? 0.0 : Math.max(0.0, m2Y / count);
+    }
+
+    /**
+     * 모공분산(n으로 나눔)
+     */
+    public double covariance() {
+        return count == 0 ? 0.0 : c / count;
+    }
+
+    /**
+     * 표본공분산(n-1로 나눔)
+     */
+    public double sampleCovariance() {
+        return count < 2 ? 0.0 : c / (count - 1);
+    }
+
+    /**
+     * 피어슨 상관계수. 한쪽 분산이 0이면(관측치가 없거나 값이 모두 같음) 상관계수 행렬 엔진이 분산 0인 종목에
+     * 쓰는 값과 같은 0을 반환합니다.
+     */
+    public double correlation() {
+        if (m2X == 0 || m2Y == 0) {
+            return 0.0;
+        }
+        return c / Math.sqrt(m2X * m2Y);
+    }
+
+    /**
+     * y를 시장 수익률로 보는 베타 cov(x, y) / var(y). y의 분산이 0이면 0을 반환합니다.
+     */
+    public double beta() {
+        if (m2Y == 0) {
+            return 0.0;
+        }
+        return c / m2Y;
+    }
+}
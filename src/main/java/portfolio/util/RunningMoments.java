@@ -0,0 +1,160 @@
+package portfolio.util;
+
+/**
+ * 단일 시계열의 평균/분산/왜도/첨도를 한 번의 순회로 계산하는 온라인 누적기입니다. (Welford, 3·4차는 Pébay의 갱신식)
+ *
+ * <p>
+ * 관측치를 하나씩 추가할 수 있고, 분할 계산한 누적기를 {@link #merge(RunningMoments)}로 합칠 수 있으며,
+ * {@link #remove(double)}로 슬라이딩 윈도우에서 빠지는 관측치를 제거할 수 있고, {@link #reset()}으로 재사용할 수 있습니다.
+ * 스레드 안전하지 않으므로 스레드별로 생성한 뒤 병합합니다.
+ */
+public final class RunningMoments {
+    private long count;
+    private double mean;
+    /** 평균 대비 편차 제곱합 */
+    private double m2;
+    /** 평균 대비 편차 세제곱합 */
+    private double m3;
+    /** 평균 대비 편차 네제곱합 */
+    private double m4;
+
+    public RunningMoments() {
+    }
+
+    /**
+     * 배열 전체를 누적한 결과를 반환합니다.
+     */
+    public static RunningMoments of(double[] values) {
+        RunningMoments moments = new RunningMoments();
+        for (double value : values) {
+            moments.add(value);
+        }
+        return moments;
+    }
+
+    /**
+     * 관측치 하나를 누적합니다.
+     */
+    public RunningMoments add(double x) {
+        long n = ++count;
+        double delta = x - mean;
+        double deltaN = delta / n;
+        double term = delta * deltaN * (n - 1);
+        mean += deltaN;
+        m4 += term * deltaN * deltaN * ((double) n * n - 3 * n + 3) + 6 * deltaN * deltaN * m2 - 4 * deltaN * m3;
+        m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+        m2 += term;
+        return this;
+    }
+
+    /**
+     * 이전에 누적한 관측치 하나를 제거합니다. (슬라이딩 윈도우용)
+     */
+    public RunningMoments remove(double x) {
+        if (count <= 1) {
+            reset();
+            return this;
+        }
+        // add 갱신식의 역산 (n은 제거 전 개수, delta는 제거 후 평균 대비 편차)
+        long n = count;
+        double meanBefore = mean;
+        count--;
+        mean -= (x - meanBefore) / count;
+        double delta = x - mean;
+        double deltaN = delta / n;
+        double term = delta * deltaN * (n - 1);
+        m2 -= term;
+        m3 -= term * deltaN * (n - 2) - 3 * deltaN * m2;
+        m4 -= term * deltaN * deltaN * ((double) n * n - 3 * n + 3) + 6 * deltaN * deltaN * m2 - 4 * deltaN * m3;
+        return this;
+    }
+
+    /**
+     * 다른 누적기의 결과를 병합합니다. (Chan et al. parallel algorithm)
+     */
+    public RunningMoments merge(RunningMoments other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            m3 = other.m3;
+            m4 = other.m4;
+            return this;
+        }
+        double na = count;
+        double nb = other.count;
+        double total = na + nb;
+        double delta = other.mean - mean;
+        double delta2 = delta * delta;
+        mean += delta * nb / total;
+        m4 += other.m4 + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (total * total * total)
+                + 6 * delta2 * (na * na * other.m2 + nb * nb * m2) / (total * total)
+                + 4 * delta * (na * other.m3 - nb * m3) / total;
+        m3 += other.m3 + delta2 * delta * na * nb * (na - nb) / (total * total)
+                + 3 * delta * (na * other.m2 - nb * m2) / total;
+        m2 += other.m2 + delta2 * (na * nb / total);
+        count += other.count;
+        return this;
+    }
+
+    public void reset() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+        m3 = 0.0;
+        m4 = 0.0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? 0.0 : mean;
+    }
+
+    /**
+     * 모분산(n으로 나눔)
+     */
+    public double variance() {
+        return count == 0 ? 0.0 : Math.max(0.0, m2 / count);
+    }
+
+    /**
+     * 표본분산(n-1로 나눔)
+     */
+    public double sampleVariance() {
+        return count < 2 ? 0.0 : Math.max(0.0, m2 / (count - 1));
+    }
+
+    /**
+     * 모표준편차
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * 표본표준편차
+     */
+    public double sampleStandardDeviation() {
+        return Math.sqrt(sampleVariance());
+    }
+
+    /**
+     * 모왜도 m3 / m2^1.5 (n으로 나눈 중심 적률 기준). 분산이 0이면 0입니다.
+     */
+    public double skewness() {
+        return m2 <= 0 ? 0.0 : Math.sqrt((double) count) * m3 / Math.pow(m2, 1.5);
+    }
+
+    /**
+     * 모초과첨도 m4 / m2² - 3 (n으로 나눈 중심 적률 기준). 분산이 0이면 0입니다.
+     */
+    public double excessKurtosis() {
+        return m2 <= 0 ? 0.0 : count * m4 / (m2 * m2) - 3;
+    }
+}
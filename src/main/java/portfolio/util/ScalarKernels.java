@@ -0,0 +1,110 @@
+package portfolio.util;
+
+import java.util.Arrays;
+
+/**
+ * {@link NumericKernels}의 스칼라(기본) 구현입니다.
+ */
+public class ScalarKernels implements NumericKernels {
+
+    @Override
+    public void cumulativeGrowth(double[] prices, double[] out) {
+        double inverseStart = 1.0 / prices[0];
+        for (int i = 0; i < prices.length; i++) {
+            out[i] = prices[i] * inverseStart - 1.0;
+        }
+    }
+
+    @Override
+    public void periodicReturns(double[] prices, double[] out) {
+        for (int i = 0; i < prices.length - 1; i++) {
+            out[i] = prices[i + 1] / prices[i] - 1.0;
+        }
+    }
+
+    @Override
+    public double drawdowns(double[] prices, double[] out) {
+        double peak = prices.length > 0 ? prices[0] : 0.0;
+        double maxDrawdown = 0.0;
+        for (int i = 0; i < prices.length; i++) {
+            peak = Math.max(peak, prices[i]);
+            double drawdown = peak == 0.0 ? 0.0 : (peak - prices[i]) / peak;
+            out[i] = drawdown;
+            maxDrawdown = Math.max(maxDrawdown, drawdown);
+        }
+        return maxDrawdown;
+    }
+
+    @Override
+    public double mean(double[] values) {
+        if (values.length == 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    @Override
+    public double variance(double[] values) {
+        if (values.length == 0) {
+            return 0.0;
+        }
+        double mean = mean(values);
+        double sumOfSquares = 0.0;
+        for (double value : values) {
+            double diff = value - mean;
+            sumOfSquares += diff * diff;
+        }
+        return sumOfSquares / values.length;
+    }
+
+    @Override
+    public double covariance(double[] x, double[] y) {
+        if (x.length == 0) {
+            return 0.0;
+        }
+        double meanX = mean(x);
+        double meanY = mean(y);
+        double sum = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            sum += (x[i] - meanX) * (y[i] - meanY);
+        }
+        return sum / x.length;
+    }
+
+    @Override
+    public double dot(double[] x, double[] y) {
+        double sum = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void multiply(double[] x, double[] y, double[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = x[i] * y[i];
+        }
+    }
+
+    @Override
+    public void weightedSum(double[][] columns, double[] coefficients, double[] out) {
+        weightedSum(columns, coefficients, out, 0, out.length);
+    }
+
+    @Override
+    public void weightedSum(double[][] columns, double[] coefficients, double[] out, int from, int to) {
+        Arrays.fill(out, from, to, 0.0);
+        for (int j = 0; j < columns.length; j++) {
+            double[] column = columns[j];
+            double coefficient = coefficients[j];
+            for (int i = from; i < to; i++) {
+                out[i] += coefficient * column[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package portfolio.util;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+/**
+ * 응답에 여러 번 나오는 시계열과 날짜 축을 한 번만 기록하고 id로 참조하게 하는 표입니다.
+ *
+ * <p>
+ * {@link #module()}을 등록한 ObjectMapper로 직렬화하면 {@code List<Double>}(시계열), {@code List<LocalDate>}
+ * (날짜 축), {@code List<Long>}(타임스탬프 축)으로 선언된 값은 배열 대신 id 문자열("s0", "d0", "t0")로 기록되고, 실제
+ * 배열은 {@link #writeSeries}/{@link #writeAxes}로 한 번씩 기록합니다. 표는 직렬화 속성
+ * ({@code SerializerProvider#getAttribute(SeriesTable.class)})으로 전달합니다.
+ * <p>
+ * 같은 리스트 인스턴스(차트가 종목 결과의 리스트를 그대로 쓰는 경우)는 해시 없이 같은 id가 되고, 인스턴스가
+ * 달라도 내용이 같으면(정렬된 종목들의 날짜/타임스탬프 축) 같은 id가 됩니다. null 리스트는 null로 기록합니다.
+ * 한 응답을 직렬화하는 동안만 사용하며 스레드 안전하지 않습니다.
+ */
+public final class SeriesTable {
+    static final char SERIES = 's';
+    static final char DATES = 'd';
+    static final char TIMESTAMPS = 't';
+
+    private final Map<List<?>, String> idsByInstance = new IdentityHashMap<>();
+    private final Map<Content, String> idsByContent = new HashMap<>();
+    private final List<List<?>> series = new ArrayList<>();
+    private final List<List<?>> dates = new ArrayList<>();
+    private final List<List<?>> timestamps = new ArrayList<>();
+
+    /**
+     * 리스트의 id를 반환합니다. 처음 보는 내용이면 새 id를 등록합니다.
+     */
+    String reference(char kind, List<?> values) {
+        String id = idsByInstance.get(values);
+        if (id != null) {
+            return id;
+        }
+        Content content = new Content(kind, values);
+        id = idsByContent.get(content);
+        if (id == null) {
+            List<List<?>> table = table(kind);
+            id = String.valueOf(kind) + table.size();
+            table.add(values);
+            idsByContent.put(content, id);
+        }
+        idsByInstance.put(values, id);
+        return id;
+    }
+
+    /**
+     * 등록된 고유 시계열 수
+     */
+    public int seriesCount() {
+        return series.size();
+    }
+
+    /**
+     * 등록된 고유 날짜/타임스탬프 축 수
+     */
+    public int axisCount() {
+        return dates.size() + timestamps.size();
+    }
+
+    /**
+     * 시계열 표를 id → 숫자 배열 객체로 기록합니다. (NaN/무한대와 null은 일반 직렬화와 같게 기록)
+     * 바이너리 형식이면 {@link PackedDoubleList} 시계열은 {@link PackedDoubles} 바이트 열로 기록합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public void writeSeries(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        for (int i = 0; i < series.size(); i++) {
+            gen.writeFieldName(String.valueOf(SERIES) + i);
+            List<Double> values = (List<Double>) series.get(i);
+            if (values instanceof PackedDoubleList packed) {
+                PackedDoubles.write(gen, packed.array());
+                continue;
+            }
+            gen.writeStartArray(values, values.size());
+            for (Double value : values) {
+                if (value == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * 날짜 축(ISO-8601 문자열 배열)과 타임스탬프 축(epoch second 배열)을 id → 배열 객체로 기록합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public void writeAxes(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        for (int i = 0; i < dates.size(); i++) {
+            gen.writeFieldName(String.valueOf(DATES) + i);
+            List<LocalDate> values = (List<LocalDate>) dates.get(i);
+            gen.writeStartArray(values, values.size());
+            for (LocalDate date : values) {
+                if (date == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeString(date.toString());
+                }
+            }
+            gen.writeEndArray();
+        }
+        for (int i = 0; i < timestamps.size(); i++) {
+            gen.writeFieldName(String.valueOf(TIMESTAMPS) + i);
+            List<Long> values = (List<Long>) timestamps.get(i);
+            gen.writeStartArray(values, values.size());
+            for (Long timestamp : values) {
+                if (timestamp == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(timestamp);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * 시계열/날짜/타임스탬프 리스트를 id로 기록하는 Jackson 모듈
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("SeriesTable");
+        module.setSerializers(new ReferenceSerializers());
+        return module;
+    }
+
+    private List<List<?>> table(char kind) {
+        return switch (kind) {
+            case SERIES -> series;
+            case DATES -> dates;
+            case TIMESTAMPS -> timestamps;
+            default -> throw new IllegalArgumentException("Unknown series kind: " + kind);
+        };
+    }
+
+    /**
+     * 내용 비교용 키 (해시는 한 번만 계산, 둘 다 PackedDoubleList면 배열끼리 비교)
+     */
+    private static final class Content {
+        private final char kind;
+        private final List<?> values;
+        private final int hash;
+
+        Content(char kind, List<?> values) {
+            this.kind = kind;
+            this.values = values;
+            this.hash = 31 * kind + (values instanceof PackedDoubleList packed
+                    ? Arrays.hashCode(packed.array())
+                    : values.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Content other) || kind != other.kind || hash != other.hash) {
+                return false;
+            }
+            if (values instanceof PackedDoubleList a && other.values instanceof PackedDoubleList b) {
+                return Arrays.equals(a.array(), b.array());
+            }
+            return values.equals(other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class ReferenceSerializers extends SimpleSerializers {
+        @Override
+        public JsonSerializer<?> findCollectionSerializer(SerializationConfig config, CollectionType type,
+                BeanDescription beanDesc, TypeSerializer elementTypeSerializer,
+                JsonSerializer<Object> elementValueSerializer) {
+            if (!List.class.isAssignableFrom(type.getRawClass())) {
+                return null;
+            }
+            Class<?> content = type.getContentType().getRawClass();
+            if (content == Double.class) {
+                return new ReferenceSerializer(SERIES);
+            }
+            if (content == LocalDate.class) {
+                return new ReferenceSerializer(DATES);
+            }
+            if (content == Long.class) {
+                return new ReferenceSerializer(TIMESTAMPS);
+            }
+            return null;
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class ReferenceSerializer extends StdSerializer<List> {
+        private final char kind;
+
+        ReferenceSerializer(char kind) {
+            super(List.class);
+            this.kind = kind;
+        }
+
+        @Override
+        public void serialize(List value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Object table = provider.getAttribute(SeriesTable.class);
+            if (!(table instanceof SeriesTable seriesTable)) {
+                throw new IllegalStateException("SeriesTable attribute is required for series references");
+            }
+            gen.writeString(seriesTable.reference(kind, value));
+        }
+    }
+}
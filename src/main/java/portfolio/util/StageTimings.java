@@ -0,0 +1,59 @@
+package portfolio.util;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * 요청 하나의 단계별 소요 시간 기록 (여러 스레드에서 동시에 기록 가능)
+ *
+ * <p>
+ * 단계는 끝난 순서대로 남고, {@link #serverTiming()}은 응답 {@code Server-Timing} 헤더 형식
+ * ({@code 이름;dur=밀리초, ...})으로 반환합니다.
+ */
+public final class StageTimings {
+    private final Map<String, Long> nanosByStage = new LinkedHashMap<>();
+
+    /**
+     * 작업을 실행하고 소요 시간을 단계 이름으로 기록합니다. 작업이 예외로 끝나도 기록합니다.
+     */
+    public <T> T time(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 단계 소요 시간을 기록합니다. 같은 이름이면 더합니다.
+     */
+    public synchronized void record(String stage, long nanos) {
+        nanosByStage.merge(stage, nanos, Long::sum);
+    }
+
+    /**
+     * 기록된 단계별 소요 시간 (나노초, 기록 순서)
+     */
+    public synchronized Map<String, Long> nanosByStage() {
+        return new LinkedHashMap<>(nanosByStage);
+    }
+
+    /**
+     * Server-Timing 헤더 값 (기록이 없으면 빈 문자열)
+     */
+    public synchronized String serverTiming() {
+        StringJoiner joiner = new StringJoiner(", ");
+        nanosByStage.forEach((stage, nanos) -> joiner.add(
+                stage + ";dur=" + String.format(Locale.ROOT, "%.1f", nanos / 1e6)));
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return serverTiming();
+    }
+}
@@ -0,0 +1,179 @@
+package portfolio.util;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+/**
+ * 기간 수익률 배열로 VaR(Value-at-Risk)와 기대 손실(Expected Shortfall, CVaR)을 계산합니다.
+ *
+ * <p>
+ * 모든 값은 한 기간 보유 기준 손실률이며 양수가 손실입니다. 과거(historical) 방식은 정렬 대신 선택 알고리즘으로
+ * 하위 꼬리만 분리하므로 일봉처럼 긴 시계열에서도 O(n)이고, 모수(parametric) 방식은 정규분포,
+ * Cornish-Fisher 방식은 왜도/첨도로 보정한 정규 분위수를 사용합니다.
+ */
+public final class ValueAtRisk {
+    /** Cornish-Fisher 기대 손실을 구할 때 꼬리 구간을 나누는 점 개수 */
+    static final int TAIL_INTEGRATION_POINTS = 200;
+
+    private static final NormalDistribution STANDARD_NORMAL = new NormalDistribution(null, 0.0, 1.0);
+
+    private ValueAtRisk() {
+    }
+
+    /**
+     * VaR와 기대 손실 (양수가 손실)
+     */
+    public record Estimate(double valueAtRisk, double expectedShortfall) {
+    }
+
+    /**
+     * 과거 수익률의 하위 m = ⌈(1 - 신뢰수준) × n⌉개로 VaR(m번째로 작은 수익률)와 기대 손실(m개 평균)을 계산합니다.
+     * 입력 배열은 변경하지 않습니다.
+     *
+     * @throws IllegalArgumentException 수익률이 없거나 신뢰수준이 (0, 1) 밖인 경우
+     */
+    public static Estimate historical(double[] returns, double confidence) {
+        validate(returns, confidence);
+        int tail = Math.max(1, (int) Math.ceil((1 - confidence) * returns.length - 1e-9));
+        double[] values = returns.clone();
+        double valueAtRisk = select(values, tail - 1);
+        // 선택 후 [0, tail) 구간이 가장 작은 tail개
+        double sum = 0.0;
+        for (int i = 0; i < tail; i++) {
+            sum += values[i];
+        }
+        return new Estimate(-valueAtRisk, -sum / tail);
+    }
+
+    /**
+     * 정규분포 가정의 VaR(-μ + zσ)와 기대 손실(-μ + σφ(z) / (1 - 신뢰수준))을 계산합니다.
+     *
+     * @throws IllegalArgumentException 수익률이 2개 미만이거나 신뢰수준이 (0, 1) 밖인 경우
+     */
+    public static Estimate parametric(double[] returns, double confidence) {
+        validate(returns, confidence);
+        Moments moments = moments(returns);
+        return parametric(moments.mean(), moments.standardDeviation(), confidence);
+    }
+
+    /**
+     * 평균/표준편차로 정규분포 가정의 VaR와 기대 손실을 계산합니다.
+     */
+    public static Estimate parametric(double mean, double standardDeviation, double confidence) {
+        double z = STANDARD_NORMAL.inverseCumulativeProbability(confidence);
+        double density = STANDARD_NORMAL.density(z);
+        return new Estimate(-mean + z * standardDeviation,
+                -mean + standardDeviation * density / (1 - confidence));
+    }
+
+    /**
+     * 왜도 S와 초과 첨도 K로 보정한 Cornish-Fisher 분위수로 VaR와 기대 손실을 계산합니다.
+     *
+     * <p>
+     * 하위 분위수 z에 대해 z + (z² - 1)S/6 + (z³ - 3z)K/24 - (2z³ - 5z)S²/36 을 쓰고, 기대 손실은 꼬리 구간
+     * (0, 1 - 신뢰수준)의 보정 분위수를 {@value #TAIL_INTEGRATION_POINTS}개 중점으로 평균합니다.
+     *
+     * @throws IllegalArgumentException 수익률이 2개 미만이거나 신뢰수준이 (0, 1) 밖인 경우
+     */
+    public static Estimate cornishFisher(double[] returns, double confidence) {
+        validate(returns, confidence);
+        Moments moments = moments(returns);
+        double tailProbability = 1 - confidence;
+        double quantile = cornishFisherQuantile(tailProbability, moments);
+        double sum = 0.0;
+        for (int k = 0; k < TAIL_INTEGRATION_POINTS; k++) {
+            sum += cornishFisherQuantile(tailProbability * (k + 0.5) / TAIL_INTEGRATION_POINTS, moments);
+        }
+        double tailMean = sum / TAIL_INTEGRATION_POINTS;
+        return new Estimate(-(moments.mean() + quantile * moments.standardDeviation()),
+                -(moments.mean() + tailMean * moments.standardDeviation()));
+    }
+
+    /**
+     * 신뢰수준의 표준정규 분위수 z
+     */
+    public static double standardNormalQuantile(double confidence) {
+        return STANDARD_NORMAL.inverseCumulativeProbability(confidence);
+    }
+
+    private static double cornishFisherQuantile(double probability, Moments moments) {
+        double z = STANDARD_NORMAL.inverseCumulativeProbability(probability);
+        double s = moments.skewness();
+        double k = moments.excessKurtosis();
+        double z2 = z * z;
+        double z3 = z2 * z;
+        return z + (z2 - 1) * s / 6 + (z3 - 3 * z) * k / 24 - (2 * z3 - 5 * z) * s * s / 36;
+    }
+
+    /**
+     * values를 제자리에서 부분 정렬하여 k번째(0부터)로 작은 값을 반환합니다.
+     * 반환 후 [0, k]는 그 값 이하, (k, n)은 그 값 이상입니다. (Hoare 분할 퀵셀렉트, 기대 O(n))
+     */
+    static double select(double[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        while (left < right) {
+            // 중앙값-of-3 피벗
+            int middle = (left + right) >>> 1;
+            if (values[middle] < values[left]) {
+                swap(values, middle, left);
+            }
+            if (values[right] < values[left]) {
+                swap(values, right, left);
+            }
+            if (values[right] < values[middle]) {
+                swap(values, right, middle);
+            }
+            double pivot = values[middle];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    private static void validate(double[] returns, double confidence) {
+        if (returns == null || returns.length < 2) {
+            throw new IllegalArgumentException("At least two returns are required for VaR");
+        }
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be in (0, 1)");
+        }
+    }
+
+    /**
+     * 평균, 표본 표준편차, 왜도, 초과 첨도
+     */
+    private record Moments(double mean, double standardDeviation, double skewness, double excessKurtosis) {
+    }
+
+    private static Moments moments(double[] returns) {
+        RunningMoments moments = RunningMoments.of(returns);
+        return new Moments(moments.mean(), moments.sampleStandardDeviation(), moments.skewness(),
+                moments.excessKurtosis());
+    }
+}
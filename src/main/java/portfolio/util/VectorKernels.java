@@ -0,0 +1,207 @@
+package portfolio.util;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * JDK Vector API(jdk.incubator.vector) 기반 {@link NumericKernels} 구현입니다.
+ *
+ * <p>
+ * 실행 시 {@code --add-modules jdk.incubator.vector} 옵션이 필요하며, 모듈이 없으면 이 클래스를 로드하지 말고
+ * {@link ScalarKernels}를 사용합니다. ({@link NumericKernels#isVectorApiAvailable()})
+ * 벡터 폭에 맞지 않는 나머지 원소는 스칼라 반복문으로 처리합니다.
+ */
+public class VectorKernels implements NumericKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public void cumulativeGrowth(double[] prices, double[] out) {
+        double inverseStart = 1.0 / prices[0];
+        int i = 0;
+        int bound = SPECIES.loopBound(prices.length);
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, prices, i)
+                    .mul(inverseStart)
+                    .sub(1.0)
+                    .intoArray(out, i);
+        }
+        for (; i < prices.length; i++) {
+            out[i] = prices[i] * inverseStart - 1.0;
+        }
+    }
+
+    @Override
+    public void periodicReturns(double[] prices, double[] out) {
+        int n = prices.length - 1;
+        int i = 0;
+        int bound = SPECIES.loopBound(Math.max(0, n));
+        for (; i < bound; i += LANES) {
+            DoubleVector previous = DoubleVector.fromArray(SPECIES, prices, i);
+            DoubleVector current = DoubleVector.fromArray(SPECIES, prices, i + 1);
+            current.div(previous).sub(1.0).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = prices[i + 1] / prices[i] - 1.0;
+        }
+    }
+
+    /**
+     * 벡터 내부 누적 최대값(prefix max)을 log2(LANES)번의 shift-max로 계산하고,
+     * 이전 블록의 최고가(carry)와 합쳐 고점을 추적합니다.
+     */
+    @Override
+    public double drawdowns(double[] prices, double[] out) {
+        if (prices.length == 0) {
+            return 0.0;
+        }
+        DoubleVector negativeInfinity = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        DoubleVector maxDrawdowns = zero;
+        double carry = prices[0];
+        int i = 0;
+        int bound = SPECIES.loopBound(prices.length);
+        for (; i < bound; i += LANES) {
+            DoubleVector price = DoubleVector.fromArray(SPECIES, prices, i);
+            DoubleVector peak = price;
+            for (int shift = 1; shift < LANES; shift <<= 1) {
+                peak = peak.max(negativeInfinity.slice(LANES - shift, peak));
+            }
+            peak = peak.max(carry);
+            carry = peak.lane(LANES - 1);
+            // 최고가가 0이면 낙폭 0 (스칼라 구현과 동일)
+            DoubleVector drawdown = peak.sub(price).div(peak)
+                    .blend(zero, peak.compare(VectorOperators.EQ, 0.0));
+            drawdown.intoArray(out, i);
+            maxDrawdowns = maxDrawdowns.max(drawdown);
+        }
+        double maxDrawdown = maxDrawdowns.reduceLanes(VectorOperators.MAX);
+        for (; i < prices.length; i++) {
+            carry = Math.max(carry, prices[i]);
+            double drawdown = carry == 0.0 ? 0.0 : (carry - prices[i]) / carry;
+            out[i] = drawdown;
+            maxDrawdown = Math.max(maxDrawdown, drawdown);
+        }
+        return maxDrawdown;
+    }
+
+    @Override
+    public double mean(double[] values) {
+        if (values.length == 0) {
+            return 0.0;
+        }
+        return sum(values) / values.length;
+    }
+
+    @Override
+    public double variance(double[] values) {
+        if (values.length == 0) {
+            return 0.0;
+        }
+        double mean = mean(values);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(values.length);
+        for (; i < bound; i += LANES) {
+            DoubleVector diff = DoubleVector.fromArray(SPECIES, values, i).sub(mean);
+            sums = diff.fma(diff, sums);
+        }
+        double sumOfSquares = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < values.length; i++) {
+            double diff = values[i] - mean;
+            sumOfSquares += diff * diff;
+        }
+        return sumOfSquares / values.length;
+    }
+
+    @Override
+    public double covariance(double[] x, double[] y) {
+        if (x.length == 0) {
+            return 0.0;
+        }
+        double meanX = mean(x);
+        double meanY = mean(y);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        for (; i < bound; i += LANES) {
+            DoubleVector diffX = DoubleVector.fromArray(SPECIES, x, i).sub(meanX);
+            DoubleVector diffY = DoubleVector.fromArray(SPECIES, y, i).sub(meanY);
+            sums = diffX.fma(diffY, sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < x.length; i++) {
+            sum += (x[i] - meanX) * (y[i] - meanY);
+        }
+        return sum / x.length;
+    }
+
+    @Override
+    public double dot(double[] x, double[] y) {
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        for (; i < bound; i += LANES) {
+            sums = DoubleVector.fromArray(SPECIES, x, i).fma(DoubleVector.fromArray(SPECIES, y, i), sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void multiply(double[] x, double[] y, double[] out) {
+        int i = 0;
+        int bound = SPECIES.loopBound(out.length);
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, x, i).mul(DoubleVector.fromArray(SPECIES, y, i)).intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = x[i] * y[i];
+        }
+    }
+
+    @Override
+    public void weightedSum(double[][] columns, double[] coefficients, double[] out) {
+        weightedSum(columns, coefficients, out, 0, out.length);
+    }
+
+    @Override
+    public void weightedSum(double[][] columns, double[] coefficients, double[] out, int from, int to) {
+        Arrays.fill(out, from, to, 0.0);
+        int bound = from + SPECIES.loopBound(to - from);
+        for (int j = 0; j < columns.length; j++) {
+            double[] column = columns[j];
+            DoubleVector coefficient = DoubleVector.broadcast(SPECIES, coefficients[j]);
+            int i = from;
+            for (; i < bound; i += LANES) {
+                DoubleVector.fromArray(SPECIES, column, i)
+                        .fma(coefficient, DoubleVector.fromArray(SPECIES, out, i))
+                        .intoArray(out, i);
+            }
+            for (; i < to; i++) {
+                out[i] += coefficients[j] * column[i];
+            }
+        }
+    }
+
+    private double sum(double[] values) {
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(values.length);
+        for (; i < bound; i += LANES) {
+            sums = sums.add(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < values.length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}
@@ -45,10 +45,21 @@ async function handleFormSubmit(event) {
     hideResults();
 
     try {
-        // 통합 API로 모든 데이터 한 번에 호출
-        const analysisResult = await analyzePortfolioAll(formData);
-        await displayResultsAll(analysisResult);
-        showResults();
+        if (typeof ReadableStream === 'undefined') {
+            // 통합 API로 모든 데이터 한 번에 호출
+            const analysisResult = await analyzePortfolioAll(formData);
+            await displayResultsAll(analysisResult);
+            showResults();
+        } else {
+            // 통합 스트리밍 API: 섹션이 도착하는 대로 표시 (첫 섹션에서 로딩 표시를 닫음)
+            await analyzePortfolioAllStream(formData, (section, data) => {
+                displaySection(section, data);
+                if (section === 'portfolioData') {
+                    showResults();
+                    hideLoading();
+                }
+            });
+        }
     } catch (error) {
         console.error('Analysis failed:', error);
         if (error.message.startsWith('Stock data has different start dates')) {
@@ -64,59 +75,56 @@ async function handleFormSubmit(event) {
     }
 }
 
-// 통합 결과 표시 함수
-async function displayResultsAll(analysisResult) {
-    // 테스트: dividendsAmountComparisonChart 데이터 확인
-    if (analysisResult.dividendsAmountComparisonChart) {
-        console.log('dividendsAmountComparisonChart:', analysisResult.dividendsAmountComparisonChart);
-    }
-    // 1. 포트폴리오 요약 표시
-    displayPortfolioSummary(analysisResult.portfolioData);
-
-    // 2. 차트 생성 (통합 데이터 사용)
-    await createChartsAll(analysisResult);
-
-    // 3. 개별 주식 분석 테이블
-    displayStockAnalysisTable(analysisResult.portfolioData);
+// 통합 결과 표시 함수 (스트리밍을 지원하지 않는 브라우저용, 섹션 순서대로 표시)
+const ANALYSIS_SECTIONS = ['portfolioData', 'timeSeriesChart', 'comparisonChart', 'amountChart',
+    'dividendsAmountComparisonChart', 'report'];
 
-    // 4. 리스크 지표 표시
-    displayRiskMetrics(analysisResult.portfolioData);
+async function displayResultsAll(analysisResult) {
+    ANALYSIS_SECTIONS.forEach(section => displaySection(section, analysisResult[section]));
 }
 
-// 통합 차트 생성 함수
-async function createChartsAll(analysisResult) {
-    // 시계열 차트
-    if (analysisResult.timeSeriesChart) {
-        createTimeSeriesChart(analysisResult.timeSeriesChart);
-    }
-    // 비교 차트
-    if (analysisResult.comparisonChart) {
-        createComparisonChart(analysisResult.comparisonChart);
-    }
-    // 금액 변화 차트
-    if (analysisResult.amountChart) {
-        createAmountChartFromData(analysisResult.amountChart);
-        document.getElementById('amountChartSection').style.display = 'block';
-    } else {
-        document.getElementById('amountChartSection').style.display = 'none';
-    }
-    // 최대 낙폭(MDD) 차트
-    if (analysisResult.portfolioData
-        && analysisResult.portfolioData.portfolioStockReturn
-        && analysisResult.portfolioData.portfolioStockReturn.maxDrawdowns 
-        && analysisResult.portfolioData.portfolioStockReturn.maxDrawdowns.length > 0) {
-        createMaxDrawdownChart(analysisResult.portfolioData.portfolioStockReturn);
-        document.getElementById('maxDrawdownChartSection').style.display = 'block';
-    } else {
-        document.getElementById('maxDrawdownChartSection').style.display = 'none';
-    }
-
-    // 배당금 비교 차트
-    if (analysisResult.dividendsAmountComparisonChart) {
-        createDividendsAmountComparisonChart(analysisResult.dividendsAmountComparisonChart);
-        document.getElementById('dividendsAmountComparisonChartSection').style.display = 'block';
-    } else {
-        document.getElementById('dividendsAmountComparisonChartSection').style.display = 'none';
+// 스트리밍 섹션별 표시 함수 (섹션 이름은 통합 응답의 필드 이름)
+function displaySection(section, data) {
+    switch (section) {
+        case 'portfolioData':
+            displayPortfolioSummary(data);
+            displayStockAnalysisTable(data);
+            displayRiskMetrics(data);
+            if (data.portfolioStockReturn
+                && data.portfolioStockReturn.maxDrawdowns
+                && data.portfolioStockReturn.maxDrawdowns.length > 0) {
+                createMaxDrawdownChart(data.portfolioStockReturn);
+                document.getElementById('maxDrawdownChartSection').style.display = 'block';
+            } else {
+                document.getElementById('maxDrawdownChartSection').style.display = 'none';
+            }
+            break;
+        case 'timeSeriesChart':
+            if (data) {
+                createTimeSeriesChart(data);
+            }
+            break;
+        case 'comparisonChart':
+            if (data) {
+                createComparisonChart(data);
+            }
+            break;
+        case 'amountChart':
+            if (data) {
+                createAmountChartFromData(data);
+            }
+            document.getElementById('amountChartSection').style.display = data ? 'block' : 'none';
+            break;
+        case 'dividendsAmountComparisonChart':
+            if (data) {
+                createDividendsAmountComparisonChart(data);
+            }
+            document.getElementById('dividendsAmountComparisonChartSection').style.display = data ? 'block' : 'none';
+            break;
+        case 'error':
+            throw new Error(data.message);
+        default:
+            break;
     }
 }
 
@@ -221,7 +229,9 @@ function getFormData() {
         startDate: normalizeMonthInput(document.getElementById('startDate').value),
         endDate: normalizeMonthInput(document.getElementById('endDate').value),
         includeDividends: document.getElementById('includeDividends').checked,
-        initialAmount: initialAmount
+        initialAmount: initialAmount,
+        frequency: document.getElementById('frequency').value,
+        alignment: 'INTERSECTION' // 종목별 시작일이 달라도 공통 날짜로 맞춰 분석
     };
 }
 
@@ -247,20 +257,112 @@ function validateFormData(formData) {
 
 // 통합 분석/차트/리포트 API 호출
 async function analyzePortfolioAll(formData) {
-    const response = await fetch(`${API_BASE_URL}/analyze/all`, {
-        method: 'POST',
-        headers: {
-            'Content-Type': 'application/json',
-        },
-        body: JSON.stringify(formData)
-    });
+    return await postJson(`${API_BASE_URL}/analyze/all`, formData);
+}
 
+// 통합 분석 스트리밍 API 호출 (NDJSON 한 줄 = { section, data })
+async function analyzePortfolioAllStream(formData, onSection) {
+    return await postNdjson(`${API_BASE_URL}/analyze/all/stream`, formData, onSection);
+}
+
+// ETag 응답 캐시: URL + 요청 본문 → { etag, data } (최근 사용 순, 최대 RESPONSE_CACHE_SIZE개)
+const RESPONSE_CACHE_SIZE = 20;
+const responseCache = new Map();
+
+// POST 호출: 같은 요청을 다시 보내면 If-None-Match로 검증하고 304면 저장한 응답을 재사용
+async function postJson(url, payload) {
+    const body = JSON.stringify(payload);
+    const cacheKey = `${url}\n${body}`;
+    const cached = responseCache.get(cacheKey);
+    const headers = { 'Content-Type': 'application/json' };
+    if (cached) {
+        headers['If-None-Match'] = cached.etag;
+    }
+
+    const response = await fetch(url, { method: 'POST', headers, body });
+
+    if (response.status === 304 && cached) {
+        responseCache.delete(cacheKey);
+        responseCache.set(cacheKey, cached);
+        return cached.data;
+    }
+    if (!response.ok) {
+        const errorData = await response.json().catch(() => ({}));
+        throw new Error(errorData.message || `HTTP ${response.status}: ${response.statusText}`);
+    }
+
+    const data = await response.json();
+    const etag = response.headers.get('ETag');
+    responseCache.delete(cacheKey);
+    if (etag) {
+        responseCache.set(cacheKey, { etag, data });
+        if (responseCache.size > RESPONSE_CACHE_SIZE) {
+            responseCache.delete(responseCache.keys().next().value);
+        }
+    }
+    return data;
+}
+
+// NDJSON 스트리밍 POST 호출: 줄이 도착할 때마다 onSection(section, data)를 호출
+// 같은 요청을 다시 보내 304를 받으면 저장한 섹션들을 순서대로 다시 전달
+async function postNdjson(url, payload, onSection) {
+    const body = JSON.stringify(payload);
+    const cacheKey = `${url}\n${body}`;
+    const cached = responseCache.get(cacheKey);
+    const headers = { 'Content-Type': 'application/json', 'Accept': 'application/x-ndjson' };
+    if (cached) {
+        headers['If-None-Match'] = cached.etag;
+    }
+
+    const response = await fetch(url, { method: 'POST', headers, body });
+
+    if (response.status === 304 && cached) {
+        responseCache.delete(cacheKey);
+        responseCache.set(cacheKey, cached);
+        cached.data.forEach(line => onSection(line.section, line.data));
+        return;
+    }
     if (!response.ok) {
         const errorData = await response.json().catch(() => ({}));
         throw new Error(errorData.message || `HTTP ${response.status}: ${response.statusText}`);
     }
 
-    return await response.json();
+    const lines = [];
+    let failed = false;
+    const handleLine = text => {
+        if (!text.trim()) {
+            return;
+        }
+        const line = JSON.parse(text);
+        lines.push(line);
+        failed = failed || line.section === 'error';
+        onSection(line.section, line.data);
+    };
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+        const { done, value } = await reader.read();
+        if (done) {
+            break;
+        }
+        buffer += decoder.decode(value, { stream: true });
+        let newline;
+        while ((newline = buffer.indexOf('\n')) >= 0) {
+            handleLine(buffer.slice(0, newline));
+            buffer = buffer.slice(newline + 1);
+        }
+    }
+    handleLine(buffer + decoder.decode());
+
+    const etag = response.headers.get('ETag');
+    responseCache.delete(cacheKey);
+    if (etag && !failed) {
+        responseCache.set(cacheKey, { etag, data: lines });
+        if (responseCache.size > RESPONSE_CACHE_SIZE) {
+            responseCache.delete(responseCache.keys().next().value);
+        }
+    }
 }
 
 
@@ -1,31 +1,71 @@
 package portfolio.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import portfolio.model.*;
 import portfolio.service.ChartGenerator;
+import portfolio.service.FullAnalysisAssembler;
+import portfolio.service.IncrementalMetricService;
+import portfolio.service.MonteCarloService;
+import portfolio.service.PortfolioOptimizationService;
 import portfolio.service.PortfolioReturnService;
+import portfolio.service.RebalancingService;
+import portfolio.service.WeightSweepService;
 import portfolio.service.ReportGenerator;
+import portfolio.util.PackedDoubleList;
+import portfolio.util.PackedDoubles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @WebMvcTest(PortfolioController.class)
+@Import(FullAnalysisAssembler.class)
 class PortfolioControllerTest {
 
+    @TestConfiguration
+    static class DirectAssemblyExecutorConfig {
+        @Bean
+        Executor assemblyExecutor() {
+            return Runnable::run;
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -41,13 +81,33 @@ class PortfolioControllerTest {
     @MockitoBean
     private ReportGenerator reportGenerator;
 
+    @MockitoBean
+    private RebalancingService rebalancingService;
+
+    @MockitoBean
+    private WeightSweepService weightSweepService;
+
+    @MockitoBean
+    private PortfolioOptimizationService portfolioOptimizationService;
+
+    @MockitoBean
+    private MonteCarloService monteCarloService;
+
+    @MockitoBean
+    private IncrementalMetricService incrementalMetricService;
+
     private PortfolioRequest sampleRequest;
     private PortfolioReturnData samplePortfolioData;
     private ChartData sampleChartData;
     private AnalysisReport sampleReport;
+    private FetchedStockDatas fetchedStockDatas;
 
     @BeforeEach
     void setUp() {
+        fetchedStockDatas = mock(FetchedStockDatas.class);
+        when(fetchedStockDatas.versionStamp()).thenReturn(42L);
+        when(portfolioReturnService.fetchStockData(any(PortfolioRequest.class))).thenReturn(fetchedStockDatas);
+
         // 샘플 요청 데이터
         sampleRequest = new PortfolioRequest();
         sampleRequest.setTickers(List.of("AAPL", "MSFT"));
@@ -71,8 +131,7 @@ class PortfolioControllerTest {
                 .volatility(0.0)
                 .build();
 
-        samplePortfolioData = new PortfolioReturnData(List.of(appleData, microsoftData));
-        samplePortfolioData.setPortfolioStockReturn(StockReturnData.builder()
+        samplePortfolioData = new PortfolioReturnData(List.of(appleData, microsoftData), StockReturnData.builder()
                 .priceReturn(0.135)
                 .totalReturn(0.16)
                 .build());
@@ -88,7 +147,8 @@ class PortfolioControllerTest {
                 LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), 365,
                 0.18, "AAPL", 0.14, "MSFT");
         AnalysisReport.RiskMetrics riskMetrics = new AnalysisReport.RiskMetrics(
-                0.08, 1.2, -0.05, Map.of(), 0.0);
+                0.08, 1.2, -0.05,
+                new CorrelationMatrix(List.of(), 0, new double[0], new double[0]), 0.0);
         sampleReport = new AnalysisReport(
                 "RPT-12345678", LocalDateTime.now(), sampleRequest, samplePortfolioData,
                 summary, List.of(), riskMetrics);
@@ -97,7 +157,7 @@ class PortfolioControllerTest {
     @Test
     void shouldAnalyzeAllAtOnce() throws Exception {
         // Given
-        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class)))
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
                 .thenReturn(samplePortfolioData);
         when(chartGenerator.generateTimeSeriesChart(any(PortfolioReturnData.class)))
                 .thenReturn(sampleChartData);
@@ -118,13 +178,146 @@ class PortfolioControllerTest {
                 .andExpect(jsonPath("$.timeSeriesChart").exists())
                 .andExpect(jsonPath("$.comparisonChart").exists())
                 .andExpect(jsonPath("$.amountChart").exists())
-                .andExpect(jsonPath("$.report").exists());
+                .andExpect(jsonPath("$.report").exists())
+                .andExpect(header().string("Server-Timing",
+                        org.hamcrest.Matchers.allOf(
+                                org.hamcrest.Matchers.containsString("fetch;dur="),
+                                org.hamcrest.Matchers.containsString("analyze;dur="),
+                                org.hamcrest.Matchers.containsString("timeSeriesChart;dur="),
+                                org.hamcrest.Matchers.containsString("report;dur="))));
+    }
+
+    @Test
+    void shouldStreamAnalysisSectionsAsNdjson() throws Exception {
+        // Given
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(samplePortfolioData);
+        when(chartGenerator.generateTimeSeriesChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+        when(chartGenerator.generateComparisonChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+        when(chartGenerator.generateAmountChangeChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+        when(reportGenerator.generateReport(any(PortfolioRequest.class), any(PortfolioReturnData.class)))
+                .thenReturn(sampleReport);
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/portfolio/analyze/all/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then: 섹션마다 한 줄, 지표 → 차트 → 리포트 순
+        List<String> sections = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line).get("section").asText();
+                    } catch (Exception e) {
+                        throw new AssertionError(line, e);
+                    }
+                })
+                .toList();
+        org.assertj.core.api.Assertions.assertThat(sections).containsExactly("portfolioData", "timeSeriesChart",
+                "comparisonChart", "amountChart", "dividendsAmountComparisonChart", "report");
+        org.assertj.core.api.Assertions.assertThat(body.lines().toList().get(5)).contains("RPT-12345678");
+    }
+
+    @Test
+    void shouldEndStreamWithErrorSectionWhenAnalysisFails() throws Exception {
+        // Given
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenThrow(new IllegalArgumentException("Stock data not found for some tickers"));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/portfolio/analyze/all/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.section").value("error"))
+                .andExpect(jsonPath("$.data.message").value("Stock data not found for some tickers"));
+    }
+
+    @Test
+    void shouldEndStreamWithErrorSectionWhenExceptionHasNoMessage() throws Exception {
+        // Given: 메시지 없는 예외
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenThrow(new IllegalArgumentException());
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/portfolio/analyze/all/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andReturn();
+
+        // Then: 스트림이 잘리지 않고 error 섹션으로 끝남
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.section").value("error"))
+                .andExpect(jsonPath("$.data.message").value("Bad Request"));
+    }
+
+    @Test
+    void shouldReferenceSharedSeriesInV2Response() throws Exception {
+        // Given: 차트가 종목 결과의 누적 수익률/날짜 리스트를 그대로 사용
+        List<LocalDate> dates = List.of(LocalDate.of(2023, 1, 31), LocalDate.of(2023, 2, 28));
+        List<Double> cumulative = List.of(0.0, 0.05);
+        StockReturnData apple = StockReturnData.builder()
+                .ticker("AAPL")
+                .dates(dates)
+                .cumulativeReturns(cumulative)
+                .build();
+        PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(apple), StockReturnData.builder()
+                .ticker("Portfolio")
+                .dates(List.copyOf(dates))
+                .cumulativeReturns(List.of(0.0, 0.05))
+                .build());
+        ChartData chart = new ChartData("Test Chart", "line", dates, Map.of("AAPL", cumulative),
+                sampleChartData.getConfiguration());
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(portfolioData);
+        when(chartGenerator.generateTimeSeriesChart(any(PortfolioReturnData.class))).thenReturn(chart);
+        when(chartGenerator.generateComparisonChart(any(PortfolioReturnData.class))).thenReturn(chart);
+        when(chartGenerator.generateAmountChangeChart(any(PortfolioReturnData.class))).thenReturn(sampleChartData);
+        when(reportGenerator.generateReport(any(PortfolioRequest.class), any(PortfolioReturnData.class)))
+                .thenReturn(sampleReport);
+
+        // When & Then: 같은 내용은 하나의 id, 배열은 series/axes에 한 번씩, 리포트는 요청/결과를 다시 싣지 않음
+        mockMvc.perform(post("/api/portfolio/v2/analyze/all")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.schemaVersion").value(2))
+                .andExpect(jsonPath("$.request.tickers[0]").value("AAPL"))
+                .andExpect(jsonPath("$.portfolioData.stockReturns[0].cumulativeReturns").value("s0"))
+                .andExpect(jsonPath("$.portfolioData.portfolioStockReturn.cumulativeReturns").value("s0"))
+                .andExpect(jsonPath("$.portfolioData.stockReturns[0].dates").value("d0"))
+                .andExpect(jsonPath("$.portfolioData.portfolioStockReturn.dates").value("d0"))
+                .andExpect(jsonPath("$.timeSeriesChart.dates").value("d0"))
+                .andExpect(jsonPath("$.timeSeriesChart.series.AAPL").value("s0"))
+                .andExpect(jsonPath("$.series.s0[1]").value(0.05))
+                .andExpect(jsonPath("$.axes.d0[0]").value("2023-01-31"))
+                .andExpect(jsonPath("$.series.s1").doesNotExist())
+                .andExpect(jsonPath("$.amountChart.dates").value("d1"))
+                .andExpect(jsonPath("$.report.reportId").value("RPT-12345678"))
+                .andExpect(jsonPath("$.report.request").doesNotExist())
+                .andExpect(jsonPath("$.report.portfolioData").doesNotExist());
     }
 
     @Test
     void shouldGenerateTimeSeriesChart() throws Exception {
         // Given
-        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class)))
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
                 .thenReturn(samplePortfolioData);
         when(chartGenerator.generateTimeSeriesChart(any(PortfolioReturnData.class)))
                 .thenReturn(sampleChartData);
@@ -142,7 +335,7 @@ class PortfolioControllerTest {
     @Test
     void shouldGenerateComparisonChart() throws Exception {
         // Given
-        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class)))
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
                 .thenReturn(samplePortfolioData);
         when(chartGenerator.generateComparisonChart(any(PortfolioReturnData.class)))
                 .thenReturn(sampleChartData);
@@ -157,10 +350,30 @@ class PortfolioControllerTest {
                 .andExpect(jsonPath("$.type").value("line"));
     }
 
+    @Test
+    void shouldGenerateRollingRiskChartWithDefaultWindows() throws Exception {
+        // Given
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .then(invocation -> {
+                    PortfolioRequest req = invocation.getArgument(0);
+                    org.assertj.core.api.Assertions.assertThat(req.getRollingWindows()).containsExactly(12, 36, 60);
+                    return samplePortfolioData;
+                });
+        when(chartGenerator.generateRollingRiskChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+
+        // When & Then
+        mockMvc.perform(post("/api/portfolio/chart/rolling")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Chart"));
+    }
+
     @Test
     void shouldGenerateReport() throws Exception {
         // Given
-        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class)))
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
                 .thenReturn(samplePortfolioData);
         when(reportGenerator.generateReport(any(PortfolioRequest.class), any(PortfolioReturnData.class)))
                 .thenReturn(sampleReport);
@@ -174,6 +387,177 @@ class PortfolioControllerTest {
                 .andExpect(jsonPath("$.reportId").value("RPT-12345678"))
                 .andExpect(jsonPath("$.summary").exists())
                 .andExpect(jsonPath("$.riskMetrics").exists());
+        verify(portfolioReturnService).analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class),
+                eq(ReportGenerator.REPORT_METRICS));
+    }
+
+    @Test
+    void shouldAnalyzeOnlyRequestedMetrics() throws Exception {
+        // Given: 낙폭 구간만 요청
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(samplePortfolioData);
+        sampleRequest.setMetrics(java.util.EnumSet.of(Metric.DRAWDOWN_EPISODES));
+
+        // When & Then
+        mockMvc.perform(post("/api/portfolio/analyze")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isOk());
+        verify(portfolioReturnService).analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class),
+                eq(java.util.EnumSet.of(Metric.DRAWDOWN_EPISODES)));
+    }
+
+    @Test
+    void shouldSendWeakETagForReportBecauseIdAndTimestampVary() throws Exception {
+        // Given
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(samplePortfolioData);
+        when(reportGenerator.generateReport(any(PortfolioRequest.class), any(PortfolioReturnData.class)))
+                .thenReturn(sampleReport);
+        when(chartGenerator.generateComparisonChart(any(PortfolioReturnData.class))).thenReturn(sampleChartData);
+
+        // When
+        String etag = mockMvc.perform(post("/api/portfolio/report")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String chartEtag = mockMvc.perform(post("/api/portfolio/chart/comparison")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then: 리포트는 약한 ETag, 결정적인 차트는 강한 ETag이며 약한 ETag로도 304
+        assertTrue(etag.startsWith("W/\""), etag);
+        assertTrue(chartEtag.startsWith("\""), chartEtag);
+        mockMvc.perform(post("/api/portfolio/report")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void shouldSimulateRebalancing() throws Exception {
+        // Given
+        RebalancingResponse response = new RebalancingResponse(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 1),
+                List.of(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 1)),
+                List.of(new RebalancingResult(RebalancingPolicy.QUARTERLY, 3, 0.12, 0.0, samplePortfolioData
+                        .getPortfolioStockReturn())));
+        when(rebalancingService.simulate(any(PortfolioRequest.class), any(FetchedStockDatas.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/portfolio/rebalance")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].policy").value("QUARTERLY"))
+                .andExpect(jsonPath("$.results[0].rebalanceCount").value(3));
+    }
+
+    @Test
+    void shouldSweepWeightSets() throws Exception {
+        // Given
+        SweepResponse response = new SweepResponse(List.of("AAPL", "MSFT"), LocalDate.of(2023, 1, 1),
+                LocalDate.of(2023, 12, 1), SweepResponse.COLUMNS,
+                new double[][] { { 0.1, 0.2, 0.5, 0.15, 0.12 }, { 0.08, 0.18, 0.4, 0.12, 0.1 } });
+        when(weightSweepService.sweep(any(SweepRequest.class), any(FetchedStockDatas.class))).thenReturn(response);
+        SweepRequest sweepRequest = new SweepRequest();
+        sweepRequest.setTickers(List.of("AAPL", "MSFT"));
+        sweepRequest.setStartDate(LocalDate.of(2023, 1, 1));
+        sweepRequest.setEndDate(LocalDate.of(2023, 12, 31));
+        sweepRequest.setWeightSets(List.of(List.of(0.5, 0.5), List.of(0.2, 0.8)));
+
+        // When & Then
+        mockMvc.perform(post("/api/portfolio/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sweepRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns[0]").value("cagr"))
+                .andExpect(jsonPath("$.rows[1][4]").value(0.1));
+    }
+
+    @Test
+    void shouldOptimizePortfolio() throws Exception {
+        // Given
+        OptimizedPortfolio minimumVariance = new OptimizedPortfolio(new double[] { 0.3, 0.7 }, 0.08, 0.15, 0.27);
+        OptimizedPortfolio maximumSharpe = new OptimizedPortfolio(new double[] { 0.6, 0.4 }, 0.11, 0.18, 0.39);
+        OptimizationResponse response = new OptimizationResponse(List.of("AAPL", "MSFT"), LocalDate.of(2023, 1, 1),
+                LocalDate.of(2023, 12, 1), 11, 0.04, minimumVariance, maximumSharpe,
+                List.of(minimumVariance, maximumSharpe));
+        when(portfolioOptimizationService.optimize(any(OptimizationRequest.class), any(FetchedStockDatas.class)))
+                .thenReturn(response);
+        OptimizationRequest optimizationRequest = new OptimizationRequest();
+        optimizationRequest.setTickers(List.of("AAPL", "MSFT"));
+        optimizationRequest.setStartDate(LocalDate.of(2023, 1, 1));
+        optimizationRequest.setEndDate(LocalDate.of(2023, 12, 31));
+        optimizationRequest.setMaxWeight(0.8);
+
+        // When & Then
+        mockMvc.perform(post("/api/portfolio/optimize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(optimizationRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maximumSharpe.weights[0]").value(0.6))
+                .andExpect(jsonPath("$.frontier.length()").value(2));
+    }
+
+    @Test
+    void shouldSimulateFutureValues() throws Exception {
+        // Given
+        List<MonteCarloResponse.PercentileBand> bands = List.of(
+                new MonteCarloResponse.PercentileBand(0, new double[] { 1000, 1000, 1000, 1000, 1000 }),
+                new MonteCarloResponse.PercentileBand(1, new double[] { 850, 960, 1070, 1180, 1350 }));
+        MonteCarloResponse response = new MonteCarloResponse(List.of("AAPL", "MSFT"), LocalDate.of(2023, 1, 1),
+                LocalDate.of(2023, 12, 1), SimulationMethod.BOOTSTRAP, 1000, 1, 11, 42L, 1000.0,
+                MonteCarloResponse.BAND_PERCENTILES, bands, 1075.0, 0.31, new double[99]);
+        when(monteCarloService.simulate(any(MonteCarloRequest.class))).thenReturn(response);
+        MonteCarloRequest monteCarloRequest = new MonteCarloRequest();
+        monteCarloRequest.setTickers(List.of("AAPL", "MSFT"));
+        monteCarloRequest.setStartDate(LocalDate.of(2023, 1, 1));
+        monteCarloRequest.setEndDate(LocalDate.of(2023, 12, 31));
+        monteCarloRequest.setYears(1);
+        monteCarloRequest.setPaths(1000);
+
+        // When & Then
+        mockMvc.perform(post("/api/portfolio/simulate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(monteCarloRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bands[1].values[2]").value(1070.0))
+                .andExpect(jsonPath("$.probabilityOfLoss").value(0.31));
+    }
+
+    @Test
+    void shouldInitializeAndAppendIncrementalMetrics() throws Exception {
+        // Given
+        StockReturnData initialized = StockReturnData.builder().ticker("SCHD").totalReturn(0.1).build();
+        StockReturnData appended = StockReturnData.builder().ticker("SCHD").totalReturn(0.12).build();
+        when(incrementalMetricService.initialize(eq("p1"), eq("SCHD"), any(StockHistories.class), any(), eq(true),
+                eq(10000.0), eq(1.0), eq(BarFrequency.MONTHLY))).thenReturn(initialized);
+        when(incrementalMetricService.append(eq("p1"), any(StockHistories.class), any())).thenReturn(appended);
+        String initialize = """
+                {"ticker":"SCHD","includeDividends":true,"initialAmount":10000,
+                 "prices":[10,11],"timestamps":[1700000000,1702600000],"indexPrices":[4000,4100]}""";
+        String bars = """
+                {"prices":[12],"timestamps":[1705300000],"indexPrices":[4200],
+                 "dividends":[{"amount":0.5,"date":1704000000}]}""";
+
+        // When & Then
+        mockMvc.perform(put("/api/portfolio/metrics/p1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(initialize))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalReturn").value(0.1));
+        mockMvc.perform(post("/api/portfolio/metrics/p1/bars")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bars))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalReturn").value(0.12));
+        verify(incrementalMetricService).append(eq("p1"),
+                argThat(h -> h.dividends().size() == 1 && h.prices().equals(List.of(12.0))),
+                eq(List.of(4200.0)));
     }
 
     @Test
@@ -191,7 +575,7 @@ class PortfolioControllerTest {
     @Test
     void shouldHandleServiceException() throws Exception {
         // Given
-        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class)))
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
                 .thenThrow(new RuntimeException("Service error"));
 
         // When & Then
@@ -211,7 +595,7 @@ class PortfolioControllerTest {
         yearMonthRequest.setIncludeDividends(true);
 
         // Mock: 서비스가 내부적으로 2024-07-01 ~ 2024-07-31을 사용했는지 검증
-        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class)))
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
                 .then(invocation -> {
                     PortfolioRequest req = invocation.getArgument(0);
                     LocalDate expectedStart = LocalDate.of(2024, 7, 1);
@@ -228,4 +612,106 @@ class PortfolioControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldReturnNotModifiedWithoutAnalysisWhenETagMatches() throws Exception {
+        // Given: 첫 응답의 ETag
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(samplePortfolioData);
+        when(chartGenerator.generateComparisonChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+        String etag = mockMvc.perform(post("/api/portfolio/chart/comparison")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(portfolioReturnService, chartGenerator);
+
+        // When & Then: 같은 요청 + If-None-Match는 분석/차트 생성 없이 304
+        mockMvc.perform(post("/api/portfolio/chart/comparison")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .content(objectMapper.writeValueAsString(sampleRequest)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(portfolioReturnService, never()).analyzePortfolio(any(PortfolioRequest.class),
+                any(FetchedStockDatas.class), any());
+        verify(chartGenerator, never()).generateComparisonChart(any(PortfolioReturnData.class));
+    }
+
+    @Test
+    void shouldChangeETagWhenSeriesVersionOrEndpointChanges() throws Exception {
+        // Given
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(samplePortfolioData);
+        when(chartGenerator.generateComparisonChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+        when(chartGenerator.generateTimeSeriesChart(any(PortfolioReturnData.class)))
+                .thenReturn(sampleChartData);
+        String content = objectMapper.writeValueAsString(sampleRequest);
+        String etag = mockMvc.perform(post("/api/portfolio/chart/comparison")
+                .contentType(MediaType.APPLICATION_JSON).content(content))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then: 다른 엔드포인트는 다른 ETag
+        String timeSeriesEtag = mockMvc.perform(post("/api/portfolio/chart/timeseries")
+                .contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, timeSeriesEtag);
+
+        // When & Then: 시계열을 다시 조회해 값이 바뀌면 이전 ETag로는 304가 아님
+        when(fetchedStockDatas.versionStamp()).thenReturn(43L);
+        mockMvc.perform(post("/api/portfolio/chart/comparison")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .content(content))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Chart"));
+    }
+
+    @Test
+    void shouldNegotiateBinaryEncodingsWithPackedSeries() throws Exception {
+        // Given
+        double[] cumulative = { 0.0, 0.05, 0.1 };
+        PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(StockReturnData.builder()
+                .ticker("AAPL")
+                .cumulativeReturns(PackedDoubleList.wrap(cumulative))
+                .build()), StockReturnData.builder().ticker("Portfolio").build());
+        when(portfolioReturnService.analyzePortfolio(any(PortfolioRequest.class), any(FetchedStockDatas.class), any()))
+                .thenReturn(portfolioData);
+        String content = objectMapper.writeValueAsString(sampleRequest);
+        String jsonEtag = mockMvc.perform(post("/api/portfolio/analyze")
+                .contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.stockReturns[0].cumulativeReturns[1]").value(0.05))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Map<MediaType, ObjectMapper> readers = Map.of(
+                MediaType.APPLICATION_CBOR, new CBORMapper(),
+                new MediaType("application", "x-jackson-smile"), new SmileMapper(),
+                MediaType.parseMediaType("application/msgpack"), new ObjectMapper(new MessagePackFactory()));
+        for (Map.Entry<MediaType, ObjectMapper> reader : readers.entrySet()) {
+            // When
+            MockHttpServletResponse response = mockMvc.perform(post("/api/portfolio/analyze")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(reader.getKey())
+                    .content(content))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(reader.getKey()))
+                    .andExpect(header().stringValues(HttpHeaders.VARY,
+                            org.hamcrest.Matchers.hasItem(HttpHeaders.ACCEPT)))
+                    .andReturn().getResponse();
+
+            // Then: 시계열은 리틀 엔디언 float64 바이트 열, 표현이 다르므로 ETag도 다름
+            JsonNode root = reader.getValue().readTree(response.getContentAsByteArray());
+            JsonNode series = root.get("stockReturns").get(0).get("cumulativeReturns");
+            assertTrue(series.isBinary(), reader.getKey().toString());
+            assertArrayEquals(cumulative, PackedDoubles.read(series.binaryValue()));
+            assertEquals("AAPL", root.get("stockReturns").get(0).get("ticker").asText());
+            assertNotEquals(jsonEtag, response.getHeader(HttpHeaders.ETAG));
+        }
+    }
+
 }
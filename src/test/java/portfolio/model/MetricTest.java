@@ -0,0 +1,51 @@
+package portfolio.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricTest {
+
+    @Test
+    void closureShouldIncludeTransitiveInputs() {
+        // When
+        Set<Metric> resolved = Metric.closure(EnumSet.of(Metric.SHARPE_RATIO, Metric.TOTAL_RETURN));
+
+        // Then
+        assertEquals(EnumSet.of(Metric.SHARPE_RATIO, Metric.PERIODIC_RETURNS, Metric.TOTAL_RETURN,
+                Metric.TOTAL_RETURN_SERIES), resolved);
+    }
+
+    @Test
+    void closureOfCheapMetricsShouldNotIncludeExpensiveSeries() {
+        // When
+        Set<Metric> resolved = Metric.closure(EnumSet.of(Metric.PRICE_RETURN, Metric.TOTAL_RETURN));
+
+        // Then
+        assertFalse(resolved.contains(Metric.AMOUNTS));
+        assertFalse(resolved.contains(Metric.DRAWDOWNS));
+        assertFalse(resolved.contains(Metric.DATES));
+        assertFalse(resolved.contains(Metric.BETA));
+    }
+
+    @Test
+    void closureShouldResolveCumulativeReturnsFromIncludeDividends() {
+        // When
+        Set<Metric> withDividends = Metric.closure(EnumSet.of(Metric.CUMULATIVE_RETURNS), true);
+        Set<Metric> priceOnly = Metric.closure(EnumSet.of(Metric.CUMULATIVE_RETURNS), false);
+
+        // Then
+        assertEquals(EnumSet.of(Metric.CUMULATIVE_RETURNS, Metric.TOTAL_RETURN_SERIES), withDividends);
+        assertEquals(EnumSet.of(Metric.CUMULATIVE_RETURNS, Metric.PRICE_GROWTH), priceOnly);
+        assertTrue(Metric.closure(EnumSet.of(Metric.CUMULATIVE_RETURNS))
+                .containsAll(EnumSet.of(Metric.PRICE_GROWTH, Metric.TOTAL_RETURN_SERIES)));
+    }
+
+    @Test
+    void closureShouldRejectNull() {
+        assertThrows(IllegalArgumentException.class, () -> Metric.closure(null));
+    }
+}
@@ -0,0 +1,152 @@
+package portfolio.model;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import portfolio.util.PackedDoubleList;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioFullAnalysisResponseV2Test {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void shouldEmitEachSeriesOnceAndResolveToV1Values() throws Exception {
+        // given: 20종목 × 240개월, 차트는 종목 결과의 리스트를 그대로 사용 (ChartGenerator와 같음)
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("T0", "T1"));
+        request.setStartDate(LocalDate.of(2000, 1, 1));
+        request.setEndDate(LocalDate.of(2019, 12, 31));
+        PortfolioFullAnalysisResponse v1 = largeResponse(request, 20, 240);
+
+        // when
+        byte[] v1Bytes = MAPPER.writeValueAsBytes(v1);
+        byte[] v2Bytes = MAPPER.writeValueAsBytes(new PortfolioFullAnalysisResponseV2(request, v1,
+                PortfolioFullAnalysisResponseV2.referenceWriter(MAPPER)));
+
+        // then: 여러 배 작아지고, id를 풀면 v1과 같은 값
+        assertTrue(v2Bytes.length * 3 < v1Bytes.length,
+                () -> "v1=" + v1Bytes.length + " v2=" + v2Bytes.length);
+        JsonNode expected = MAPPER.readTree(v1Bytes);
+        JsonNode actual = MAPPER.readTree(v2Bytes);
+        assertEquals(2, actual.get("schemaVersion").asInt());
+        assertEquals("T0", actual.get("request").get("tickers").get(0).asText());
+        assertFalse(actual.get("report").has("request"));
+        assertFalse(actual.get("report").has("portfolioData"));
+        assertEquals(expected.get("report").get("summary"), actual.get("report").get("summary"));
+
+        JsonNode series = actual.get("series");
+        JsonNode axes = actual.get("axes");
+        for (String field : List.of("prices", "cumulativeReturns", "amountChanges", "dates", "timestamps")) {
+            for (int s = 0; s < 20; s++) {
+                String id = actual.get("portfolioData").get("stockReturns").get(s).get(field).asText();
+                JsonNode resolved = series.has(id) ? series.get(id) : axes.get(id);
+                assertEquals(expected.get("portfolioData").get("stockReturns").get(s).get(field), resolved, field);
+            }
+        }
+        for (String chart : List.of("timeSeriesChart", "amountChart")) {
+            JsonNode v2Chart = actual.get(chart);
+            assertEquals(expected.get(chart).get("dates"), axes.get(v2Chart.get("dates").asText()));
+            v2Chart.get("series").properties().forEach(e -> assertEquals(
+                    expected.get(chart).get("series").get(e.getKey()), series.get(e.getValue().asText())));
+        }
+        // 정렬된 종목들의 날짜/타임스탬프 축은 하나씩
+        assertEquals(2, axes.size());
+    }
+
+    @Test
+    void shouldUseInjectedMapperSettingsAndKeepRequestListsInline() throws Exception {
+        // given: 날짜를 타임스탬프 배열로 쓰는 애플리케이션 ObjectMapper
+        ObjectMapper mapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("T0", "T1"));
+        request.setStartDate(LocalDate.of(2000, 1, 1));
+        request.setEndDate(LocalDate.of(2001, 12, 31));
+        request.setWeights(List.of(0.6, 0.4));
+        request.setVarConfidenceLevels(List.of(0.95, 0.99));
+        PortfolioFullAnalysisResponse v1 = largeResponse(request, 2, 24);
+
+        // when
+        JsonNode expected = mapper.readTree(mapper.writeValueAsBytes(v1));
+        JsonNode actual = mapper.readTree(mapper.writeValueAsBytes(new PortfolioFullAnalysisResponseV2(request, v1,
+                PortfolioFullAnalysisResponseV2.referenceWriter(mapper))));
+
+        // then: 요청 목록은 배열 그대로, 분석 결과는 주입된 설정(날짜 배열)으로 기록
+        assertEquals(mapper.readTree(mapper.writeValueAsBytes(request)), actual.get("request"));
+        assertTrue(actual.get("request").get("weights").isArray());
+        assertTrue(actual.get("request").get("varConfidenceLevels").isArray());
+        assertTrue(actual.get("report").get("generatedAt").isArray());
+        assertEquals(expected.get("report").get("generatedAt"), actual.get("report").get("generatedAt"));
+        assertTrue(actual.get("timeSeriesChart").get("dates").isTextual());
+        // 원본 ObjectMapper는 변경되지 않음
+        assertTrue(mapper.readTree(mapper.writeValueAsBytes(v1)).get("timeSeriesChart").get("dates").isArray());
+    }
+
+    private static PortfolioFullAnalysisResponse largeResponse(PortfolioRequest request, int stocks, int months) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<StockReturnData> stockReturns = new ArrayList<>();
+        Map<String, List<Double>> cumulativeSeries = new LinkedHashMap<>();
+        Map<String, List<Double>> amountSeries = new LinkedHashMap<>();
+        List<LocalDate> chartDates = null;
+        for (int s = 0; s < stocks; s++) {
+            // 종목마다 날짜/타임스탬프 리스트 인스턴스는 다르지만 내용은 같음
+            List<LocalDate> dates = new ArrayList<>();
+            List<Long> timestamps = new ArrayList<>();
+            double[] prices = new double[months];
+            double[] cumulative = new double[months];
+            double[] amounts = new double[months];
+            double price = 100;
+            for (int m = 0; m < months; m++) {
+                LocalDate date = LocalDate.of(2000, 1, 1).plusMonths(m + 1).minusDays(1);
+                dates.add(date);
+                timestamps.add(date.toEpochDay() * 86_400L);
+                price *= 1 + random.nextDouble(-0.05, 0.06);
+                prices[m] = price;
+                cumulative[m] = price / 100 - 1;
+                amounts[m] = 10_000 * price / 100;
+            }
+            String ticker = "T" + s;
+            StockReturnData data = StockReturnData.builder()
+                    .ticker(ticker)
+                    .prices(PackedDoubleList.wrap(prices))
+                    .timestamps(timestamps)
+                    .dates(dates)
+                    .cumulativeReturns(PackedDoubleList.wrap(cumulative))
+                    .amountChanges(PackedDoubleList.wrap(amounts))
+                    .build();
+            stockReturns.add(data);
+            cumulativeSeries.put(ticker, data.getCumulativeReturns());
+            amountSeries.put(ticker, data.getAmountChanges());
+            chartDates = data.getDates();
+        }
+        PortfolioReturnData portfolioData = new PortfolioReturnData(request.getStartDate(), request.getEndDate(),
+                stockReturns, stockReturns.get(0));
+        ChartData.ChartConfiguration config = new ChartData.ChartConfiguration("Date", "Return", Map.of(), true);
+        ChartData timeSeries = new ChartData("Cumulative", "line", chartDates, cumulativeSeries, config);
+        ChartData amount = new ChartData("Amount", "line", chartDates, amountSeries, config);
+        AnalysisReport report = new AnalysisReport("RPT-1", LocalDateTime.of(2024, 1, 1, 0, 0), request,
+                portfolioData,
+                new AnalysisReport.Summary(request.getStartDate(), request.getEndDate(), 7300, 0.1, "T0", 0.0, "T1"),
+                List.of(), null);
+        return new PortfolioFullAnalysisResponse(portfolioData, timeSeries, timeSeries, amount, amount, report);
+    }
+}
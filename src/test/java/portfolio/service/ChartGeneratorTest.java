@@ -48,8 +48,7 @@ class ChartGeneratorTest {
                 .amountDividens(amountDividens)
                 .dates(dates)
                 .build();
-        samplePortfolioData = new PortfolioReturnData(List.of());
-        samplePortfolioData.setPortfolioStockReturn(portfolioData);
+        samplePortfolioData = new PortfolioReturnData(List.of(), portfolioData);
     }
 
     @Test
@@ -137,7 +136,8 @@ class ChartGeneratorTest {
                 .priceReturn(0.12)
                 .totalReturn(0.14)
                 .build();
-        samplePortfolioData.setStockReturns(List.of(apple, msft));
+        samplePortfolioData = new PortfolioReturnData(List.of(apple, msft),
+                samplePortfolioData.getPortfolioStockReturn());
 
         // when
         ChartData chartData = chartGenerator.generateComparisonChart(samplePortfolioData);
@@ -165,7 +165,7 @@ class ChartGeneratorTest {
                         LocalDate.of(2023, 7, 1),
                         LocalDate.of(2023, 10, 1)))
                 .build();
-        samplePortfolioData.setStockReturns(List.of(apple));
+        samplePortfolioData = new PortfolioReturnData(List.of(apple), samplePortfolioData.getPortfolioStockReturn());
 
         // when
         ChartData chartData = chartGenerator.generateAmountChangeChart(samplePortfolioData);
@@ -192,7 +192,7 @@ class ChartGeneratorTest {
                 .dividends(List.of(div))
                 .amountDividens(amountDividens)
                 .build();
-        samplePortfolioData.setStockReturns(List.of(stock));
+        samplePortfolioData = new PortfolioReturnData(List.of(stock), samplePortfolioData.getPortfolioStockReturn());
         ChartData chartData = chartGenerator.generateDividendsAmountComparisonChart(samplePortfolioData);
         assertEquals(List.of("2023"), chartData.getLabels());
         assertEquals(List.of(100.0), chartData.getSeries().get("AAPL"));
@@ -221,7 +221,8 @@ class ChartGeneratorTest {
                 .dividends(List.of(div3))
                 .amountDividens(List.of(30.0, 0.0))
                 .build();
-        samplePortfolioData.setStockReturns(List.of(stock1, stock2));
+        samplePortfolioData = new PortfolioReturnData(List.of(stock1, stock2),
+                samplePortfolioData.getPortfolioStockReturn());
         ChartData chartData = chartGenerator.generateDividendsAmountComparisonChart(samplePortfolioData);
         assertEquals(List.of("2022", "2023"), chartData.getLabels());
         assertEquals(List.of(50.0, 70.0), chartData.getSeries().get("AAPL"));
@@ -248,7 +249,8 @@ class ChartGeneratorTest {
                 .dividends(List.of(div2))
                 .amountDividens(List.of(60.0, 0.0))
                 .build();
-        samplePortfolioData.setStockReturns(List.of(stock1, stock2));
+        samplePortfolioData = new PortfolioReturnData(List.of(stock1, stock2),
+                samplePortfolioData.getPortfolioStockReturn());
         ChartData chartData = chartGenerator.generateDividendsAmountComparisonChart(samplePortfolioData);
         assertEquals(List.of("2022", "2023"), chartData.getLabels());
         assertEquals(List.of(40.0, 0.0), chartData.getSeries().get("AAPL"));
@@ -276,7 +278,8 @@ class ChartGeneratorTest {
                         LocalDate.of(2023, 7, 1),
                         LocalDate.of(2023, 10, 1)))
                 .build();
-        samplePortfolioData.setStockReturns(List.of(apple, msft));
+        samplePortfolioData = new PortfolioReturnData(List.of(apple, msft),
+                samplePortfolioData.getPortfolioStockReturn());
 
         // when
         ChartData chartData = chartGenerator.generateTimeSeriesChart(samplePortfolioData);
@@ -0,0 +1,77 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import portfolio.model.CorrelationMatrix;
+import portfolio.util.RunningCovariance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationMatrixEngineTest {
+
+    private final ForkJoinPool computePool = new ForkJoinPool(4);
+    private final CorrelationMatrixEngine engine = new CorrelationMatrixEngine(computePool);
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    @Test
+    void shouldMatchPairwiseCalculationAcrossTiles() {
+        // given: 타일 경계를 넘는 150개 종목 × 타일 구간보다 긴 600기간 (공통 요인 + 개별 잡음)
+        int n = 150;
+        int periods = 600;
+        SplittableRandom random = new SplittableRandom(7);
+        double[] market = new double[periods];
+        for (int t = 0; t < periods; t++) {
+            market[t] = random.nextDouble(-0.03, 0.03);
+        }
+        List<String> tickers = new ArrayList<>();
+        double[][] returns = new double[n][periods];
+        for (int i = 0; i < n; i++) {
+            tickers.add("T" + i);
+            double loading = random.nextDouble(-1.0, 1.5);
+            for (int t = 0; t < periods; t++) {
+                returns[i][t] = loading * market[t] + random.nextDouble(-0.02, 0.02);
+            }
+        }
+
+        // when
+        CorrelationMatrix matrix = engine.calculate(tickers, returns);
+
+        // then
+        assertEquals(n, matrix.size());
+        assertEquals(periods, matrix.getPeriods());
+        for (int i = 0; i < n; i += 7) {
+            for (int j = 0; j < n; j += 5) {
+                RunningCovariance expected = RunningCovariance.of(returns[i], returns[j]);
+                assertEquals(expected.sampleCovariance(), matrix.covariance(i, j), 1e-12);
+                assertEquals(i == j ? 1.0 : expected.correlation(), matrix.correlation(i, j), 1e-9);
+                assertEquals(matrix.correlation(i, j), matrix.correlation(j, i));
+            }
+        }
+    }
+
+    @Test
+    void shouldUseZeroCorrelationForConstantSeries() {
+        CorrelationMatrix matrix = engine.calculate(List.of("A", "B"),
+                new double[][] { { 0.01, 0.02, 0.03 }, { 0.01, 0.01, 0.01 } });
+
+        assertEquals(0.0, matrix.covariance(1, 1));
+        assertEquals(0.0, matrix.correlation("A", "B"));
+        assertEquals(1.0, matrix.correlation("B", "B"));
+    }
+
+    @Test
+    void shouldRejectSeriesWithDifferentLengths() {
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.calculate(List.of("A", "B"), new double[][] { { 0.01, 0.02 }, { 0.01 } }));
+    }
+}
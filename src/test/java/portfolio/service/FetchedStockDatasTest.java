@@ -4,7 +4,11 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.*;
 import portfolio.api.ChartResponse;
+import portfolio.model.AlignmentMode;
+import portfolio.model.BarFrequency;
 import portfolio.model.FetchedStockDatas;
+import portfolio.model.FxRates;
+import portfolio.util.ScalarKernels;
 
 class FetchedStockDatasTest {
     @Test
@@ -78,4 +82,167 @@ class FetchedStockDatasTest {
             new FetchedStockDatas(stockData, index);
         });
     }
+
+    @Test
+    void 교집합_정렬시_공통_날짜로_맞춤() {
+        // given: AAPL은 1~4일, MSFT는 2~4일(3일 가격 없음), 지수는 1~5일
+        long day = 86400L;
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAPL", chart(List.of(day, 2 * day, 3 * day, 4 * day), Arrays.asList(1.0, 2.0, 3.0, 4.0)));
+        stockData.put("MSFT", chart(List.of(2 * day, 3 * day, 4 * day), Arrays.asList(20.0, null, 40.0)));
+        ChartResponse index = chart(List.of(day, 2 * day, 3 * day, 4 * day, 5 * day),
+                Arrays.asList(100.0, 200.0, 300.0, 400.0, 500.0));
+
+        // when
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, index, AlignmentMode.INTERSECTION);
+
+        // then
+        assertEquals(List.of(2 * day, 4 * day), fetched.getIndexTimestamps());
+        assertEquals(List.of(2.0, 4.0), fetched.getStockHistories().get("AAPL").prices());
+        assertEquals(List.of(20.0, 40.0), fetched.getStockHistories().get("MSFT").prices());
+        assertEquals(List.of(200.0, 400.0), fetched.getIndexPrices());
+        assertEquals(fetched.getIndexTimestamps(), fetched.getStockHistories().get("MSFT").timestamps());
+    }
+
+    @Test
+    void 합집합_정렬시_직전_가격으로_채움() {
+        // given
+        long day = 86400L;
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAPL", chart(List.of(day, 2 * day, 3 * day, 4 * day), List.of(1.0, 2.0, 3.0, 4.0)));
+        stockData.put("MSFT", chart(List.of(2 * day, 4 * day), List.of(20.0, 40.0)));
+        ChartResponse index = chart(List.of(day, 2 * day, 3 * day), List.of(100.0, 200.0, 300.0));
+
+        // when
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, index, AlignmentMode.UNION_FORWARD_FILL);
+
+        // then: 가장 늦은 시작일(2일)부터, 없는 막대는 직전 가격
+        assertEquals(List.of(2 * day, 3 * day, 4 * day), fetched.getIndexTimestamps());
+        assertEquals(List.of(20.0, 20.0, 40.0), fetched.getStockHistories().get("MSFT").prices());
+        assertEquals(List.of(200.0, 300.0, 300.0), fetched.getIndexPrices());
+    }
+
+    @Test
+    void 정렬시_공통_달력_밖의_배당은_버림() {
+        // given: OLD는 1~5일(1일·3일·5일 배당), NEW는 3~4일만 상장
+        long day = 86400L;
+        ChartResponse old = chart(List.of(day, 2 * day, 3 * day, 4 * day, 5 * day), List.of(1.0, 2.0, 3.0, 4.0, 5.0));
+        ChartResponse.Events events = new ChartResponse.Events();
+        Map<String, ChartResponse.Dividend> dividends = new LinkedHashMap<>();
+        for (long date : List.of(day, 3 * day, 5 * day)) {
+            ChartResponse.Dividend dividend = new ChartResponse.Dividend();
+            dividend.setAmount(1.0);
+            dividend.setDate(date);
+            dividends.put(String.valueOf(date), dividend);
+        }
+        events.setDividends(dividends);
+        old.getChart().getResult().get(0).setEvents(events);
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("OLD", old);
+        stockData.put("NEW", chart(List.of(3 * day, 4 * day), List.of(30.0, 40.0)));
+        ChartResponse index = chart(List.of(day, 2 * day, 3 * day, 4 * day, 5 * day),
+                List.of(100.0, 200.0, 300.0, 400.0, 500.0));
+
+        // when
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, index, AlignmentMode.INTERSECTION,
+                BarFrequency.DAILY);
+
+        // then: NEW 상장 전(1일)과 마지막 막대 이후(5일) 배당은 첫 막대에 몰리지 않도록 제외
+        var aligned = fetched.getStockHistories().get("OLD");
+        assertEquals(List.of(3 * day, 4 * day), aligned.timestamps());
+        assertEquals(1, aligned.dividends().size());
+        assertEquals(3 * day, aligned.dividends().get(0).getDate());
+        assertArrayEquals(new double[] { 1.0, 0.0 },
+                BarFrequency.DAILY.dividendsPerBar(aligned.timestamps(), aligned.dividends()));
+        assertEquals(3, dividends.size());
+    }
+
+    @Test
+    void 공통_날짜가_없으면_예외_발생() {
+        long day = 86400L;
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAPL", chart(List.of(day, 2 * day), List.of(1.0, 2.0)));
+        stockData.put("MSFT", chart(List.of(3 * day, 4 * day), List.of(3.0, 4.0)));
+        ChartResponse index = chart(List.of(day, 2 * day, 3 * day, 4 * day), List.of(1.0, 2.0, 3.0, 4.0));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new FetchedStockDatas(stockData, index, AlignmentMode.INTERSECTION));
+        assertTrue(exception.getMessage().endsWith("The latest start date is 1970-01-04."));
+    }
+
+    @Test
+    void 기준_통화로_가격과_배당_환산() {
+        // given: KRW 종목(1~3일 가격, 2일 배당), 환율은 1일과 3일만 있음
+        long day = 86400L;
+        ChartResponse krw = chart(List.of(day, 2 * day, 3 * day), List.of(1000.0, 1100.0, 1200.0));
+        ChartResponse.Meta meta = new ChartResponse.Meta();
+        meta.setCurrency("KRW");
+        krw.getChart().getResult().get(0).setMeta(meta);
+        ChartResponse.Dividend dividend = new ChartResponse.Dividend();
+        dividend.setAmount(50.0);
+        dividend.setDate(2 * day);
+        ChartResponse.Events events = new ChartResponse.Events();
+        events.setDividends(Map.of("d", dividend));
+        krw.getChart().getResult().get(0).setEvents(events);
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("KRW1", krw);
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData,
+                chart(List.of(day, 2 * day, 3 * day), List.of(10.0, 11.0, 12.0)));
+        FxRates rates = new FxRates("KRW", "USD", new long[] { day, 3 * day }, new double[] { 0.001, 0.002 });
+
+        // when
+        FetchedStockDatas converted = fetched.convertCurrency("USD", Map.of("KRW", rates), new ScalarKernels());
+
+        // then: 2일은 직전(1일) 환율, 통화를 모르는 지수는 그대로, 원본 배당은 변경하지 않음
+        List<Double> prices = converted.getStockHistories().get("KRW1").prices();
+        assertEquals(1.0, prices.get(0), 1e-12);
+        assertEquals(1.1, prices.get(1), 1e-12);
+        assertEquals(2.4, prices.get(2), 1e-12);
+        assertEquals(0.05, converted.getStockHistories().get("KRW1").dividends().get(0).getAmount(), 1e-12);
+        assertEquals(50.0, dividend.getAmount());
+        assertEquals(List.of(10.0, 11.0, 12.0), converted.getIndexPrices());
+        assertEquals("USD", converted.getBaseCurrency());
+        assertThrows(IllegalArgumentException.class,
+                () -> fetched.convertCurrency("EUR", Map.of("KRW", rates), new ScalarKernels()));
+    }
+
+    @Test
+    void 버전_스탬프는_데이터가_같으면_같고_값이_바뀌면_달라짐() {
+        // given: 같은 데이터를 삽입 순서만 바꿔 두 번 조회
+        long day = 86400L;
+        ChartResponse index = chart(List.of(day, 2 * day), List.of(100.0, 110.0));
+        Map<String, ChartResponse> first = new LinkedHashMap<>();
+        first.put("AAPL", chart(List.of(day, 2 * day), List.of(1.0, 2.0)));
+        first.put("MSFT", chart(List.of(day, 2 * day), List.of(10.0, 20.0)));
+        Map<String, ChartResponse> second = new LinkedHashMap<>();
+        second.put("MSFT", chart(List.of(day, 2 * day), List.of(10.0, 20.0)));
+        second.put("AAPL", chart(List.of(day, 2 * day), List.of(1.0, 2.0)));
+        Map<String, ChartResponse> revised = new LinkedHashMap<>();
+        revised.put("AAPL", chart(List.of(day, 2 * day), List.of(1.0, 2.5)));
+        revised.put("MSFT", chart(List.of(day, 2 * day), List.of(10.0, 20.0)));
+
+        // when
+        FetchedStockDatas data = new FetchedStockDatas(first, index);
+        long stamp = data.versionStamp();
+
+        // then
+        assertEquals(stamp, data.versionStamp());
+        assertEquals(stamp, new FetchedStockDatas(second, index).versionStamp());
+        assertNotEquals(stamp, new FetchedStockDatas(revised, index).versionStamp());
+    }
+
+    private static ChartResponse chart(List<Long> timestamps, List<Double> closes) {
+        ChartResponse chart = new ChartResponse();
+        ChartResponse.Chart chartInner = new ChartResponse.Chart();
+        ChartResponse.Result result = new ChartResponse.Result();
+        result.setTimestamp(timestamps);
+        ChartResponse.Indicators indicators = new ChartResponse.Indicators();
+        ChartResponse.Quote quote = new ChartResponse.Quote();
+        quote.setClose(closes);
+        indicators.setQuote(List.of(quote));
+        result.setIndicators(indicators);
+        chartInner.setResult(List.of(result));
+        chart.setChart(chartInner);
+        return chart;
+    }
 }
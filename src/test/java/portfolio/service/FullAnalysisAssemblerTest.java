@@ -0,0 +1,98 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import portfolio.model.AnalysisReport;
+import portfolio.model.ChartData;
+import portfolio.model.PortfolioFullAnalysisResponse;
+import portfolio.model.PortfolioRequest;
+import portfolio.model.PortfolioReturnData;
+import portfolio.util.StageTimings;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class FullAnalysisAssemblerTest {
+    @Mock
+    private ChartGenerator chartGenerator;
+    @Mock
+    private ReportGenerator reportGenerator;
+
+    private ExecutorService executor;
+    private FullAnalysisAssembler assembler;
+    private final PortfolioRequest request = new PortfolioRequest();
+    private final PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(), null);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(5);
+        assembler = new FullAnalysisAssembler(chartGenerator, reportGenerator, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunGeneratorsConcurrently() {
+        // given: 5개 생성기가 모두 시작되어야 통과하는 래치
+        CountDownLatch started = new CountDownLatch(5);
+        ChartData chart = chart("chart");
+        AnalysisReport report = new AnalysisReport(null, null, request, portfolioData, null, List.of(), null);
+        when(chartGenerator.generateTimeSeriesChart(any())).then(invocation -> awaitAll(started, chart("timeSeries")));
+        when(chartGenerator.generateComparisonChart(any())).then(invocation -> awaitAll(started, chart));
+        when(chartGenerator.generateAmountChangeChart(any())).then(invocation -> awaitAll(started, chart));
+        when(chartGenerator.generateDividendsAmountComparisonChart(any())).then(invocation -> awaitAll(started, chart));
+        when(reportGenerator.generateReport(any(), any())).then(invocation -> awaitAll(started, report));
+        StageTimings timings = new StageTimings();
+
+        // when
+        PortfolioFullAnalysisResponse response = assembler.assemble(request, portfolioData, timings);
+
+        // then
+        assertSame(portfolioData, response.getPortfolioData());
+        assertEquals("timeSeries", response.getTimeSeriesChart().getTitle());
+        assertSame(report, response.getReport());
+        Map<String, Long> stages = timings.nanosByStage();
+        assertEquals(5, stages.size());
+        assertTrue(stages.keySet().containsAll(List.of("timeSeriesChart", "comparisonChart", "amountChart",
+                "dividendsAmountComparisonChart", "report")));
+    }
+
+    @Test
+    void shouldRethrowGeneratorException() {
+        when(chartGenerator.generateComparisonChart(any()))
+                .thenThrow(new IllegalArgumentException("Chart data missing"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> assembler.assemble(request, portfolioData, new StageTimings()));
+
+        assertEquals("Chart data missing", e.getMessage());
+    }
+
+    private static <T> T awaitAll(CountDownLatch started, T result) throws InterruptedException {
+        started.countDown();
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Generators did not run concurrently");
+        }
+        return result;
+    }
+
+    private static ChartData chart(String title) {
+        return new ChartData(title, "line", List.of(), Map.of(),
+                new ChartData.ChartConfiguration("Date", "Return", Map.of(), true));
+    }
+}
@@ -0,0 +1,182 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import portfolio.api.ChartResponse.Dividend;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.StockHistories;
+import portfolio.model.StockReturnData;
+import portfolio.util.DateUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalMetricServiceTest {
+
+    private static final int BARS = 48;
+
+    private StockReturnCalculator stockReturnCalculator;
+    private IncrementalMetricService service;
+    private final List<Double> prices = new ArrayList<>();
+    private final List<Double> indexPrices = new ArrayList<>();
+    private final List<Long> timestamps = new ArrayList<>();
+    private final List<Dividend> dividends = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReturnCalculator returnCalculator = new ReturnCalculator();
+        stockReturnCalculator = new StockReturnCalculator(returnCalculator, new RollingRiskCalculator(),
+                ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        service = new IncrementalMetricService(new MetricStateStore(100, 1), stockReturnCalculator, returnCalculator,
+                5);
+
+        // 월초 가격 48개, 분기 중순 배당
+        SplittableRandom random = new SplittableRandom(11);
+        double price = 50.0;
+        double index = 4000.0;
+        for (int i = 0; i < BARS; i++) {
+            LocalDate date = LocalDate.of(2020, 1, 1).plusMonths(i);
+            timestamps.add(DateUtils.toUnixTimeSeconds(date));
+            prices.add(price);
+            indexPrices.add(index);
+            price *= 1.0 + random.nextDouble(-0.06, 0.07);
+            index *= 1.0 + random.nextDouble(-0.04, 0.05);
+            if (i % 3 == 1) {
+                dividends.add(dividend(date.withDayOfMonth(15), 0.4));
+            }
+        }
+    }
+
+    private static Dividend dividend(LocalDate date, double amount) {
+        Dividend dividend = new Dividend();
+        dividend.setAmount(amount);
+        dividend.setDate(DateUtils.toUnixTimeSeconds(date));
+        return dividend;
+    }
+
+    /**
+     * [from, to) 구간의 가격과 그 구간 달에 지급된 배당 (가격은 월초, 배당은 월중)
+     */
+    private StockHistories histories(int from, int to) {
+        long start = timestamps.get(from);
+        long end = to < BARS ? timestamps.get(to) : Long.MAX_VALUE;
+        List<Dividend> range = dividends.stream()
+                .filter(d -> d.getDate() >= start && d.getDate() < end)
+                .toList();
+        return new StockHistories(prices.subList(from, to), timestamps.subList(from, to), range);
+    }
+
+    private StockReturnData fullRecompute(boolean includeDividends, int to) {
+        List<Dividend> settled = histories(0, to).dividends();
+        return stockReturnCalculator.calculateStockReturn(includeDividends, "SCHD", prices.subList(0, to),
+                timestamps.subList(0, to), settled, BenchmarkContext.of(indexPrices.subList(0, to)), 10000, 0.5,
+                null, BarFrequency.MONTHLY);
+    }
+
+    @Test
+    void shouldMatchFullRecomputeAfterEachAppend() {
+        for (boolean includeDividends : new boolean[] { true, false }) {
+            // given: 24개로 초기화
+            String key = "portfolio-1:SCHD:" + includeDividends;
+            service.initialize(key, "SCHD", histories(0, 24), indexPrices.subList(0, 24), includeDividends, 10000,
+                    0.5, BarFrequency.MONTHLY);
+
+            // when: 한 개씩 추가
+            for (int to = 25; to <= BARS; to++) {
+                StockReturnData incremental = service.append(key, histories(to - 1, to),
+                        indexPrices.subList(to - 1, to));
+
+                // then: 전체 재계산과 같은 결과
+                StockReturnData full = fullRecompute(includeDividends, to);
+                assertTrue(IncrementalMetricService.matches(full, incremental), "bar " + to);
+                assertEquals(full.getCumulativeReturns().size(), incremental.getCumulativeReturns().size());
+                for (int i = 0; i < to; i++) {
+                    assertEquals(full.getCumulativeReturns().get(i), incremental.getCumulativeReturns().get(i), 1e-12);
+                    assertEquals(full.getMaxDrawdowns().get(i), incremental.getMaxDrawdowns().get(i), 1e-12);
+                    assertEquals(full.getAmountChanges().get(i), incremental.getAmountChanges().get(i), 1e-9);
+                    assertEquals(full.getAmountDividens().get(i), incremental.getAmountDividens().get(i), 1e-9);
+                }
+                assertEquals(full.getDates(), incremental.getDates());
+            }
+        }
+    }
+
+    @Test
+    void shouldRebuildWhenDividendArrivesForSettledMonth() {
+        // given: 배당 없이 초기화
+        service.initialize("k", "SCHD", new StockHistories(prices.subList(0, 12), timestamps.subList(0, 12), List.of()),
+                indexPrices.subList(0, 12), true, 10000, 1.0, BarFrequency.MONTHLY);
+
+        // when: 이미 반영된 달의 배당이 새 데이터와 함께 도착
+        Dividend late = dividend(LocalDate.of(2020, 3, 15), 1.0);
+        StockReturnData incremental = service.append("k",
+                new StockHistories(prices.subList(12, 13), timestamps.subList(12, 13), List.of(late)),
+                indexPrices.subList(12, 13));
+
+        // then
+        StockReturnData full = stockReturnCalculator.calculateStockReturn(true, "SCHD", prices.subList(0, 13),
+                timestamps.subList(0, 13), List.of(late), BenchmarkContext.of(indexPrices.subList(0, 13)), 10000,
+                1.0, null, BarFrequency.MONTHLY);
+        assertTrue(IncrementalMetricService.matches(full, incremental));
+        assertTrue(incremental.getTotalReturn() > incremental.getPriceReturn());
+    }
+
+    @Test
+    void shouldRejectBarsNotAfterLastTimestamp() {
+        service.initialize("k", "SCHD", histories(0, 12), indexPrices.subList(0, 12), true, 10000, 1.0,
+                BarFrequency.MONTHLY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.append("k", histories(11, 12), indexPrices.subList(11, 12)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.append("unknown", histories(12, 13), indexPrices.subList(12, 13)));
+        // 거부된 추가는 상태를 바꾸지 않음
+        assertEquals(12, service.get("k").getPrices().size());
+    }
+
+    @Test
+    void shouldKeepEarlierResultsUnchangedAfterAppend() {
+        // given
+        StockReturnData initial = service.initialize("k", "SCHD", histories(0, 12), indexPrices.subList(0, 12), true,
+                10000, 1.0, BarFrequency.MONTHLY);
+        List<Double> initialReturns = List.copyOf(initial.getCumulativeReturns());
+
+        // when: 이전 결과는 상태 시계열의 스냅샷이므로 추가 후에도 그 시점 길이와 값을 유지
+        StockReturnData appended = service.append("k", histories(12, 24), indexPrices.subList(12, 24));
+
+        // then
+        assertEquals(12, initial.getPrices().size());
+        assertEquals(12, initial.getDates().size());
+        assertEquals(initialReturns, initial.getCumulativeReturns());
+        assertEquals(24, appended.getPrices().size());
+        assertEquals(initial.getCumulativeReturns(), appended.getCumulativeReturns().subList(0, 12));
+        assertThrows(UnsupportedOperationException.class, () -> appended.getPrices().add(1.0));
+    }
+
+    @Test
+    void shouldAnnualizeWithRequestedFrequency() {
+        // given: 같은 데이터를 주봉으로 초기화
+        service.initialize("w", "SCHD", histories(0, 24), indexPrices.subList(0, 24), true, 10000, 1.0,
+                BarFrequency.WEEKLY);
+
+        // when
+        StockReturnData incremental = service.append("w", histories(24, 30), indexPrices.subList(24, 30));
+
+        // then: 전체 재계산도 주봉 기준이며, 변동성은 표준편차 × √52
+        StockReturnData full = stockReturnCalculator.calculateStockReturn(true, "SCHD", prices.subList(0, 30),
+                timestamps.subList(0, 30), histories(0, 30).dividends(),
+                BenchmarkContext.of(indexPrices.subList(0, 30)), 10000, 1.0, null, BarFrequency.WEEKLY);
+        assertTrue(IncrementalMetricService.matches(full, incremental));
+        double[] periodic = incremental.getPeriodicReturnRates().stream().mapToDouble(Double::doubleValue).toArray();
+        double mean = java.util.Arrays.stream(periodic).average().orElseThrow();
+        double variance = java.util.Arrays.stream(periodic).map(r -> (r - mean) * (r - mean)).sum() / periodic.length;
+        assertEquals(Math.sqrt(variance) * Math.sqrt(52), incremental.getVolatility(), 1e-12);
+    }
+}
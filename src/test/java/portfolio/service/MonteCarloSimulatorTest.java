@@ -0,0 +1,106 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import portfolio.model.SimulationMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSimulatorTest {
+
+    private static final double[] QUANTILES = { 0.05, 0.25, 0.5, 0.75, 0.95 };
+
+    private final ForkJoinPool computePool = new ForkJoinPool(4);
+    private final MonteCarloSimulator simulator = new MonteCarloSimulator(computePool);
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    private static double[] randomReturns(int length) {
+        SplittableRandom random = new SplittableRandom(5);
+        double[] returns = new double[length];
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] = random.nextDouble(-0.08, 0.1);
+        }
+        return returns;
+    }
+
+    @Test
+    void constantReturnsShouldGiveDeterministicBands() {
+        // given: 모든 기간 수익률 1%
+        double[] returns = { 0.01, 0.01, 0.01 };
+
+        // when
+        MonteCarloSimulator.Simulation simulation = simulator.simulate(returns, SimulationMethod.BOOTSTRAP, 5000, 3,
+                12, 7L);
+
+        // then: y년 말 가치 = 1.01^(12y) (스케치 상대 오차 이내)
+        for (int y = 1; y <= 3; y++) {
+            double expected = Math.pow(1.01, 12 * y);
+            for (double value : simulation.yearly()[y - 1].quantiles(QUANTILES)) {
+                assertEquals(expected, value, expected * MonteCarloSimulator.RELATIVE_ACCURACY);
+            }
+        }
+        assertEquals(Math.pow(1.01, 36), simulation.terminalMean(), 1e-9);
+        assertEquals(0.0, simulation.probabilityOfLoss());
+    }
+
+    @Test
+    void resultShouldDependOnlyOnSeedNotOnParallelism() {
+        // given
+        double[] returns = randomReturns(120);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            // when
+            MonteCarloSimulator.Simulation parallel = simulator.simulate(returns, SimulationMethod.BOOTSTRAP,
+                    10_000, 5, 12, 11L);
+            MonteCarloSimulator.Simulation sequential = new MonteCarloSimulator(single).simulate(returns,
+                    SimulationMethod.BOOTSTRAP, 10_000, 5, 12, 11L);
+
+            // then
+            for (int y = 0; y < 5; y++) {
+                assertArrayEquals(sequential.yearly()[y].quantiles(QUANTILES),
+                        parallel.yearly()[y].quantiles(QUANTILES), 0.0);
+            }
+            assertEquals(sequential.terminalMean(), parallel.terminalMean(), 1e-12);
+            assertEquals(sequential.probabilityOfLoss(), parallel.probabilityOfLoss(), 0.0);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void parametricMedianShouldMatchLognormalMedian() {
+        // given
+        double[] returns = randomReturns(240);
+        double logMean = 0.0;
+        for (double value : returns) {
+            logMean += Math.log1p(value) / returns.length;
+        }
+
+        // when
+        MonteCarloSimulator.Simulation simulation = simulator.simulate(returns, SimulationMethod.PARAMETRIC,
+                20_000, 10, 12, 3L);
+
+        // then: 로그 가치 중앙값 = 기간 수 × 로그 수익률 평균
+        double expected = Math.exp(logMean * 120);
+        assertEquals(expected, simulation.terminal().quantile(0.5), expected * 0.03);
+        assertEquals(20_000, simulation.terminal().count());
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(new double[] { 0.01 }, SimulationMethod.BOOTSTRAP, 10, 1, 12, 1L));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(new double[] { 0.01, -1.0 }, SimulationMethod.BOOTSTRAP, 10, 1, 12, 1L));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(new double[] { 0.01, 0.02 }, SimulationMethod.PARAMETRIC, 0, 1, 12, 1L));
+    }
+}
@@ -0,0 +1,136 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import portfolio.model.OptimizationRequest;
+import portfolio.model.OptimizationResponse;
+import portfolio.model.OptimizedPortfolio;
+import portfolio.util.NavMatrix;
+import portfolio.util.ScalarKernels;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioOptimizationServiceTest {
+
+    private final ForkJoinPool computePool = new ForkJoinPool(2);
+    private final PortfolioOptimizationService service = new PortfolioOptimizationService(null,
+            new CorrelationMatrixEngine(computePool));
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    private static double[][] randomPrices(Random random, int constituents, int periods) {
+        double[][] prices = new double[constituents][periods];
+        for (int j = 0; j < constituents; j++) {
+            prices[j][0] = 10 + random.nextDouble() * 90;
+            for (int i = 1; i < periods; i++) {
+                prices[j][i] = prices[j][i - 1] * (1 + (random.nextDouble() - 0.45) * 0.1);
+            }
+        }
+        return prices;
+    }
+
+    private static OptimizationRequest request(int tickers) {
+        OptimizationRequest request = new OptimizationRequest();
+        List<String> names = new ArrayList<>();
+        for (int j = 0; j < tickers; j++) {
+            names.add("T" + j);
+        }
+        request.setTickers(names);
+        request.setStartDate(LocalDate.of(2020, 1, 1));
+        request.setEndDate(LocalDate.of(2022, 12, 31));
+        return request;
+    }
+
+    @Test
+    void shouldReportAnnualizedMomentsOfPeriodicReturns() {
+        // given
+        double[][] prices = randomPrices(new Random(3), 4, 37);
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, null);
+        OptimizationRequest request = request(4);
+        request.setFrontierPoints(5);
+
+        // when
+        OptimizationResponse response = service.optimize(request, matrix, LocalDate.of(2020, 1, 31),
+                LocalDate.of(2023, 1, 31));
+
+        // then: 기대 수익률 = 비중 × 월 평균 수익률 × 12
+        assertEquals(36, response.periods());
+        assertEquals(5, response.frontier().size());
+        double[] weights = response.minimumVariance().weights();
+        double expected = 0.0;
+        for (int j = 0; j < 4; j++) {
+            double sum = 0.0;
+            for (int i = 1; i < 37; i++) {
+                sum += prices[j][i] / prices[j][i - 1] - 1;
+            }
+            expected += weights[j] * sum / 36 * 12;
+        }
+        assertEquals(expected, response.minimumVariance().expectedReturn(), 1e-12);
+        for (OptimizedPortfolio point : response.frontier()) {
+            assertTrue(point.volatility() >= response.minimumVariance().volatility() - 1e-12);
+            assertTrue(point.sharpeRatio() <= response.maximumSharpe().sharpeRatio() + 1e-9);
+        }
+    }
+
+    @Test
+    void cachedResponseShouldNotExposeMutableWeights() {
+        // given
+        double[][] prices = randomPrices(new Random(5), 3, 25);
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, null);
+        OptimizationRequest request = request(3);
+        request.setFrontierPoints(3);
+        OptimizationResponse response = service.optimize(request, matrix, LocalDate.of(2020, 1, 31),
+                LocalDate.of(2022, 1, 31));
+        double[] original = response.minimumVariance().weights();
+
+        // when: 반환받은 비중 배열을 바꿔도
+        response.minimumVariance().weights()[0] = 42.0;
+
+        // then: 캐시된 응답은 그대로이고 목록은 읽기 전용
+        assertArrayEquals(original, response.minimumVariance().weights());
+        assertThrows(UnsupportedOperationException.class, () -> response.frontier().clear());
+    }
+
+    @Test
+    void dividendsShouldRaiseExpectedReturnWhenIncluded() {
+        // given: 한 종목만 있으면 비중은 1로 고정
+        double[][] prices = { { 10, 10, 10, 11, 10, 10, 10 } };
+        double[][] dividends = { { 0, 0, 0.5, 0, 0, 0, 0 } };
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, dividends);
+        OptimizationRequest request = request(1);
+        request.setFrontierPoints(2);
+
+        // when
+        double withoutDividends = service.optimize(request, matrix, null, null).minimumVariance().expectedReturn();
+        request.setIncludeDividends(true);
+        double withDividends = service.optimize(request, matrix, null, null).minimumVariance().expectedReturn();
+
+        // then: 2번째 기간 수익률에 0.5 / 10 추가
+        assertEquals(0.05 / 6 * 12, withDividends - withoutDividends, 1e-12);
+    }
+
+    @Test
+    void shouldRejectInvalidConstraints() {
+        OptimizationRequest request = request(3);
+        request.setMaxWeight(0.3);
+        assertThrows(IllegalArgumentException.class, () -> service.optimize(request));
+
+        request.setMaxWeight(1.0);
+        request.setMinWeight(-0.1);
+        assertThrows(IllegalArgumentException.class, () -> service.optimize(request));
+
+        request.setMinWeight(0.0);
+        request.setFrontierPoints(1);
+        assertThrows(IllegalArgumentException.class, () -> service.optimize(request));
+    }
+}
@@ -8,23 +8,29 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.util.List;
 
+import portfolio.model.BenchmarkContext;
 import portfolio.model.PortfolioRequest;
+import portfolio.util.ScalarKernels;
 
 class PortfolioReturnServiceTest {
     @Mock
     private PortfolioDataService portfolioDataService;
     @Mock
     private StockReturnCalculator stockReturnCalculator;
+    @Mock
+    private FxRateService fxRateService;
     private PortfolioReturnService service;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        service = new PortfolioReturnService(portfolioDataService, stockReturnCalculator);
+        service = new PortfolioReturnService(portfolioDataService, stockReturnCalculator, new ScalarKernels(),
+                fxRateService);
     }
 
     @Test
@@ -91,7 +97,7 @@ class PortfolioReturnServiceTest {
         map.put("AAPL", chartResponse);
         map.put("^GSPC", indexChartResponse);
 
-        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong()))
+        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong(), any()))
                 .thenReturn(java.util.concurrent.CompletableFuture.completedFuture(map));
 
         // 최소한 정상 StockReturnData 반환
@@ -105,12 +111,230 @@ class PortfolioReturnServiceTest {
                 .dividends(java.util.Collections.emptyList())
                 .build();
 
-        when(stockReturnCalculator.calculateStockReturns(any(), any()))
+        when(stockReturnCalculator.calculateStockReturns(any(), any(), any()))
                 .thenReturn(java.util.List.of(stockReturnData));
 
         assertDoesNotThrow(() -> service.analyzePortfolio(req));
     }
 
+    @Test
+    void 통화가_섞이면_지수_통화로_환산() {
+        // given: KRW 종목과 USD 종목, USD 지수
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("069500.KS", "SPY"));
+        req.setStartDate(java.time.LocalDate.of(2024, 1, 1));
+        req.setEndDate(java.time.LocalDate.of(2024, 3, 1));
+        List<Long> timestamps = List.of(1_704_067_200L, 1_706_745_600L, 1_709_251_200L);
+        var map = new java.util.HashMap<String, portfolio.api.ChartResponse>();
+        map.put("069500.KS", chart("KRW", timestamps, List.of(13000.0, 13500.0, 14000.0)));
+        map.put("SPY", chart("USD", timestamps, List.of(470.0, 480.0, 500.0)));
+        map.put("^GSPC", chart("USD", timestamps, List.of(4700.0, 4800.0, 5000.0)));
+        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong(), any()))
+                .thenReturn(java.util.concurrent.CompletableFuture.completedFuture(map));
+        when(fxRateService.fetchRates(eq("KRW"), eq("USD"), anyLong(), anyLong(), any()))
+                .thenReturn(new portfolio.model.FxRates("KRW", "USD", new long[] { timestamps.get(0) },
+                        new double[] { 0.00075 }));
+
+        // when
+        var fetched = service.fetchStockData(req);
+
+        // then: KRW 종목만 환산하고 USD 종목/지수는 그대로
+        assertEquals("USD", fetched.getBaseCurrency());
+        assertEquals(List.of(9.75, 10.125, 10.5), fetched.getStockHistories().get("069500.KS").prices());
+        assertEquals(List.of(470.0, 480.0, 500.0), fetched.getStockHistories().get("SPY").prices());
+        assertEquals(List.of(4700.0, 4800.0, 5000.0), fetched.getIndexPrices());
+        verify(fxRateService, times(1)).fetchRates(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void 통화가_같으면_환산하지_않음() {
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("SPY"));
+        req.setStartDate(java.time.LocalDate.of(2024, 1, 1));
+        req.setEndDate(java.time.LocalDate.of(2024, 3, 1));
+        List<Long> timestamps = List.of(1_704_067_200L, 1_706_745_600L);
+        var map = new java.util.HashMap<String, portfolio.api.ChartResponse>();
+        map.put("SPY", chart("USD", timestamps, List.of(470.0, 480.0)));
+        map.put("^GSPC", chart("USD", timestamps, List.of(4700.0, 4800.0)));
+        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong(), any()))
+                .thenReturn(java.util.concurrent.CompletableFuture.completedFuture(map));
+
+        var fetched = service.fetchStockData(req);
+
+        assertNull(fetched.getBaseCurrency());
+        verifyNoInteractions(fxRateService);
+    }
+
+    @Test
+    void 같은_요청과_데이터면_분석_결과를_재사용() {
+        // given: 분석 결과 캐시를 쓰는 서비스
+        service = new PortfolioReturnService(portfolioDataService, stockReturnCalculator, new ScalarKernels(),
+                fxRateService, new org.springframework.cache.concurrent.ConcurrentMapCacheManager(
+                        portfolio.config.CacheConfig.PortfolioReturnService_analyzePortfolio));
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("SPY"));
+        req.setWeights(List.of(1.0));
+        req.setStartDate(java.time.LocalDate.of(2024, 1, 1));
+        req.setEndDate(java.time.LocalDate.of(2024, 3, 1));
+        List<Long> timestamps = List.of(1_704_067_200L, 1_706_745_600L, 1_709_251_200L);
+        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    var map = new java.util.HashMap<String, portfolio.api.ChartResponse>();
+                    map.put("SPY", chart("USD", timestamps, List.of(470.0, 480.0, 500.0)));
+                    map.put("^GSPC", chart("USD", timestamps, List.of(4700.0, 4800.0, 5000.0)));
+                    return java.util.concurrent.CompletableFuture.completedFuture(map);
+                });
+        when(stockReturnCalculator.calculateStockReturns(any(), any(), any()))
+                .thenReturn(List.of(portfolio.model.StockReturnData.builder()
+                        .ticker("SPY")
+                        .prices(List.of(470.0, 480.0, 500.0))
+                        .timestamps(timestamps)
+                        .dividends(java.util.Collections.emptyList())
+                        .build()));
+
+        // when: 비교 차트 → 전체 분석 → 시계열 차트 (매번 다시 조회한 같은 데이터)
+        var comparison = service.analyzePortfolio(req, service.fetchStockData(req), ChartGenerator.COMPARISON_METRICS);
+        var all = service.analyzePortfolio(req, service.fetchStockData(req), portfolio.model.Metric.all());
+        var timeSeries = service.analyzePortfolio(req, service.fetchStockData(req),
+                ChartGenerator.TIME_SERIES_METRICS);
+
+        // then: 부분 지표 결과는 확장해서 다시 계산하고, 포함되는 지표 요청은 재사용
+        assertNotSame(comparison, all);
+        assertSame(all.getStockReturns().get(0).getPrices(), timeSeries.getStockReturns().get(0).getPrices());
+        verify(stockReturnCalculator, times(2)).calculateStockReturns(any(), any(), any());
+    }
+
+    @Test
+    void 캐시된_결과가_더_많은_지표를_가지면_요청_지표만_남김() {
+        // given: 전체 지표로 분석해 캐시된 결과
+        service = new PortfolioReturnService(portfolioDataService, stockReturnCalculator, new ScalarKernels(),
+                fxRateService, new org.springframework.cache.concurrent.ConcurrentMapCacheManager(
+                        portfolio.config.CacheConfig.PortfolioReturnService_analyzePortfolio));
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("SPY"));
+        req.setWeights(List.of(1.0));
+        req.setStartDate(java.time.LocalDate.of(2024, 1, 1));
+        req.setEndDate(java.time.LocalDate.of(2024, 3, 1));
+        List<Long> timestamps = List.of(1_704_067_200L, 1_706_745_600L, 1_709_251_200L);
+        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    var map = new java.util.HashMap<String, portfolio.api.ChartResponse>();
+                    map.put("SPY", chart("USD", timestamps, List.of(470.0, 480.0, 500.0)));
+                    map.put("^GSPC", chart("USD", timestamps, List.of(4700.0, 4800.0, 5000.0)));
+                    return java.util.concurrent.CompletableFuture.completedFuture(map);
+                });
+        var episode = new portfolio.model.DrawdownEpisode(java.time.LocalDate.of(2024, 1, 1),
+                java.time.LocalDate.of(2024, 2, 1), null, 0.1, 2, 60);
+        when(stockReturnCalculator.calculateStockReturns(any(), any(), any()))
+                .thenReturn(List.of(portfolio.model.StockReturnData.builder()
+                        .ticker("SPY")
+                        .prices(List.of(470.0, 480.0, 500.0))
+                        .timestamps(timestamps)
+                        .dividends(java.util.Collections.emptyList())
+                        .sharpeRatio(1.5)
+                        .maxDrawdowns(List.of(0.0, 0.1, 0.0))
+                        .maxDrawdown(0.1)
+                        .drawdownEpisodes(List.of(episode))
+                        .build()));
+        service.analyzePortfolio(req, service.fetchStockData(req), portfolio.model.Metric.all());
+
+        // when: 낙폭 구간만 요청
+        var episodes = service.analyzePortfolio(req, service.fetchStockData(req),
+                java.util.EnumSet.of(portfolio.model.Metric.DRAWDOWN_EPISODES));
+
+        // then: 재계산 없이 요청하지 않은 지표는 null
+        var stock = episodes.getStockReturns().get(0);
+        assertEquals(List.of(episode), stock.getDrawdownEpisodes());
+        assertEquals(0.1, stock.getMaxDrawdown());
+        assertNull(stock.getMaxDrawdowns());
+        assertNull(stock.getSharpeRatio());
+        verify(stockReturnCalculator, times(1)).calculateStockReturns(any(), any(), any());
+    }
+
+    @Test
+    void 조정_종가_방식이면_포트폴리오_총수익률도_조정_종가로_계산() {
+        // given: 두 종목 모두 조정 종가가 있고, 배당 재투자 계산과 다른 값 (배당 이벤트 없음)
+        ReturnCalculator returnCalculator = new ReturnCalculator();
+        var computePool = new java.util.concurrent.ForkJoinPool(1);
+        service = new PortfolioReturnService(portfolioDataService, new StockReturnCalculator(returnCalculator,
+                new RollingRiskCalculator(), computePool, Integer.MAX_VALUE), new ScalarKernels(), fxRateService);
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("AAA", "BBB"));
+        req.setWeights(List.of(0.25, 0.75));
+        req.setIncludeDividends(true);
+        req.setStartDate(java.time.LocalDate.of(2024, 1, 1));
+        req.setEndDate(java.time.LocalDate.of(2024, 3, 1));
+        req.setTotalReturnSource(portfolio.model.TotalReturnSource.ADJUSTED_CLOSE);
+        req.setReconcileAdjustedClose(true);
+        List<Long> timestamps = List.of(1_704_067_200L, 1_706_745_600L, 1_709_251_200L);
+        when(portfolioDataService.fetchMultipleDividends(anyList(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    var map = new java.util.HashMap<String, portfolio.api.ChartResponse>();
+                    map.put("AAA", adjusted(chart("USD", timestamps, List.of(100.0, 100.0, 100.0)),
+                            List.of(50.0, 52.0, 55.0)));
+                    map.put("BBB", adjusted(chart("USD", timestamps, List.of(10.0, 11.0, 12.0)),
+                            List.of(10.0, 11.5, 13.0)));
+                    map.put("^GSPC", chart("USD", timestamps, List.of(4700.0, 4800.0, 5000.0)));
+                    return java.util.concurrent.CompletableFuture.completedFuture(map);
+                });
+
+        // when
+        var result = service.analyzePortfolio(req, service.fetchStockData(req), portfolio.model.Metric.all());
+        computePool.shutdown();
+
+        // then: Σ weight * adjclose[i] / adjclose[0] 기준 (배당 재투자였다면 가격 NAV와 같은 0.15)
+        var portfolio = result.getPortfolioStockReturn();
+        double expected = 0.25 * 55.0 / 50.0 + 0.75 * 13.0 / 10.0 - 1.0;
+        assertEquals(expected, portfolio.getTotalReturn(), 1e-12);
+        assertEquals(expected, portfolio.getCumulativeReturns().get(2), 1e-12);
+        assertEquals(0.25 * 1.0 + 0.75 * 1.2 - 1.0, portfolio.getPriceReturn(), 1e-12);
+        assertNotNull(portfolio.getAdjustedCloseDivergence());
+    }
+
+    @Test
+    void 비중이_없으면_동일_비중() {
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("AAA", "BBB", "CCC", "DDD"));
+        assertArrayEquals(new double[] { 0.25, 0.25, 0.25, 0.25 }, PortfolioReturnService.weightsOrEqual(req));
+        req.setWeights(List.of(0.5, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> PortfolioReturnService.weightsOrEqual(req));
+    }
+
+    @Test
+    void 종목_NAV_행렬은_일부_종목_데이터가_없으면_예외() {
+        var req = new PortfolioRequest();
+        req.setTickers(List.of("AAA", "BBB"));
+        when(stockReturnCalculator.calculateStockReturns(any(), any(), any()))
+                .thenReturn(List.of(portfolio.model.StockReturnData.builder().ticker("AAA").build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.constituentNavs(req, mock(portfolio.model.FetchedStockDatas.class)));
+    }
+
+    private static portfolio.api.ChartResponse adjusted(portfolio.api.ChartResponse chart, List<Double> adjclose) {
+        var adjClose = new portfolio.api.ChartResponse.AdjClose();
+        adjClose.setAdjclose(new java.util.ArrayList<>(adjclose));
+        chart.getChart().getResult().get(0).getIndicators().setAdjclose(List.of(adjClose));
+        return chart;
+    }
+
+    private static portfolio.api.ChartResponse chart(String currency, List<Long> timestamps, List<Double> closes) {
+        var meta = new portfolio.api.ChartResponse.Meta();
+        meta.setCurrency(currency);
+        var quote = new portfolio.api.ChartResponse.Quote();
+        quote.setClose(closes);
+        var indicators = new portfolio.api.ChartResponse.Indicators();
+        indicators.setQuote(List.of(quote));
+        var result = new portfolio.api.ChartResponse.Result();
+        result.setMeta(meta);
+        result.setTimestamp(timestamps);
+        result.setIndicators(indicators);
+        var chart = new portfolio.api.ChartResponse.Chart();
+        chart.setResult(List.of(result));
+        var chartResponse = new portfolio.api.ChartResponse();
+        chartResponse.setChart(chart);
+        return chartResponse;
+    }
+
     // --- calculatePortfolioStockReturn 단위 테스트 ---
 
     @Test
@@ -155,7 +379,8 @@ class PortfolioReturnServiceTest {
 
         // 정상 반환값 stub 추가
         when(stockReturnCalculator.calculateStockReturn(anyBoolean(),
-                anyString(), anyList(), anyList(), anyList(), anyList(), anyDouble(), anyDouble()))
+                anyString(), any(double[].class), anyList(), any(double[].class), any(), anyBoolean(),
+                any(BenchmarkContext.class), anyDouble(), anyDouble(), any(), any(), any()))
                 .thenReturn(portfolio.model.StockReturnData.builder()
                         .ticker("Portfolio")
                         .prices(java.util.List.of(1.0, 2.0, 3.0))
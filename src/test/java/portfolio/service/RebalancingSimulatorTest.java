@@ -0,0 +1,147 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import portfolio.model.RebalancingPolicy;
+import portfolio.util.NavMatrix;
+import portfolio.util.ScalarKernels;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static portfolio.util.DateUtils.toUnixTimeSeconds;
+
+class RebalancingSimulatorTest {
+
+    private final RebalancingSimulator simulator = new RebalancingSimulator();
+
+    private static List<Long> monthly(int length) {
+        List<Long> timestamps = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            timestamps.add(toUnixTimeSeconds(LocalDate.of(2020, 1, 1).plusMonths(i)));
+        }
+        return timestamps;
+    }
+
+    private static NavMatrix matrix(double[][] prices) {
+        return NavMatrix.of(new ScalarKernels(), prices, null);
+    }
+
+    @Test
+    void noneShouldMatchBuyAndHoldNav() {
+        // given
+        double[][] prices = { { 100, 120, 90, 130, 150 }, { 50, 45, 55, 60, 58 } };
+        NavMatrix matrix = matrix(prices);
+        double[] weights = { 0.3, 0.7 };
+
+        // when
+        RebalancingSimulator.Simulation none = simulator.simulate(matrix, monthly(5), weights,
+                List.of(RebalancingPolicy.NONE), 0.05, 0.001, true).get(0);
+
+        // then
+        double[] expected = new double[5];
+        matrix.aggregate(weights, expected, new double[5]);
+        assertArrayEquals(expected, none.nav(), 1e-12);
+        assertEquals(0, none.rebalanceCount());
+        assertEquals(0.0, none.transactionCost());
+    }
+
+    @Test
+    void monthlyShouldRestoreTargetWeightsEveryMonth() {
+        // given: A는 두 배, B는 그대로 → 다음 달 50:50으로 되돌린 뒤 A가 다시 두 배
+        double[][] prices = { { 1, 2, 4 }, { 1, 1, 1 } };
+
+        // when
+        RebalancingSimulator.Simulation monthly = simulator.simulate(matrix(prices), monthly(3),
+                new double[] { 1, 1 }, List.of(RebalancingPolicy.MONTHLY), 0.05, 0.0, true).get(0);
+
+        // then: 1 → 1.5 (리밸런싱) → 0.75 * 2 + 0.75 = 2.25
+        assertArrayEquals(new double[] { 1.0, 1.5, 2.25 }, monthly.nav(), 1e-12);
+        assertEquals(2, monthly.rebalanceCount());
+        // 1.5 중 A 1.0 → 0.75 매도, B 0.5 → 0.75 매수 = 0.5 / 1.5
+        assertEquals(0.5 / 1.5 + 0.75 / 2.25, monthly.turnover(), 1e-12);
+    }
+
+    @Test
+    void transactionCostsShouldReduceNavByTradedAmount() {
+        // given
+        double[][] prices = { { 1, 2 }, { 1, 1 } };
+        double costRate = 0.01;
+
+        // when
+        RebalancingSimulator.Simulation monthly = simulator.simulate(matrix(prices), monthly(2),
+                new double[] { 0.5, 0.5 }, List.of(RebalancingPolicy.MONTHLY), 0.05, costRate, true).get(0);
+
+        // then: V' = 1.5 - 0.01 * (|0.5V' - 1| + |0.5V' - 0.5|) = 1.5 - 0.005
+        double nav = monthly.nav()[1];
+        assertEquals(1.5 - costRate * (Math.abs(0.5 * nav - 1.0) + Math.abs(0.5 * nav - 0.5)), nav, 1e-12);
+        assertEquals(1.5 - nav, monthly.transactionCost(), 1e-12);
+    }
+
+    @Test
+    void thresholdShouldRebalanceOnlyWhenDriftExceedsThreshold() {
+        // given: 첫 달 비중 차이 약 2.4%p, 둘째 달 약 11%p
+        double[][] prices = { { 1, 1.1, 1.6 }, { 1, 1, 1 } };
+
+        // when
+        RebalancingSimulator.Simulation threshold = simulator.simulate(matrix(prices), monthly(3),
+                new double[] { 0.5, 0.5 }, List.of(RebalancingPolicy.THRESHOLD), 0.05, 0.0, true).get(0);
+
+        // then
+        assertEquals(1, threshold.rebalanceCount());
+        assertEquals(0.5 * 1.6 + 0.5, threshold.nav()[2], 1e-12);
+    }
+
+    @Test
+    void quarterlyAndAnnualShouldRebalanceOnCalendarBoundaries() {
+        // given: 2020-01 ~ 2021-12 월봉 24개
+        double[][] prices = new double[2][24];
+        for (int i = 0; i < 24; i++) {
+            prices[0][i] = 1.0 + 0.05 * i;
+            prices[1][i] = 1.0;
+        }
+
+        // when
+        List<RebalancingSimulator.Simulation> simulations = simulator.simulate(matrix(prices), monthly(24),
+                new double[] { 0.6, 0.4 },
+                List.of(RebalancingPolicy.MONTHLY, RebalancingPolicy.QUARTERLY, RebalancingPolicy.ANNUAL), 0.05,
+                0.0, true);
+
+        // then: 정책 순서 유지, 월 23회 / 분기 7회 / 연 1회
+        assertEquals(RebalancingPolicy.MONTHLY, simulations.get(0).policy());
+        assertEquals(23, simulations.get(0).rebalanceCount());
+        assertEquals(7, simulations.get(1).rebalanceCount());
+        assertEquals(1, simulations.get(2).rebalanceCount());
+    }
+
+    @Test
+    void shouldReinvestDividendsIntoTheSameConstituent() {
+        // given: 첫 달 정규화 배당 2% (가격 변화 없음)
+        double[][] prices = { { 100, 100, 100 } };
+        double[][] dividends = { { 0, 2, 0 } };
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, dividends);
+
+        // when
+        List<RebalancingSimulator.Simulation> reinvested = simulator.simulate(matrix, monthly(3), new double[] { 1 },
+                List.of(RebalancingPolicy.NONE), 0.05, 0.0, true);
+        List<RebalancingSimulator.Simulation> priceOnly = simulator.simulate(matrix, monthly(3), new double[] { 1 },
+                List.of(RebalancingPolicy.NONE), 0.05, 0.0, false);
+
+        // then
+        assertArrayEquals(new double[] { 1.0, 1.02, 1.02 }, reinvested.get(0).nav(), 1e-12);
+        assertArrayEquals(new double[] { 1.0, 1.0, 1.0 }, priceOnly.get(0).nav(), 1e-12);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        NavMatrix matrix = matrix(new double[][] { { 1, 2 } });
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(matrix, monthly(2),
+                new double[] { 1 }, List.of(RebalancingPolicy.THRESHOLD), 0.0, 0.0, true));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(matrix, monthly(2),
+                new double[] { 1 }, List.of(RebalancingPolicy.MONTHLY), 0.05, 1.0, true));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(matrix, monthly(2),
+                new double[] { -1 }, List.of(RebalancingPolicy.MONTHLY), 0.05, 0.0, true));
+    }
+}
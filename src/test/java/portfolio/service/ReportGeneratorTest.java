@@ -3,12 +3,17 @@ package portfolio.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import portfolio.model.AnalysisReport;
+import portfolio.model.CorrelationMatrix;
+import portfolio.model.DrawdownEpisode;
 import portfolio.model.PortfolioRequest;
 import portfolio.model.PortfolioReturnData;
 import portfolio.model.StockReturnData;
+import portfolio.model.ValueAtRiskMetrics;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,7 +25,7 @@ class ReportGeneratorTest {
 
     @BeforeEach
     void setUp() {
-        reportGenerator = new ReportGenerator();
+        reportGenerator = new ReportGenerator(new CorrelationMatrixEngine(ForkJoinPool.commonPool()));
 
         // 샘플 요청 데이터 생성
         sampleRequest = new PortfolioRequest();
@@ -58,8 +63,7 @@ class ReportGeneratorTest {
                         LocalDate.of(2023, 10, 1)))
                 .build();
 
-        samplePortfolioData = new PortfolioReturnData(List.of(appleData, microsoftData));
-        samplePortfolioData.setPortfolioStockReturn(StockReturnData.builder()
+        samplePortfolioData = new PortfolioReturnData(List.of(appleData, microsoftData), StockReturnData.builder()
                 .ticker("Portfolio")
                 .priceReturn(0.135)
                 .totalReturn(0.16)
@@ -138,6 +142,139 @@ class ReportGeneratorTest {
         assertNotNull(riskMetrics.getCorrelationMatrix());
     }
 
+    @Test
+    void shouldCalculateCorrelationMatrixFromPeriodicReturns() {
+        // Given: 같은 방향(AAPL-MSFT), 반대 방향(AAPL-TLT) 시계열
+        StockReturnData apple = StockReturnData.builder().ticker("AAPL").totalReturn(0.1)
+                .periodicReturnRates(List.of(0.01, 0.03, -0.02, 0.04)).build();
+        StockReturnData microsoft = StockReturnData.builder().ticker("MSFT").totalReturn(0.1)
+                .periodicReturnRates(List.of(0.02, 0.06, -0.04, 0.08)).build();
+        StockReturnData treasury = StockReturnData.builder().ticker("TLT").totalReturn(0.1)
+                .periodicReturnRates(List.of(-0.01, -0.03, 0.02, -0.04)).build();
+        PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(apple, microsoft, treasury),
+                samplePortfolioData.getPortfolioStockReturn());
+
+        // When
+        CorrelationMatrix matrix = reportGenerator.generateReport(sampleRequest, portfolioData)
+                .getRiskMetrics().getCorrelationMatrix();
+
+        // Then
+        assertEquals(List.of("AAPL", "MSFT", "TLT"), matrix.getTickers());
+        assertEquals(1.0, matrix.correlation("AAPL", "AAPL"), 1e-12);
+        assertEquals(1.0, matrix.correlation("AAPL", "MSFT"), 1e-12);
+        assertEquals(-1.0, matrix.correlation("AAPL", "TLT"), 1e-12);
+        assertEquals(matrix.correlation(0, 2), matrix.correlation(2, 0));
+    }
+
+    @Test
+    void componentVaRShouldSumToDeltaNormalPortfolioVaR() {
+        // Given
+        List<Double> appleRates = List.of(0.01, 0.03, -0.02, 0.04, -0.05, 0.02, 0.01, -0.01);
+        List<Double> microsoftRates = List.of(0.02, -0.01, -0.03, 0.05, -0.02, 0.01, 0.00, 0.02);
+        StockReturnData apple = StockReturnData.builder().ticker("AAPL").totalReturn(0.1)
+                .periodicReturnRates(appleRates).build();
+        StockReturnData microsoft = StockReturnData.builder().ticker("MSFT").totalReturn(0.1)
+                .periodicReturnRates(microsoftRates).build();
+        List<Double> portfolioRates = new ArrayList<>();
+        for (int t = 0; t < appleRates.size(); t++) {
+            portfolioRates.add(0.6 * appleRates.get(t) + 0.4 * microsoftRates.get(t));
+        }
+        PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(apple, microsoft),
+                StockReturnData.builder().ticker("Portfolio")
+                .periodicReturnRates(portfolioRates).build());
+        sampleRequest.setWeights(List.of(0.6, 0.4));
+        sampleRequest.setVarConfidenceLevels(List.of(0.9));
+
+        // When
+        List<ValueAtRiskMetrics> valueAtRisk = reportGenerator.generateReport(sampleRequest, portfolioData)
+                .getRiskMetrics().getValueAtRisk();
+
+        // Then: 고정 비중 포트폴리오 수익률의 정규분포 VaR = 종목별 기여 VaR 합
+        assertEquals(1, valueAtRisk.size());
+        ValueAtRiskMetrics metrics = valueAtRisk.get(0);
+        assertEquals(0.9, metrics.confidence());
+        double componentSum = metrics.contributions().stream().mapToDouble(ValueAtRiskMetrics.Contribution::componentVaR)
+                .sum();
+        assertEquals(metrics.deltaNormalVaR(), componentSum, 1e-12);
+        assertEquals(metrics.parametricVaR(), metrics.deltaNormalVaR(), 1e-12);
+        assertEquals("AAPL", metrics.contributions().get(0).ticker());
+        assertEquals(0.6, metrics.contributions().get(0).weight(), 1e-12);
+        // 하위 10% (8개 중 1개): 최저 수익률 0.6 × -0.05 + 0.4 × -0.02
+        assertEquals(0.038, metrics.historicalVaR(), 1e-12);
+        assertEquals(0.038, metrics.historicalCVaR(), 1e-12);
+        assertTrue(metrics.parametricCVaR() > metrics.parametricVaR());
+    }
+
+    @Test
+    void componentVaRShouldSumToReportedDeltaNormalVaRWhenPortfolioReturnsDiffer() {
+        // Given: 리밸런싱 등으로 포트폴리오 기간 수익률이 고정 비중 수익률과 다른 경우
+        List<Double> appleRates = List.of(0.01, 0.03, -0.02, 0.04, -0.05, 0.02, 0.01, -0.01);
+        List<Double> microsoftRates = List.of(0.02, -0.01, -0.03, 0.05, -0.02, 0.01, 0.00, 0.02);
+        StockReturnData apple = StockReturnData.builder().ticker("AAPL").totalReturn(0.1)
+                .periodicReturnRates(appleRates).build();
+        StockReturnData microsoft = StockReturnData.builder().ticker("MSFT").totalReturn(0.1)
+                .periodicReturnRates(microsoftRates).build();
+        PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(apple, microsoft),
+                StockReturnData.builder().ticker("Portfolio")
+                .periodicReturnRates(List.of(0.03, -0.04, 0.01, 0.06, -0.07, 0.02)).build());
+        sampleRequest.setWeights(List.of(0.6, 0.4));
+        sampleRequest.setVarConfidenceLevels(List.of(0.95, 0.99));
+
+        // When
+        List<ValueAtRiskMetrics> valueAtRisk = reportGenerator.generateReport(sampleRequest, portfolioData)
+                .getRiskMetrics().getValueAtRisk();
+
+        // Then
+        assertEquals(2, valueAtRisk.size());
+        for (ValueAtRiskMetrics metrics : valueAtRisk) {
+            double componentSum = metrics.contributions().stream()
+                    .mapToDouble(ValueAtRiskMetrics.Contribution::componentVaR).sum();
+            assertEquals(metrics.deltaNormalVaR(), componentSum, 1e-12);
+            assertNotEquals(metrics.parametricVaR(), metrics.deltaNormalVaR(), 1e-6);
+        }
+    }
+
+    @Test
+    void shouldRejectPeriodicReturnsOfDifferentLengths() {
+        // Given
+        StockReturnData apple = StockReturnData.builder().ticker("AAPL").totalReturn(0.1)
+                .periodicReturnRates(List.of(0.01, 0.03, -0.02, 0.04)).build();
+        StockReturnData microsoft = StockReturnData.builder().ticker("MSFT").totalReturn(0.1)
+                .periodicReturnRates(List.of(0.02, -0.01, -0.03)).build();
+        PortfolioReturnData portfolioData = new PortfolioReturnData(List.of(apple, microsoft),
+                StockReturnData.builder().ticker("Portfolio").build());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reportGenerator.generateReport(sampleRequest, portfolioData));
+        assertTrue(exception.getMessage().contains("MSFT"));
+    }
+
+    @Test
+    void riskMetricsShouldIncludePortfolioDrawdownEpisodes() {
+        // Given
+        DrawdownEpisode episode = new DrawdownEpisode(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 5, 1),
+                LocalDate.of(2023, 9, 1), 0.18, 7, 212);
+        PortfolioReturnData portfolioData = new PortfolioReturnData(samplePortfolioData.getStockReturns(),
+                StockReturnData.builder().ticker("Portfolio")
+                .drawdownEpisodes(List.of(episode)).build());
+
+        // When
+        AnalysisReport.RiskMetrics riskMetrics = reportGenerator.generateReport(sampleRequest, portfolioData)
+                .getRiskMetrics();
+
+        // Then
+        assertEquals(List.of(episode), riskMetrics.getDrawdownEpisodes());
+        assertTrue(reportGenerator.generateReport(sampleRequest, samplePortfolioData).getRiskMetrics()
+                .getDrawdownEpisodes().isEmpty());
+    }
+
+    @Test
+    void valueAtRiskShouldBeEmptyWithoutPortfolioReturns() {
+        AnalysisReport report = reportGenerator.generateReport(sampleRequest, samplePortfolioData);
+        assertTrue(report.getRiskMetrics().getValueAtRisk().isEmpty());
+    }
+
     @Test
     void shouldGenerateUniqueReportIds() {
         // When
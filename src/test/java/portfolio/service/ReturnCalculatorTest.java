@@ -12,6 +12,8 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
 import portfolio.api.ChartResponse.Dividend;
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
 import portfolio.model.ReturnRate;
 
 @Slf4j
@@ -29,6 +31,20 @@ class ReturnCalculatorTest {
         assertTrue(beta > 0.5 && beta < 1.5); // 예시: 실제 값은 샘플 데이터에 따라 다름
     }
 
+    @Test
+    void shouldCalculateBetaWithBenchmarkContext() {
+        ReturnCalculator calculator = new ReturnCalculator();
+        List<Double> stockPrices = List.of(100.0, 103.0, 101.0, 106.0, 108.0, 104.0);
+        List<Double> indexPrices = List.of(4000.0, 4080.0, 4050.0, 4150.0, 4210.0, 4120.0);
+        double[] stockCumulative = stockPrices.stream().mapToDouble(p -> p / stockPrices.get(0) - 1.0).toArray();
+        List<Double> indexCumulative = indexPrices.stream().map(p -> p / indexPrices.get(0) - 1.0).toList();
+
+        double expected = calculator.calculateBeta(
+                java.util.Arrays.stream(stockCumulative).boxed().toList(), indexCumulative);
+        double beta = calculator.calculateBeta(stockCumulative, BenchmarkContext.of(indexPrices));
+
+        assertEquals(expected, beta, 1e-12);
+    }
 
     @Test
     void shouldCalculateVolatilityWithoutDividends() {
@@ -409,4 +425,88 @@ class ReturnCalculatorTest {
             assertEquals(expected.get(i), result.get(i), 1e-6, "index=" + i + ", price=" + prices.get(i));
         }
     }
+
+    @Test
+    void shouldSettleDividendsOnBarDayForDailyFrequency() {
+        // Given: 1/3, 1/4, 1/5 일봉과 1/4 배당
+        ReturnCalculator calculator = new ReturnCalculator();
+        List<Double> prices = List.of(100.0, 100.0, 100.0);
+        List<Long> timestamps = List.of(
+                LocalDate.of(2023, 1, 3).atStartOfDay().toEpochSecond(ZoneOffset.UTC),
+                LocalDate.of(2023, 1, 4).atStartOfDay().toEpochSecond(ZoneOffset.UTC),
+                LocalDate.of(2023, 1, 5).atStartOfDay().toEpochSecond(ZoneOffset.UTC));
+        Dividend dividend = new Dividend();
+        dividend.setAmount(1.0);
+        dividend.setDate(LocalDate.of(2023, 1, 4).atStartOfDay().toEpochSecond(ZoneOffset.UTC));
+
+        // When
+        List<ReturnRate> daily = calculator.calculateCumulativeReturns(prices, timestamps, List.of(dividend),
+                BarFrequency.DAILY);
+        List<ReturnRate> monthly = calculator.calculateCumulativeReturns(prices, timestamps, List.of(dividend));
+
+        // Then: 일봉은 지급일 가격에, 월봉은 같은 달 첫 가격에 재투자
+        assertEquals(0.0, daily.get(0).rate(), 1e-12);
+        assertEquals(0.01, daily.get(1).rate(), 1e-12);
+        assertEquals(0.01, monthly.get(0).rate(), 1e-12);
+    }
+
+    @Test
+    void shouldUseFrequencyRiskFreeRateInSharpeRatio() {
+        ReturnCalculator calculator = new ReturnCalculator();
+        double[] returns = { 0.01, -0.005, 0.012, 0.003, -0.002 };
+
+        double monthly = calculator.calculateSharpeRatio(returns);
+        double daily = calculator.calculateSharpeRatio(returns, BarFrequency.DAILY);
+
+        assertEquals(monthly, calculator.calculateSharpeRatio(returns, BarFrequency.MONTHLY), 1e-12);
+        // 일봉의 기간 무위험 수익률(0.04 / 252)이 더 작으므로 샤프비율이 더 큼
+        assertTrue(daily > monthly);
+    }
+
+    @Test
+    void shouldAnnualizeVolatilityBySqrtPeriodsPerYearRegardlessOfLength() {
+        ReturnCalculator calculator = new ReturnCalculator();
+        double[] returns = { 0.01, -0.01, 0.01, -0.01 };
+        double[] longer = { 0.01, -0.01, 0.01, -0.01, 0.01, -0.01, 0.01, -0.01 };
+
+        // 표준편차 0.01, 기간 수와 무관하게 √(연간 기간 수)로 연환산
+        assertEquals(0.01 * Math.sqrt(12), calculator.calculateVolatility(returns), 1e-12);
+        assertEquals(0.01 * Math.sqrt(12), calculator.calculateVolatility(longer), 1e-12);
+        assertEquals(0.01 * Math.sqrt(252), calculator.calculateVolatility(returns, BarFrequency.DAILY), 1e-12);
+        assertEquals((0.0 - 0.04 / 52) / 0.01 * Math.sqrt(52),
+                calculator.calculateSharpeRatio(longer, BarFrequency.WEEKLY), 1e-12);
+    }
+
+    @Test
+    void shouldMatchDividendListWhenDividendsArePerBar() {
+        // Given: 같은 달 배당 2건과 첫 시점 이전 배당
+        ReturnCalculator calculator = new ReturnCalculator();
+        double[] prices = { 100.0, 102.0, 99.0, 105.0 };
+        List<Long> timestamps = List.of(
+                toUnixTimeSeconds(LocalDate.of(2023, 1, 1)),
+                toUnixTimeSeconds(LocalDate.of(2023, 2, 1)),
+                toUnixTimeSeconds(LocalDate.of(2023, 3, 1)),
+                toUnixTimeSeconds(LocalDate.of(2023, 4, 1)));
+        List<Dividend> dividends = List.of(
+                dividend(0.5, LocalDate.of(2023, 2, 10)),
+                dividend(0.7, LocalDate.of(2023, 2, 20)),
+                dividend(0.3, LocalDate.of(2022, 12, 15)),
+                dividend(0.9, LocalDate.of(2023, 5, 2)));
+
+        // When
+        double[] perBar = BarFrequency.MONTHLY.dividendsPerBar(timestamps, dividends);
+        double[] fromList = calculator.calculateTotalReturnSeries(prices, timestamps, dividends, BarFrequency.MONTHLY);
+        double[] fromPerBar = calculator.calculateTotalReturnSeries(prices, perBar);
+
+        // Then: 마지막 시점 이후 배당은 반영하지 않음
+        assertArrayEquals(new double[] { 0.3, 1.2, 0.0, 0.0 }, perBar, 1e-12);
+        assertArrayEquals(fromList, fromPerBar, 1e-12);
+    }
+
+    private static Dividend dividend(double amount, LocalDate date) {
+        Dividend dividend = new Dividend();
+        dividend.setAmount(amount);
+        dividend.setDate(toUnixTimeSeconds(date));
+        return dividend;
+    }
 }
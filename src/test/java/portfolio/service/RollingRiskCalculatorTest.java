@@ -0,0 +1,101 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.Test;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.RollingRiskSeries;
+import portfolio.util.RunningCovariance;
+import portfolio.util.RunningMoments;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingRiskCalculatorTest {
+
+    private final RollingRiskCalculator calculator = new RollingRiskCalculator();
+
+    private double[] randomWalk(long seed, int length) {
+        Random random = new Random(seed);
+        double[] prices = new double[length];
+        prices[0] = 100.0;
+        for (int i = 1; i < length; i++) {
+            prices[i] = prices[i - 1] * (1.0 + random.nextGaussian() * 0.05);
+        }
+        return prices;
+    }
+
+    @Test
+    void shouldMatchNaiveWindowRecomputation() {
+        double[] prices = randomWalk(1L, 200);
+        double[] indexPrices = randomWalk(2L, 200);
+        double[] returns = calculator.periodicReturns(prices);
+        double[] indexReturns = calculator.periodicReturns(indexPrices);
+        int window = 12;
+
+        double[] volatility = calculator.rollingVolatility(returns, window);
+        double[] beta = calculator.rollingBeta(returns, indexReturns, window);
+        double[] drawdown = calculator.rollingDrawdown(prices, window);
+
+        for (int i = 0; i < prices.length; i++) {
+            if (i < window) {
+                assertTrue(Double.isNaN(volatility[i]));
+                assertTrue(Double.isNaN(drawdown[i]));
+                continue;
+            }
+            double[] windowReturns = Arrays.copyOfRange(returns, i - window, i);
+            double[] windowIndexReturns = Arrays.copyOfRange(indexReturns, i - window, i);
+            double expectedVolatility = RunningMoments.of(windowReturns).standardDeviation() * Math.sqrt(12);
+            double expectedBeta = RunningCovariance.of(windowReturns, windowIndexReturns).beta();
+            double peak = Arrays.stream(prices, i - window, i + 1).max().orElseThrow();
+
+            assertEquals(expectedVolatility, volatility[i], 1e-10);
+            assertEquals(expectedBeta, beta[i], 1e-9);
+            assertEquals((peak - prices[i]) / peak, drawdown[i], 1e-12);
+        }
+    }
+
+    @Test
+    void shouldCalculateSeriesPerWindow() {
+        double[] prices = randomWalk(3L, 80);
+        double[] indexPrices = randomWalk(4L, 80);
+
+        List<RollingRiskSeries> result = calculator.calculate(prices,
+                BenchmarkContext.of(Arrays.stream(indexPrices).boxed().toList()), List.of(12, 36, 60));
+
+        assertEquals(3, result.size());
+        for (RollingRiskSeries series : result) {
+            assertEquals(prices.length, series.volatility().size());
+            assertEquals(prices.length, series.sharpeRatio().size());
+            assertNull(series.volatility().get(series.window() - 1));
+            assertNotNull(series.volatility().get(series.window()));
+            assertNotNull(series.drawdown().get(prices.length - 1));
+        }
+    }
+
+    @Test
+    void flatStretchAfterVolatileOneShouldHaveZeroVolatilityAndNoSharpe() {
+        // 변동이 큰 구간 뒤에 수익률 0(가격 고정)과 상수 수익률 구간
+        double[] turbulent = calculator.periodicReturns(randomWalk(5L, 40));
+        int window = 6;
+        for (double flat : new double[] { 0.0, 0.01 }) {
+            double[] returns = Arrays.copyOf(turbulent, turbulent.length + 20);
+            Arrays.fill(returns, turbulent.length, returns.length, flat);
+
+            double[] volatility = calculator.rollingVolatility(returns, window);
+            double[] sharpe = calculator.rollingSharpeRatio(returns, window);
+
+            for (int i = turbulent.length + window; i <= returns.length; i++) {
+                assertEquals(0.0, volatility[i]);
+                assertTrue(Double.isNaN(sharpe[i]));
+            }
+            assertTrue(volatility[turbulent.length] > 0.0);
+        }
+    }
+
+    @Test
+    void shouldRejectTooSmallWindow() {
+        assertThrows(IllegalArgumentException.class, () -> calculator.rollingVolatility(new double[] { 0.1 }, 1));
+    }
+}
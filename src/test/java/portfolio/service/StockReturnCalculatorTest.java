@@ -0,0 +1,254 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import portfolio.api.ChartResponse;
+import portfolio.model.BarFrequency;
+import portfolio.model.DrawdownEpisode;
+import portfolio.model.FetchedStockDatas;
+import portfolio.model.Metric;
+import portfolio.model.PortfolioRequest;
+import portfolio.model.StockReturnData;
+import portfolio.model.TotalReturnSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockReturnCalculatorTest {
+
+    private final ForkJoinPool computePool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    private StockReturnCalculator calculator(int parallelThreshold) {
+        return new StockReturnCalculator(new ReturnCalculator(), new RollingRiskCalculator(), computePool,
+                parallelThreshold);
+    }
+
+    private static ChartResponse chart(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Long> timestamps = new ArrayList<>();
+        List<Double> closes = new ArrayList<>();
+        double price = 100.0;
+        for (int i = 0; i < length; i++) {
+            timestamps.add(1_577_836_800L + i * 30L * 86_400L);
+            closes.add(price);
+            price *= 1.0 + random.nextDouble(-0.05, 0.05);
+        }
+        ChartResponse.Quote quote = new ChartResponse.Quote();
+        quote.setClose(closes);
+        ChartResponse.Indicators indicators = new ChartResponse.Indicators();
+        indicators.setQuote(List.of(quote));
+        ChartResponse.Result result = new ChartResponse.Result();
+        result.setTimestamp(timestamps);
+        result.setIndicators(indicators);
+        ChartResponse.Chart inner = new ChartResponse.Chart();
+        inner.setResult(List.of(result));
+        ChartResponse chart = new ChartResponse();
+        chart.setChart(inner);
+        return chart;
+    }
+
+    @Test
+    void shouldKeepTickerOrderAndValuesWhenParallel() {
+        // given: 임계값을 넘는 40개 종목
+        List<String> tickers = new ArrayList<>();
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            String ticker = "T" + i;
+            tickers.add(ticker);
+            stockData.put(ticker, chart(i, 60));
+        }
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, chart(1000, 60));
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(tickers);
+        request.setIncludeDividends(false);
+        request.setInitialAmount(10000);
+
+        // when
+        List<StockReturnData> sequential = calculator(Integer.MAX_VALUE).calculateStockReturns(request, fetched);
+        List<StockReturnData> parallel = calculator(1).calculateStockReturns(request, fetched);
+
+        // then: 요청 순서와 계산 결과가 순차 계산과 동일
+        assertEquals(40, parallel.size());
+        for (int i = 0; i < tickers.size(); i++) {
+            assertEquals(tickers.get(i), parallel.get(i).getTicker());
+            assertEquals(sequential.get(i).getVolatility(), parallel.get(i).getVolatility());
+            assertEquals(sequential.get(i).getBeta(), parallel.get(i).getBeta());
+            assertEquals(sequential.get(i).getCumulativeReturns(), parallel.get(i).getCumulativeReturns());
+        }
+    }
+
+    @Test
+    void shouldPropagateValidationErrorFromWorker() {
+        // given: 지수와 길이가 다른 종목
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAA", chart(1, 30));
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, chart(2, 40));
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("AAA"));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator(1).calculateStockReturns(request, fetched));
+    }
+
+    @Test
+    void shouldComputeOnlyRequestedMetricsAndTheirInputs() {
+        // given
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAA", chart(3, 48));
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, chart(4, 48));
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("AAA"));
+        request.setIncludeDividends(true);
+        request.setInitialAmount(10000);
+        StockReturnCalculator calculator = calculator(Integer.MAX_VALUE);
+
+        // when
+        StockReturnData full = calculator.calculateStockReturns(request, fetched).get(0);
+        StockReturnData comparison = calculator.calculateStockReturns(request, fetched,
+                ChartGenerator.COMPARISON_METRICS).get(0);
+
+        // then: 비교 차트 지표는 전체 계산과 같고, 나머지 시계열은 계산하지 않음
+        assertEquals(full.getPriceReturn(), comparison.getPriceReturn());
+        assertEquals(full.getTotalReturn(), comparison.getTotalReturn());
+        assertEquals(full.getPrices(), comparison.getPrices());
+        assertEquals(full.getInitialAmount(), comparison.getInitialAmount());
+        assertNull(comparison.getCumulativeReturns());
+        assertNull(comparison.getMaxDrawdowns());
+        assertNull(comparison.getAmountChanges());
+        assertNull(comparison.getDates());
+        assertNull(comparison.getPeriodicReturnRates());
+        assertNull(comparison.getSharpeRatio());
+        assertNull(comparison.getVolatility());
+        assertNull(comparison.getBeta());
+        assertNull(comparison.getMaxDrawdown());
+    }
+
+    @Test
+    void drawdownEpisodesShouldNotRequirePerPointDrawdowns() {
+        // given
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAA", chart(5, 120));
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, chart(6, 120));
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("AAA"));
+        StockReturnCalculator calculator = calculator(Integer.MAX_VALUE);
+
+        // when
+        StockReturnData full = calculator.calculateStockReturns(request, fetched).get(0);
+        StockReturnData episodesOnly = calculator.calculateStockReturns(request, fetched,
+                EnumSet.of(Metric.DRAWDOWN_EPISODES)).get(0);
+
+        // then: 가장 깊은 구간의 깊이 = 최대 낙폭, 시점별 낙폭 목록은 계산하지 않음
+        assertNull(episodesOnly.getMaxDrawdowns());
+        List<DrawdownEpisode> episodes = episodesOnly.getDrawdownEpisodes();
+        assertFalse(episodes.isEmpty());
+        assertTrue(episodes.size() <= StockReturnCalculator.DRAWDOWN_EPISODES);
+        assertEquals(full.getMaxDrawdown(), episodes.get(0).depth(), 1e-12);
+        assertEquals(full.getMaxDrawdown(), episodesOnly.getMaxDrawdown(), 1e-12);
+        assertEquals(full.getDrawdownEpisodes(), episodes);
+        for (DrawdownEpisode episode : episodes) {
+            assertFalse(episode.troughDate().isBefore(episode.peakDate()));
+            assertTrue(episode.recoveryDate() == null || episode.recoveryDate().isAfter(episode.troughDate()));
+        }
+    }
+
+    @Test
+    void adjustedCloseShouldMatchReinvestmentAndBeReconciled() {
+        // given: 분기마다 배당이 있고, 조정 종가는 배당 재투자 누적 성장과 같도록 만든 종목
+        ChartResponse stock = chart(7, 48);
+        ChartResponse.Result result = stock.getChart().getResult().get(0);
+        List<Long> timestamps = result.getTimestamp();
+        Map<String, ChartResponse.Dividend> dividends = new LinkedHashMap<>();
+        for (int i = 2; i < timestamps.size(); i += 3) {
+            ChartResponse.Dividend dividend = new ChartResponse.Dividend();
+            dividend.setAmount(0.8);
+            dividend.setDate(timestamps.get(i));
+            dividends.put(String.valueOf(timestamps.get(i)), dividend);
+        }
+        ChartResponse.Events events = new ChartResponse.Events();
+        events.setDividends(dividends);
+        result.setEvents(events);
+        ReturnCalculator returnCalculator = new ReturnCalculator();
+        double[] prices = result.getIndicators().getQuote().get(0).getClose().stream()
+                .mapToDouble(Double::doubleValue).toArray();
+        double[] reinvested = returnCalculator.calculateTotalReturnSeries(prices, timestamps,
+                new ArrayList<>(dividends.values()), BarFrequency.MONTHLY);
+        List<Double> adjusted = new ArrayList<>();
+        for (double growth : reinvested) {
+            adjusted.add(50.0 * (1 + growth));
+        }
+        ChartResponse.AdjClose adjClose = new ChartResponse.AdjClose();
+        adjClose.setAdjclose(adjusted);
+        result.getIndicators().setAdjclose(List.of(adjClose));
+
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAA", stock);
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, chart(8, 48));
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("AAA"));
+        request.setIncludeDividends(true);
+        request.setReconcileAdjustedClose(true);
+        StockReturnCalculator calculator = new StockReturnCalculator(returnCalculator,
+                new RollingRiskCalculator(), computePool, Integer.MAX_VALUE);
+
+        // when
+        StockReturnData reinvestment = calculator.calculateStockReturns(request, fetched).get(0);
+        request.setTotalReturnSource(TotalReturnSource.ADJUSTED_CLOSE);
+        StockReturnData fastPath = calculator.calculateStockReturns(request, fetched).get(0);
+
+        // then
+        assertNull(reinvestment.getAdjustedCloseDivergence());
+        assertEquals(reinvestment.getTotalReturn(), fastPath.getTotalReturn(), 1e-12);
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(reinvestment.getCumulativeReturns().get(i), fastPath.getCumulativeReturns().get(i), 1e-12);
+        }
+        assertEquals(0.0, fastPath.getAdjustedCloseDivergence(), 1e-12);
+    }
+
+    @Test
+    void adjustedCloseDivergenceShouldBeFlagged() {
+        // given: 배당이 없는데 조정 종가가 마지막에 가격보다 10% 높음
+        ChartResponse stock = chart(9, 24);
+        ChartResponse.Result result = stock.getChart().getResult().get(0);
+        List<Double> adjusted = new ArrayList<>(result.getIndicators().getQuote().get(0).getClose());
+        adjusted.set(adjusted.size() - 1, adjusted.get(adjusted.size() - 1) * 1.1);
+        ChartResponse.AdjClose adjClose = new ChartResponse.AdjClose();
+        adjClose.setAdjclose(adjusted);
+        result.getIndicators().setAdjclose(List.of(adjClose));
+        Map<String, ChartResponse> stockData = new LinkedHashMap<>();
+        stockData.put("AAA", stock);
+        FetchedStockDatas fetched = new FetchedStockDatas(stockData, chart(10, 24));
+        PortfolioRequest request = new PortfolioRequest();
+        request.setTickers(List.of("AAA"));
+        request.setTotalReturnSource(TotalReturnSource.ADJUSTED_CLOSE);
+        StockReturnCalculator calculator = calculator(Integer.MAX_VALUE);
+
+        // when: 검증을 요청한 계산과 요청하지 않은 계산 (같은 요청은 항상 같은 응답)
+        request.setReconcileAdjustedClose(true);
+        StockReturnData reconciled = calculator.calculateStockReturns(request, fetched).get(0);
+        StockReturnData again = calculator.calculateStockReturns(request, fetched).get(0);
+        request.setReconcileAdjustedClose(false);
+        StockReturnData unreconciled = calculator.calculateStockReturns(request, fetched).get(0);
+
+        // then: 요청한 경우에만 차이가 표시됨
+        assertEquals(0.1, reconciled.getAdjustedCloseDivergence(), 1e-9);
+        assertEquals(0.1, again.getAdjustedCloseDivergence(), 1e-9);
+        assertNull(unreconciled.getAdjustedCloseDivergence());
+        assertEquals(adjusted.get(adjusted.size() - 1) / adjusted.get(0) - 1, unreconciled.getTotalReturn(),
+                1e-12);
+    }
+}
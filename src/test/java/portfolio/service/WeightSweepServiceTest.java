@@ -0,0 +1,140 @@
+package portfolio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import portfolio.model.BarFrequency;
+import portfolio.model.BenchmarkContext;
+import portfolio.model.Metric;
+import portfolio.model.StockReturnData;
+import portfolio.model.SweepRequest;
+import portfolio.util.NavMatrix;
+import portfolio.util.ScalarKernels;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static portfolio.util.DateUtils.toUnixTimeSeconds;
+
+class WeightSweepServiceTest {
+
+    private final ForkJoinPool computePool = new ForkJoinPool(4);
+    private final ReturnCalculator returnCalculator = new ReturnCalculator();
+    private final StockReturnCalculator stockReturnCalculator = new StockReturnCalculator(returnCalculator,
+            new RollingRiskCalculator(), computePool, 16);
+    private final WeightSweepService service = new WeightSweepService(null, stockReturnCalculator,
+            returnCalculator, computePool, 10);
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    private static List<Long> monthly(int length) {
+        List<Long> timestamps = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            timestamps.add(toUnixTimeSeconds(LocalDate.of(2020, 1, 1).plusMonths(i)));
+        }
+        return timestamps;
+    }
+
+    private static double[][] randomPrices(Random random, int constituents, int periods) {
+        double[][] prices = new double[constituents][periods];
+        for (int j = 0; j < constituents; j++) {
+            prices[j][0] = 10 + random.nextDouble() * 90;
+            for (int i = 1; i < periods; i++) {
+                prices[j][i] = prices[j][i - 1] * (1 + (random.nextDouble() - 0.45) * 0.1);
+            }
+        }
+        return prices;
+    }
+
+    @Test
+    void rowsShouldMatchPortfolioMetricsOfAggregatedNav() {
+        // given
+        Random random = new Random(7);
+        double[][] prices = randomPrices(random, 3, 36);
+        double[][] dividends = new double[3][36];
+        dividends[0][5] = 0.8;
+        dividends[2][17] = 1.2;
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, dividends);
+        List<Long> timestamps = monthly(36);
+        double[][] weightSets = { { 0.2, 0.3, 0.5 }, { 1, 0, 0 }, { 0.5, 0.5, 0 } };
+
+        // when
+        double[][] rows = service.evaluate(matrix, timestamps, BarFrequency.MONTHLY, weightSets);
+
+        // then: /analyze의 포트폴리오 지표 계산과 같은 값
+        Set<Metric> metrics = Metric.closure(EnumSet.of(Metric.CAGR, Metric.VOLATILITY, Metric.SHARPE_RATIO,
+                Metric.DRAWDOWNS, Metric.TOTAL_RETURN));
+        for (int k = 0; k < weightSets.length; k++) {
+            double[] nav = new double[36];
+            double[] dividendCash = new double[36];
+            matrix.aggregate(weightSets[k], nav, dividendCash);
+            StockReturnData expected = stockReturnCalculator.calculateStockReturn(true, "Portfolio", nav,
+                    timestamps, dividendCash, BenchmarkContext.of(List.of()), 1000.0, 1.0, null,
+                    BarFrequency.MONTHLY, metrics);
+            assertEquals(expected.getCagr(), rows[k][0], 1e-12);
+            assertEquals(expected.getVolatility(), rows[k][1], 1e-12);
+            assertEquals(expected.getSharpeRatio(), rows[k][2], 1e-12);
+            assertEquals(expected.getMaxDrawdown(), rows[k][3], 1e-12);
+            assertEquals(expected.getTotalReturn(), rows[k][4], 1e-12);
+        }
+    }
+
+    @Test
+    void parallelChunksShouldKeepWeightSetOrder() {
+        // given: 여러 묶음으로 나뉘는 조합 수
+        Random random = new Random(11);
+        double[][] prices = randomPrices(random, 4, 24);
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, null);
+        List<Long> timestamps = monthly(24);
+        double[][] weightSets = new double[WeightSweepService.CHUNK_SIZE * 2 + 22][];
+        for (int k = 0; k < weightSets.length; k++) {
+            weightSets[k] = new double[] { random.nextDouble(), random.nextDouble(), random.nextDouble(),
+                    random.nextDouble() };
+        }
+
+        // when
+        double[][] rows = service.evaluate(matrix, timestamps, BarFrequency.MONTHLY, weightSets);
+
+        // then: 조합 하나씩 평가한 결과와 같음
+        assertEquals(weightSets.length, rows.length);
+        for (int k = 0; k < weightSets.length; k++) {
+            double[][] single = service.evaluate(matrix, timestamps, BarFrequency.MONTHLY,
+                    new double[][] { weightSets[k] });
+            assertArrayEquals(single[0], rows[k], 1e-12);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidWeightSets() {
+        SweepRequest request = new SweepRequest();
+        request.setTickers(List.of("AAPL", "MSFT"));
+
+        request.setWeightSets(List.of());
+        assertThrows(IllegalArgumentException.class, () -> service.sweep(request));
+
+        request.setWeightSets(List.of(List.of(0.5, 0.3, 0.2)));
+        assertThrows(IllegalArgumentException.class, () -> service.sweep(request));
+
+        request.setWeightSets(List.of(List.of(-0.5, 1.5)));
+        assertThrows(IllegalArgumentException.class, () -> service.sweep(request));
+
+        request.setWeightSets(List.of(List.of(0.0, 0.0)));
+        assertThrows(IllegalArgumentException.class, () -> service.sweep(request));
+
+        List<List<Double>> tooMany = new ArrayList<>();
+        for (int k = 0; k < 11; k++) {
+            tooMany.add(List.of(0.5, 0.5));
+        }
+        request.setWeightSets(tooMany);
+        assertThrows(IllegalArgumentException.class, () -> service.sweep(request));
+    }
+}
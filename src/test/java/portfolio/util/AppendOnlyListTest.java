@@ -0,0 +1,33 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendOnlyListTest {
+
+    @Test
+    void shouldKeepSnapshotLengthAcrossAppendsAndGrowth() {
+        // given
+        AppendOnlyList<Integer> list = new AppendOnlyList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        // when: 스냅샷 이후 배열이 여러 번 커지도록 추가
+        List<Integer> snapshot = list.snapshot();
+        for (int i = 10; i < 100; i++) {
+            list.add(i);
+        }
+
+        // then
+        assertEquals(10, snapshot.size());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), snapshot);
+        assertEquals(100, list.size());
+        assertEquals(99, list.snapshot().get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(10));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(1));
+    }
+}
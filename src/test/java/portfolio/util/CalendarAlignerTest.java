@@ -0,0 +1,133 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarAlignerTest {
+    private static final long DAY = EpochCalendar.SECONDS_PER_DAY;
+    private static final long OPEN = 13 * 3600 + 30 * 60;
+
+    @Test
+    void shouldKeepOnlyCommonDatesForIntersection() {
+        // given: 지수는 1~6일, A는 2~6일(4일 없음), B는 1~5일
+        long[] index = days(1, 2, 3, 4, 5, 6);
+        long[] a = days(2, 3, 5, 6);
+        long[] b = days(1, 2, 3, 4, 5);
+
+        // when
+        CalendarAligner.Alignment alignment = CalendarAligner.align(new long[][] { a, b, index }, false);
+
+        // then
+        assertArrayEquals(days(2, 3, 5), alignment.timestamps());
+        assertArrayEquals(new int[] { 0, 1, 2 }, alignment.sourceIndex()[0]);
+        assertArrayEquals(new int[] { 1, 2, 4 }, alignment.sourceIndex()[1]);
+        assertArrayEquals(new int[] { 1, 2, 4 }, alignment.sourceIndex()[2]);
+    }
+
+    @Test
+    void shouldForwardFillFromLatestStartForUnion() {
+        // given
+        long[] a = days(2, 3, 5, 6);
+        long[] b = days(1, 2, 3, 4, 5);
+        double[][] prices = { { 20, 30, 50, 60 }, { 1, 2, 3, 4, 5 } };
+
+        // when
+        CalendarAligner.Alignment alignment = CalendarAligner.align(new long[][] { a, b }, true);
+
+        // then: 가장 늦은 시작일(2일)부터 합집합, 없는 막대는 직전 값
+        assertArrayEquals(days(2, 3, 4, 5, 6), alignment.timestamps());
+        double[][] columns = alignment.columns(prices);
+        assertArrayEquals(new double[] { 20, 30, 30, 50, 60 }, columns[0]);
+        assertArrayEquals(new double[] { 2, 3, 4, 5, 5 }, columns[1]);
+    }
+
+    @Test
+    void shouldMatchBarsOnSameDayWithDifferentTimes() {
+        // given: 같은 날짜지만 장 시작 시각이 다른 두 거래소, B는 같은 날 막대가 두 번 있음
+        long[] a = { DAY * 10 + OPEN, DAY * 11 + OPEN };
+        long[] b = { DAY * 10 + 3600, DAY * 11 + 3600, DAY * 11 + 7200 };
+
+        // when
+        CalendarAligner.Alignment alignment = CalendarAligner.align(new long[][] { a, b }, false);
+
+        // then: 가장 이른 타임스탬프를 달력으로, 같은 날 중복 막대는 마지막 것을 사용
+        assertArrayEquals(new long[] { DAY * 10 + 3600, DAY * 11 + 3600 }, alignment.timestamps());
+        assertArrayEquals(new int[] { 0, 2 }, alignment.sourceIndex()[1]);
+    }
+
+    @Test
+    void shouldReturnEmptyCalendarWhenRangesDoNotOverlap() {
+        CalendarAligner.Alignment alignment = CalendarAligner.align(
+                new long[][] { days(1, 2, 3), days(4, 5) }, false);
+
+        assertEquals(0, alignment.size());
+    }
+
+    @Test
+    void shouldMatchNaiveAlignmentOnRandomCalendars() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int trial = 0; trial < 50; trial++) {
+            int k = 1 + random.nextInt(6);
+            long[][] timestamps = new long[k][];
+            for (int s = 0; s < k; s++) {
+                TreeSet<Integer> picked = new TreeSet<>();
+                int start = random.nextInt(20);
+                for (int d = start; d < 120; d++) {
+                    if (random.nextDouble() < 0.8) {
+                        picked.add(d);
+                    }
+                }
+                picked.add(start);
+                timestamps[s] = picked.stream().mapToLong(d -> d * DAY + OPEN).toArray();
+            }
+            for (boolean forwardFill : new boolean[] { false, true }) {
+                CalendarAligner.Alignment alignment = CalendarAligner.align(timestamps, forwardFill);
+                assertNaive(timestamps, forwardFill, alignment);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyOrUnsortedSeries() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CalendarAligner.align(new long[][] { days(1, 2), new long[0] }, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalendarAligner.align(new long[][] { days(3, 1, 2) }, true));
+    }
+
+    /**
+     * 날짜별 맵으로 계산한 기대 결과와 비교
+     */
+    private static void assertNaive(long[][] timestamps, boolean forwardFill, CalendarAligner.Alignment alignment) {
+        int k = timestamps.length;
+        long startDay = Arrays.stream(timestamps).mapToLong(t -> t[0] / DAY).max().orElseThrow();
+        TreeMap<Long, Integer> counts = new TreeMap<>();
+        for (long[] series : timestamps) {
+            for (long t : series) {
+                counts.merge(t / DAY, 1, Integer::sum);
+            }
+        }
+        long[] expected = counts.entrySet().stream()
+                .filter(e -> forwardFill ? e.getKey() >= startDay : e.getValue() == k)
+                .mapToLong(e -> e.getKey() * DAY + OPEN)
+                .toArray();
+        assertArrayEquals(expected, alignment.timestamps());
+        for (int s = 0; s < k; s++) {
+            for (int i = 0; i < expected.length; i++) {
+                int index = alignment.sourceIndex()[s][i];
+                assertTrue(timestamps[s][index] <= expected[i]);
+                assertTrue(index + 1 == timestamps[s].length || timestamps[s][index + 1] > expected[i]);
+            }
+        }
+    }
+
+    private static long[] days(int... days) {
+        return Arrays.stream(days).mapToLong(d -> d * DAY + OPEN).toArray();
+    }
+}
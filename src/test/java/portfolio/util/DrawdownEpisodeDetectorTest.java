@@ -0,0 +1,72 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrawdownEpisodeDetectorTest {
+
+    @Test
+    void shouldFindEpisodesOrderedByDepth() {
+        // given: 100 → 80 → 110 (20% 구간), 110 → 99 → 120 (10% 구간), 120 → 60 (50% 미회복)
+        double[] prices = { 100, 90, 80, 95, 110, 99, 105, 120, 90, 60, 70 };
+
+        // when
+        List<DrawdownEpisodeDetector.Episode> episodes = DrawdownEpisodeDetector.detect(prices, 5);
+
+        // then
+        assertEquals(List.of(
+                new DrawdownEpisodeDetector.Episode(7, 9, -1, 0.5),
+                new DrawdownEpisodeDetector.Episode(0, 2, 4, 0.2),
+                new DrawdownEpisodeDetector.Episode(4, 5, 7, 0.1)), episodes);
+        assertFalse(episodes.get(0).recovered());
+    }
+
+    @Test
+    void shouldKeepOnlyDeepestEpisodes() {
+        // given: 깊이 1%, 2%, ..., 9% 구간이 차례로 나타남
+        double[] prices = new double[19];
+        for (int k = 0; k < 9; k++) {
+            prices[2 * k] = 100.0;
+            prices[2 * k + 1] = 100.0 - (k + 1);
+        }
+        prices[18] = 100.0;
+
+        // when
+        List<DrawdownEpisodeDetector.Episode> episodes = DrawdownEpisodeDetector.detect(prices, 3);
+
+        // then
+        assertEquals(3, episodes.size());
+        assertEquals(0.09, episodes.get(0).depth(), 1e-12);
+        assertEquals(0.08, episodes.get(1).depth(), 1e-12);
+        assertEquals(0.07, episodes.get(2).depth(), 1e-12);
+    }
+
+    @Test
+    void maxDepthShouldMatchMaxDrawdown() {
+        // given
+        double[] prices = new double[500];
+        SplittableRandom random = new SplittableRandom(17);
+        prices[0] = 100;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] * (1 + random.nextDouble(-0.05, 0.05));
+        }
+
+        // when
+        List<DrawdownEpisodeDetector.Episode> episodes = DrawdownEpisodeDetector.detect(prices, 1);
+
+        // then
+        double maxDrawdown = new ScalarKernels().drawdowns(prices, new double[prices.length]);
+        assertEquals(maxDrawdown, episodes.get(0).depth(), 1e-12);
+    }
+
+    @Test
+    void monotonicPricesShouldHaveNoEpisodes() {
+        assertTrue(DrawdownEpisodeDetector.detect(new double[] { 1, 2, 2, 3 }, 5).isEmpty());
+        assertTrue(DrawdownEpisodeDetector.detect(new double[0], 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> DrawdownEpisodeDetector.detect(new double[] { 1 }, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    @Test
+    void shouldBeStableForEqualRequestsRegardlessOfMapOrder() {
+        // given: 같은 내용, 다른 맵 삽입 순서
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("tickers", List.of("AAPL", "MSFT"));
+        first.put("startDate", LocalDate.of(2023, 1, 1));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("startDate", LocalDate.of(2023, 1, 1));
+        second.put("tickers", List.of("AAPL", "MSFT"));
+
+        // when
+        String etag = EntityTags.strong("/analyze", first, 7L);
+
+        // then: 따옴표로 감싼 강한 검증자
+        assertEquals(etag, EntityTags.strong("/analyze", second, 7L));
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+    }
+
+    @Test
+    void shouldDifferByEndpointRequestAndVersion() {
+        Map<String, Object> request = Map.of("tickers", List.of("AAPL", "MSFT"));
+        String etag = EntityTags.strong("/analyze", request, 7L);
+
+        assertNotEquals(etag, EntityTags.strong("/report", request, 7L));
+        assertNotEquals(etag, EntityTags.strong("/analyze", Map.of("tickers", List.of("MSFT", "AAPL")), 7L));
+        assertNotEquals(etag, EntityTags.strong("/analyze", request, 8L));
+    }
+
+    @Test
+    void shouldDifferByRepresentationVariant() {
+        Map<String, Object> request = Map.of("tickers", List.of("AAPL", "MSFT"));
+        String etag = EntityTags.strong("/analyze", request, 7L);
+
+        assertEquals(etag, EntityTags.strong("/analyze", null, request, 7L));
+        assertEquals(etag, EntityTags.strong("/analyze", " ", request, 7L));
+        assertNotEquals(etag, EntityTags.strong("/analyze", "application/cbor", request, 7L));
+        assertNotEquals(EntityTags.strong("/analyze", "application/cbor", request, 7L),
+                EntityTags.strong("/analyze", "application/msgpack", request, 7L));
+    }
+
+    @Test
+    void shouldPrefixWeakValidator() {
+        Map<String, Object> request = Map.of("tickers", List.of("AAPL", "MSFT"));
+        String strong = EntityTags.strong("/report", null, request, 7L);
+        String weak = EntityTags.weak("/report", null, request, 7L);
+
+        assertEquals("W/" + strong, weak);
+        assertTrue(EntityTags.matches(weak, strong));
+        assertTrue(EntityTags.matches(strong, weak));
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchLists() {
+        String etag = "\"abc\"";
+
+        assertTrue(EntityTags.matches("\"abc\"", etag));
+        assertTrue(EntityTags.matches("\"x\", W/\"abc\"", etag));
+        assertTrue(EntityTags.matches("*", etag));
+        assertFalse(EntityTags.matches("\"abcd\"", etag));
+        assertFalse(EntityTags.matches(null, etag));
+        assertFalse(EntityTags.matches(" ", etag));
+    }
+
+    @Test
+    void shouldMixValuesInOrder() {
+        long ab = EntityTags.mix(EntityTags.mix(0L, 1L), 2L);
+        long ba = EntityTags.mix(EntityTags.mix(0L, 2L), 1L);
+
+        assertNotEquals(ab, ba);
+        assertNotEquals(EntityTags.mix(0L, (Double) null), EntityTags.mix(0L, Double.NaN));
+    }
+}
@@ -0,0 +1,56 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochCalendarTest {
+
+    @Test
+    void shouldMatchJavaTimeForEveryDayInRange() {
+        // 1900-01-01 ~ 2100-12-31 전 구간을 java.time 결과와 비교
+        long from = LocalDate.of(1900, 1, 1).toEpochDay();
+        long to = LocalDate.of(2100, 12, 31).toEpochDay();
+        for (long day = from; day <= to; day++) {
+            LocalDate expected = LocalDate.ofEpochDay(day);
+            long epochSecond = day * EpochCalendar.SECONDS_PER_DAY + 12 * 3600;
+
+            assertEquals(day, EpochCalendar.epochDay(epochSecond));
+            assertEquals(expected.getYear(), EpochCalendar.year(epochSecond));
+            assertEquals(expected.getMonthValue(), EpochCalendar.month(epochSecond));
+            assertEquals(expected.getDayOfMonth(), EpochCalendar.dayOfMonth(epochSecond));
+            assertEquals(expected.withDayOfMonth(expected.lengthOfMonth()).toEpochDay(),
+                    EpochCalendar.monthEndEpochDay(epochSecond));
+        }
+    }
+
+    @Test
+    void shouldFloorNegativeEpochSeconds() {
+        // 1969-12-31 23:59:59 는 epoch day -1
+        assertEquals(-1, EpochCalendar.epochDay(-1));
+        assertEquals(1969, EpochCalendar.year(-1));
+        assertEquals(12, EpochCalendar.month(-1));
+    }
+
+    @Test
+    void shouldCalculateMonthEndEpochSecond() {
+        long epochSecond = LocalDate.of(2024, 2, 10).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long expected = LocalDate.of(2024, 2, 29).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        assertEquals(expected, EpochCalendar.monthEndEpochSecond(epochSecond));
+    }
+
+    @Test
+    void shouldCalculateYearBucket() {
+        long epochSecond = DateUtils.toUnixTimeSeconds(LocalDate.of(2023, 7, 1));
+        assertEquals(3, EpochCalendar.yearBucket(epochSecond, 2020));
+    }
+
+    @Test
+    void shouldRoundTripEpochDayOf() {
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), EpochCalendar.epochDayOf(2000, 2, 29));
+        assertEquals(LocalDate.of(1600, 3, 1).toEpochDay(), EpochCalendar.epochDayOf(1600, 3, 1));
+    }
+}
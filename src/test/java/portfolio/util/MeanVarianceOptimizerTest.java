@@ -0,0 +1,280 @@
+package portfolio.util;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeanVarianceOptimizerTest {
+
+    private static double sum(double[] values) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /** 요인 모형으로 만든 양의 정부호 공분산 (n × n, row-major) */
+    private static double[] randomCovariance(SplittableRandom random, int n) {
+        int factors = 3;
+        double[][] loadings = new double[n][factors];
+        double[] specific = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int f = 0; f < factors; f++) {
+                loadings[i][f] = random.nextDouble(-0.2, 0.3);
+            }
+            specific[i] = random.nextDouble(0.01, 0.09);
+        }
+        double[] covariance = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double value = 0.0;
+                for (int f = 0; f < factors; f++) {
+                    value += loadings[i][f] * loadings[j][f];
+                }
+                covariance[i * n + j] = value + (i == j ? specific[i] : 0.0);
+            }
+        }
+        return covariance;
+    }
+
+    /**
+     * 2Σw = a + b·μ (범위 안 종목), 하한 종목은 더 크고 상한 종목은 더 작은지 확인합니다. (a, b는 범위 안 종목으로 최소제곱 추정)
+     */
+    private static void assertOptimal(double[] mean, double[] covariance, double[] weights, double maxWeight) {
+        int n = mean.length;
+        double[] slopes = new double[n];
+        double count = 0, sumMean = 0, sumSlope = 0, sumMeanSquared = 0, sumMeanSlope = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                slopes[i] += 2.0 * covariance[i * n + j] * weights[j];
+            }
+            if (weights[i] > 1e-7 && weights[i] < maxWeight - 1e-7) {
+                count++;
+                sumMean += mean[i];
+                sumSlope += slopes[i];
+                sumMeanSquared += mean[i] * mean[i];
+                sumMeanSlope += mean[i] * slopes[i];
+            }
+        }
+        double denominator = count * sumMeanSquared - sumMean * sumMean;
+        double b = count >= 2 && denominator > 1e-15 ? (count * sumMeanSlope - sumMean * sumSlope) / denominator : 0.0;
+        double a = count > 0 ? (sumSlope - b * sumMean) / count : 0.0;
+        for (int i = 0; i < n; i++) {
+            double residual = slopes[i] - a - b * mean[i];
+            if (weights[i] > 1e-7 && weights[i] < maxWeight - 1e-7) {
+                assertEquals(0.0, residual, 1e-7);
+            } else if (weights[i] <= 1e-7) {
+                assertTrue(residual >= -1e-7);
+            } else {
+                assertTrue(residual <= 1e-7);
+            }
+        }
+    }
+
+    @Test
+    void minimumVarianceShouldWeightUncorrelatedAssetsByInverseVariance() {
+        // given: 분산 0.04, 0.01 → 비중 1/0.04 : 1/0.01 = 1 : 4
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(new double[] { 0.08, 0.05 },
+                new double[] { 0.04, 0.0, 0.0, 0.01 }, 0.0, 1.0);
+
+        // when
+        double[] weights = optimizer.minimumVariance();
+
+        // then
+        assertArrayEquals(new double[] { 0.2, 0.8 }, weights, 1e-8);
+    }
+
+    @Test
+    void minimumVarianceShouldRespectWeightBounds() {
+        // given
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(new double[] { 0.08, 0.05 },
+                new double[] { 0.04, 0.0, 0.0, 0.01 }, 0.0, 0.6);
+
+        // when
+        double[] weights = optimizer.minimumVariance();
+
+        // then
+        assertArrayEquals(new double[] { 0.4, 0.6 }, weights, 1e-8);
+    }
+
+    @Test
+    void minimumVarianceShouldSatisfyOptimalityConditionsForManyAssets() {
+        // given
+        int n = 100;
+        SplittableRandom random = new SplittableRandom(42);
+        double[] mean = new double[n];
+        for (int i = 0; i < n; i++) {
+            mean[i] = random.nextDouble(0.0, 0.15);
+        }
+        double[] covariance = randomCovariance(random, n);
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(mean, covariance, 0.0, 0.05);
+
+        // when
+        double[] weights = optimizer.minimumVariance();
+
+        // then: 비중 범위 안의 종목은 한계 분산(Σw)_i가 같고, 하한 종목은 더 크고, 상한 종목은 더 작음
+        assertEquals(1.0, sum(weights), 1e-9);
+        double[] marginal = new double[n];
+        double interior = Double.NaN;
+        for (int i = 0; i < n; i++) {
+            assertTrue(weights[i] >= -1e-12 && weights[i] <= 0.05 + 1e-12);
+            for (int j = 0; j < n; j++) {
+                marginal[i] += covariance[i * n + j] * weights[j];
+            }
+            if (weights[i] > 1e-7 && weights[i] < 0.05 - 1e-7) {
+                interior = marginal[i];
+            }
+        }
+        assertFalse(Double.isNaN(interior));
+        for (int i = 0; i < n; i++) {
+            if (weights[i] > 1e-7 && weights[i] < 0.05 - 1e-7) {
+                assertEquals(interior, marginal[i], 1e-6);
+            } else if (weights[i] <= 1e-7) {
+                assertTrue(marginal[i] >= interior - 1e-6);
+            } else {
+                assertTrue(marginal[i] <= interior + 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void maximumSharpeShouldMatchTangencyPortfolioWhenBoundsAreInactive() {
+        // given
+        double[] mean = { 0.10, 0.07, 0.08 };
+        double[] covariance = {
+                0.040, 0.006, 0.010,
+                0.006, 0.020, 0.004,
+                0.010, 0.004, 0.030 };
+        double riskFreeRate = 0.02;
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(mean, covariance, 0.0, 1.0);
+
+        // when
+        double[] weights = optimizer.maximumSharpe(riskFreeRate);
+
+        // then: 접점 포트폴리오 Σ⁻¹(μ - rf) / 합
+        double[][] matrix = { { 0.040, 0.006, 0.010 }, { 0.006, 0.020, 0.004 }, { 0.010, 0.004, 0.030 } };
+        RealVector excess = new ArrayRealVector(new double[] { 0.08, 0.05, 0.06 });
+        RealVector tangency = new LUDecomposition(new Array2DRowRealMatrix(matrix)).getSolver().solve(excess);
+        tangency = tangency.mapDivide(sum(tangency.toArray()));
+        assertArrayEquals(tangency.toArray(), weights, 1e-6);
+    }
+
+    @Test
+    void precomputedMinimumVarianceShouldGiveSameResults() {
+        // given
+        double[] mean = { 0.10, 0.07, 0.08 };
+        double[] covariance = {
+                0.040, 0.006, 0.010,
+                0.006, 0.020, 0.004,
+                0.010, 0.004, 0.030 };
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(mean, covariance, 0.0, 0.7);
+
+        // when
+        double[] minimumVariance = optimizer.minimumVariance();
+        List<double[]> frontier = optimizer.frontier(6, minimumVariance);
+
+        // then
+        assertArrayEquals(optimizer.maximumSharpe(0.02), optimizer.maximumSharpe(0.02, minimumVariance), 1e-12);
+        assertArrayEquals(optimizer.minimumVarianceForReturn(0.085),
+                optimizer.minimumVarianceForReturn(0.085, minimumVariance), 1e-12);
+        List<double[]> expected = optimizer.frontier(6);
+        for (int k = 0; k < expected.size(); k++) {
+            assertArrayEquals(expected.get(k), frontier.get(k), 1e-12);
+        }
+    }
+
+    @Test
+    void frontierShouldSpanMinimumVarianceToMaximumReturn() {
+        // given
+        double[] mean = { 0.10, 0.07, 0.08 };
+        double[] covariance = {
+                0.040, 0.006, 0.010,
+                0.006, 0.020, 0.004,
+                0.010, 0.004, 0.030 };
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(mean, covariance, 0.0, 0.7);
+
+        // when
+        List<double[]> frontier = optimizer.frontier(10);
+
+        // then
+        assertEquals(10, frontier.size());
+        assertArrayEquals(optimizer.minimumVariance(), frontier.get(0), 1e-9);
+        double low = optimizer.expectedReturn(frontier.get(0));
+        double high = optimizer.expectedReturn(optimizer.maximumReturn());
+        double previousVolatility = 0.0;
+        for (int k = 0; k < frontier.size(); k++) {
+            double[] weights = frontier.get(k);
+            assertEquals(1.0, sum(weights), 1e-9);
+            for (double weight : weights) {
+                assertTrue(weight >= -1e-12 && weight <= 0.7 + 1e-12);
+            }
+            assertEquals(low + (high - low) * k / 9, optimizer.expectedReturn(weights), 1e-8);
+            double volatility = optimizer.volatility(weights);
+            assertTrue(volatility >= previousVolatility - 1e-9);
+            previousVolatility = volatility;
+        }
+        // 최대 수익률: 0.7 × 0.10 + 0.3 × 0.08
+        assertEquals(0.094, optimizer.expectedReturn(frontier.get(9)), 1e-8);
+    }
+
+    @Test
+    void frontierShouldMatchIndependentSolvesForManyAssets() {
+        // given: 상한이 걸리는 종목이 많아 투자선을 따라 활성 제약이 여러 번 바뀜
+        int n = 60;
+        SplittableRandom random = new SplittableRandom(7);
+        double[] mean = new double[n];
+        for (int i = 0; i < n; i++) {
+            mean[i] = random.nextDouble(0.0, 0.15);
+        }
+        double[] covariance = randomCovariance(random, n);
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(mean, covariance, 0.0, 0.08);
+
+        // when
+        List<double[]> frontier = optimizer.frontier(8);
+
+        // then: 마지막 점(최대 수익률 꼭짓점)을 제외한 모든 점이 목표 수익률 제약 문제의 KKT 조건을 만족
+        for (int k = 0; k < frontier.size() - 1; k++) {
+            assertEquals(1.0, sum(frontier.get(k)), 1e-9);
+            assertOptimal(mean, covariance, frontier.get(k), 0.08);
+        }
+        assertArrayEquals(optimizer.maximumReturn(), frontier.get(frontier.size() - 1), 1e-8);
+    }
+
+    @Test
+    void twoAssetFrontierShouldBeDeterminedByTargetReturn() {
+        // given
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(new double[] { 0.12, 0.04 },
+                new double[] { 0.05, 0.01, 0.01, 0.02 }, 0.0, 1.0);
+
+        // when
+        double[] weights = optimizer.minimumVarianceForReturn(0.10);
+
+        // then: 0.12w + 0.04(1 - w) = 0.10 → w = 0.75
+        assertArrayEquals(new double[] { 0.75, 0.25 }, weights, 1e-8);
+    }
+
+    @Test
+    void shouldRejectUnreachableTargetReturn() {
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(new double[] { 0.12, 0.04 },
+                new double[] { 0.05, 0.01, 0.01, 0.02 }, 0.0, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> optimizer.minimumVarianceForReturn(0.13));
+    }
+
+    @Test
+    void shouldRejectInfeasibleBounds() {
+        double[] mean = { 0.1, 0.1, 0.1 };
+        double[] covariance = new double[9];
+        assertThrows(IllegalArgumentException.class, () -> new MeanVarianceOptimizer(mean, covariance, 0.0, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new MeanVarianceOptimizer(mean, covariance, 0.4, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new MeanVarianceOptimizer(mean, covariance, 0.5, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new MeanVarianceOptimizer(mean, new double[4], 0.0, 1.0));
+    }
+}
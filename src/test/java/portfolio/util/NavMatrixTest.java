@@ -0,0 +1,89 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavMatrixTest {
+
+    private static final double TOLERANCE = 1e-12;
+
+    private static double[] randomWalk(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] values = new double[length];
+        values[0] = 50.0 + seed;
+        for (int i = 1; i < length; i++) {
+            values[i] = values[i - 1] * (1.0 + random.nextDouble(-0.05, 0.05));
+        }
+        return values;
+    }
+
+    @Test
+    void shouldAggregateNormalizedPricesAndDividends() {
+        // given
+        double[][] prices = { { 100.0, 110.0, 120.0 }, { 200.0, 210.0, 220.0 } };
+        double[][] dividends = { { 0.0, 1.0, 0.0 }, { 0.0, 0.0, 4.0 } };
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, dividends);
+
+        // when
+        double[] nav = new double[3];
+        double[] cash = new double[3];
+        matrix.aggregate(new double[] { 0.6, 0.4 }, nav, cash);
+
+        // then
+        assertArrayEquals(new double[] { 1.0, 0.6 * 1.1 + 0.4 * 1.05, 0.6 * 1.2 + 0.4 * 1.1 }, nav, TOLERANCE);
+        assertArrayEquals(new double[] { 0.0, 0.6 * 0.01, 0.4 * 0.02 }, cash, TOLERANCE);
+    }
+
+    @Test
+    void aggregateAllShouldMatchSingleWeightVectorAcrossBlocks() {
+        // given: 기간 블록 경계를 넘는 길이
+        int constituents = 7;
+        int periods = NavMatrix.PERIOD_BLOCK * 2 + 37;
+        double[][] prices = new double[constituents][];
+        double[][] dividends = new double[constituents][];
+        for (int j = 0; j < constituents; j++) {
+            prices[j] = randomWalk(j, periods);
+            dividends[j] = new double[periods];
+            for (int i = j; i < periods; i += 63) {
+                dividends[j][i] = 0.25 + j;
+            }
+        }
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), prices, dividends);
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] weightSets = new double[5][constituents];
+        for (double[] weights : weightSets) {
+            for (int j = 0; j < constituents; j++) {
+                weights[j] = random.nextDouble();
+            }
+        }
+        weightSets[4][3] = 0.0;
+
+        // when
+        double[][] navs = new double[weightSets.length][periods];
+        double[][] cashes = new double[weightSets.length][periods];
+        matrix.aggregateAll(weightSets, navs, cashes);
+
+        // then
+        for (int k = 0; k < weightSets.length; k++) {
+            double[] nav = new double[periods];
+            double[] cash = new double[periods];
+            matrix.aggregate(weightSets[k], nav, cash);
+            assertArrayEquals(nav, navs[k], 1e-9);
+            assertArrayEquals(cash, cashes[k], 1e-9);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NavMatrix.of(new ScalarKernels(), new double[][] { { 1.0, 2.0 }, { 1.0 } }, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> NavMatrix.of(new ScalarKernels(), new double[][] { { 0.0, 2.0 } }, null));
+        NavMatrix matrix = NavMatrix.of(new ScalarKernels(), new double[][] { { 1.0, 2.0 } }, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix.aggregate(new double[] { 0.5, 0.5 }, new double[2], new double[2]));
+    }
+}
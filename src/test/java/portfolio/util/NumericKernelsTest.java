@@ -0,0 +1,103 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumericKernelsTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final NumericKernels scalar = new ScalarKernels();
+    private final NumericKernels vector = new VectorKernels();
+
+    private static double[] randomWalk(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] values = new double[length];
+        values[0] = 100.0;
+        for (int i = 1; i < length; i++) {
+            values[i] = values[i - 1] * (1.0 + random.nextDouble(-0.05, 0.05));
+        }
+        return values;
+    }
+
+    @Test
+    void shouldMatchScalarKernelsForAllLengths() {
+        // 벡터 레인 수의 배수가 아닌 길이(스칼라 꼬리 처리)까지 포함하여 비교
+        for (int length = 1; length <= 70; length++) {
+            double[] prices = randomWalk(length, length);
+            double[] benchmark = randomWalk(length + 1000L, length);
+
+            double[] expected = new double[length];
+            double[] actual = new double[length];
+            scalar.cumulativeGrowth(prices, expected);
+            vector.cumulativeGrowth(prices, actual);
+            assertArrayEquals(expected, actual, TOLERANCE);
+
+            double[] expectedReturns = new double[length - 1];
+            double[] actualReturns = new double[length - 1];
+            scalar.periodicReturns(prices, expectedReturns);
+            vector.periodicReturns(prices, actualReturns);
+            assertArrayEquals(expectedReturns, actualReturns, TOLERANCE);
+
+            assertEquals(scalar.drawdowns(prices, expected), vector.drawdowns(prices, actual), TOLERANCE);
+            assertArrayEquals(expected, actual, TOLERANCE);
+
+            assertEquals(scalar.mean(prices), vector.mean(prices), TOLERANCE);
+            assertEquals(scalar.variance(prices), vector.variance(prices), TOLERANCE);
+            assertEquals(scalar.covariance(prices, benchmark), vector.covariance(prices, benchmark), TOLERANCE);
+            assertEquals(scalar.dot(prices, benchmark), vector.dot(prices, benchmark), 1e-9 * length * 1e4);
+
+            scalar.multiply(prices, benchmark, expected);
+            vector.multiply(prices, benchmark, actual);
+            assertArrayEquals(expected, actual, TOLERANCE);
+            assertEquals(prices[length - 1] * benchmark[length - 1], actual[length - 1], TOLERANCE);
+        }
+    }
+
+    @Test
+    void shouldCalculateWeightedSum() {
+        double[][] columns = { randomWalk(1, 37), randomWalk(2, 37), randomWalk(3, 37) };
+        double[] coefficients = { 0.5 / columns[0][0], 0.3 / columns[1][0], 0.2 / columns[2][0] };
+
+        double[] expected = new double[37];
+        double[] actual = new double[37];
+        scalar.weightedSum(columns, coefficients, expected);
+        vector.weightedSum(columns, coefficients, actual);
+
+        // 시작 시점의 포트폴리오 가격은 비율 합계(1.0)
+        assertEquals(1.0, expected[0], TOLERANCE);
+        assertArrayEquals(expected, actual, TOLERANCE);
+    }
+
+    @Test
+    void rangedWeightedSumShouldOnlyWriteRange() {
+        double[][] columns = { randomWalk(5, 41), randomWalk(6, 41), randomWalk(7, 41) };
+        double[] coefficients = { 0.2, 0.5, 0.3 };
+        double[] full = new double[41];
+        scalar.weightedSum(columns, coefficients, full);
+
+        for (NumericKernels kernels : new NumericKernels[] { scalar, vector }) {
+            double[] actual = new double[41];
+            java.util.Arrays.fill(actual, -1.0);
+            kernels.weightedSum(columns, coefficients, actual, 3, 38);
+            for (int i = 0; i < actual.length; i++) {
+                assertEquals(i < 3 || i >= 38 ? -1.0 : full[i], actual[i], TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    void shouldTrackRunningPeakInDrawdowns() {
+        double[] prices = { 100, 120, 90, 130, 65, 70, 140, 126, 150 };
+        double[] expected = { 0, 0, 0.25, 0, 0.5, 0.4615384615384615, 0, 0.1, 0 };
+
+        double[] actual = new double[prices.length];
+        assertEquals(0.5, vector.drawdowns(prices, actual), TOLERANCE);
+        assertArrayEquals(expected, actual, TOLERANCE);
+        assertEquals(0.5, scalar.drawdowns(prices, actual), TOLERANCE);
+        assertArrayEquals(expected, actual, TOLERANCE);
+    }
+}
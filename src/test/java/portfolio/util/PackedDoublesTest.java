@@ -0,0 +1,58 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDoublesTest {
+
+    record Series(List<Double> values, double[] weights, List<Double> withGaps) {
+    }
+
+    private static final Series SERIES = new Series(PackedDoubleList.wrap(new double[] { 1.5, -2.25, Double.NaN }),
+            new double[] { 0.6, 0.4 }, Arrays.asList(null, 0.1));
+
+    @Test
+    void shouldWriteTaggedLittleEndianFloat64ArrayInCbor() throws Exception {
+        // when
+        byte[] cbor = new CBORMapper().registerModule(PackedDoubles.module()).writeValueAsBytes(SERIES);
+
+        // then: RFC 8746 태그 86(0xD8 0x56) + 바이트 열(길이 24)
+        assertTrue(indexOf(cbor, new byte[] { (byte) 0xD8, 86, 0x58, 24 }) >= 0);
+        JsonNode root = new CBORMapper().readTree(cbor);
+        assertArrayEquals(new double[] { 1.5, -2.25, Double.NaN },
+                PackedDoubles.read(root.get("values").binaryValue()));
+        assertArrayEquals(new double[] { 0.6, 0.4 }, PackedDoubles.read(root.get("weights").binaryValue()));
+        assertTrue(root.get("withGaps").isArray());
+        assertTrue(root.get("withGaps").get(0).isNull());
+    }
+
+    @Test
+    void shouldWriteBinaryInMessagePackAndNumbersInJson() throws Exception {
+        ObjectMapper msgpack = new ObjectMapper(new MessagePackFactory()).registerModule(PackedDoubles.module());
+        JsonNode packed = msgpack.readTree(msgpack.writeValueAsBytes(SERIES));
+        assertArrayEquals(new double[] { 0.6, 0.4 }, PackedDoubles.read(packed.get("weights").binaryValue()));
+
+        // JSON은 모듈을 등록해도 기존과 같은 숫자 배열
+        ObjectMapper json = JsonMapper.builder().addModule(PackedDoubles.module()).build();
+        assertEquals(JsonMapper.builder().build().writeValueAsString(SERIES), json.writeValueAsString(SERIES));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,70 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void quantilesShouldBeWithinRelativeAccuracyOfExactRankValues() {
+        // given: 로그정규 표본 (값 범위가 여러 자릿수)
+        SplittableRandom random = new SplittableRandom(1);
+        double[] values = new double[50_000];
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2.0);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // when & then
+        double[] quantiles = { 0.0, 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99, 1.0 };
+        double[] estimates = sketch.quantiles(quantiles);
+        for (int k = 0; k < quantiles.length; k++) {
+            double exact = values[(int) (quantiles[k] * (values.length - 1))];
+            assertEquals(exact, estimates[k], exact * 0.01 + 1e-15);
+            assertEquals(estimates[k], sketch.quantile(quantiles[k]), 0.0);
+        }
+        assertEquals(values.length, sketch.count());
+    }
+
+    @Test
+    void mergedSketchShouldEqualSingleSketchOverAllValues() {
+        // given
+        SplittableRandom random = new SplittableRandom(2);
+        QuantileSketch all = new QuantileSketch(0.005);
+        QuantileSketch first = new QuantileSketch(0.005);
+        QuantileSketch second = new QuantileSketch(0.005);
+        for (int i = 0; i < 10_000; i++) {
+            double value = i % 2 == 0 ? random.nextDouble(0.1, 2.0) : random.nextDouble(50.0, 900.0);
+            all.add(value);
+            (i < 3_000 ? first : second).add(value);
+        }
+        first.add(0.0);
+        all.add(0.0);
+
+        // when
+        first.merge(second);
+
+        // then
+        double[] quantiles = { 0.0, 0.1, 0.3, 0.5, 0.7, 0.9, 1.0 };
+        assertArrayEquals(all.quantiles(quantiles), first.quantiles(quantiles), 0.0);
+        assertEquals(0.0, first.quantile(0.0));
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        assertThrows(IllegalStateException.class, () -> sketch.quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+        sketch.add(1.0);
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantiles(new double[] { 0.5, 0.4 }));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new QuantileSketch(0.02)));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.0));
+    }
+}
@@ -0,0 +1,72 @@
+package portfolio.util;
+
+import org.apache.commons.math3.stat.correlation.Covariance;
+import org.apache.commons.math3.stat.correlation.PearsonsCorrelation;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunningCovarianceTest {
+
+    private final double[] etf = { 0.02, 0.01, -0.01, 0.03, 0.015, -0.02, 0.025 };
+    private final double[] market = { 0.018, 0.012, -0.008, 0.028, 0.017, -0.015, 0.02 };
+
+    @Test
+    void shouldMatchCommonsMath() {
+        RunningCovariance covariance = RunningCovariance.of(etf, market);
+
+        assertEquals(new Covariance().covariance(etf, market), covariance.sampleCovariance(), 1e-12);
+        assertEquals(new PearsonsCorrelation().correlation(etf, market), covariance.correlation(), 1e-12);
+        assertEquals(new Covariance().covariance(etf, market) / new Variance().evaluate(market),
+                covariance.beta(), 1e-12);
+    }
+
+    @Test
+    void shouldMergePartitions() {
+        RunningCovariance left = RunningCovariance.of(Arrays.copyOfRange(etf, 0, 4),
+                Arrays.copyOfRange(market, 0, 4));
+        RunningCovariance right = RunningCovariance.of(Arrays.copyOfRange(etf, 4, etf.length),
+                Arrays.copyOfRange(market, 4, market.length));
+
+        RunningCovariance merged = left.merge(right);
+        RunningCovariance whole = RunningCovariance.of(etf, market);
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.covariance(), merged.covariance(), 1e-12);
+        assertEquals(whole.varianceX(), merged.varianceX(), 1e-12);
+        assertEquals(whole.varianceY(), merged.varianceY(), 1e-12);
+        assertEquals(whole.correlation(), merged.correlation(), 1e-12);
+    }
+
+    @Test
+    void shouldReturnZeroForFlatSeries() {
+        double[] flat = { 0.01, 0.01, 0.01, 0.01, 0.01, 0.01, 0.01 };
+
+        RunningCovariance flatMarket = RunningCovariance.of(etf, flat);
+        RunningCovariance flatEtf = RunningCovariance.of(flat, market);
+
+        assertEquals(0.0, flatMarket.correlation());
+        assertEquals(0.0, flatMarket.beta());
+        assertEquals(0.0, flatEtf.correlation());
+        assertEquals(0.0, flatEtf.beta());
+        assertEquals(0.0, new RunningCovariance().correlation());
+    }
+
+    @Test
+    void shouldRejectDifferentLengths() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RunningCovariance.of(new double[] { 1.0 }, new double[] { 1.0, 2.0 }));
+    }
+
+    @Test
+    void shouldReset() {
+        RunningCovariance covariance = RunningCovariance.of(etf, market);
+        covariance.reset();
+
+        assertEquals(0, covariance.count());
+        assertEquals(0.0, covariance.covariance());
+    }
+}
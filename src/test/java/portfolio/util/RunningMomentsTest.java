@@ -0,0 +1,88 @@
+package portfolio.util;
+
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunningMomentsTest {
+
+    private final double[] values = { 0.02, 0.01, -0.01, 0.03, 0.015, -0.025, 0.04, 0.005 };
+
+    @Test
+    void shouldMatchCommonsMath() {
+        RunningMoments moments = RunningMoments.of(values);
+
+        assertEquals(values.length, moments.count());
+        assertEquals(new Mean().evaluate(values), moments.mean(), 1e-12);
+        assertEquals(new Variance(false).evaluate(values), moments.variance(), 1e-12);
+        assertEquals(new Variance(true).evaluate(values), moments.sampleVariance(), 1e-12);
+    }
+
+    @Test
+    void shouldMergePartitions() {
+        RunningMoments left = RunningMoments.of(Arrays.copyOfRange(values, 0, 3));
+        RunningMoments right = RunningMoments.of(Arrays.copyOfRange(values, 3, values.length));
+
+        RunningMoments merged = left.merge(right);
+        RunningMoments whole = RunningMoments.of(values);
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.mean(), merged.mean(), 1e-12);
+        assertEquals(whole.variance(), merged.variance(), 1e-12);
+    }
+
+    @Test
+    void shouldMatchTwoPassHigherMoments() {
+        RunningMoments moments = RunningMoments.of(values);
+
+        double mean = Arrays.stream(values).average().orElseThrow();
+        double m2 = Arrays.stream(values).map(v -> Math.pow(v - mean, 2)).sum() / values.length;
+        double m3 = Arrays.stream(values).map(v -> Math.pow(v - mean, 3)).sum() / values.length;
+        double m4 = Arrays.stream(values).map(v -> Math.pow(v - mean, 4)).sum() / values.length;
+        assertEquals(m3 / Math.pow(m2, 1.5), moments.skewness(), 1e-10);
+        assertEquals(m4 / (m2 * m2) - 3, moments.excessKurtosis(), 1e-10);
+    }
+
+    @Test
+    void shouldMergeAndRemoveHigherMoments() {
+        RunningMoments whole = RunningMoments.of(values);
+        RunningMoments merged = RunningMoments.of(Arrays.copyOfRange(values, 0, 3))
+                .merge(RunningMoments.of(Arrays.copyOfRange(values, 3, values.length)));
+        RunningMoments removed = RunningMoments.of(values).remove(values[values.length - 1]);
+        RunningMoments prefix = RunningMoments.of(Arrays.copyOf(values, values.length - 1));
+
+        assertEquals(whole.skewness(), merged.skewness(), 1e-10);
+        assertEquals(whole.excessKurtosis(), merged.excessKurtosis(), 1e-10);
+        assertEquals(prefix.skewness(), removed.skewness(), 1e-10);
+        assertEquals(prefix.excessKurtosis(), removed.excessKurtosis(), 1e-10);
+        assertEquals(0.0, RunningMoments.of(new double[] { 0.01, 0.01, 0.01 }).skewness());
+        assertEquals(0.0, RunningMoments.of(new double[] { 0.01, 0.01, 0.01 }).excessKurtosis());
+    }
+
+    @Test
+    void shouldMergeIntoEmpty() {
+        RunningMoments merged = new RunningMoments().merge(RunningMoments.of(values));
+        assertEquals(RunningMoments.of(values).variance(), merged.variance(), 1e-12);
+    }
+
+    @Test
+    void shouldStayStableWithLargeOffset() {
+        // 큰 값에 작은 변동이 있을 때도 분산이 무너지지 않아야 함
+        double[] shifted = Arrays.stream(values).map(v -> 1e9 + v).toArray();
+        assertEquals(RunningMoments.of(values).variance(), RunningMoments.of(shifted).variance(), 1e-9);
+    }
+
+    @Test
+    void shouldReset() {
+        RunningMoments moments = RunningMoments.of(values);
+        moments.reset();
+
+        assertEquals(0, moments.count());
+        assertEquals(0.0, moments.mean());
+        assertEquals(0.0, moments.variance());
+    }
+}
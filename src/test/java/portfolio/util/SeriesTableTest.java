@@ -0,0 +1,99 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesTableTest {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(SeriesTable.module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    record Chart(List<LocalDate> dates, Map<String, List<Double>> series, List<Long> timestamps, List<String> labels) {
+    }
+
+    @Test
+    void shouldShareIdForSameInstanceAndSameContent() throws Exception {
+        // given: 같은 인스턴스, 내용만 같은 ArrayList, 같은 내용의 PackedDoubleList, 다른 시계열
+        List<Double> returns = List.of(0.0, 0.1, 0.2);
+        List<Double> copy = new ArrayList<>(returns);
+        List<Double> packed = PackedDoubleList.wrap(new double[] { 0.0, 0.1, 0.2 });
+        List<Double> other = Arrays.asList(1.0, null, 3.0);
+        Map<String, List<Double>> series = new LinkedHashMap<>();
+        series.put("a", returns);
+        series.put("b", returns);
+        series.put("c", copy);
+        series.put("d", packed);
+        series.put("e", other);
+        List<LocalDate> dates = List.of(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31));
+        Chart chart = new Chart(dates, series, List.of(100L, 200L, 300L), List.of("x", "y"));
+
+        // when
+        SeriesTable table = new SeriesTable();
+        JsonNode root = write(table, List.of(chart, new Chart(new ArrayList<>(dates), Map.of(), null, null)));
+
+        // then
+        JsonNode first = root.get("body").get(0);
+        assertEquals("d0", first.get("dates").asText());
+        assertEquals("t0", first.get("timestamps").asText());
+        assertEquals("x", first.get("labels").get(0).asText());
+        for (String name : List.of("a", "b", "c", "d")) {
+            assertEquals("s0", first.get("series").get(name).asText());
+        }
+        assertEquals("s1", first.get("series").get("e").asText());
+        assertEquals("d0", root.get("body").get(1).get("dates").asText());
+        assertTrue(root.get("body").get(1).get("timestamps").isNull());
+        assertEquals(2, table.seriesCount());
+        assertEquals(2, table.axisCount());
+
+        JsonNode series0 = root.get("series").get("s0");
+        assertEquals(3, series0.size());
+        assertEquals(0.2, series0.get(2).asDouble());
+        assertTrue(root.get("series").get("s1").get(1).isNull());
+        assertEquals("2024-02-29", root.get("axes").get("d0").get(1).asText());
+        assertEquals(300L, root.get("axes").get("t0").get(2).asLong());
+    }
+
+    @Test
+    void shouldRequireTableAttribute() {
+        JsonMappingException e = assertThrows(JsonMappingException.class,
+                () -> MAPPER.writeValueAsString(new Chart(null, Map.of("a", List.of(1.0)), null, null)));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    /**
+     * 본문을 참조로 기록한 뒤 series/axes 표를 붙인 문서를 읽어 반환
+     */
+    private static JsonNode write(SeriesTable table, Object body) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = MAPPER.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeFieldName("body");
+            MAPPER.writer().withAttribute(SeriesTable.class, table).writeValue(gen, body);
+            gen.writeFieldName("series");
+            table.writeSeries(gen);
+            gen.writeFieldName("axes");
+            table.writeAxes(gen);
+            gen.writeEndObject();
+        }
+        return MAPPER.readTree(out.toString());
+    }
+}
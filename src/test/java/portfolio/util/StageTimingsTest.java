@@ -0,0 +1,32 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageTimingsTest {
+
+    @Test
+    void shouldFormatStagesInRecordedOrderAsServerTiming() {
+        StageTimings timings = new StageTimings();
+        timings.record("fetch", 1_500_000L);
+        timings.record("analyze", 12_340_000L);
+        timings.record("fetch", 500_000L);
+
+        assertEquals("fetch;dur=2.0, analyze;dur=12.3", timings.serverTiming());
+    }
+
+    @Test
+    void shouldRecordStageEvenWhenWorkFails() {
+        StageTimings timings = new StageTimings();
+
+        assertEquals(3, timings.time("compute", () -> 3));
+        assertThrows(IllegalStateException.class, () -> timings.time("report", () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(2, timings.nanosByStage().size());
+        assertTrue(timings.nanosByStage().containsKey("report"));
+        assertEquals("", new StageTimings().serverTiming());
+    }
+}
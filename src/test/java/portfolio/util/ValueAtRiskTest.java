@@ -0,0 +1,90 @@
+package portfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueAtRiskTest {
+
+    @Test
+    void selectShouldReturnKthSmallestValue() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int trial = 0; trial < 50; trial++) {
+            double[] values = new double[1 + random.nextInt(300)];
+            for (int i = 0; i < values.length; i++) {
+                // 중복 값 포함
+                values[i] = random.nextInt(40) / 10.0;
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int k = random.nextInt(values.length);
+
+            double selected = ValueAtRisk.select(values, k);
+
+            assertEquals(sorted[k], selected);
+            for (int i = 0; i < values.length; i++) {
+                assertTrue(i <= k ? values[i] <= selected : values[i] >= selected);
+            }
+        }
+    }
+
+    @Test
+    void historicalShouldUseLowestTailOfReturns() {
+        // given: 20개 중 하위 5% = 1개, 하위 10% = 2개
+        double[] returns = new double[20];
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] = (i - 5) / 100.0;
+        }
+        double[] original = returns.clone();
+
+        // when
+        ValueAtRisk.Estimate at95 = ValueAtRisk.historical(returns, 0.95);
+        ValueAtRisk.Estimate at90 = ValueAtRisk.historical(returns, 0.90);
+
+        // then
+        assertEquals(0.05, at95.valueAtRisk(), 1e-12);
+        assertEquals(0.05, at95.expectedShortfall(), 1e-12);
+        assertEquals(0.04, at90.valueAtRisk(), 1e-12);
+        assertEquals(0.045, at90.expectedShortfall(), 1e-12);
+        assertArrayEquals(original, returns);
+    }
+
+    @Test
+    void parametricShouldMatchNormalFormulas() {
+        // when: 평균 0.01, 표준편차 0.05, 95% (z = 1.6449, φ(z) / 0.05 = 2.0627)
+        ValueAtRisk.Estimate estimate = ValueAtRisk.parametric(0.01, 0.05, 0.95);
+
+        // then
+        assertEquals(-0.01 + 1.6448536 * 0.05, estimate.valueAtRisk(), 1e-7);
+        assertEquals(-0.01 + 2.0627128 * 0.05, estimate.expectedShortfall(), 1e-7);
+    }
+
+    @Test
+    void cornishFisherShouldWidenLossesForLeftSkewedFatTails() {
+        // given: 정규 수익률과 드문 큰 손실이 섞인 표본
+        SplittableRandom random = new SplittableRandom(9);
+        double[] normal = new double[20_000];
+        double[] skewed = new double[20_000];
+        for (int i = 0; i < normal.length; i++) {
+            normal[i] = 0.005 + 0.04 * random.nextGaussian();
+            skewed[i] = random.nextDouble() < 0.03 ? -0.2 + 0.05 * random.nextGaussian() : normal[i];
+        }
+
+        // then: 정규 표본은 보정 효과가 작고, 왼쪽 꼬리가 두꺼우면 보정 VaR가 정규 VaR보다 큼
+        assertEquals(ValueAtRisk.parametric(normal, 0.99).valueAtRisk(),
+                ValueAtRisk.cornishFisher(normal, 0.99).valueAtRisk(), 0.003);
+        ValueAtRisk.Estimate cornishFisher = ValueAtRisk.cornishFisher(skewed, 0.99);
+        assertTrue(cornishFisher.valueAtRisk() > ValueAtRisk.parametric(skewed, 0.99).valueAtRisk());
+        assertTrue(cornishFisher.expectedShortfall() > cornishFisher.valueAtRisk());
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> ValueAtRisk.historical(new double[] { 0.1 }, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> ValueAtRisk.parametric(new double[] { 0.1, 0.2 }, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> ValueAtRisk.cornishFisher(null, 0.95));
+    }
+}